@@ -0,0 +1,42 @@
+package com.digiticket.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class BulkImportExecutorConfig {
+
+    // Jobs de importación masiva: pocos a la vez, cada uno ya usa la BD en batches.
+    // Si la cola se llena, submit() lanza TaskRejectedException.
+    @Bean(name = "bulkImportExecutor")
+    public ThreadPoolTaskExecutor bulkImportExecutor(@Value("${bulk.import.workers:2}") int workers,
+                                                     @Value("${bulk.import.queue-capacity:10}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bulk-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+
+    // Descarga y derivados de imágenes en paralelo; acotado para no saturar la red ni el heap.
+    // Sin cola: si todos los hilos están ocupados, la tarea corre en el hilo del import (backpressure).
+    @Bean(name = "bulkImageExecutor")
+    public ThreadPoolTaskExecutor bulkImageExecutor(@Value("${bulk.import.image-fetchers:8}") int fetchers) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(fetchers);
+        executor.setMaxPoolSize(fetchers);
+        executor.setQueueCapacity(0);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("bulk-image-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
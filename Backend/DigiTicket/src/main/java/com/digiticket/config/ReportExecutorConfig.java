@@ -0,0 +1,25 @@
+package com.digiticket.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ReportExecutorConfig {
+
+    // Pool acotado para renderizar PDFs fuera de los hilos de Tomcat.
+    // Si la cola se llena, submit() lanza TaskRejectedException.
+    @Bean(name = "reportExecutor")
+    public ThreadPoolTaskExecutor reportExecutor(@Value("${report.pdf.workers:2}") int workers,
+                                                 @Value("${report.pdf.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("report-pdf-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,44 @@
+package com.digiticket.config;
+
+import com.digiticket.service.loyalty.PointsConfigService;
+import com.digiticket.service.settings.SettingsService;
+import com.digiticket.service.settings.SettingsService.SnapshotStatus;
+import org.springframework.boot.actuate.info.Info;
+import org.springframework.boot.actuate.info.InfoContributor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Publica en /actuator/info qué versión de la configuración tiene cargada este nodo
+ * y cuándo se cargó y verificó por última vez.
+ */
+@Component
+public class SettingsInfoContributor implements InfoContributor {
+
+    private final SettingsService settingsService;
+    private final PointsConfigService pointsConfigService;
+
+    public SettingsInfoContributor(SettingsService settingsService, PointsConfigService pointsConfigService) {
+        this.settingsService = settingsService;
+        this.pointsConfigService = pointsConfigService;
+    }
+
+    @Override
+    public void contribute(Info.Builder builder) {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("systemSettings", describe(settingsService.snapshotStatus()));
+        settings.put("pointsConfig", describe(pointsConfigService.snapshotStatus()));
+        builder.withDetail("settings", settings);
+    }
+
+    // LinkedHashMap porque los campos pueden ser null antes de la primera carga
+    private static Map<String, Object> describe(SnapshotStatus status) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("version", status.version());
+        out.put("loadedAt", status.loadedAt());
+        out.put("checkedAt", status.checkedAt());
+        return out;
+    }
+}
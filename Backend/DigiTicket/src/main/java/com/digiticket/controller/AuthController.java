@@ -2,10 +2,11 @@ package com.digiticket.controller;
 
 import com.digiticket.domain.user.User;
 import com.digiticket.dto.auth.*;
+import com.digiticket.dto.email.OutboundEmail;
 import com.digiticket.repository.user.UserRepository;
 import com.digiticket.service.auth.AuthService;
 import com.digiticket.service.auth.PasswordResetService;
-import com.digiticket.util.EmailService;
+import com.digiticket.service.email.EmailOutboxService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -24,17 +25,17 @@ public class AuthController {
     private final AuthService authService;
     private final PasswordResetService passwordResetService;
     private final UserRepository userRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
 
     public AuthController(AuthService authService,
                           PasswordResetService passwordResetService,
                           UserRepository userRepository,
-                          EmailService emailService
+                          EmailOutboxService emailOutboxService
     ) {
         this.authService = authService;
         this.passwordResetService = passwordResetService;
         this.userRepository = userRepository;
-        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
     }
 
     @PostMapping("/login")
@@ -57,7 +58,8 @@ public class AuthController {
 
         User user = optionalUser.get();
         String token = passwordResetService.createPasswordResetToken(user);
-        emailService.sendResetPasswordEmail(user.getEmail(), token);
+        // Se encola en el outbox: la respuesta no espera al SMTP y un fallo transitorio se reintenta
+        emailOutboxService.enqueue(OutboundEmail.resetPassword(user.getEmail(), token));
 
         return ResponseEntity.ok("Se ha enviado el token al correo registrado.");
     }
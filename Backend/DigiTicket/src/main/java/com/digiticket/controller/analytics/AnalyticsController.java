@@ -0,0 +1,41 @@
+package com.digiticket.controller.analytics;
+
+import com.digiticket.dto.analytics.CohortDTO;
+import com.digiticket.dto.analytics.FunnelDTO;
+import com.digiticket.service.analytics.AnalyticsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+
+    // Embudo login → hold → checkout → pagado (from y to inclusive, días de negocio)
+    @GetMapping("/funnel")
+    public ResponseEntity<FunnelDTO> getFunnel(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(analyticsService.getFunnel(from, to));
+    }
+
+    // Retención por cohorte de primera compra de los últimos N meses
+    @GetMapping("/cohorts")
+    public ResponseEntity<List<CohortDTO>> getCohorts(@RequestParam(defaultValue = "12") int months) {
+        return ResponseEntity.ok(analyticsService.getCohorts(months));
+    }
+
+    // Fuerza una corrida de ingesta sin esperar al scheduler
+    @PostMapping("/refresh")
+    public ResponseEntity<Map<String, Integer>> refresh() {
+        return ResponseEntity.ok(Map.of("processed", analyticsService.ingest()));
+    }
+}
@@ -3,12 +3,14 @@ package com.digiticket.controller.dashboard;
 import com.digiticket.dto.dashboard.TopCategoryDTO;
 import com.digiticket.service.dashboard.CategoryMetricsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -20,8 +22,13 @@ public class CategoryMetricsController {
 
     @GetMapping("/top-categories")
     public ResponseEntity<List<TopCategoryDTO>> getTopCategories(
-            @RequestParam(required = false) Integer limit
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
     ) {
-        return ResponseEntity.ok(categoryMetricsService.getTopCategories(limit));
+        if (from == null || to == null) {
+            return ResponseEntity.ok(categoryMetricsService.getTopCategories(limit));
+        }
+        return ResponseEntity.ok(categoryMetricsService.getTopCategories(limit, from, to));
     }
 }
@@ -3,10 +3,14 @@ package com.digiticket.controller.dashboard;
 import com.digiticket.dto.dashboard.DailySalesDTO;
 import com.digiticket.dto.dashboard.DailyTicketsDTO;
 import com.digiticket.dto.dashboard.DailyVisitsDTO;
+import com.digiticket.dto.dashboard.LiveSalesSnapshotDTO;
 import com.digiticket.service.dashboard.DashboardService;
+import com.digiticket.service.dashboard.LiveSalesService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 @RestController
 @RequestMapping("/api/dashboard")
@@ -14,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 public class DashboardController {
 
     private final DashboardService dashboardService;
+    private final LiveSalesService liveSalesService;
 
     @GetMapping("/sales/today")
     public ResponseEntity<DailySalesDTO> getTodaySales() {
@@ -29,4 +34,15 @@ public class DashboardController {
     public ResponseEntity<DailyVisitsDTO> getTodayVisits() {
         return ResponseEntity.ok(dashboardService.getTodayVisits());
     }
+
+    @GetMapping("/live")
+    public ResponseEntity<LiveSalesSnapshotDTO> getLiveSnapshot() {
+        return ResponseEntity.ok(liveSalesService.snapshot());
+    }
+
+    // Stream SSE: envía un evento "sales" al conectar y luego cada vez que cambian los contadores
+    @GetMapping(value = "/live/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamLive() {
+        return liveSalesService.subscribe();
+    }
 }
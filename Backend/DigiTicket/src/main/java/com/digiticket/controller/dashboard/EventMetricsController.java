@@ -3,11 +3,13 @@ package com.digiticket.controller.dashboard;
 import com.digiticket.dto.dashboard.TopEventDTO;
 import com.digiticket.service.dashboard.EventMetricsService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -19,8 +21,15 @@ public class EventMetricsController {
         this.service = service;
     }
 
+    // Sin from/to: mes en curso. Con from/to (inclusive): cualquier rango de días
     @GetMapping("/top-events")
-    public List<TopEventDTO> getTopEvents(@RequestParam(defaultValue = "5") int top) {
-        return service.getTopEvents(top);
+    public List<TopEventDTO> getTopEvents(
+            @RequestParam(defaultValue = "5") int top,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (from == null || to == null) {
+            return service.getTopEvents(top);
+        }
+        return service.getTopEvents(top, from, to);
     }
 }
@@ -0,0 +1,73 @@
+package com.digiticket.controller.event;
+
+import com.digiticket.domain.event.EventStatus;
+import com.digiticket.dto.event.EventBrowseDTO;
+import com.digiticket.dto.event.EventCatalogItemDTO;
+import com.digiticket.service.event.EventCatalogService;
+import com.digiticket.service.search.EventFacetService;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Catálogo paginado de eventos (vista liviana para listas y búsqueda).
+ * GET /api/event/catalog?page=0&size=20&sort=startsAt,asc&status=PUBLISHED
+ * GET /api/event/catalog/search?q=rock mir&limit=10 (typeahead: la última palabra coincide por prefijo)
+ * GET /api/event/catalog/browse?category=Conciertos&category=Teatro&price=0-50&from=2025-01-01 (publicados + conteos)
+ */
+@RestController
+@RequestMapping("/api/event")
+public class EventCatalogController {
+
+    private final EventCatalogService eventCatalogService;
+    private final EventFacetService eventFacetService;
+
+    public EventCatalogController(EventCatalogService eventCatalogService, EventFacetService eventFacetService) {
+        this.eventCatalogService = eventCatalogService;
+        this.eventFacetService = eventFacetService;
+    }
+
+    @GetMapping("/catalog")
+    public Page<EventCatalogItemDTO> catalog(@RequestParam(required = false) EventStatus status,
+                                             @RequestParam(defaultValue = "0") int page,
+                                             @RequestParam(defaultValue = "20") int size,
+                                             @RequestParam(required = false) String sort) {
+        return eventCatalogService.list(status, page, size, sort);
+    }
+
+    @GetMapping("/catalog/search")
+    public List<EventCatalogItemDTO> search(@RequestParam("q") String query,
+                                            @RequestParam(required = false) EventStatus status,
+                                            @RequestParam(defaultValue = "20") int limit) {
+        return eventCatalogService.search(query, status, limit);
+    }
+
+    @GetMapping("/catalog/browse")
+    public EventBrowseDTO browse(@RequestParam(required = false) Set<String> category,
+                                 @RequestParam(required = false) Set<String> district,
+                                 @RequestParam(required = false) Set<String> city,
+                                 @RequestParam(required = false) Set<String> month,
+                                 @RequestParam(required = false) Set<String> price,
+                                 @RequestParam(required = false) Set<String> availability,
+                                 @RequestParam(required = false)
+                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                 @RequestParam(required = false)
+                                 @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                 @RequestParam(defaultValue = "0") int page,
+                                 @RequestParam(defaultValue = "20") int size) {
+        Map<String, Set<String>> selected = new HashMap<>();
+        if (category != null) selected.put("category", category);
+        if (district != null) selected.put("district", district);
+        if (city != null) selected.put("city", city);
+        if (month != null) selected.put("month", month);
+        if (price != null) selected.put("price", price);
+        if (availability != null) selected.put("availability", availability);
+        return eventFacetService.browse(selected, from, to, page, size);
+    }
+}
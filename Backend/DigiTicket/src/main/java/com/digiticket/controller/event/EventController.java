@@ -8,6 +8,7 @@ import com.digiticket.domain.event.EventStatus;
 import com.digiticket.dto.event.EventDTO;
 import com.digiticket.mapper.EventMapper;
 import com.digiticket.service.event.EventService;
+import com.digiticket.service.event.PublishedEventCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
@@ -24,6 +25,9 @@ public class EventController {
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private PublishedEventCache publishedEventCache;
+
     // Crear un nuevo evento
     @PostMapping("/add")
     public ResponseEntity<?> create(@RequestBody EventDTO dto) {
@@ -54,11 +58,17 @@ public class EventController {
                 .collect(Collectors.toList());
     }
 
-    // Buscar por ID
+    // Listar solo publicados (sitio público, servido desde caché)
+    @GetMapping("/published")
+    public List<EventDTO> getPublished() {
+        return publishedEventCache.getPublished();
+    }
+
+    // Buscar por ID: los publicados salen de caché; el resto (borradores, admin) va a la BD
     @GetMapping("/{id}")
     public EventDTO getById(@PathVariable Integer id) {
-        Event event = eventService.getEventById(id);
-        return EventMapper.toDTO(event);
+        return publishedEventCache.get(id)
+                .orElseGet(() -> EventMapper.toDTO(eventService.getEventById(id)));
     }
 
     // Actualizar evento
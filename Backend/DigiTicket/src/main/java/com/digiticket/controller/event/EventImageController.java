@@ -0,0 +1,102 @@
+package com.digiticket.controller.event;
+
+import com.digiticket.service.event.EventImageService;
+import com.digiticket.util.image.ImageVariant;
+import com.digiticket.util.image.StoredImage;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+/**
+ * Sirve el póster de un evento (original o derivado thumb/card/hero) desde el store local.
+ * ETag = SHA-256 del original + variante. La URL que devuelve EventDTO lleva ?v=<hash>:
+ * con esa versión la respuesta es inmutable; sin ella el navegador revalida con If-None-Match
+ * y recibe 304 sin tocar disco ni BLOB.
+ * El archivo se envía con sendfile de Tomcat cuando está disponible y, si no, con FileChannel.transferTo.
+ */
+@RestController
+@RequestMapping("/api/event")
+public class EventImageController {
+
+    private static final String VERSIONED = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable().getHeaderValue();
+    private static final String REVALIDATE = CacheControl.noCache().cachePublic().getHeaderValue();
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final EventImageService eventImageService;
+
+    public EventImageController(EventImageService eventImageService) {
+        this.eventImageService = eventImageService;
+    }
+
+    @GetMapping("/{id}/image")
+    public void getImage(@PathVariable Integer id,
+                         @RequestParam(name = "size", required = false) String size,
+                         @RequestParam(name = "v", required = false) String version,
+                         @RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch,
+                         HttpServletRequest request,
+                         HttpServletResponse response) throws IOException {
+        ImageVariant variant = ImageVariant.from(size);
+        String hash = eventImageService.findHash(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "El evento no tiene imagen"));
+        String etag = "\"" + hash + "-" + variant.key() + "\"";
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        // Solo la versión exacta es inmutable: un ?v= vacío o parcial no debe fijar una imagen vieja un año
+        response.setHeader(HttpHeaders.CACHE_CONTROL, hash.equals(version) ? VERSIONED : REVALIDATE);
+
+        if (matches(ifNoneMatch, etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        StoredImage image = eventImageService.open(id, variant)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "El evento no tiene imagen"));
+        response.setContentType(image.contentType());
+        response.setContentLengthLong(image.size());
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat copia el archivo al socket con sendfile al terminar la request
+            request.setAttribute(SENDFILE_FILENAME, image.path().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, image.size());
+            return;
+        }
+
+        try (FileChannel file = FileChannel.open(image.path(), StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            long remaining = file.size();
+            while (remaining > 0) {
+                long sent = file.transferTo(position, remaining, out);
+                if (sent <= 0) break;
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String c = candidate.trim();
+            if (c.startsWith("W/")) c = c.substring(2);
+            if (c.equals("*") || c.equals(etag)) return true;
+        }
+        return false;
+    }
+}
@@ -1,11 +1,13 @@
 package com.digiticket.controller.report;
 
 import com.digiticket.dto.report.DashboardReportDTO;
+import com.digiticket.dto.report.ReportJobDTO;
 import com.digiticket.service.report.DailySalesMetricsService;
+import com.digiticket.service.report.ReportJobService;
 import com.digiticket.util.report.ReportCsvGenerator;
-import com.digiticket.util.report.ReportPdfGenerator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -20,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 public class DailySalesMetricsController {
 
     private final DailySalesMetricsService service;
+    private final ReportJobService reportJobService;
 
     /**
      * Endpoint para obtener el dashboard completo en formato JSON.
@@ -33,12 +36,42 @@ public class DailySalesMetricsController {
 
     /**
      * Endpoint para descargar el dashboard completo en formato PDF.
+     * Se mantiene por compatibilidad: espera al render, pero usa el mismo pool y caché que los jobs.
      * @param period DAY, WEEK, MONTH
      */
     @GetMapping("/pdf")
     public ResponseEntity<byte[]> downloadPdfReport(@RequestParam(defaultValue = "DAY") String period) {
-        DashboardReportDTO report = service.getDashboardReport(period);
-        byte[] pdfBytes = ReportPdfGenerator.generateDashboardPdf(report);
+        byte[] pdfBytes = reportJobService.renderDashboardPdf(period);
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=dashboard-report.pdf")
+                .contentType(MediaType.APPLICATION_PDF)
+                .body(pdfBytes);
+    }
+
+    /**
+     * Encola la generación del PDF y devuelve el job para consultar su estado.
+     * @param period DAY, WEEK, MONTH
+     */
+    @PostMapping("/pdf/jobs")
+    public ResponseEntity<ReportJobDTO> submitPdfJob(@RequestParam(defaultValue = "DAY") String period) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reportJobService.submitDashboardPdf(period));
+    }
+
+    /**
+     * Estado de un job de PDF: PENDING, RUNNING, DONE o FAILED.
+     */
+    @GetMapping("/pdf/jobs/{jobId}")
+    public ResponseEntity<ReportJobDTO> getPdfJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(reportJobService.getJob(jobId));
+    }
+
+    /**
+     * Descarga el PDF de un job terminado (409 si aún no está listo).
+     */
+    @GetMapping("/pdf/jobs/{jobId}/download")
+    public ResponseEntity<byte[]> downloadPdfJob(@PathVariable String jobId) {
+        byte[] pdfBytes = reportJobService.getJobResult(jobId);
 
         return ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=dashboard-report.pdf")
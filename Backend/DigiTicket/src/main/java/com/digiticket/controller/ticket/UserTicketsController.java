@@ -3,9 +3,11 @@ package com.digiticket.controller.ticket;
 import com.digiticket.domain.event.Event;
 import com.digiticket.dto.ticket.EventImageDTO;
 import com.digiticket.dto.ticket.UserTicketDTO;
+import com.digiticket.mapper.EventMapper;
 import com.digiticket.mapper.ticket.UserTicketMapper;
 import com.digiticket.repository.event.EventRepository;
 import com.digiticket.repository.ticket.TicketRepository;
+import com.digiticket.util.image.ImageVariant;
 import com.digiticket.repository.user.ClientRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -96,11 +98,12 @@ public class UserTicketsController {
         var events = eventRepository.findByIdIn(eventIds);
         long afterEventsQuery = System.currentTimeMillis();
         
+        // URL de GET /api/event/{id}/image en lugar del base64: el navegador la cachea por ETag
         List<EventImageDTO> eventImages = events.stream()
-                .filter(event -> event.getImageData() != null && event.getImageData().length > 0)
+                .filter(event -> event.getImageHash() != null)
                 .map(event -> new EventImageDTO(
                         event.getId(),
-                        "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(event.getImageData())
+                        EventMapper.imageUrl(event.getId(), event.getImageHash(), ImageVariant.CARD)
                 ))
                 .collect(Collectors.toList());
         long afterBase64 = System.currentTimeMillis();
@@ -2,8 +2,10 @@ package com.digiticket.controller.user;
 
 import com.digiticket.domain.loyalty.LoyaltyPointStatus;
 import com.digiticket.dto.user.AdminClientDTO;
+import com.digiticket.dto.user.AdminClientSearchDTO;
 import com.digiticket.service.user.ClientService;
 
+import org.springframework.data.domain.Page;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,8 +13,12 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import java.util.List;
 
+/**
+ * Panel de clientes. Los listados son paginados y ordenados en la base:
+ * GET /api/admin/clients?name=ana&page=0&size=20&sort=name,asc
+ * GET /api/admin/clients/search?q=ana tor&limit=10&after=5:1234
+ */
 @RestController
 @RequestMapping("/api/admin/clients")
 public class AdminClientController {
@@ -25,18 +31,23 @@ public class AdminClientController {
 
     // Listar clientes activos (con filtro opcional por nombre)
     @GetMapping
-    public ResponseEntity<List<AdminClientDTO>> listActiveClients(
-            @RequestParam(name = "name", required = false) String name
+    public ResponseEntity<Page<AdminClientDTO>> listActiveClients(
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort
     ) {
-        List<AdminClientDTO> result;
-
-        if (name == null || name.isBlank()) {
-            result = clientService.listActiveClients();
-        } else {
-            result = clientService.searchActiveClientsByName(name);
-        }
+        return ResponseEntity.ok(clientService.listActiveClients(name, page, size, sort));
+    }
 
-        return ResponseEntity.ok(result);
+    // Búsqueda por nombre, correo o documento (typeahead), por relevancia y paginada por cursor
+    @GetMapping("/search")
+    public ResponseEntity<AdminClientSearchDTO> searchClients(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(clientService.searchClients(query, after, limit));
     }
 
     // Desactivar cliente
@@ -48,23 +59,26 @@ public class AdminClientController {
 
     // Listar clientes filtrados por estado de puntos (y opcionalmente por nombre)
     @GetMapping("/by-points-status")
-    public ResponseEntity<List<AdminClientDTO>> listClientsByPointsStatus(
+    public ResponseEntity<Page<AdminClientDTO>> listClientsByPointsStatus(
             @RequestParam LoyaltyPointStatus status,
-            @RequestParam(name = "name", required = false) String name
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort
     ) {
-        List<AdminClientDTO> result;
-        if (name == null || name.isBlank()) {
-            result = clientService.listClientsByPointsStatus(status);
-        } else {
-            result = clientService.searchClientsByPointsStatusAndName(status, name);
-        }
-        return ResponseEntity.ok(result);
+        return ResponseEntity.ok(clientService.listClientsByPointsStatus(status, name, page, size, sort));
     }
+
     // Clientes con puntos que vencen en los próximos 5 días
     @GetMapping("/points-expiring-in-5-days")
-    public ResponseEntity<List<AdminClientDTO>> listClientsWithPointsExpiringIn5Days() {
+    public ResponseEntity<Page<AdminClientDTO>> listClientsWithPointsExpiringIn5Days(
+            @RequestParam(name = "name", required = false) String name,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) String sort
+    ) {
         return ResponseEntity.ok(
-                clientService.listClientsWithPointsExpiringInNextDays(5)
+                clientService.listClientsWithPointsExpiringInNextDays(5, name, page, size, sort)
         );
     }
 
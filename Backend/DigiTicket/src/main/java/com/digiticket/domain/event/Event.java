@@ -71,9 +71,13 @@ public class Event {
             columnDefinition = "ENUM('DRAFT','PUBLISHED','CANCELED','FINISHED') DEFAULT 'DRAFT'")
     private EventStatus status;
 
-    @Lob
-    @Basic(fetch = FetchType.LAZY)
-    @Column(name = "image_data", columnDefinition = "MEDIUMBLOB", nullable = true)
+    // Los bytes viven en event_image (EventImage); aquí solo el hash para armar la URL y el ETag
+    @Column(name = "image_hash", length = 64)
+    private String imageHash;
+
+    // Imagen recibida en create/update; EventServiceImpl la guarda en event_image
+    @Transient
+    @JsonIgnore
     private byte[] imageData;
 
     //Relation with the zones of the event
@@ -0,0 +1,40 @@
+package com.digiticket.domain.event;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * Póster del evento, separado de la tabla event para que listar o buscar eventos
+ * no arrastre el BLOB. Se lee solo desde GET /api/event/{id}/image.
+ */
+@Entity
+@Table(name = "event_image")
+@Data @NoArgsConstructor @AllArgsConstructor @Builder
+@ToString(exclude = "data")
+public class EventImage {
+
+    @Id
+    @Column(name = "event_id")
+    private Integer eventId;
+
+    @Column(name = "content_type", nullable = false, length = 64)
+    private String contentType;
+
+    // SHA-256 en hex del contenido; se usa como ETag
+    @Column(name = "sha256", nullable = false, length = 64)
+    private String sha256;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Integer sizeBytes;
+
+    @Lob
+    @Column(name = "data", columnDefinition = "MEDIUMBLOB", nullable = false)
+    private byte[] data;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+}
@@ -7,7 +7,11 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "loyalty_points")
+@Table(name = "loyalty_points",
+        indexes = {
+                @Index(name = "idx_loyalty_points_client_status_expires", columnList = "client_id, status, expires_at"),
+                @Index(name = "idx_loyalty_points_status_expires", columnList = "status, expires_at")
+        })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -1,8 +1,10 @@
 package com.digiticket.domain.loyalty;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.*;
 
 @Entity
@@ -13,4 +15,8 @@ public class PointsConfig {
     @Id
     private Integer id;
     private Integer pointsPerUnit;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
 }
@@ -0,0 +1,52 @@
+package com.digiticket.domain.report;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Dimensión de fechas precalculada: un registro por día de negocio (America/Lima)
+ * con su rango [start_utc, end_utc) para unir contra columnas DATETIME en UTC.
+ */
+@Entity
+@Table(name = "date_dim",
+        indexes = @Index(name = "idx_date_dim_start_utc", columnList = "start_utc"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DateDim {
+
+    @Id
+    @Column(name = "date_key")
+    private Integer dateKey;          // yyyymmdd
+
+    @Column(name = "calendar_date", nullable = false, unique = true)
+    private LocalDate calendarDate;
+
+    @Column(name = "start_utc", nullable = false)
+    private LocalDateTime startUtc;
+
+    @Column(name = "end_utc", nullable = false)
+    private LocalDateTime endUtc;
+
+    @Column(name = "cal_year", nullable = false)
+    private Integer calYear;
+
+    @Column(name = "cal_month", nullable = false)
+    private Integer calMonth;
+
+    @Column(name = "day_of_week", nullable = false)
+    private Integer dayOfWeek;        // ISO: 1 = lunes ... 7 = domingo
+
+    @Column(name = "iso_year_week", nullable = false)
+    private Integer isoYearWeek;      // yyyyww
+
+    @Column(name = "month_label", nullable = false, length = 7)
+    private String monthLabel;        // yyyy-MM
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart;
+}
@@ -32,4 +32,9 @@ public class SystemSettings {
 
     @Column(name = "password_reset_token_ttl_minutes", nullable = false)
     private Integer passwordResetTokenTtlMinutes;
-}
\ No newline at end of file
+
+    // Cada actualización la incrementa; los nodos la comparan para refrescar su copia en memoria
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+}
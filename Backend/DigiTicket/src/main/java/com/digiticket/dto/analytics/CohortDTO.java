@@ -0,0 +1,14 @@
+package com.digiticket.dto.analytics;
+
+import java.util.List;
+
+/**
+ * Cohorte de compradores por mes de primera compra.
+ * activeByMonthOffset[0] = tamaño de la cohorte, [n] = clientes que compraron n meses después.
+ */
+public record CohortDTO(
+        String cohortMonth,
+        long clients,
+        long repeatBuyers,
+        List<Long> activeByMonthOffset
+) {}
@@ -0,0 +1,20 @@
+package com.digiticket.dto.analytics;
+
+import java.time.LocalDate;
+
+/**
+ * Embudo login → hold → checkout → pagado sobre usuarios distintos del rango.
+ * Cada etapa cuenta usuarios que además cumplieron todas las anteriores.
+ */
+public record FunnelDTO(
+        LocalDate from,
+        LocalDate to,
+        long logins,
+        long holds,
+        long checkouts,
+        long paid,
+        double loginToHoldPercent,
+        double holdToCheckoutPercent,
+        double checkoutToPaidPercent,
+        double overallPercent
+) {}
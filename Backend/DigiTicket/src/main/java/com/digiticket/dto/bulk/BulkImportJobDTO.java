@@ -0,0 +1,25 @@
+package com.digiticket.dto.bulk;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Estado de una importación en segundo plano. El progreso se mide en bytes leídos del archivo;
+ * de los errores solo se guardan los primeros (errorsTruncated indica que hubo más).
+ */
+public record BulkImportJobDTO(
+        String id,
+        BulkImportKind kind,
+        BulkImportJobStatus status,
+        long rowsProcessed,
+        long createdCount,
+        long errorCount,
+        long bytesRead,
+        long totalBytes,
+        int percent,
+        List<String> errors,
+        boolean errorsTruncated,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {}
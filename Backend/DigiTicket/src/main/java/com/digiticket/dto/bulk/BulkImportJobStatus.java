@@ -0,0 +1,8 @@
+package com.digiticket.dto.bulk;
+
+public enum BulkImportJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
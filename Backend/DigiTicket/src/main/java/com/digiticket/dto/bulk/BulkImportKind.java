@@ -0,0 +1,26 @@
+package com.digiticket.dto.bulk;
+
+import java.util.Optional;
+
+public enum BulkImportKind {
+    LOCALS("locals"),
+    EVENTS("events"),
+    EVENT_ZONES("event-zones");
+
+    private final String path;
+
+    BulkImportKind(String path) {
+        this.path = path;
+    }
+
+    public String path() {
+        return path;
+    }
+
+    public static Optional<BulkImportKind> fromPath(String value) {
+        for (BulkImportKind k : values()) {
+            if (k.path.equalsIgnoreCase(value)) return Optional.of(k);
+        }
+        return Optional.empty();
+    }
+}
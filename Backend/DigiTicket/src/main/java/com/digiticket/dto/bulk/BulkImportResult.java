@@ -0,0 +1,10 @@
+package com.digiticket.dto.bulk;
+
+import java.util.List;
+
+// Respuesta de las importaciones síncronas; mismo JSON que el BulkResult anterior
+public record BulkImportResult(
+        int createdCount,
+        List<String> errors,
+        List<Integer> createdIds
+) {}
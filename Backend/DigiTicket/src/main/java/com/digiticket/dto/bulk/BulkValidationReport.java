@@ -0,0 +1,11 @@
+package com.digiticket.dto.bulk;
+
+import java.util.List;
+
+// Resultado de una importación con dryRun=true: nada se escribe, se reportan todos los errores
+public record BulkValidationReport(
+        int rowCount,
+        int validCount,
+        int errorCount,
+        List<String> errors
+) {}
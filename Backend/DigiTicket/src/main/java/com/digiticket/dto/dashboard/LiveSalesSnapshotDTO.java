@@ -0,0 +1,19 @@
+package com.digiticket.dto.dashboard;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public record LiveSalesSnapshotDTO(
+        LocalDate day,
+        long ticketsToday,
+        BigDecimal revenueToday,
+        long visitsToday,
+        long ticketsYesterday,
+        BigDecimal revenueYesterday,
+        long visitsYesterday,
+        List<Long> ticketsLastHourByMinute,   // índice 0 = hace 59 minutos, 59 = minuto actual
+        Map<Integer, Long> ticketsByEvent,
+        Map<Integer, Long> ticketsByCategory
+) {}
@@ -7,6 +7,7 @@ import java.math.BigDecimal;
 @Data
 @AllArgsConstructor
 public class TopCategoryDTO {
+    private Integer categoryId;
     private String categoryName;
     private Long totalQuantity;   // SUM de totalQuantity → Long
     private BigDecimal totalAmount; // SUM de totalAmount → BigDecimal
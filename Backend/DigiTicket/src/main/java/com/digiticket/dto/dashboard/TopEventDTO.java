@@ -6,6 +6,7 @@ import lombok.Data;
 @Data
 @AllArgsConstructor
 public class TopEventDTO {
+    private Integer eventId;
     private String eventTitle;
     private Long totalQuantity;   // SUM de totalQuantity
     private java.math.BigDecimal totalAmount; // SUM de totalAmount
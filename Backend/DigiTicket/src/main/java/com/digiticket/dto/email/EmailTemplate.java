@@ -0,0 +1,6 @@
+package com.digiticket.dto.email;
+
+public enum EmailTemplate {
+    RESET_PASSWORD,   // params: token
+    NOTIFICATION      // params: subject, body
+}
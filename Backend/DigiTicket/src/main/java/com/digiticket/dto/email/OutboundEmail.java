@@ -0,0 +1,15 @@
+package com.digiticket.dto.email;
+
+import java.util.Map;
+
+// Correo a encolar en el outbox: template + valores; se arma recién al enviarlo
+public record OutboundEmail(String to, EmailTemplate template, Map<String, String> params, Integer notificationId) {
+
+    public static OutboundEmail resetPassword(String to, String token) {
+        return new OutboundEmail(to, EmailTemplate.RESET_PASSWORD, Map.of("token", token), null);
+    }
+
+    public static OutboundEmail notification(Integer notificationId, String to, String subject, String body) {
+        return new OutboundEmail(to, EmailTemplate.NOTIFICATION, Map.of("subject", subject, "body", body), notificationId);
+    }
+}
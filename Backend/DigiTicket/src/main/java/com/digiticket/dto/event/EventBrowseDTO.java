@@ -0,0 +1,16 @@
+package com.digiticket.dto.event;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de la navegación por facetas: página de eventos y conteos por faceta
+ * (category, district, city, month, price, availability).
+ */
+public record EventBrowseDTO(
+        int total,
+        int page,
+        int size,
+        List<EventCatalogItemDTO> items,
+        Map<String, List<FacetCountDTO>> facets
+) {}
@@ -0,0 +1,21 @@
+package com.digiticket.dto.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Evento tal como se lista en el catálogo. El detalle completo (descripción, zonas, etc.)
+ * solo se entrega en GET /api/event/{id}.
+ */
+public record EventCatalogItemDTO(
+        Integer id,
+        String title,
+        LocalDateTime startsAt,
+        String status,
+        String venueName,
+        String categoryName,
+        BigDecimal minPrice,      // precio más bajo entre las zonas activas
+        long available,           // asientos disponibles en zonas activas
+        String imageCardUrl,
+        String imageThumbUrl
+) {}
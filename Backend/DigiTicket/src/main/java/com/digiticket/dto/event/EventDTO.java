@@ -1,5 +1,6 @@
 package com.digiticket.dto.event;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -20,7 +21,13 @@ public class EventDTO {
     private Integer eventCategoryId;
     private Integer administratorId;
     private String status;
+    // Solo de entrada (create/update); las respuestas traen imageUrl + imageHash
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String imageBase64;
+    private String imageUrl;        // hero (detalle)
+    private String imageCardUrl;    // tarjetas del catálogo
+    private String imageThumbUrl;   // listas / tablas
+    private String imageHash;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -0,0 +1,6 @@
+package com.digiticket.dto.event;
+
+public record FacetCountDTO(
+        String value,
+        int count
+) {}
@@ -0,0 +1,10 @@
+package com.digiticket.dto.event;
+
+import java.util.List;
+
+public record ZoneProvisionResult(
+        List<Integer> createdIds,
+        List<String> errors,
+        int locationZonesCreated,
+        int locationZonesReused
+) {}
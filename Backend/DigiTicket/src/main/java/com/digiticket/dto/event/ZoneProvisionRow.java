@@ -0,0 +1,19 @@
+package com.digiticket.dto.event;
+
+import com.digiticket.domain.event.EventZone;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila de aprovisionamiento masivo de zonas. rowNumber es la referencia que se devuelve en los errores
+ * (línea del CSV o posición en el JSON).
+ */
+public record ZoneProvisionRow(
+        int rowNumber,
+        Integer eventId,
+        String displayName,
+        BigDecimal price,
+        Integer seatsQuota,
+        Integer seatsSold,
+        EventZone.Status status
+) {}
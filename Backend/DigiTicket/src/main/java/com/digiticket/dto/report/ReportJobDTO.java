@@ -0,0 +1,14 @@
+package com.digiticket.dto.report;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record ReportJobDTO(
+        String id,
+        String period,
+        LocalDate asOf,
+        ReportJobStatus status,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime finishedAt
+) {}
@@ -0,0 +1,8 @@
+package com.digiticket.dto.report;
+
+public enum ReportJobStatus {
+    PENDING,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,12 @@
+package com.digiticket.dto.user;
+
+import java.util.List;
+
+/**
+ * Página de la búsqueda de clientes, por relevancia. nextCursor se pasa como after
+ * para pedir la siguiente; es null en la última página.
+ */
+public record AdminClientSearchDTO(
+        List<AdminClientDTO> items,
+        String nextCursor
+) {}
@@ -2,7 +2,10 @@ package com.digiticket.mapper;
 
 import com.digiticket.domain.event.Event;
 import com.digiticket.domain.event.EventStatus;
+import com.digiticket.dto.event.EventCatalogItemDTO;
 import com.digiticket.dto.event.EventDTO;
+import com.digiticket.repository.event.projection.EventCatalogProjection;
+import com.digiticket.util.image.ImageVariant;
 
 import java.util.Base64;
 
@@ -25,9 +28,11 @@ public class EventMapper {
         dto.setEventCategoryId(event.getEventCategory() != null ? event.getEventCategory().getId() : null);
         dto.setAdministratorId(event.getAdministrator() != null ? event.getAdministrator().getId() : null);
 
-        // Imagen embebida
-        byte[] img = event.getImageData();
-        dto.setImageBase64((img != null && img.length > 0) ? Base64.getEncoder().encodeToString(img) : null);
+        // Imagen por URL (GET /api/event/{id}/image); el hash sirve de versión y ETag
+        dto.setImageHash(event.getImageHash());
+        dto.setImageUrl(imageUrl(event.getId(), event.getImageHash(), ImageVariant.HERO));
+        dto.setImageCardUrl(imageUrl(event.getId(), event.getImageHash(), ImageVariant.CARD));
+        dto.setImageThumbUrl(imageUrl(event.getId(), event.getImageHash(), ImageVariant.THUMB));
 
         dto.setStatus(event.getStatus() != null ? event.getStatus().name() : null);
         dto.setCreatedAt(event.getCreatedAt());
@@ -35,6 +40,29 @@ public class EventMapper {
         return dto;
     }
 
+    // Proyección del catálogo → ítem de lista
+    public static EventCatalogItemDTO toCatalogItem(EventCatalogProjection p) {
+        if (p == null) return null;
+        return new EventCatalogItemDTO(
+                p.getId(),
+                p.getTitle(),
+                p.getStartsAt(),
+                p.getStatus() != null ? p.getStatus().name() : null,
+                p.getVenueName(),
+                p.getCategoryName(),
+                p.getMinPrice(),
+                p.getAvailable() != null ? p.getAvailable() : 0L,
+                imageUrl(p.getId(), p.getImageHash(), ImageVariant.CARD),
+                imageUrl(p.getId(), p.getImageHash(), ImageVariant.THUMB)
+        );
+    }
+
+    public static String imageUrl(Integer eventId, String imageHash, ImageVariant variant) {
+        if (eventId == null || imageHash == null) return null;
+        // Hash completo: el controlador solo marca inmutable si ?v= coincide exactamente
+        return "/api/event/" + eventId + "/image?size=" + variant.key() + "&v=" + imageHash;
+    }
+
     // Convierte de DTO → entidad
     public static Event toEntity(EventDTO dto) {
         if (dto == null) return null;
@@ -0,0 +1,229 @@
+package com.digiticket.repository.analytics;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Acceso JDBC del pipeline de analítica.
+ * Lee las tablas OLTP por rango de id (tail desde el watermark) y escribe en las tablas resumen
+ * analytics_* con upserts idempotentes: releer una fila no cambia el resultado.
+ */
+@Repository
+public class AnalyticsRepository {
+
+    public record LoginRow(long id, int userId, LocalDateTime createdAt) {}
+    public record HoldRow(long id, int userId, LocalDateTime createdAt) {}
+    public record OrderRow(long id, int userId, boolean paid, LocalDateTime createdAt) {}
+    public record PurchaseRow(long id, int clientId, BigDecimal amount, LocalDateTime createdAt) {}
+
+    public record UserDayRow(int dateKey, int userId, boolean loggedIn, boolean held, boolean checkedOut, boolean paid) {}
+    public record ClientPurchaseRow(int clientId, int firstDateKey, String firstMonth, int purchases, BigDecimal amount) {}
+    public record ClientMonthRow(int clientId, String month) {}
+    public record ClientTotalsRow(int clientId, LocalDateTime firstPurchaseAt, int purchases, BigDecimal amount) {}
+
+    public record FunnelRow(long logins, long holds, long checkouts, long paid) {}
+    public record CohortSizeRow(String cohortMonth, long clients, long repeatBuyers) {}
+    public record CohortActivityRow(String cohortMonth, String activityMonth, long clients) {}
+
+    private static final int MAX_IN_PARAMS = 1_000;
+
+    private final JdbcTemplate jdbc;
+
+    public AnalyticsRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // ---------- watermarks ----------
+
+    public long getWatermark(String source) {
+        List<Long> ids = jdbc.queryForList(
+                "SELECT last_id FROM analytics_watermark WHERE source = ?", Long.class, source);
+        return ids.isEmpty() ? 0L : ids.get(0);
+    }
+
+    public void saveWatermark(String source, long lastId) {
+        jdbc.update("""
+                INSERT INTO analytics_watermark (source, last_id, updated_at) VALUES (?, ?, ?)
+                ON DUPLICATE KEY UPDATE last_id = VALUES(last_id), updated_at = VALUES(updated_at)
+                """, source, lastId, Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC)));
+    }
+
+    // ---------- tails (solo columnas necesarias, rango por PK) ----------
+
+    public List<LoginRow> findLoginsAfter(long afterId, int limit) {
+        return jdbc.query("""
+                SELECT id, user_id, created_at FROM audit_log
+                WHERE id > ? AND action = 'LOGIN' AND user_id IS NOT NULL
+                ORDER BY id LIMIT ?
+                """,
+                (rs, i) -> new LoginRow(rs.getLong(1), rs.getInt(2), toLocal(rs.getTimestamp(3))),
+                afterId, limit);
+    }
+
+    public List<HoldRow> findHoldsAfter(long afterId, int limit) {
+        return jdbc.query("""
+                SELECT id, user_id, created_at FROM reservation_hold
+                WHERE id > ?
+                ORDER BY id LIMIT ?
+                """,
+                (rs, i) -> new HoldRow(rs.getLong(1), rs.getInt(2), toLocal(rs.getTimestamp(3))),
+                afterId, limit);
+    }
+
+    public List<OrderRow> findOrdersAfter(long afterId, int limit) {
+        return jdbc.query("""
+                SELECT id, user_id, status, created_at FROM `order`
+                WHERE id > ? AND user_id IS NOT NULL
+                ORDER BY id LIMIT ?
+                """,
+                (rs, i) -> new OrderRow(rs.getLong(1), rs.getInt(2), "PAID".equals(rs.getString(3)),
+                        toLocal(rs.getTimestamp(4))),
+                afterId, limit);
+    }
+
+    public List<PurchaseRow> findPurchasesAfter(long afterId, int limit) {
+        return jdbc.query("""
+                SELECT id, client_id, total_amount, created_at FROM purchase
+                WHERE id > ? AND status = 'ACTIVE'
+                ORDER BY id LIMIT ?
+                """,
+                (rs, i) -> new PurchaseRow(rs.getLong(1), rs.getInt(2), rs.getBigDecimal(3),
+                        toLocal(rs.getTimestamp(4))),
+                afterId, limit);
+    }
+
+    // ---------- upserts en tablas resumen ----------
+
+    public void upsertUserDays(List<UserDayRow> rows) {
+        jdbc.batchUpdate("""
+                INSERT INTO analytics_user_day (date_key, user_id, logged_in, held, checked_out, paid)
+                VALUES (?, ?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                    logged_in   = GREATEST(logged_in, VALUES(logged_in)),
+                    held        = GREATEST(held, VALUES(held)),
+                    checked_out = GREATEST(checked_out, VALUES(checked_out)),
+                    paid        = GREATEST(paid, VALUES(paid))
+                """, rows, rows.size(), (ps, r) -> {
+            ps.setInt(1, r.dateKey());
+            ps.setInt(2, r.userId());
+            ps.setInt(3, r.loggedIn() ? 1 : 0);
+            ps.setInt(4, r.held() ? 1 : 0);
+            ps.setInt(5, r.checkedOut() ? 1 : 0);
+            ps.setInt(6, r.paid() ? 1 : 0);
+        });
+    }
+
+    /**
+     * Totales de compras activas de los clientes indicados, por índice de client_id.
+     * La cohorte se recalcula en vez de sumarse, así que procesar dos veces una compra no la duplica.
+     */
+    public List<ClientTotalsRow> findClientTotals(Collection<Integer> clientIds) {
+        List<ClientTotalsRow> out = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>(clientIds);
+        for (int from = 0; from < ids.size(); from += MAX_IN_PARAMS) {
+            List<Integer> slice = ids.subList(from, Math.min(from + MAX_IN_PARAMS, ids.size()));
+            out.addAll(jdbc.query("""
+                    SELECT client_id, MIN(created_at), COUNT(*), COALESCE(SUM(total_amount), 0)
+                    FROM purchase
+                    WHERE status = 'ACTIVE' AND client_id IN (%s)
+                    GROUP BY client_id
+                    """.formatted(String.join(",", Collections.nCopies(slice.size(), "?"))),
+                    (rs, i) -> new ClientTotalsRow(rs.getInt(1), toLocal(rs.getTimestamp(2)), rs.getInt(3),
+                            rs.getBigDecimal(4)),
+                    slice.toArray()));
+        }
+        return out;
+    }
+
+    public void upsertClientCohorts(List<ClientPurchaseRow> rows) {
+        jdbc.batchUpdate("""
+                INSERT INTO analytics_client_cohort (client_id, first_date_key, first_month, purchases, total_amount)
+                VALUES (?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE
+                    first_date_key = VALUES(first_date_key),
+                    first_month    = VALUES(first_month),
+                    purchases      = VALUES(purchases),
+                    total_amount   = VALUES(total_amount)
+                """, rows, rows.size(), (ps, r) -> {
+            ps.setInt(1, r.clientId());
+            ps.setInt(2, r.firstDateKey());
+            ps.setString(3, r.firstMonth());
+            ps.setInt(4, r.purchases());
+            ps.setBigDecimal(5, r.amount());
+        });
+    }
+
+    public void insertClientMonths(List<ClientMonthRow> rows) {
+        jdbc.batchUpdate("INSERT IGNORE INTO analytics_client_month (client_id, month_label) VALUES (?, ?)",
+                rows, rows.size(), (ps, r) -> {
+                    ps.setInt(1, r.clientId());
+                    ps.setString(2, r.month());
+                });
+    }
+
+    // ---------- lecturas (solo tablas resumen) ----------
+
+    public FunnelRow funnel(int fromKey, int toKey) {
+        return jdbc.queryForObject("""
+                SELECT
+                    COALESCE(SUM(u.lg), 0),
+                    COALESCE(SUM(CASE WHEN u.lg = 1 AND u.hd = 1 THEN 1 ELSE 0 END), 0),
+                    COALESCE(SUM(CASE WHEN u.lg = 1 AND u.hd = 1 AND u.co = 1 THEN 1 ELSE 0 END), 0),
+                    COALESCE(SUM(CASE WHEN u.lg = 1 AND u.hd = 1 AND u.co = 1 AND u.pd = 1 THEN 1 ELSE 0 END), 0)
+                FROM (
+                    SELECT user_id,
+                           MAX(logged_in) AS lg, MAX(held) AS hd, MAX(checked_out) AS co, MAX(paid) AS pd
+                    FROM analytics_user_day
+                    WHERE date_key >= ? AND date_key < ?
+                    GROUP BY user_id
+                ) u
+                """,
+                (rs, i) -> new FunnelRow(rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)),
+                fromKey, toKey);
+    }
+
+    public List<CohortSizeRow> cohortSizes(String fromMonth) {
+        return jdbc.query("""
+                SELECT first_month, COUNT(*), SUM(CASE WHEN purchases > 1 THEN 1 ELSE 0 END)
+                FROM analytics_client_cohort
+                WHERE first_month >= ?
+                GROUP BY first_month
+                ORDER BY first_month
+                """,
+                (rs, i) -> new CohortSizeRow(rs.getString(1), rs.getLong(2), rs.getLong(3)),
+                fromMonth);
+    }
+
+    public List<CohortActivityRow> cohortActivity(String fromMonth) {
+        return jdbc.query("""
+                SELECT cc.first_month, cm.month_label, COUNT(*)
+                FROM analytics_client_cohort cc
+                JOIN analytics_client_month cm ON cm.client_id = cc.client_id
+                WHERE cc.first_month >= ?
+                GROUP BY cc.first_month, cm.month_label
+                """,
+                (rs, i) -> new CohortActivityRow(rs.getString(1), rs.getString(2), rs.getLong(3)),
+                fromMonth);
+    }
+
+    public Map<String, Object> watermarks() {
+        Map<String, Object> out = new java.util.LinkedHashMap<>();
+        jdbc.query("SELECT source, last_id FROM analytics_watermark ORDER BY source",
+                rs -> { out.put(rs.getString(1), rs.getLong(2)); });
+        return out;
+    }
+
+    private static LocalDateTime toLocal(Timestamp ts) {
+        return ts != null ? ts.toLocalDateTime() : null;
+    }
+}
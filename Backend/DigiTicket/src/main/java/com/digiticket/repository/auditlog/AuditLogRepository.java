@@ -2,10 +2,10 @@ package com.digiticket.repository.auditlog;
 
 import com.digiticket.domain.auditlog.AuditLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
-import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -17,13 +17,29 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Integer> {
 
     AuditLog findTopByUserIdOrderByCreatedAtDesc(Integer userId);
 
-    @Query(value = "SELECT COUNT(*) FROM audit_log a " +
+    // created_at se guarda en UTC; el rango [fromKey, toKey) son date keys de date_dim
+    @Query(value = "SELECT COUNT(*) FROM date_dim d " +
+            "JOIN audit_log a ON a.created_at >= d.start_utc AND a.created_at < d.end_utc " +
             "WHERE a.action = 'LOGIN' " +
-            "AND a.created_at >= :start " +
-            "AND a.created_at < :end",
+            "AND d.date_key >= :fromKey " +
+            "AND d.date_key < :toKey",
             nativeQuery = true)
     Integer countLoginsByDateRange(
-            @Param("start") Instant start,
-            @Param("end") Instant end
+            @Param("fromKey") int fromKey,
+            @Param("toKey") int toKey
     );
+
+    // Registra el corte a UTC con el último id escrito en hora local; devuelve 0 si ya estaba registrado
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO data_migration (name, last_id, applied_at) " +
+            "SELECT 'audit_log_utc', COALESCE(MAX(id), 0), :appliedAt FROM audit_log",
+            nativeQuery = true)
+    int claimUtcCutover(@Param("appliedAt") LocalDateTime appliedAt);
+
+    // Lima no tiene horario de verano: hora local + 5 h = UTC
+    @Modifying
+    @Query(value = "UPDATE audit_log SET created_at = TIMESTAMPADD(HOUR, 5, created_at) " +
+            "WHERE id <= (SELECT last_id FROM data_migration WHERE name = 'audit_log_utc')",
+            nativeQuery = true)
+    int shiftLegacyRowsToUtc();
 }
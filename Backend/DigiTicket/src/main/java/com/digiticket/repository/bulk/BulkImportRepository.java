@@ -0,0 +1,181 @@
+package com.digiticket.repository.bulk;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Accesos JDBC de la importación masiva de locales y eventos: los datos de referencia se leen
+ * completos una vez por archivo y las escrituras van en batch, en lugar de findById/save fila por fila.
+ */
+@Repository
+public class BulkImportRepository {
+
+    // Tablas referenciadas por event; nombre fijo, nunca viene del archivo
+    public enum Ref {
+        LOCATION("location"),
+        EVENT_CATEGORY("event_category"),
+        ADMINISTRATOR("administrators");
+
+        private final String table;
+
+        Ref(String table) {
+            this.table = table;
+        }
+    }
+
+    public record NewLocation(String name, String address, String city, String district,
+                              int capacity, String contactEmail) {}
+
+    public record ExistingLocation(int id, boolean active) {}
+
+    public record NewEvent(String title, String description, LocalDateTime startsAt, LocalDateTime salesStartAt,
+                           int durationMin, int locationId, int eventCategoryId, int administratorId, String status) {}
+
+    private final JdbcTemplate jdbc;
+
+    public BulkImportRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // (nombre, dirección) → local existente, todos de una vez: la tabla de locales es chica
+    public Map<String, ExistingLocation> findAllLocations() {
+        Map<String, ExistingLocation> out = new HashMap<>();
+        jdbc.query("SELECT id, name, address, status FROM location",
+                rs -> { out.put(locationKey(rs.getString(2), rs.getString(3)),
+                        new ExistingLocation(rs.getInt(1), "ACTIVE".equals(rs.getString(4)))); });
+        return out;
+    }
+
+    // Reactiva locales INACTIVE con los datos del archivo, como LocationServiceImpl.createLocation
+    public void reactivateLocations(Map<Integer, NewLocation> byId) {
+        if (byId.isEmpty()) return;
+        List<Map.Entry<Integer, NewLocation>> rows = new ArrayList<>(byId.entrySet());
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbc.batchUpdate("""
+                UPDATE location SET status = 'ACTIVE', contact_email = ?, city = ?, district = ?, capacity = ?,
+                                    updated_at = ?
+                WHERE id = ?
+                """, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NewLocation l = rows.get(i).getValue();
+                ps.setString(1, l.contactEmail());
+                ps.setString(2, l.city());
+                ps.setString(3, l.district());
+                ps.setInt(4, l.capacity());
+                ps.setTimestamp(5, now);
+                ps.setInt(6, rows.get(i).getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    public List<Integer> insertLocations(List<NewLocation> locations) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(con -> con.prepareStatement("""
+                INSERT INTO location (name, address, city, district, capacity, contact_email, status,
+                                      created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, 'ACTIVE', ?, ?)
+                """, Statement.RETURN_GENERATED_KEYS), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NewLocation l = locations.get(i);
+                ps.setString(1, l.name());
+                ps.setString(2, l.address());
+                ps.setString(3, l.city());
+                ps.setString(4, l.district());
+                ps.setInt(5, l.capacity());
+                ps.setString(6, l.contactEmail());
+                ps.setTimestamp(7, now);
+                ps.setTimestamp(8, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return locations.size();
+            }
+        }, keys);
+        return ids(keys);
+    }
+
+    public Set<Integer> findAllIds(Ref ref) {
+        return new HashSet<>(jdbc.queryForList("SELECT id FROM " + ref.table, Integer.class));
+    }
+
+    // Inserta en un solo batch y devuelve los ids generados en el orden de entrada
+    public List<Integer> insertEvents(List<NewEvent> events) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(con -> con.prepareStatement("""
+                INSERT INTO event (title, description, starts_at, sales_start_at, duration_min, location_id,
+                                   event_category_id, administrator_id, status, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, Statement.RETURN_GENERATED_KEYS), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NewEvent e = events.get(i);
+                ps.setString(1, e.title());
+                ps.setString(2, e.description());
+                ps.setTimestamp(3, Timestamp.valueOf(e.startsAt()));
+                ps.setTimestamp(4, Timestamp.valueOf(e.salesStartAt()));
+                ps.setInt(5, e.durationMin());
+                ps.setInt(6, e.locationId());
+                ps.setInt(7, e.eventCategoryId());
+                ps.setInt(8, e.administratorId());
+                ps.setString(9, e.status());
+                ps.setTimestamp(10, now);
+                ps.setTimestamp(11, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return events.size();
+            }
+        }, keys);
+        return ids(keys);
+    }
+
+    public void updateImageHashes(Map<Integer, String> hashes) {
+        if (hashes.isEmpty()) return;
+        List<Map.Entry<Integer, String>> rows = new ArrayList<>(hashes.entrySet());
+        jdbc.batchUpdate("UPDATE event SET image_hash = ? WHERE id = ?", new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                ps.setString(1, rows.get(i).getValue());
+                ps.setInt(2, rows.get(i).getKey());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    public static String locationKey(String name, String address) {
+        // La colación de MySQL no distingue mayúsculas: el UNIQUE tampoco
+        return name.trim().toLowerCase(Locale.ROOT) + "\u0000" + address.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static List<Integer> ids(KeyHolder keys) {
+        return keys.getKeyList().stream()
+                .map(m -> ((Number) m.values().iterator().next()).intValue())
+                .collect(Collectors.toList());
+    }
+}
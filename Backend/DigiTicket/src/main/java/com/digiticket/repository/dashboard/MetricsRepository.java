@@ -7,84 +7,86 @@ import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 
+/**
+ * Series de ingresos/entradas agrupadas por los días de negocio de date_dim,
+ * de modo que semana, mes y año se cortan en America/Lima y no en UTC.
+ */
 public interface MetricsRepository extends JpaRepository<Purchase, Integer> {
 
-    // --- Weekly: igual que antes ---
+    // --- Weekly: semana ISO de la última compra activa ---
     @Query(value = """
+        WITH last_day AS (
+            SELECT d.iso_year_week
+            FROM date_dim d
+            WHERE d.start_utc <= (SELECT MAX(p2.created_at) FROM purchase p2 WHERE p2.status = 'ACTIVE')
+            ORDER BY d.date_key DESC
+            LIMIT 1
+        )
         SELECT
-            CASE DAYOFWEEK(p.created_at)
-                WHEN 2 THEN 'Lunes'
-                WHEN 3 THEN 'Martes'
-                WHEN 4 THEN 'Miércoles'
-                WHEN 5 THEN 'Jueves'
-                WHEN 6 THEN 'Viernes'
-                WHEN 7 THEN 'Sábado'
-                WHEN 1 THEN 'Domingo'
+            CASE d.day_of_week
+                WHEN 1 THEN 'Lunes'
+                WHEN 2 THEN 'Martes'
+                WHEN 3 THEN 'Miércoles'
+                WHEN 4 THEN 'Jueves'
+                WHEN 5 THEN 'Viernes'
+                WHEN 6 THEN 'Sábado'
+                WHEN 7 THEN 'Domingo'
             END AS label,
             COUNT(*) AS ticketsSold,
             COALESCE(SUM(p.total_amount), 0) * 1.0 AS revenue
-        FROM purchase p
+        FROM date_dim d
+        JOIN last_day ld ON d.iso_year_week = ld.iso_year_week
+        JOIN purchase p ON p.created_at >= d.start_utc AND p.created_at < d.end_utc
         WHERE p.status = 'ACTIVE'
-          AND YEARWEEK(p.created_at, 1) = (
-                SELECT YEARWEEK(p2.created_at, 1)
-                FROM purchase p2
-                WHERE p2.status = 'ACTIVE'
-                ORDER BY p2.created_at DESC
-                LIMIT 1
-          )
-        GROUP BY DAYOFWEEK(p.created_at)
-        ORDER BY FIELD(DAYOFWEEK(p.created_at), 2,3,4,5,6,7,1)
+        GROUP BY d.day_of_week
+        ORDER BY d.day_of_week
     """, nativeQuery = true)
     List<RevenueTicketsProjection> getWeeklyMetrics();
 
-    // --- Monthly: últimos 12 meses basados en el último mes con datos ---
+    // --- Monthly: últimos N meses basados en el último mes con datos ---
     @Query(value = """
-        WITH last_month AS (
-            SELECT DATE_FORMAT(MAX(p.created_at), '%Y-%m-01') AS max_month
-            FROM purchase p
-            WHERE p.status = 'ACTIVE'
-        ),
-        range_start AS (
-            SELECT DATE_SUB(max_month, INTERVAL 11 MONTH) AS start_month
-            FROM last_month
+        WITH last_day AS (
+            SELECT d.month_start
+            FROM date_dim d
+            WHERE d.start_utc <= (SELECT MAX(p2.created_at) FROM purchase p2 WHERE p2.status = 'ACTIVE')
+            ORDER BY d.date_key DESC
+            LIMIT 1
         )
-        SELECT 
-            DATE_FORMAT(p.created_at, '%Y-%m') AS label,
+        SELECT
+            d.month_label AS label,
             COUNT(*) AS ticketsSold,
             COALESCE(SUM(p.total_amount), 0) AS revenue
-        FROM purchase p
-        CROSS JOIN last_month lm
-        CROSS JOIN range_start rs
+        FROM date_dim d
+        CROSS JOIN last_day ld
+        JOIN purchase p ON p.created_at >= d.start_utc AND p.created_at < d.end_utc
         WHERE p.status = 'ACTIVE'
-          AND p.created_at >= rs.start_month
-          AND p.created_at < DATE_ADD(lm.max_month, INTERVAL 1 MONTH)
-        GROUP BY DATE_FORMAT(p.created_at, '%Y-%m')
-        ORDER BY label ASC;
+          AND d.month_start > DATE_SUB(ld.month_start, INTERVAL ?1 MONTH)
+          AND d.month_start <= ld.month_start
+        GROUP BY d.month_label
+        ORDER BY label ASC
     """, nativeQuery = true)
     List<RevenueTicketsProjection> getMonthlyMetrics(int limit);
 
     // --- Yearly: últimos N años basados en el último año con datos ---
     @Query(value = """
-        WITH last_year AS (
-            SELECT YEAR(MAX(p.created_at)) AS max_year
-            FROM purchase p
-            WHERE p.status = 'ACTIVE'
-        ),
-        range_start AS (
-            SELECT max_year - ?1 + 1 AS start_year
-            FROM last_year
+        WITH last_day AS (
+            SELECT d.cal_year
+            FROM date_dim d
+            WHERE d.start_utc <= (SELECT MAX(p2.created_at) FROM purchase p2 WHERE p2.status = 'ACTIVE')
+            ORDER BY d.date_key DESC
+            LIMIT 1
         )
-        SELECT 
-            CAST(YEAR(p.created_at) AS CHAR) AS label,
+        SELECT
+            CAST(d.cal_year AS CHAR) AS label,
             COUNT(*) AS ticketsSold,
             COALESCE(SUM(p.total_amount), 0) AS revenue
-        FROM purchase p
-        CROSS JOIN last_year ly
-        CROSS JOIN range_start rs
+        FROM date_dim d
+        CROSS JOIN last_day ld
+        JOIN purchase p ON p.created_at >= d.start_utc AND p.created_at < d.end_utc
         WHERE p.status = 'ACTIVE'
-          AND YEAR(p.created_at) BETWEEN rs.start_year AND ly.max_year
-        GROUP BY YEAR(p.created_at)
-        ORDER BY label ASC;
+          AND d.cal_year BETWEEN ld.cal_year - ?1 + 1 AND ld.cal_year
+        GROUP BY d.cal_year
+        ORDER BY label ASC
     """, nativeQuery = true)
     List<RevenueTicketsProjection> getYearlyMetrics(int limit);
 }
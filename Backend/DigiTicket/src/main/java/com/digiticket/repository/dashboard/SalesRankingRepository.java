@@ -0,0 +1,146 @@
+package com.digiticket.repository.dashboard;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Contadores de venta por (día | mes, evento | categoría) en sales_rank_day / sales_rank_month.
+ * Son pocas filas por periodo: el top-K de un mes es una lectura ordenada del índice
+ * (dimension, month_key, quantity) y un rango arbitrario se arma sumando filas diarias y mensuales.
+ */
+@Repository
+public class SalesRankingRepository {
+
+    public enum Dimension { EVENT, CATEGORY }
+
+    public record RankRow(int itemId, String name, long quantity, BigDecimal amount) {}
+
+    private final JdbcTemplate jdbc;
+
+    public SalesRankingRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // Suma acumulada de ventas de un item en un día; el flush la aplica a la fila diaria y a la mensual
+    public record Increment(Dimension dim, int dateKey, int itemId, long quantity, BigDecimal amount) {}
+
+    /**
+     * Aplica un lote de incrementos en dos batches (día y mes). Quien llama los ordena por clave
+     * para que todos los nodos tomen los locks de fila en el mismo orden.
+     */
+    @Transactional
+    public void applyIncrements(List<Increment> increments) {
+        if (increments.isEmpty()) return;
+        jdbc.batchUpdate("""
+                INSERT INTO sales_rank_day (dimension, date_key, item_id, quantity, amount)
+                VALUES (?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), amount = amount + VALUES(amount)
+                """, increments.stream()
+                .map(i -> new Object[]{i.dim().name(), i.dateKey(), i.itemId(), i.quantity(), i.amount()})
+                .toList());
+        jdbc.batchUpdate("""
+                INSERT INTO sales_rank_month (dimension, month_key, item_id, quantity, amount)
+                VALUES (?, ?, ?, ?, ?)
+                ON DUPLICATE KEY UPDATE quantity = quantity + VALUES(quantity), amount = amount + VALUES(amount)
+                """, increments.stream()
+                .map(i -> new Object[]{i.dim().name(), i.dateKey() / 100, i.itemId(), i.quantity(), i.amount()})
+                .toList());
+    }
+
+    // Top-K de un mes completo: lectura directa de sales_rank_month
+    public List<RankRow> topOfMonth(Dimension dim, int monthKey, int k) {
+        return jdbc.query("""
+                SELECT r.item_id, n.%2$s, r.quantity, r.amount
+                FROM sales_rank_month r
+                LEFT JOIN %1$s n ON n.id = r.item_id
+                WHERE r.dimension = ? AND r.month_key = ?
+                ORDER BY r.quantity DESC, r.item_id
+                LIMIT ?
+                """.formatted(nameTable(dim), nameColumn(dim)),
+                (rs, i) -> new RankRow(rs.getInt(1), rs.getString(2), rs.getLong(3), rs.getBigDecimal(4)),
+                dim.name(), monthKey, k);
+    }
+
+    /**
+     * Top-K de un rango arbitrario: meses completos [fromMonth, toMonth) desde sales_rank_month
+     * más los días sueltos de los bordes [headFrom, headTo) y [tailFrom, tailTo) desde sales_rank_day.
+     */
+    public List<RankRow> topMerged(Dimension dim,
+                                   int headFrom, int headTo,
+                                   int fromMonth, int toMonth,
+                                   int tailFrom, int tailTo,
+                                   int k) {
+        return jdbc.query("""
+                SELECT x.item_id, n.%2$s, SUM(x.quantity) AS qty, SUM(x.amount)
+                FROM (
+                    SELECT item_id, quantity, amount FROM sales_rank_day
+                    WHERE dimension = ?
+                      AND ((date_key >= ? AND date_key < ?) OR (date_key >= ? AND date_key < ?))
+                    UNION ALL
+                    SELECT item_id, quantity, amount FROM sales_rank_month
+                    WHERE dimension = ? AND month_key >= ? AND month_key < ?
+                ) x
+                LEFT JOIN %1$s n ON n.id = x.item_id
+                GROUP BY x.item_id, n.%2$s
+                ORDER BY qty DESC, x.item_id
+                LIMIT ?
+                """.formatted(nameTable(dim), nameColumn(dim)),
+                (rs, i) -> new RankRow(rs.getInt(1), rs.getString(2), rs.getLong(3), rs.getBigDecimal(4)),
+                dim.name(), headFrom, headTo, tailFrom, tailTo,
+                dim.name(), fromMonth, toMonth, k);
+    }
+
+    public boolean isEmpty() {
+        Integer any = jdbc.query("SELECT 1 FROM sales_rank_day LIMIT 1", rs -> rs.next() ? 1 : null);
+        return any == null;
+    }
+
+    /**
+     * Recalcula desde purchase los días [fromKey, toKey) y los meses que los contienen.
+     * Los meses se rehacen sumando sus filas diarias, así que deben estar completas.
+     */
+    @Transactional
+    public void rebuild(int fromKey, int toKey) {
+        jdbc.update("DELETE FROM sales_rank_day WHERE date_key >= ? AND date_key < ?", fromKey, toKey);
+        jdbc.update("""
+                INSERT INTO sales_rank_day (dimension, date_key, item_id, quantity, amount)
+                SELECT 'EVENT', d.date_key, p.event_id, SUM(p.total_quantity), COALESCE(SUM(p.total_amount), 0)
+                FROM date_dim d
+                JOIN purchase p ON p.created_at >= d.start_utc AND p.created_at < d.end_utc
+                WHERE d.date_key >= ? AND d.date_key < ? AND p.status = 'ACTIVE'
+                GROUP BY d.date_key, p.event_id
+                """, fromKey, toKey);
+        jdbc.update("""
+                INSERT INTO sales_rank_day (dimension, date_key, item_id, quantity, amount)
+                SELECT 'CATEGORY', d.date_key, e.event_category_id, SUM(p.total_quantity), COALESCE(SUM(p.total_amount), 0)
+                FROM date_dim d
+                JOIN purchase p ON p.created_at >= d.start_utc AND p.created_at < d.end_utc
+                JOIN event e ON e.id = p.event_id
+                WHERE d.date_key >= ? AND d.date_key < ? AND p.status = 'ACTIVE'
+                GROUP BY d.date_key, e.event_category_id
+                """, fromKey, toKey);
+
+        int fromMonth = fromKey / 100;
+        int toMonth = (toKey - 1) / 100 + 1;
+        jdbc.update("DELETE FROM sales_rank_month WHERE month_key >= ? AND month_key < ?", fromMonth, toMonth);
+        jdbc.update("""
+                INSERT INTO sales_rank_month (dimension, month_key, item_id, quantity, amount)
+                SELECT dimension, FLOOR(date_key / 100), item_id, SUM(quantity), SUM(amount)
+                FROM sales_rank_day
+                WHERE date_key >= ? AND date_key < ?
+                GROUP BY dimension, FLOOR(date_key / 100), item_id
+                """, fromMonth * 100, toMonth * 100);
+    }
+
+    private static String nameTable(Dimension dim) {
+        return dim == Dimension.EVENT ? "event" : "event_category";
+    }
+
+    private static String nameColumn(Dimension dim) {
+        return dim == Dimension.EVENT ? "title" : "name";
+    }
+}
@@ -0,0 +1,137 @@
+package com.digiticket.repository.email;
+
+import com.digiticket.dto.email.EmailTemplate;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Accesos JDBC a email_outbox. claim() debe correr dentro de una transacción: el SKIP LOCKED hace que
+ * varios workers (o instancias) tomen filas distintas sin esperarse entre sí.
+ */
+@Repository
+public class EmailOutboxRepository {
+
+    public record NewRow(String recipient, String domain, EmailTemplate template, String params, Integer notificationId) {}
+
+    public record OutboxRow(long id, String recipient, String domain, EmailTemplate template, String params,
+                            Integer notificationId, int attempts) {}
+
+    private static final int MAX_ERROR = 500;
+
+    private final JdbcTemplate jdbc;
+
+    public EmailOutboxRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void insertAll(List<NewRow> rows) {
+        if (rows.isEmpty()) return;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbc.batchUpdate("""
+                INSERT INTO email_outbox (recipient, recipient_domain, template, params, notification_id,
+                                          status, attempts, next_attempt_at, created_at)
+                VALUES (?, ?, ?, ?, ?, 'PENDING', 0, ?, ?)
+                """, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NewRow r = rows.get(i);
+                ps.setString(1, r.recipient());
+                ps.setString(2, r.domain());
+                ps.setString(3, r.template().name());
+                ps.setString(4, r.params());
+                if (r.notificationId() != null) ps.setInt(5, r.notificationId());
+                else ps.setNull(5, Types.INTEGER);
+                ps.setTimestamp(6, now);
+                ps.setTimestamp(7, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+    }
+
+    // Reclama hasta 'limit' filas vencidas y las deja SENDING hasta leaseUntil
+    public List<OutboxRow> claim(int limit, LocalDateTime now, LocalDateTime leaseUntil) {
+        List<OutboxRow> rows = jdbc.query("""
+                SELECT id, recipient, recipient_domain, template, params, notification_id, attempts
+                FROM email_outbox
+                WHERE status IN ('PENDING', 'SENDING') AND next_attempt_at <= ?
+                ORDER BY next_attempt_at, id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+                """, (rs, i) -> new OutboxRow(
+                        rs.getLong(1),
+                        rs.getString(2),
+                        rs.getString(3),
+                        EmailTemplate.valueOf(rs.getString(4)),
+                        rs.getString(5),
+                        (Integer) rs.getObject(6, Integer.class),
+                        rs.getInt(7)),
+                Timestamp.valueOf(now), limit);
+        if (rows.isEmpty()) return rows;
+
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(leaseUntil));
+        rows.forEach(r -> args.add(r.id()));
+        jdbc.update("UPDATE email_outbox SET status = 'SENDING', next_attempt_at = ? WHERE id IN ("
+                + placeholders(rows.size()) + ")", args.toArray());
+        return rows;
+    }
+
+    public void markSent(Collection<Long> ids, LocalDateTime sentAt) {
+        if (ids.isEmpty()) return;
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(sentAt));
+        args.addAll(ids);
+        jdbc.update("UPDATE email_outbox SET status = 'SENT', sent_at = ?, last_error = NULL WHERE id IN ("
+                + placeholders(ids.size()) + ")", args.toArray());
+    }
+
+    public void reschedule(long id, int attempts, LocalDateTime nextAttemptAt, String error) {
+        jdbc.update("""
+                UPDATE email_outbox SET status = 'PENDING', attempts = ?, next_attempt_at = ?, last_error = ?
+                WHERE id = ?
+                """, attempts, Timestamp.valueOf(nextAttemptAt), truncate(error), id);
+    }
+
+    public void markFailed(long id, int attempts, String error) {
+        jdbc.update("UPDATE email_outbox SET status = 'FAILED', attempts = ?, last_error = ? WHERE id = ?",
+                attempts, truncate(error), id);
+    }
+
+    public long countPending() {
+        Long n = jdbc.queryForObject(
+                "SELECT COUNT(*) FROM email_outbox WHERE status IN ('PENDING', 'SENDING')", Long.class);
+        return n != null ? n : 0;
+    }
+
+    // Borra hasta 'limit' filas SENT/FAILED creadas antes de 'before'; devuelve cuántas borró
+    public int deleteFinishedBefore(LocalDateTime before, int limit) {
+        return jdbc.update("""
+                DELETE FROM email_outbox
+                WHERE status IN ('SENT', 'FAILED') AND created_at < ?
+                LIMIT ?
+                """, Timestamp.valueOf(before), limit);
+    }
+
+    private static String placeholders(int n) {
+        return String.join(",", Collections.nCopies(n, "?"));
+    }
+
+    private static String truncate(String s) {
+        return s != null && s.length() > MAX_ERROR ? s.substring(0, MAX_ERROR) : s;
+    }
+}
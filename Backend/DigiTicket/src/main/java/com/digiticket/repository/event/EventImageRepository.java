@@ -0,0 +1,19 @@
+package com.digiticket.repository.event;
+
+import com.digiticket.domain.event.EventImage;
+import com.digiticket.repository.event.projection.EventImageMetaProjection;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface EventImageRepository extends JpaRepository<EventImage, Integer> {
+
+    // Hash y tipo, sin tocar el BLOB (para responder 304 o ubicar el archivo en el store)
+    @Query("SELECT i.sha256 AS sha256, i.contentType AS contentType FROM EventImage i WHERE i.eventId = :eventId")
+    Optional<EventImageMetaProjection> findMetaByEventId(@Param("eventId") Integer eventId);
+
+    @Query("SELECT i.data FROM EventImage i WHERE i.eventId = :eventId")
+    Optional<byte[]> findDataByEventId(@Param("eventId") Integer eventId);
+}
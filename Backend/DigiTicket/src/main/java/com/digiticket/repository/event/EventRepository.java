@@ -2,11 +2,17 @@ package com.digiticket.repository.event;
 
 import com.digiticket.domain.event.Event;
 import com.digiticket.domain.event.EventStatus;
+import com.digiticket.repository.event.projection.EventCatalogProjection;
+import com.digiticket.repository.event.projection.EventFacetProjection;
+import com.digiticket.repository.event.projection.EventScheduleProjection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpecificationExecutor<Event> {
     List<Event> findByStatus(EventStatus status);
@@ -21,7 +27,7 @@ public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpeci
     int countByLocation_Id(Integer locationId);
 
     /**
-     * Carga solo los campos necesarios de eventos específicos (id + imageData)
+     * Carga los eventos indicados por id (la imagen está en event_image, aquí solo imageHash)
      * sin traer relaciones innecesarias
      */
     @org.springframework.data.jpa.repository.Query("SELECT e FROM Event e WHERE e.id IN :eventIds")
@@ -39,4 +45,88 @@ public interface EventRepository extends JpaRepository<Event, Integer>, JpaSpeci
     List<com.digiticket.dto.event.EventBasicProjection> findBasicInfoByIds(
         @org.springframework.data.repository.query.Param("eventIds") java.util.Set<Integer> eventIds
     );
+
+    // Todos los eventos con sus relaciones en un solo SELECT (evita el N+1 de las relaciones EAGER)
+    @org.springframework.data.jpa.repository.Query(
+        "SELECT e FROM Event e JOIN FETCH e.location JOIN FETCH e.eventCategory JOIN FETCH e.administrator"
+    )
+    List<Event> findAllWithRefs();
+
+    // Reindexado tras el commit: se usa fuera de una transacción, así que las referencias vienen cargadas
+    @org.springframework.data.jpa.repository.Query(
+        "SELECT e FROM Event e JOIN FETCH e.location JOIN FETCH e.eventCategory JOIN FETCH e.administrator " +
+        "WHERE e.id = :id"
+    )
+    Optional<Event> findWithRefsById(@org.springframework.data.repository.query.Param("id") Integer id);
+
+    /**
+     * Catálogo paginado: solo columnas de lista, precio mínimo y disponibilidad agregados por evento.
+     * status = null trae todos los estados.
+     */
+    @org.springframework.data.jpa.repository.Query(
+        value = "SELECT e.id AS id, e.title AS title, e.startsAt AS startsAt, e.status AS status, " +
+                "l.name AS venueName, c.name AS categoryName, " +
+                "MIN(z.price) AS minPrice, COALESCE(SUM(z.seatsAvailable), 0) AS available, " +
+                "e.imageHash AS imageHash " +
+                "FROM Event e JOIN e.location l JOIN e.eventCategory c " +
+                "LEFT JOIN e.zones z ON z.status = com.digiticket.domain.event.EventZone.Status.ACTIVE " +
+                "WHERE (:status IS NULL OR e.status = :status) " +
+                "GROUP BY e.id, e.title, e.startsAt, e.status, l.name, c.name, e.imageHash",
+        countQuery = "SELECT COUNT(e) FROM Event e WHERE (:status IS NULL OR e.status = :status)"
+    )
+    Page<EventCatalogProjection> findCatalog(
+        @org.springframework.data.repository.query.Param("status") EventStatus status,
+        Pageable pageable
+    );
+
+    // Misma proyección para un conjunto de ids (hidratación de resultados de búsqueda)
+    @org.springframework.data.jpa.repository.Query(
+        "SELECT e.id AS id, e.title AS title, e.startsAt AS startsAt, e.status AS status, " +
+        "l.name AS venueName, c.name AS categoryName, " +
+        "MIN(z.price) AS minPrice, COALESCE(SUM(z.seatsAvailable), 0) AS available, " +
+        "e.imageHash AS imageHash " +
+        "FROM Event e JOIN e.location l JOIN e.eventCategory c " +
+        "LEFT JOIN e.zones z ON z.status = com.digiticket.domain.event.EventZone.Status.ACTIVE " +
+        "WHERE e.id IN :ids " +
+        "GROUP BY e.id, e.title, e.startsAt, e.status, l.name, c.name, e.imageHash"
+    )
+    List<EventCatalogProjection> findCatalogByIds(
+        @org.springframework.data.repository.query.Param("ids") java.util.Collection<Integer> ids
+    );
+
+    // Catálogo completo de un estado con distrito/ciudad, para el snapshot de facetas
+    @org.springframework.data.jpa.repository.Query(
+        "SELECT e.id AS id, e.title AS title, e.startsAt AS startsAt, e.status AS status, " +
+        "l.name AS venueName, c.name AS categoryName, l.district AS district, l.city AS city, " +
+        "MIN(z.price) AS minPrice, COALESCE(SUM(z.seatsAvailable), 0) AS available, " +
+        "e.imageHash AS imageHash " +
+        "FROM Event e JOIN e.location l JOIN e.eventCategory c " +
+        "LEFT JOIN e.zones z ON z.status = com.digiticket.domain.event.EventZone.Status.ACTIVE " +
+        "WHERE e.status = :status " +
+        "GROUP BY e.id, e.title, e.startsAt, e.status, l.name, c.name, l.district, l.city, e.imageHash " +
+        "ORDER BY e.startsAt, e.id"
+    )
+    List<EventFacetProjection> findFacetRows(
+        @org.springframework.data.repository.query.Param("status") EventStatus status
+    );
+
+    // Publicados con inicio de venta o de función antes de :horizon (candidatos a transición)
+    @org.springframework.data.jpa.repository.Query(
+        "SELECT e.id AS id, e.salesStartAt AS salesStartAt, e.startsAt AS startsAt, e.durationMin AS durationMin " +
+        "FROM Event e " +
+        "WHERE e.status = com.digiticket.domain.event.EventStatus.PUBLISHED " +
+        "AND (e.salesStartAt < :horizon OR e.startsAt < :horizon)"
+    )
+    List<EventScheduleProjection> findScheduleBefore(
+        @org.springframework.data.repository.query.Param("horizon") java.time.LocalDateTime horizon
+    );
+
+    @org.springframework.data.jpa.repository.Query(
+        "SELECT e.id AS id, e.salesStartAt AS salesStartAt, e.startsAt AS startsAt, e.durationMin AS durationMin " +
+        "FROM Event e " +
+        "WHERE e.id = :id AND e.status = com.digiticket.domain.event.EventStatus.PUBLISHED"
+    )
+    java.util.Optional<EventScheduleProjection> findPublishedSchedule(
+        @org.springframework.data.repository.query.Param("id") Integer id
+    );
 }
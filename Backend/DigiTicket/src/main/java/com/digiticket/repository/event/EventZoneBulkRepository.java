@@ -0,0 +1,147 @@
+package com.digiticket.repository.event;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Accesos JDBC del aprovisionamiento masivo de zonas: lecturas por conjunto (una consulta por tabla)
+ * e inserciones en batch, en lugar de findById/save fila por fila.
+ */
+@Repository
+public class EventZoneBulkRepository {
+
+    public record NewLocationZone(int locationId, String name, int capacity) {}
+
+    public record NewEventZone(int eventId, int locationZoneId, String displayName, BigDecimal price,
+                               int seatsQuota, int seatsSold, String status) {}
+
+    private static final int MAX_IN_PARAMS = 1_000;
+
+    private final JdbcTemplate jdbc;
+
+    public EventZoneBulkRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // eventId → locationId
+    public Map<Integer, Integer> findEventLocations(Collection<Integer> eventIds) {
+        Map<Integer, Integer> out = new HashMap<>();
+        if (eventIds.isEmpty()) return out;
+        forEachSlice(eventIds, ids -> jdbc.query(
+                "SELECT id, location_id FROM event WHERE id IN (" + placeholders(ids.size()) + ")",
+                rs -> { out.put(rs.getInt(1), rs.getInt(2)); },
+                ids.toArray()));
+        return out;
+    }
+
+    // (locationId, nombre en minúsculas) → id de location_zone; mismo criterio que findByLocationIdAndNameIgnoreCase
+    public Map<String, Integer> findLocationZones(Collection<Integer> locationIds) {
+        Map<String, Integer> out = new HashMap<>();
+        if (locationIds.isEmpty()) return out;
+        forEachSlice(locationIds, ids -> jdbc.query(
+                "SELECT id, location_id, name FROM location_zone WHERE location_id IN (" + placeholders(ids.size()) + ")",
+                rs -> { out.put(zoneKey(rs.getInt(2), rs.getString(3)), rs.getInt(1)); },
+                ids.toArray()));
+        return out;
+    }
+
+    // Pares (event_id, location_zone_id) ya existentes: la tabla tiene UNIQUE sobre ese par
+    public Set<Long> findEventZonePairs(Collection<Integer> eventIds) {
+        Set<Long> out = new HashSet<>();
+        if (eventIds.isEmpty()) return out;
+        forEachSlice(eventIds, ids -> jdbc.query(
+                "SELECT event_id, location_zone_id FROM event_zone WHERE event_id IN (" + placeholders(ids.size()) + ")",
+                rs -> { out.add(pair(rs.getInt(1), rs.getInt(2))); },
+                ids.toArray()));
+        return out;
+    }
+
+    public void insertLocationZones(List<NewLocationZone> zones) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbc.batchUpdate("""
+                INSERT INTO location_zone (location_id, name, capacity, status, created_at, updated_at)
+                VALUES (?, ?, ?, 'ACTIVE', ?, ?)
+                """, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NewLocationZone z = zones.get(i);
+                ps.setInt(1, z.locationId());
+                ps.setString(2, z.name());
+                ps.setInt(3, z.capacity());
+                ps.setTimestamp(4, now);
+                ps.setTimestamp(5, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return zones.size();
+            }
+        });
+    }
+
+    // Inserta en un solo batch y devuelve los ids generados en el orden de entrada
+    public List<Integer> insertEventZones(List<NewEventZone> zones) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(con -> con.prepareStatement("""
+                INSERT INTO event_zone (event_id, location_zone_id, display_name, price, seats_quota, seats_sold,
+                                        status, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, Statement.RETURN_GENERATED_KEYS), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NewEventZone z = zones.get(i);
+                ps.setInt(1, z.eventId());
+                ps.setInt(2, z.locationZoneId());
+                ps.setString(3, z.displayName());
+                ps.setBigDecimal(4, z.price());
+                ps.setInt(5, z.seatsQuota());
+                ps.setInt(6, z.seatsSold());
+                ps.setString(7, z.status());
+                ps.setTimestamp(8, now);
+                ps.setTimestamp(9, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return zones.size();
+            }
+        }, keys);
+        return keys.getKeyList().stream()
+                .map(m -> ((Number) m.values().iterator().next()).intValue())
+                .collect(Collectors.toList());
+    }
+
+    public static String zoneKey(int locationId, String name) {
+        return locationId + "|" + name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    public static long pair(int eventId, int locationZoneId) {
+        return ((long) eventId << 32) | (locationZoneId & 0xFFFFFFFFL);
+    }
+
+    // Un archivo completo puede traer más ids de los que admite un IN (MySQL: 65535 parámetros)
+    private static void forEachSlice(Collection<Integer> ids, Consumer<List<Integer>> action) {
+        List<Integer> all = new ArrayList<>(ids);
+        for (int from = 0; from < all.size(); from += MAX_IN_PARAMS) {
+            action.accept(all.subList(from, Math.min(from + MAX_IN_PARAMS, all.size())));
+        }
+    }
+
+    private static String placeholders(int n) {
+        return String.join(",", Collections.nCopies(n, "?"));
+    }
+}
@@ -0,0 +1,19 @@
+package com.digiticket.repository.event.projection;
+
+import com.digiticket.domain.event.EventStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Fila del catálogo: sin description, sin imagen y sin entidades relacionadas
+public interface EventCatalogProjection {
+    Integer getId();
+    String getTitle();
+    LocalDateTime getStartsAt();
+    EventStatus getStatus();
+    String getVenueName();
+    String getCategoryName();
+    BigDecimal getMinPrice();
+    Long getAvailable();
+    String getImageHash();
+}
@@ -0,0 +1,7 @@
+package com.digiticket.repository.event.projection;
+
+// Fila del catálogo más los atributos de ubicación usados como facetas
+public interface EventFacetProjection extends EventCatalogProjection {
+    String getDistrict();
+    String getCity();
+}
@@ -0,0 +1,6 @@
+package com.digiticket.repository.event.projection;
+
+public interface EventImageMetaProjection {
+    String getSha256();
+    String getContentType();
+}
@@ -0,0 +1,11 @@
+package com.digiticket.repository.event.projection;
+
+import java.time.LocalDateTime;
+
+// Solo los tiempos que necesita el scheduler de ciclo de vida
+public interface EventScheduleProjection {
+    Integer getId();
+    LocalDateTime getSalesStartAt();
+    LocalDateTime getStartsAt();
+    Integer getDurationMin();
+}
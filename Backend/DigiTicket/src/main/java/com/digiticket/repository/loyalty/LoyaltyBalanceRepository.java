@@ -0,0 +1,188 @@
+package com.digiticket.repository.loyalty;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Saldo materializado de puntos por cliente (loyalty_balance).
+ * Quien mueve puntos de un cliente toma primero el lock de su fila con {@link #lock}:
+ * así los movimientos del mismo cliente se serializan y el recálculo siempre ve el ledger actualizado.
+ */
+@Repository
+public class LoyaltyBalanceRepository {
+
+    public record Balance(int clientId, int activePoints, int redeemablePoints,
+                          LocalDateTime nextExpiryAt, int nextExpiryPoints) {
+
+        public static Balance empty(int clientId) {
+            return new Balance(clientId, 0, 0, null, 0);
+        }
+
+        // El lote más próximo ya venció: los totales guardados cuentan puntos que ya no valen
+        public boolean isStale(LocalDateTime now) {
+            return nextExpiryAt != null && nextExpiryAt.isBefore(now);
+        }
+    }
+
+    public record Lot(int points, LocalDateTime expiresAt) {}
+
+    private final JdbcTemplate jdbc;
+
+    public LoyaltyBalanceRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public Optional<Balance> find(int clientId) {
+        List<Balance> rows = jdbc.query("""
+                SELECT client_id, active_points, redeemable_points, next_expiry_at, next_expiry_points
+                FROM loyalty_balance WHERE client_id = ?
+                """, (rs, i) -> new Balance(rs.getInt(1), rs.getInt(2), rs.getInt(3),
+                        toLocal(rs.getTimestamp(4)), rs.getInt(5)),
+                clientId);
+        return rows.stream().findFirst();
+    }
+
+    public Map<Integer, Balance> findAll() {
+        Map<Integer, Balance> out = new HashMap<>();
+        jdbc.query("""
+                SELECT client_id, active_points, redeemable_points, next_expiry_at, next_expiry_points
+                FROM loyalty_balance
+                """, rs -> { out.put(rs.getInt(1), new Balance(rs.getInt(1), rs.getInt(2), rs.getInt(3),
+                        toLocal(rs.getTimestamp(4)), rs.getInt(5))); });
+        return out;
+    }
+
+    public boolean isEmpty() {
+        Integer any = jdbc.query("SELECT client_id FROM loyalty_balance LIMIT 1",
+                rs -> rs.next() ? rs.getInt(1) : null);
+        return any == null;
+    }
+
+    // Crea la fila si no existe y, en ambos casos, deja tomado su lock exclusivo hasta el commit
+    public void lock(int clientId) {
+        jdbc.update("""
+                INSERT INTO loyalty_balance (client_id, active_points, redeemable_points, next_expiry_points, updated_at)
+                VALUES (?, 0, 0, 0, ?)
+                ON DUPLICATE KEY UPDATE client_id = client_id
+                """, clientId, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // Igual que lock(), para varios clientes en orden ascendente de id (mismo orden en todas las transacciones)
+    public void lockAll(Collection<Integer> clientIds) {
+        List<Object[]> args = clientIds.stream().sorted().distinct()
+                .map(id -> new Object[]{id, Timestamp.valueOf(LocalDateTime.now())})
+                .toList();
+        if (args.isEmpty()) return;
+        jdbc.batchUpdate("""
+                INSERT INTO loyalty_balance (client_id, active_points, redeemable_points, next_expiry_points, updated_at)
+                VALUES (?, 0, 0, 0, ?)
+                ON DUPLICATE KEY UPDATE client_id = client_id
+                """, args);
+    }
+
+    // Lotes que cuentan para el saldo, sin lock: lectura consistente dentro de la transacción actual
+    public List<Lot> findActiveLots(int clientId, LocalDateTime now) {
+        return jdbc.query("""
+                SELECT points, expires_at FROM loyalty_points
+                WHERE client_id = ? AND status = 'ACTIVE' AND (expires_at IS NULL OR expires_at >= ?)
+                """, (rs, i) -> new Lot(rs.getInt(1), toLocal(rs.getTimestamp(2))),
+                clientId, Timestamp.valueOf(now));
+    }
+
+    // Lotes que cuentan para el saldo; lectura con lock para ver lo último confirmado, no el snapshot
+    public List<Lot> findActiveLotsForUpdate(int clientId, LocalDateTime now) {
+        return jdbc.query("""
+                SELECT points, expires_at FROM loyalty_points
+                WHERE client_id = ? AND status = 'ACTIVE' AND (expires_at IS NULL OR expires_at >= ?)
+                FOR UPDATE
+                """, (rs, i) -> new Lot(rs.getInt(1), toLocal(rs.getTimestamp(2))),
+                clientId, Timestamp.valueOf(now));
+    }
+
+    // Lotes vigentes de varios clientes, agrupados por cliente; los clientes sin lotes no aparecen
+    public Map<Integer, List<Lot>> findActiveLotsForUpdate(Collection<Integer> clientIds, LocalDateTime now) {
+        Map<Integer, List<Lot>> out = new HashMap<>();
+        if (clientIds.isEmpty()) return out;
+        String in = String.join(",", Collections.nCopies(clientIds.size(), "?"));
+        List<Object> args = new ArrayList<>(clientIds);
+        args.add(Timestamp.valueOf(now));
+        jdbc.query("SELECT client_id, points, expires_at FROM loyalty_points"
+                + " WHERE client_id IN (" + in + ") AND status = 'ACTIVE' AND (expires_at IS NULL OR expires_at >= ?)"
+                + " FOR UPDATE",
+                rs -> { out.computeIfAbsent(rs.getInt(1), k -> new ArrayList<>())
+                        .add(new Lot(rs.getInt(2), toLocal(rs.getTimestamp(3)))); },
+                args.toArray());
+        return out;
+    }
+
+    // Saldo esperado de todos los clientes según el ledger, para la reconciliación nocturna
+    public Map<Integer, Balance> computeAll(LocalDateTime now) {
+        Map<Integer, List<Lot>> lots = new HashMap<>();
+        jdbc.query("""
+                SELECT client_id, points, expires_at FROM loyalty_points
+                WHERE status = 'ACTIVE' AND (expires_at IS NULL OR expires_at >= ?)
+                """, rs -> { lots.computeIfAbsent(rs.getInt(1), k -> new ArrayList<>())
+                        .add(new Lot(rs.getInt(2), toLocal(rs.getTimestamp(3)))); },
+                Timestamp.valueOf(now));
+        Map<Integer, Balance> out = new HashMap<>();
+        lots.forEach((clientId, l) -> out.put(clientId, fold(clientId, l)));
+        return out;
+    }
+
+    public void save(Balance b) {
+        jdbc.update("""
+                UPDATE loyalty_balance
+                SET active_points = ?, redeemable_points = ?, next_expiry_at = ?, next_expiry_points = ?, updated_at = ?
+                WHERE client_id = ?
+                """, b.activePoints(), b.redeemablePoints(),
+                b.nextExpiryAt() != null ? Timestamp.valueOf(b.nextExpiryAt()) : null,
+                b.nextExpiryPoints(), Timestamp.valueOf(LocalDateTime.now()), b.clientId());
+    }
+
+    public void saveAll(List<Balance> balances) {
+        if (balances.isEmpty()) return;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbc.batchUpdate("""
+                UPDATE loyalty_balance
+                SET active_points = ?, redeemable_points = ?, next_expiry_at = ?, next_expiry_points = ?, updated_at = ?
+                WHERE client_id = ?
+                """, balances.stream().map(b -> new Object[]{
+                        b.activePoints(), b.redeemablePoints(),
+                        b.nextExpiryAt() != null ? Timestamp.valueOf(b.nextExpiryAt()) : null,
+                        b.nextExpiryPoints(), now, b.clientId()}).toList());
+    }
+
+    // Saldo a partir de los lotes vigentes; por ahora todo lo activo es canjeable
+    public static Balance fold(int clientId, List<Lot> lots) {
+        int active = 0;
+        LocalDateTime next = null;
+        int nextPoints = 0;
+        for (Lot lot : lots) {
+            active += lot.points();
+            if (lot.expiresAt() == null) continue;
+            int cmp = next == null ? -1 : lot.expiresAt().compareTo(next);
+            if (cmp < 0) {
+                next = lot.expiresAt();
+                nextPoints = lot.points();
+            } else if (cmp == 0) {
+                nextPoints += lot.points();
+            }
+        }
+        active = Math.max(active, 0);
+        return new Balance(clientId, active, active, next, nextPoints);
+    }
+
+    private static LocalDateTime toLocal(Timestamp ts) {
+        return ts != null ? ts.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,97 @@
+package com.digiticket.repository.loyalty;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Operaciones por conjunto sobre loyalty_points. Las lecturas de lotes activos recorren el índice
+ * (client_id, status, expires_at) en orden, así el FIFO por vencimiento sale del índice y no de un sort;
+ * el vencimiento masivo recorre (status, expires_at).
+ */
+@Repository
+public class LoyaltyLedgerRepository {
+
+    public record ActiveLot(int id, int points) {}
+
+    public record DueLot(int id, int clientId) {}
+
+    // Nuevo estado de un lote tras un canje: consumido entero (USED, 0 puntos) o parcialmente
+    public record LotUpdate(int id, int points, String status) {}
+
+    private final JdbcTemplate jdbc;
+
+    public LoyaltyLedgerRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // Lotes con vencimiento aún vigentes, del más próximo al más lejano, bloqueados hasta el commit
+    public List<ActiveLot> findExpiringLotsForUpdate(int clientId, LocalDateTime now) {
+        return jdbc.query("""
+                SELECT id, points FROM loyalty_points
+                WHERE client_id = ? AND status = 'ACTIVE' AND expires_at >= ?
+                ORDER BY expires_at, id
+                FOR UPDATE
+                """, (rs, i) -> new ActiveLot(rs.getInt(1), rs.getInt(2)),
+                clientId, Timestamp.valueOf(now));
+    }
+
+    // Lotes sin vencimiento: se consumen al final
+    public List<ActiveLot> findNonExpiringLotsForUpdate(int clientId) {
+        return jdbc.query("""
+                SELECT id, points FROM loyalty_points
+                WHERE client_id = ? AND status = 'ACTIVE' AND expires_at IS NULL
+                ORDER BY id
+                FOR UPDATE
+                """, (rs, i) -> new ActiveLot(rs.getInt(1), rs.getInt(2)),
+                clientId);
+    }
+
+    public void updateLots(List<LotUpdate> updates) {
+        if (updates.isEmpty()) return;
+        jdbc.batchUpdate("UPDATE loyalty_points SET points = ?, status = ? WHERE id = ?",
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        LotUpdate u = updates.get(i);
+                        ps.setInt(1, u.points());
+                        ps.setString(2, u.status());
+                        ps.setInt(3, u.id());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return updates.size();
+                    }
+                });
+    }
+
+    // Lotes ACTIVE ya vencidos, los más antiguos primero; lectura sin lock, se revalida al actualizar
+    public List<DueLot> findDueLots(LocalDateTime now, int limit) {
+        return jdbc.query("""
+                SELECT id, client_id FROM loyalty_points
+                WHERE status = 'ACTIVE' AND expires_at < ?
+                ORDER BY expires_at, id
+                LIMIT ?
+                """, (rs, i) -> new DueLot(rs.getInt(1), rs.getInt(2)),
+                Timestamp.valueOf(now), limit);
+    }
+
+    // Solo pasa a EXPIRED lo que sigue ACTIVE y vencido: un canje concurrente pudo consumirlo antes
+    public int expireLots(List<Integer> ids, LocalDateTime now) {
+        if (ids.isEmpty()) return 0;
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        List<Object> args = new ArrayList<>(ids);
+        args.add(Timestamp.valueOf(now));
+        return jdbc.update("UPDATE loyalty_points SET status = 'EXPIRED' WHERE id IN (" + in + ")"
+                + " AND status = 'ACTIVE' AND expires_at < ?", args.toArray());
+    }
+}
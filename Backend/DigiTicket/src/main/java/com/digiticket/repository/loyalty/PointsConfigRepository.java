@@ -2,6 +2,13 @@ package com.digiticket.repository.loyalty;
 
 import com.digiticket.domain.loyalty.PointsConfig;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface PointsConfigRepository extends JpaRepository<PointsConfig, Integer> {
+
+    @Query("SELECT c.version FROM PointsConfig c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Integer id);
 }
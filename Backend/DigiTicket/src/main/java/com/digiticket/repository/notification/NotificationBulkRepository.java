@@ -0,0 +1,74 @@
+package com.digiticket.repository.notification;
+
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Escrituras masivas de notification: alta de una ola de avisos en un solo batch
+ * y marcado de enviadas por lote, en lugar de save/markAsSent por notificación.
+ */
+@Repository
+public class NotificationBulkRepository {
+
+    public record NewNotification(int clientId, String title, String message) {}
+
+    private final JdbcTemplate jdbc;
+
+    public NotificationBulkRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    // Devuelve los ids generados en el orden de entrada
+    public List<Integer> insertAll(List<NewNotification> rows) {
+        if (rows.isEmpty()) return List.of();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbc.batchUpdate(con -> con.prepareStatement("""
+                INSERT INTO notification (client_id, title, message, created_at, updated_at)
+                VALUES (?, ?, ?, ?, ?)
+                """, Statement.RETURN_GENERATED_KEYS), new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                NewNotification n = rows.get(i);
+                ps.setInt(1, n.clientId());
+                ps.setString(2, n.title());
+                ps.setString(3, n.message());
+                ps.setTimestamp(4, now);
+                ps.setTimestamp(5, now);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        }, keys);
+        return keys.getKeyList().stream()
+                .map(m -> ((Number) m.values().iterator().next()).intValue())
+                .collect(Collectors.toList());
+    }
+
+    public int markSent(Collection<Integer> ids, LocalDateTime sentAt) {
+        if (ids.isEmpty()) return 0;
+        String in = String.join(",", Collections.nCopies(ids.size(), "?"));
+        List<Object> args = new ArrayList<>();
+        args.add(Timestamp.valueOf(sentAt));
+        args.add(Timestamp.valueOf(sentAt));
+        args.addAll(ids);
+        return jdbc.update("UPDATE notification SET sent_at = ?, updated_at = ? WHERE id IN (" + in + ")",
+                args.toArray());
+    }
+}
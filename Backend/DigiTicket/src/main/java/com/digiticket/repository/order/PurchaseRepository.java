@@ -1,6 +1,7 @@
 package com.digiticket.repository.order;
 
 import com.digiticket.domain.order.Purchase;
+import com.digiticket.repository.order.projection.EventTicketsProjection;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -8,32 +9,51 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
-import java.time.Instant;
+import java.util.List;
 
 public interface PurchaseRepository extends JpaRepository<Purchase, Integer> {
 
     Page<Purchase> findByClientIdOrderByCreatedAtDesc(Integer clientId, Pageable pageable);
 
+    // Rangos de reporte: [fromKey, toKey) en date keys (yyyymmdd) de date_dim
     @Query(value = "SELECT COALESCE(SUM(p.total_amount), 0) " +
-            "FROM purchase p " +
-            "WHERE p.created_at >= :start " +
-            "AND p.created_at < :end " +
+            "FROM date_dim d " +
+            "JOIN purchase p ON p.created_at >= d.start_utc AND p.created_at < d.end_utc " +
+            "WHERE d.date_key >= :fromKey " +
+            "AND d.date_key < :toKey " +
             "AND p.status = 'ACTIVE'",
             nativeQuery = true)
     BigDecimal sumTotalAmountByDateRangeAndActiveStatus(
-            @Param("start") Instant start,
-            @Param("end") Instant end
+            @Param("fromKey") int fromKey,
+            @Param("toKey") int toKey
     );
 
     @Query(value = "SELECT COALESCE(SUM(p.total_quantity), 0) " +
-            "FROM purchase p " +
-            "WHERE p.created_at >= :start " +
-            "AND p.created_at < :end " +
+            "FROM date_dim d " +
+            "JOIN purchase p ON p.created_at >= d.start_utc AND p.created_at < d.end_utc " +
+            "WHERE d.date_key >= :fromKey " +
+            "AND d.date_key < :toKey " +
             "AND p.status = 'ACTIVE'",
             nativeQuery = true)
     Integer sumTotalQuantityByDateRangeAndActiveStatus(
-            @Param("start") Instant start,
-            @Param("end") Instant end
+            @Param("fromKey") int fromKey,
+            @Param("toKey") int toKey
+    );
+
+    @Query(value = "SELECT p.event_id AS eventId, " +
+            "e.event_category_id AS categoryId, " +
+            "COALESCE(SUM(p.total_quantity), 0) AS tickets " +
+            "FROM date_dim d " +
+            "JOIN purchase p ON p.created_at >= d.start_utc AND p.created_at < d.end_utc " +
+            "JOIN event e ON e.id = p.event_id " +
+            "WHERE d.date_key >= :fromKey " +
+            "AND d.date_key < :toKey " +
+            "AND p.status = 'ACTIVE' " +
+            "GROUP BY p.event_id, e.event_category_id",
+            nativeQuery = true)
+    List<EventTicketsProjection> sumQuantityByEventBetween(
+            @Param("fromKey") int fromKey,
+            @Param("toKey") int toKey
     );
 
 }
@@ -0,0 +1,90 @@
+package com.digiticket.repository.order;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Contadores de compras por usuario en user_order_stats. Solo cuentan las órdenes PAID;
+ * una orden nunca cambia de estado después del checkout, así que basta con sumar al crearla.
+ */
+@Repository
+public class UserOrderStatsRepository {
+
+    public record Stats(int userId, int orderCount, BigDecimal totalSpent) {
+
+        public static Stats empty(int userId) {
+            return new Stats(userId, 0, BigDecimal.ZERO);
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+
+    public UserOrderStatsRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public Optional<Stats> find(int userId) {
+        List<Stats> rows = jdbc.query(
+                "SELECT user_id, order_count, total_spent FROM user_order_stats WHERE user_id = ?",
+                (rs, i) -> new Stats(rs.getInt(1), rs.getInt(2), rs.getBigDecimal(3)),
+                userId);
+        return rows.stream().findFirst();
+    }
+
+    // Mismo resultado calculado desde las órdenes (índice user_id, status, total_paid)
+    public Stats compute(int userId) {
+        return jdbc.queryForObject("""
+                SELECT COUNT(*), COALESCE(SUM(total_paid), 0) FROM `order`
+                WHERE user_id = ? AND status = 'PAID'
+                """, (rs, i) -> new Stats(userId, rs.getInt(1), rs.getBigDecimal(2)), userId);
+    }
+
+    public void addPaidOrder(int userId, BigDecimal amount) {
+        jdbc.update("""
+                INSERT INTO user_order_stats (user_id, order_count, total_spent, updated_at)
+                VALUES (?, 1, ?, ?)
+                ON DUPLICATE KEY UPDATE order_count = order_count + 1,
+                                        total_spent = total_spent + VALUES(total_spent),
+                                        updated_at = VALUES(updated_at)
+                """, userId, amount != null ? amount : BigDecimal.ZERO, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    // Foto de todos los usuarios con órdenes PAID, para reconciliar (índice user_id, status, total_paid)
+    public Map<Integer, Stats> computeAll() {
+        Map<Integer, Stats> out = new HashMap<>();
+        jdbc.query("""
+                SELECT user_id, COUNT(*), COALESCE(SUM(total_paid), 0) FROM `order`
+                WHERE status = 'PAID' AND user_id IS NOT NULL
+                GROUP BY user_id
+                """, rs -> { out.put(rs.getInt(1), new Stats(rs.getInt(1), rs.getInt(2), rs.getBigDecimal(3))); });
+        return out;
+    }
+
+    public Map<Integer, Stats> findAll() {
+        Map<Integer, Stats> out = new HashMap<>();
+        jdbc.query("SELECT user_id, order_count, total_spent FROM user_order_stats",
+                rs -> { out.put(rs.getInt(1), new Stats(rs.getInt(1), rs.getInt(2), rs.getBigDecimal(3))); });
+        return out;
+    }
+
+    // Reescribe la fila del usuario desde sus órdenes en una sola sentencia (deja 0 si ya no tiene órdenes PAID)
+    public void refresh(int userId) {
+        jdbc.update("""
+                INSERT INTO user_order_stats (user_id, order_count, total_spent, updated_at)
+                SELECT ?, COUNT(*), COALESCE(SUM(total_paid), 0), ?
+                FROM `order`
+                WHERE user_id = ? AND status = 'PAID'
+                ON DUPLICATE KEY UPDATE order_count = VALUES(order_count),
+                                        total_spent = VALUES(total_spent),
+                                        updated_at = VALUES(updated_at)
+                """, userId, Timestamp.valueOf(LocalDateTime.now()), userId);
+    }
+}
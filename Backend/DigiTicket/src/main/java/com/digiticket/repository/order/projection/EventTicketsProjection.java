@@ -0,0 +1,7 @@
+package com.digiticket.repository.order.projection;
+
+public interface EventTicketsProjection {
+    Integer getEventId();
+    Integer getCategoryId();
+    Long getTickets();
+}
@@ -0,0 +1,14 @@
+package com.digiticket.repository.report;
+
+import com.digiticket.domain.report.DateDim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface DateDimRepository extends JpaRepository<DateDim, Integer> {
+
+    @Query("SELECT MIN(d.dateKey) FROM DateDim d")
+    Integer findMinDateKey();
+
+    @Query("SELECT MAX(d.dateKey) FROM DateDim d")
+    Integer findMaxDateKey();
+}
@@ -2,6 +2,14 @@ package com.digiticket.repository.settings;
 
 import com.digiticket.domain.settings.SystemSettings;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
 
 public interface SystemSettingsRepository extends JpaRepository<SystemSettings, Short> {
+
+    // Chequeo periódico de cambios: una columna por clave primaria, sin cargar la entidad
+    @Query("SELECT s.version FROM SystemSettings s WHERE s.id = :id")
+    Optional<Long> findVersionById(@Param("id") Short id);
 }
@@ -4,6 +4,7 @@ import com.digiticket.domain.ticket.Ticket;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import jakarta.persistence.LockModeType;
@@ -51,4 +52,13 @@ public interface TicketRepository extends JpaRepository<Ticket, Integer> {
      */
     @Query("SELECT DISTINCT e.id FROM Ticket t JOIN t.purchase p JOIN p.event e WHERE t.ownerClientId = :clientId")
     Set<Integer> findDistinctEventIdsByClientId(@Param("clientId") Integer clientId);
+
+    /**
+     * Marca como USED, en una sola sentencia, los tickets ACTIVE de un evento ya finalizado.
+     */
+    @Modifying
+    @Query("UPDATE Ticket t SET t.status = com.digiticket.domain.ticket.TicketStatus.USED " +
+           "WHERE t.status = com.digiticket.domain.ticket.TicketStatus.ACTIVE " +
+           "AND t.purchase.id IN (SELECT p.id FROM Purchase p WHERE p.event.id = :eventId)")
+    int markUsedByEvent(@Param("eventId") Integer eventId);
 }
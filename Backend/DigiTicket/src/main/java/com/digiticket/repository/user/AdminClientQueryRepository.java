@@ -0,0 +1,141 @@
+package com.digiticket.repository.user;
+
+import com.digiticket.domain.loyalty.LoyaltyPointStatus;
+import com.digiticket.util.search.ClientSearchTokens;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Listados del panel de clientes en una sola consulta: clients + users + saldo materializado
+ * (loyalty_balance). Los filtros por puntos son semi-joins sobre los índices de loyalty_points,
+ * así que ninguna página recorre el ledger de cada cliente.
+ */
+@Repository
+public class AdminClientQueryRepository {
+
+    /**
+     * Filtros opcionales (null = sin filtro). name se busca en el índice de clientes (nombre, correo, documento);
+     * pointsStatus exige al menos un lote en ese estado;
+     * expiringFrom/expiringTo exigen un lote ACTIVE que venza en (from, to].
+     */
+    public record Filter(String name, LoyaltyPointStatus pointsStatus,
+                         LocalDateTime expiringFrom, LocalDateTime expiringTo) {}
+
+    public record Row(int clientId, String firstName, String lastName, String email,
+                      int activePoints, LocalDateTime nextExpiryAt) {}
+
+    // Solo estas expresiones llegan al ORDER BY; c.id desempata para que las páginas no se solapen
+    public enum SortField {
+        ID("c.id"),
+        NAME("u.last_name %1$s, u.first_name %1$s"),
+        EMAIL("u.email"),
+        POINTS("COALESCE(b.active_points, 0)"),
+        EXPIRY("b.next_expiry_at");
+
+        private final String sql;
+
+        SortField(String sql) {
+            this.sql = sql;
+        }
+
+        String orderBy(boolean desc) {
+            String dir = desc ? "DESC" : "ASC";
+            String primary = sql.contains("%1$s") ? sql.formatted(dir) : sql + " " + dir;
+            return this == ID ? primary : primary + ", c.id ASC";
+        }
+    }
+
+    private final JdbcTemplate jdbc;
+
+    public AdminClientQueryRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public List<Row> find(Filter filter, SortField sort, boolean desc, int limit, long offset) {
+        List<Object> args = new ArrayList<>();
+        String where = where(filter, args);
+        args.add(limit);
+        args.add(offset);
+        return jdbc.query("""
+                SELECT c.id, u.first_name, u.last_name, u.email,
+                       COALESCE(b.active_points, 0), b.next_expiry_at
+                FROM clients c
+                JOIN users u ON u.id = c.user_id
+                LEFT JOIN loyalty_balance b ON b.client_id = c.id
+                WHERE %s
+                ORDER BY %s
+                LIMIT ? OFFSET ?
+                """.formatted(where, sort.orderBy(desc)),
+                AdminClientQueryRepository::mapRow,
+                args.toArray());
+    }
+
+    // Hidratación de resultados de búsqueda: mismas columnas, sin orden (lo define quien pidió los ids)
+    public List<Row> findByIds(Collection<Integer> clientIds) {
+        if (clientIds.isEmpty()) return List.of();
+        return jdbc.query("""
+                SELECT c.id, u.first_name, u.last_name, u.email,
+                       COALESCE(b.active_points, 0), b.next_expiry_at
+                FROM clients c
+                JOIN users u ON u.id = c.user_id
+                LEFT JOIN loyalty_balance b ON b.client_id = c.id
+                WHERE c.id IN (%s)
+                """.formatted(String.join(",", Collections.nCopies(clientIds.size(), "?"))),
+                AdminClientQueryRepository::mapRow,
+                clientIds.toArray());
+    }
+
+    public long count(Filter filter) {
+        List<Object> args = new ArrayList<>();
+        String where = where(filter, args);
+        Long n = jdbc.queryForObject("""
+                SELECT COUNT(*)
+                FROM clients c
+                JOIN users u ON u.id = c.user_id
+                WHERE %s
+                """.formatted(where), Long.class, args.toArray());
+        return n != null ? n : 0;
+    }
+
+    private static Row mapRow(ResultSet rs, int i) throws SQLException {
+        Timestamp expiry = rs.getTimestamp(6);
+        return new Row(
+                rs.getInt(1),
+                rs.getString(2),
+                rs.getString(3),
+                rs.getString(4),
+                rs.getInt(5),
+                expiry != null ? expiry.toLocalDateTime() : null);
+    }
+
+    private static String where(Filter filter, List<Object> args) {
+        StringBuilder sql = new StringBuilder("u.status = 'ACTIVE'");
+        List<String> words = filter.name() != null ? ClientSearchTokens.query(filter.name()) : List.of();
+        if (!words.isEmpty()) {
+            // Índice client_search_token: rangos sobre (token, client_id) en vez de LIKE '%x%' sobre users
+            sql.append(" AND c.id IN (").append(ClientSearchRepository.matchingClientIds(words, args)).append(")");
+        }
+        if (filter.pointsStatus() != null) {
+            // Índice (client_id, status, expires_at): un lookup por cliente candidato
+            sql.append(" AND EXISTS (SELECT 1 FROM loyalty_points lp WHERE lp.client_id = c.id AND lp.status = ?)");
+            args.add(filter.pointsStatus().name());
+        }
+        if (filter.expiringFrom() != null && filter.expiringTo() != null) {
+            // Índice (status, expires_at): el rango es chico y se resuelve como semi-join
+            sql.append(" AND c.id IN (SELECT lp.client_id FROM loyalty_points lp")
+                    .append(" WHERE lp.status = 'ACTIVE' AND lp.expires_at > ? AND lp.expires_at <= ?)");
+            args.add(Timestamp.valueOf(filter.expiringFrom()));
+            args.add(Timestamp.valueOf(filter.expiringTo()));
+        }
+        return sql.toString();
+    }
+}
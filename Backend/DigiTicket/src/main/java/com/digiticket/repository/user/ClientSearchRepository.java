@@ -0,0 +1,155 @@
+package com.digiticket.repository.user;
+
+import com.digiticket.util.search.ClientSearchTokens;
+import com.digiticket.util.search.ClientSearchTokens.Term;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Índice de búsqueda de clientes en client_search_token (token, client_id, word_no).
+ * Cada palabra de la consulta se resuelve con rangos sobre la clave primaria: igual al token (3),
+ * prefijo de un token (2) o todos sus trigramas presentes en una misma palabra (1). El puntaje de un
+ * cliente es la suma de la mejor coincidencia de cada palabra, y solo cuentan los que coinciden con todas.
+ */
+@Repository
+public class ClientSearchRepository {
+
+    public record Hit(int clientId, int score) {}
+
+    public record Source(int clientId, String firstName, String lastName, String email, String documentNumber) {}
+
+    // Tope de filas por rama de prefijo en la búsqueda con ranking: "ma" con 500k clientes no se agrega entero
+    static final int MAX_PREFIX_CANDIDATES = 2000;
+
+    private final JdbcTemplate jdbc;
+
+    public ClientSearchRepository(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void replaceTokens(int clientId, Collection<Term> terms) {
+        jdbc.update("DELETE FROM client_search_token WHERE client_id = ?", clientId);
+        if (terms.isEmpty()) return;
+        List<Object[]> args = new ArrayList<>(terms.size());
+        terms.forEach(t -> args.add(new Object[]{t.token(), clientId, t.word()}));
+        jdbc.batchUpdate("INSERT INTO client_search_token (token, client_id, word_no) VALUES (?, ?, ?)", args);
+    }
+
+    // Backfill por lotes de (token, client_id, word_no); IGNORE porque un registro concurrente pudo indexar ya al mismo cliente
+    public void insertAll(List<Object[]> rows) {
+        if (rows.isEmpty()) return;
+        jdbc.batchUpdate("INSERT IGNORE INTO client_search_token (token, client_id, word_no) VALUES (?, ?, ?)", rows);
+    }
+
+    public boolean isEmpty() {
+        Integer any = jdbc.query("SELECT client_id FROM client_search_token LIMIT 1",
+                rs -> rs.next() ? rs.getInt(1) : null);
+        return any == null;
+    }
+
+    // Datos a indexar por tramos de id (keyset)
+    public List<Source> findSources(int afterClientId, int limit) {
+        return jdbc.query("""
+                SELECT c.id, u.first_name, u.last_name, u.email, u.document_number
+                FROM clients c
+                JOIN users u ON u.id = c.user_id
+                WHERE c.id > ?
+                ORDER BY c.id
+                LIMIT ?
+                """, (rs, i) -> new Source(rs.getInt(1), rs.getString(2), rs.getString(3),
+                        rs.getString(4), rs.getString(5)),
+                afterClientId, limit);
+    }
+
+    /**
+     * Clientes activos que coinciden con todas las palabras, por puntaje descendente y id ascendente.
+     * afterScore/afterClientId (ambos o ninguno) son la última fila de la página anterior.
+     * Cada prefijo aporta a lo sumo MAX_PREFIX_CANDIDATES filas en orden de la PK (los exactos primero):
+     * con un prefijo muy corto el ranking se arma sobre ese tramo y se afina al seguir escribiendo.
+     */
+    public List<Hit> search(List<String> words, Integer afterScore, Integer afterClientId, int limit) {
+        if (words.isEmpty()) return List.of();
+        List<Object> args = new ArrayList<>();
+        String matches = matches(words, args, MAX_PREFIX_CANDIDATES);
+        args.add(words.size());
+
+        String keyset = "";
+        if (afterScore != null && afterClientId != null) {
+            keyset = " AND (m.score < ? OR (m.score = ? AND m.client_id > ?))";
+            args.add(afterScore);
+            args.add(afterScore);
+            args.add(afterClientId);
+        }
+        args.add(limit);
+
+        return jdbc.query("""
+                SELECT m.client_id, m.score
+                FROM (
+                    SELECT x.client_id, SUM(x.tier) AS score, COUNT(*) AS matched
+                    FROM (
+                        SELECT b.client_id, b.w, MAX(b.tier) AS tier
+                        FROM (%s) b
+                        GROUP BY b.client_id, b.w
+                    ) x
+                    GROUP BY x.client_id
+                ) m
+                JOIN clients c ON c.id = m.client_id
+                JOIN users u ON u.id = c.user_id
+                WHERE m.matched = ? AND u.status = 'ACTIVE'%s
+                ORDER BY m.score DESC, m.client_id ASC
+                LIMIT ?
+                """.formatted(matches, keyset),
+                (rs, i) -> new Hit(rs.getInt(1), rs.getInt(2)),
+                args.toArray());
+    }
+
+    /**
+     * Subconsulta con los ids de clientes que coinciden con todas las palabras (sin ranking),
+     * para combinar con otros filtros en un IN. Las palabras no pueden venir vacías.
+     */
+    static String matchingClientIds(List<String> words, List<Object> args) {
+        // Sin tope: el listado filtra y cuenta sobre el conjunto completo
+        String matches = matches(words, args, null);
+        args.add(words.size());
+        return "SELECT b.client_id FROM (" + matches + ") b GROUP BY b.client_id HAVING COUNT(DISTINCT b.w) = ?";
+    }
+
+    // Filas (client_id, w, tier) por cada palabra w de la consulta; las palabras ya vienen plegadas a [a-z0-9]
+    private static String matches(List<String> words, List<Object> args, Integer prefixCap) {
+        List<String> branches = new ArrayList<>();
+        for (int w = 0; w < words.size(); w++) {
+            String word = words.get(w);
+            if (word.length() < ClientSearchTokens.MIN_PREFIX_LENGTH) {
+                branches.add("SELECT client_id, " + w + " AS w, 3 AS tier FROM client_search_token WHERE token = ?");
+                args.add(word);
+                continue;
+            }
+            String prefix = "SELECT client_id, " + w + " AS w, CASE WHEN token = ? THEN 3 ELSE 2 END AS tier"
+                    + " FROM client_search_token WHERE token LIKE ?";
+            args.add(word);
+            args.add(word + "%");
+            if (prefixCap != null) {
+                // Recorre el rango de la PK y corta; el exacto ordena antes que sus extensiones
+                prefix = "SELECT p.client_id, p.w, p.tier FROM (" + prefix + " ORDER BY token, client_id LIMIT ?) p";
+                args.add(prefixCap);
+            }
+            branches.add(prefix);
+
+            if (word.length() >= ClientSearchTokens.MIN_INFIX_LENGTH) {
+                // Todos los trigramas dentro de la misma palabra indexada
+                List<String> grams = ClientSearchTokens.trigrams(word).stream().distinct().toList();
+                branches.add("SELECT DISTINCT t.client_id, " + w + " AS w, 1 AS tier FROM ("
+                        + "SELECT client_id FROM client_search_token"
+                        + " WHERE token IN (" + String.join(",", Collections.nCopies(grams.size(), "?")) + ")"
+                        + " GROUP BY client_id, word_no HAVING COUNT(*) = " + grams.size() + ") t");
+                args.addAll(grams);
+            }
+        }
+        return String.join(" UNION ALL ", branches);
+    }
+}
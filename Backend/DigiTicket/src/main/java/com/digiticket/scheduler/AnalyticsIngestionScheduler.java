@@ -0,0 +1,28 @@
+package com.digiticket.scheduler;
+
+import com.digiticket.service.analytics.AnalyticsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class AnalyticsIngestionScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsIngestionScheduler.class);
+    private final AnalyticsService analyticsService;
+
+    public AnalyticsIngestionScheduler(AnalyticsService analyticsService) {
+        this.analyticsService = analyticsService;
+    }
+
+    // Ejecuta cada 5 minutos, contando desde el fin de la corrida anterior
+    @Scheduled(fixedDelayString = "${analytics.ingest.interval-ms:300000}", initialDelay = 60_000)
+    public void ingestJob() {
+        try {
+            analyticsService.ingest();
+        } catch (Exception e) {
+            log.error("AnalyticsIngestionScheduler: error en ingest", e);
+        }
+    }
+}
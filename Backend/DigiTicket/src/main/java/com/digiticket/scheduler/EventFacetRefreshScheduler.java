@@ -0,0 +1,28 @@
+package com.digiticket.scheduler;
+
+import com.digiticket.service.search.EventFacetService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class EventFacetRefreshScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(EventFacetRefreshScheduler.class);
+    private final EventFacetService eventFacetService;
+
+    public EventFacetRefreshScheduler(EventFacetService eventFacetService) {
+        this.eventFacetService = eventFacetService;
+    }
+
+    // Reconstruye el snapshot de facetas solo si hubo cambios desde la última pasada
+    @Scheduled(fixedDelayString = "${catalog.facets.refresh-ms:15000}", initialDelay = 15_000)
+    public void refreshJob() {
+        try {
+            eventFacetService.refreshIfStale();
+        } catch (Exception e) {
+            log.error("EventFacetRefreshScheduler: error al reconstruir facetas", e);
+        }
+    }
+}
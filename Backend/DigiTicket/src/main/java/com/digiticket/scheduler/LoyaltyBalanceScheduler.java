@@ -0,0 +1,28 @@
+package com.digiticket.scheduler;
+
+import com.digiticket.service.loyalty.LoyaltyBalanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LoyaltyBalanceScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyBalanceScheduler.class);
+    private final LoyaltyBalanceService loyaltyBalanceService;
+
+    public LoyaltyBalanceScheduler(LoyaltyBalanceService loyaltyBalanceService) {
+        this.loyaltyBalanceService = loyaltyBalanceService;
+    }
+
+    // Reconciliación nocturna del saldo materializado contra loyalty_points
+    @Scheduled(cron = "${loyalty.balance.reconcile-cron:0 15 3 * * *}", zone = "America/Lima")
+    public void reconcileJob() {
+        try {
+            loyaltyBalanceService.reconcile();
+        } catch (Exception e) {
+            log.error("LoyaltyBalanceScheduler: error en reconcile", e);
+        }
+    }
+}
@@ -1,15 +1,32 @@
 package com.digiticket.scheduler;
 
 import com.digiticket.service.loyalty.LoyaltyExpiryNotificationService;
+import com.digiticket.service.loyalty.LoyaltyPointExpiryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 @Component
 public class LoyaltyExpiryScheduler {
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyExpiryScheduler.class);
     private final LoyaltyExpiryNotificationService loyaltyExpiryNotificationService;
+    private final LoyaltyPointExpiryService loyaltyPointExpiryService;
 
-    public LoyaltyExpiryScheduler(LoyaltyExpiryNotificationService loyaltyExpiryNotificationService) {
+    public LoyaltyExpiryScheduler(LoyaltyExpiryNotificationService loyaltyExpiryNotificationService,
+                                  LoyaltyPointExpiryService loyaltyPointExpiryService) {
         this.loyaltyExpiryNotificationService = loyaltyExpiryNotificationService;
+        this.loyaltyPointExpiryService = loyaltyPointExpiryService;
+    }
+
+    // Pasa a EXPIRED los lotes vencidos; cada 5 minutos, contando desde el fin de la corrida anterior
+    @Scheduled(fixedDelayString = "${loyalty.expiry.interval-ms:300000}", initialDelay = 60_000)
+    public void expireDuePointsJob() {
+        try {
+            loyaltyPointExpiryService.expireDuePoints();
+        } catch (Exception e) {
+            log.error("LoyaltyExpiryScheduler: error venciendo puntos", e);
+        }
     }
 
     @Scheduled(cron = "0 0 9 * * ?", zone = "America/Lima")
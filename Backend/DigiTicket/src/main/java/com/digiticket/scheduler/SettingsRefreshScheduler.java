@@ -0,0 +1,36 @@
+package com.digiticket.scheduler;
+
+import com.digiticket.service.loyalty.PointsConfigService;
+import com.digiticket.service.settings.SettingsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class SettingsRefreshScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(SettingsRefreshScheduler.class);
+    private final SettingsService settingsService;
+    private final PointsConfigService pointsConfigService;
+
+    public SettingsRefreshScheduler(SettingsService settingsService, PointsConfigService pointsConfigService) {
+        this.settingsService = settingsService;
+        this.pointsConfigService = pointsConfigService;
+    }
+
+    // Una lectura de la versión por tabla; solo se recarga la fila si cambió en otro nodo
+    @Scheduled(fixedDelayString = "${settings.refresh-ms:10000}", initialDelay = 10_000)
+    public void refreshJob() {
+        try {
+            settingsService.refreshIfChanged();
+        } catch (Exception e) {
+            log.error("SettingsRefreshScheduler: error al refrescar system_settings", e);
+        }
+        try {
+            pointsConfigService.refreshIfChanged();
+        } catch (Exception e) {
+            log.error("SettingsRefreshScheduler: error al refrescar points_config", e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.digiticket.scheduler;
+
+import com.digiticket.service.order.UserOrderStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserOrderStatsScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(UserOrderStatsScheduler.class);
+    private final UserOrderStatsService userOrderStatsService;
+
+    public UserOrderStatsScheduler(UserOrderStatsService userOrderStatsService) {
+        this.userOrderStatsService = userOrderStatsService;
+    }
+
+    // Reconciliación nocturna de user_order_stats contra las órdenes PAID
+    @Scheduled(cron = "${orders.stats.reconcile-cron:0 30 3 * * *}", zone = "America/Lima")
+    public void reconcileJob() {
+        try {
+            userOrderStatsService.reconcile();
+        } catch (Exception e) {
+            log.error("UserOrderStatsScheduler: error en reconcile", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.digiticket.service.analytics;
+
+import com.digiticket.dto.analytics.CohortDTO;
+import com.digiticket.dto.analytics.FunnelDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AnalyticsService {
+    int ingest();                                         // procesa lo nuevo desde el último watermark
+    FunnelDTO getFunnel(LocalDate from, LocalDate to);    // to inclusive
+    List<CohortDTO> getCohorts(int months);
+}
@@ -0,0 +1,17 @@
+package com.digiticket.service.bulk;
+
+import com.digiticket.dto.bulk.BulkImportJobDTO;
+import com.digiticket.dto.bulk.BulkImportKind;
+import com.digiticket.dto.bulk.BulkImportResult;
+import com.digiticket.dto.bulk.BulkValidationReport;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface BulkImportService {
+    BulkImportResult importCsv(BulkImportKind kind, InputStream csv) throws IOException;   // síncrono, en el hilo que llama
+    BulkValidationReport validateCsv(BulkImportKind kind, InputStream csv) throws IOException;   // dryRun: no escribe nada
+    BulkImportJobDTO submit(BulkImportKind kind, MultipartFile file);                      // se procesa en segundo plano
+    BulkImportJobDTO getJob(String jobId);
+}
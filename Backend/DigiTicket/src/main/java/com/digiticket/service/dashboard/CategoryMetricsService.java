@@ -2,8 +2,10 @@ package com.digiticket.service.dashboard;
 
 import com.digiticket.dto.dashboard.TopCategoryDTO;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface CategoryMetricsService {
     List<TopCategoryDTO> getTopCategories(Integer limit);
+    List<TopCategoryDTO> getTopCategories(Integer limit, LocalDate from, LocalDate to);   // to inclusive
 }
@@ -2,8 +2,10 @@ package com.digiticket.service.dashboard;
 
 import com.digiticket.dto.dashboard.TopEventDTO;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface EventMetricsService {
     List<TopEventDTO> getTopEvents(int top);
+    List<TopEventDTO> getTopEvents(int top, LocalDate from, LocalDate to);   // to inclusive
 }
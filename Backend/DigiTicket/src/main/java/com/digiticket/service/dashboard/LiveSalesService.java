@@ -0,0 +1,9 @@
+package com.digiticket.service.dashboard;
+
+import com.digiticket.dto.dashboard.LiveSalesSnapshotDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface LiveSalesService {
+    LiveSalesSnapshotDTO snapshot();
+    SseEmitter subscribe();
+}
@@ -0,0 +1,13 @@
+package com.digiticket.service.dashboard;
+
+import com.digiticket.dto.dashboard.TopCategoryDTO;
+import com.digiticket.dto.dashboard.TopEventDTO;
+import com.digiticket.util.report.ReportingCalendar;
+
+import java.util.List;
+
+public interface SalesRankingService {
+    List<TopEventDTO> topEvents(ReportingCalendar.Range range, int k);
+    List<TopCategoryDTO> topCategories(ReportingCalendar.Range range, int k);
+    void rebuild(ReportingCalendar.Range range);  // recalcula los contadores desde purchase
+}
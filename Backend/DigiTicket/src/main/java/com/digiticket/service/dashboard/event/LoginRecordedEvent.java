@@ -0,0 +1,6 @@
+package com.digiticket.service.dashboard.event;
+
+/**
+ * Se publica cuando AuditLogService registra un LOGIN (cuenta como visita).
+ */
+public record LoginRecordedEvent(Integer userId) {}
@@ -0,0 +1,14 @@
+package com.digiticket.service.dashboard.event;
+
+import java.math.BigDecimal;
+
+/**
+ * Se publica por cada Purchase creada en el checkout.
+ * categoryId puede ser null si el evento no tiene categoría cargada.
+ */
+public record SaleRecordedEvent(
+        Integer eventId,
+        Integer categoryId,
+        int quantity,
+        BigDecimal amount
+) {}
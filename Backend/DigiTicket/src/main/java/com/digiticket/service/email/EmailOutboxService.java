@@ -0,0 +1,12 @@
+package com.digiticket.service.email;
+
+import com.digiticket.dto.email.OutboundEmail;
+
+import java.util.List;
+
+public interface EmailOutboxService {
+    // Inserta en el outbox dentro de la transacción del llamador; se envía después del commit
+    void enqueue(OutboundEmail email);
+
+    void enqueueAll(List<OutboundEmail> emails);
+}
@@ -0,0 +1,14 @@
+package com.digiticket.service.event;
+
+import com.digiticket.domain.event.EventStatus;
+import com.digiticket.dto.event.EventCatalogItemDTO;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+public interface EventCatalogService {
+    // sort = campo[,asc|desc] con campo en title, startsAt, minPrice, available, id
+    Page<EventCatalogItemDTO> list(EventStatus status, int page, int size, String sort);
+    // Búsqueda full-text ordenada por relevancia
+    List<EventCatalogItemDTO> search(String query, EventStatus status, int limit);
+}
@@ -0,0 +1,15 @@
+package com.digiticket.service.event;
+
+import com.digiticket.util.image.ImageVariant;
+import com.digiticket.util.image.StoredImage;
+
+import java.util.Optional;
+
+public interface EventImageService {
+    String prepare(byte[] data);                         // genera los derivados sin tocar la BD; devuelve el hash SHA-256
+    String store(Integer eventId, String hash, byte[] data);   // guarda el BLOB; hash = prepare(data), llamado antes
+                                                               // y fuera de cualquier transacción
+    Optional<String> findHash(Integer eventId);
+    Optional<StoredImage> open(Integer eventId, ImageVariant variant);   // archivo listo para servir
+    void delete(Integer eventId);
+}
@@ -0,0 +1,9 @@
+package com.digiticket.service.event;
+
+public interface EventLifecycleService {
+    // Relee de la BD las transiciones dentro del horizonte y rearma el timer
+    void reload();
+    // Recalcula las transiciones de un evento (cambió, se publicó o dejó de estar publicado)
+    void reschedule(Integer eventId);
+    int pending();
+}
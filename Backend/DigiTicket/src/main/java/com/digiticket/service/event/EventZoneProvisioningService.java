@@ -0,0 +1,13 @@
+package com.digiticket.service.event;
+
+import com.digiticket.dto.event.ZoneProvisionResult;
+import com.digiticket.dto.event.ZoneProvisionRow;
+
+import java.util.List;
+
+public interface EventZoneProvisioningService {
+    // Crea todas las zonas válidas; las filas con error se reportan y no detienen el resto
+    ZoneProvisionResult provision(List<ZoneProvisionRow> rows);
+    // Mismas validaciones que provision, sin escribir nada; devuelve los errores "Row N: ..."
+    List<String> validate(List<ZoneProvisionRow> rows);
+}
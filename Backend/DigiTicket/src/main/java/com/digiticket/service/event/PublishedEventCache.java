@@ -0,0 +1,14 @@
+package com.digiticket.service.event;
+
+import com.digiticket.dto.event.EventDTO;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PublishedEventCache {
+    // Vacío si el evento no existe o no está publicado (el llamador decide el fallback)
+    Optional<EventDTO> get(Integer eventId);
+    List<EventDTO> getPublished();
+    void invalidate(Integer eventId);
+    void invalidateAll();
+}
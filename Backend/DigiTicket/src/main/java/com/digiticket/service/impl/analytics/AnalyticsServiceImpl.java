@@ -0,0 +1,271 @@
+package com.digiticket.service.impl.analytics;
+
+import com.digiticket.dto.analytics.CohortDTO;
+import com.digiticket.dto.analytics.FunnelDTO;
+import com.digiticket.repository.analytics.AnalyticsRepository;
+import com.digiticket.repository.analytics.AnalyticsRepository.*;
+import com.digiticket.service.analytics.AnalyticsService;
+import com.digiticket.util.report.ReportingCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Pipeline incremental de analítica: lee las filas nuevas de audit_log, reservation_hold,
+ * `order` y purchase desde su watermark, las agrega por (día de negocio, usuario) y por cliente,
+ * y las vuelca en las tablas analytics_*. Embudo y cohortes se leen solo de esas tablas.
+ * <p>
+ * Los ids se asignan al insertar pero las filas se ven al hacer commit, así que un id menor puede
+ * aparecer después de haber leído uno mayor. Por eso cada corrida relee desde el watermark
+ * persistido, y este solo avanza hasta lo leído hace más de {@code rescan-lag}: una transacción
+ * OLTP que tarde más que esa ventana en confirmar sí podría perderse. Las escrituras son
+ * idempotentes (GREATEST, INSERT IGNORE, cohortes recalculadas), así que releer no duplica nada.
+ */
+@Service
+public class AnalyticsServiceImpl implements AnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnalyticsServiceImpl.class);
+
+    static final String SRC_LOGINS = "audit_log";
+    static final String SRC_HOLDS = "reservation_hold";
+    static final String SRC_ORDERS = "order";
+    static final String SRC_PURCHASES = "purchase";
+
+    private static final int MAX_COHORT_MONTHS = 36;
+
+    private final AnalyticsRepository repository;
+    private final ReportingCalendar calendar;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final Clock clock;
+    private final Duration rescanLag;
+    private final ReentrantLock ingestLock = new ReentrantLock();
+    // Por fuente: hasta qué id se leyó en cada corrida aún dentro de la ventana de relectura
+    private final Map<String, Deque<Checkpoint>> checkpoints = new HashMap<>();
+
+    @Autowired
+    public AnalyticsServiceImpl(AnalyticsRepository repository,
+                                ReportingCalendar calendar,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${analytics.ingest.batch-size:5000}") int batchSize,
+                                @Value("${analytics.ingest.max-batches-per-run:20}") int maxBatchesPerRun,
+                                @Value("${analytics.ingest.rescan-lag-ms:600000}") long rescanLagMs) {
+        this(repository, calendar, new TransactionTemplate(transactionManager), batchSize, maxBatchesPerRun,
+                Clock.systemUTC(), Duration.ofMillis(rescanLagMs));
+    }
+
+    public AnalyticsServiceImpl(AnalyticsRepository repository,
+                                ReportingCalendar calendar,
+                                TransactionTemplate tx,
+                                int batchSize,
+                                int maxBatchesPerRun,
+                                Clock clock,
+                                Duration rescanLag) {
+        this.repository = repository;
+        this.calendar = calendar;
+        this.tx = tx;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.clock = clock;
+        this.rescanLag = rescanLag;
+    }
+
+    @Override
+    public int ingest() {
+        // El scheduler y el refresh manual no deben procesar el mismo tail a la vez
+        if (!ingestLock.tryLock()) return 0;
+        try {
+            int rows = 0;
+            rows += drain(SRC_LOGINS, repository::findLoginsAfter, LoginRow::id,
+                    batch -> userDays(batch, LoginRow::userId, LoginRow::createdAt, r -> Flags.LOGIN));
+            rows += drain(SRC_HOLDS, repository::findHoldsAfter, HoldRow::id,
+                    batch -> userDays(batch, HoldRow::userId, HoldRow::createdAt, r -> Flags.HOLD));
+            rows += drain(SRC_ORDERS, repository::findOrdersAfter, OrderRow::id,
+                    batch -> userDays(batch, OrderRow::userId, OrderRow::createdAt,
+                            r -> r.paid() ? Flags.CHECKOUT | Flags.PAID : Flags.CHECKOUT));
+            rows += drain(SRC_PURCHASES, repository::findPurchasesAfter, PurchaseRow::id, this::clientPurchases);
+            if (rows > 0) {
+                log.info("Analytics: {} filas nuevas procesadas", rows);
+            }
+            return rows;
+        } finally {
+            ingestLock.unlock();
+        }
+    }
+
+    @Override
+    public FunnelDTO getFunnel(LocalDate from, LocalDate to) {
+        if (from == null || to == null || to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rango de fechas inválido");
+        }
+        ReportingCalendar.Range range = calendar.between(from, to.plusDays(1));
+        FunnelRow f = repository.funnel(range.fromKey(), range.toKey());
+
+        return new FunnelDTO(
+                from, to,
+                f.logins(), f.holds(), f.checkouts(), f.paid(),
+                percent(f.holds(), f.logins()),
+                percent(f.checkouts(), f.holds()),
+                percent(f.paid(), f.checkouts()),
+                percent(f.paid(), f.logins())
+        );
+    }
+
+    @Override
+    public List<CohortDTO> getCohorts(int months) {
+        if (months < 1 || months > MAX_COHORT_MONTHS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "months debe estar entre 1 y " + MAX_COHORT_MONTHS);
+        }
+        YearMonth current = YearMonth.from(calendar.today());
+        YearMonth first = current.minusMonths(months - 1L);
+        String fromLabel = first.toString();
+
+        Map<String, long[]> activity = new HashMap<>();
+        for (CohortActivityRow row : repository.cohortActivity(fromLabel)) {
+            YearMonth cohort = YearMonth.parse(row.cohortMonth());
+            int offset = (int) cohort.until(YearMonth.parse(row.activityMonth()), ChronoUnit.MONTHS);
+            int width = (int) cohort.until(current, ChronoUnit.MONTHS) + 1;
+            if (offset < 0 || offset >= width) continue;
+            activity.computeIfAbsent(row.cohortMonth(), k -> new long[width])[offset] = row.clients();
+        }
+
+        List<CohortDTO> out = new ArrayList<>();
+        for (CohortSizeRow size : repository.cohortSizes(fromLabel)) {
+            long[] counts = activity.getOrDefault(size.cohortMonth(), new long[1]);
+            counts[0] = size.clients();
+            List<Long> offsets = new ArrayList<>(counts.length);
+            for (long c : counts) offsets.add(c);
+            out.add(new CohortDTO(size.cohortMonth(), size.clients(), size.repeatBuyers(), offsets));
+        }
+        return out;
+    }
+
+    // Relee la ventana aún no confirmada (desde el watermark persistido hasta lo ya leído) y sigue
+    // con filas nuevas hasta agotar la fuente o el tope de lotes nuevos por corrida. El watermark
+    // solo avanza hasta lo leído hace más de rescanLag.
+    private <T> int drain(String source,
+                         TailReader<T> reader,
+                         ToLongFunction<T> idOf,
+                         Consumer<List<T>> writer) {
+        long watermark = repository.getWatermark(source);
+        Deque<Checkpoint> pending = checkpoints.computeIfAbsent(source, k -> new ArrayDeque<>());
+        long readTo = pending.isEmpty() ? watermark : Math.max(watermark, pending.peekLast().lastId());
+
+        long cursor = watermark;
+        int fresh = 0;
+        int freshBatches = 0;
+        while (freshBatches < maxBatchesPerRun) {
+            List<T> batch = reader.read(cursor, batchSize);
+            if (batch.isEmpty()) break;
+
+            tx.executeWithoutResult(status -> writer.accept(batch));
+            cursor = idOf.applyAsLong(batch.get(batch.size() - 1));
+            if (cursor > readTo) {
+                freshBatches++;
+                for (T row : batch) {
+                    if (idOf.applyAsLong(row) > readTo) fresh++;
+                }
+            }
+            if (batch.size() < batchSize) break;
+        }
+
+        Instant now = clock.instant();
+        if (cursor > readTo) {
+            pending.addLast(new Checkpoint(cursor, now));
+        }
+        long safe = watermark;
+        Instant settled = now.minus(rescanLag);
+        while (!pending.isEmpty() && !pending.peekFirst().readAt().isAfter(settled)) {
+            safe = Math.max(safe, pending.pollFirst().lastId());
+        }
+        if (safe > watermark) {
+            repository.saveWatermark(source, safe);
+        }
+        return fresh;
+    }
+
+    // Colapsa el lote a una fila por (día de negocio, usuario) antes del upsert
+    private <T> void userDays(List<T> batch,
+                              Function<T, Integer> userOf,
+                              Function<T, LocalDateTime> createdOf,
+                              Function<T, Integer> flagsOf) {
+        Map<Long, Integer> merged = new HashMap<>();
+        for (T r : batch) {
+            LocalDateTime created = createdOf.apply(r);
+            if (created == null) continue;
+            int dateKey = ReportingCalendar.dateKey(calendar.businessDay(created));
+            long key = ((long) dateKey << 32) | (userOf.apply(r) & 0xffffffffL);
+            merged.merge(key, flagsOf.apply(r), (a, b) -> a | b);
+        }
+
+        List<UserDayRow> rows = new ArrayList<>(merged.size());
+        merged.forEach((key, flags) -> rows.add(new UserDayRow(
+                (int) (key >>> 32), (int) key.longValue(),
+                (flags & Flags.LOGIN) != 0, (flags & Flags.HOLD) != 0,
+                (flags & Flags.CHECKOUT) != 0, (flags & Flags.PAID) != 0)));
+        repository.upsertUserDays(rows);
+    }
+
+    // Meses con actividad del lote + cohorte recalculada de cada cliente que aparece en él
+    private void clientPurchases(List<PurchaseRow> batch) {
+        Set<Integer> clients = new HashSet<>();
+        Set<ClientMonthRow> months = new HashSet<>();
+        for (PurchaseRow p : batch) {
+            clients.add(p.clientId());
+            if (p.createdAt() == null) continue;
+            months.add(new ClientMonthRow(p.clientId(), YearMonth.from(calendar.businessDay(p.createdAt())).toString()));
+        }
+
+        List<ClientPurchaseRow> cohorts = new ArrayList<>(clients.size());
+        for (ClientTotalsRow t : repository.findClientTotals(clients)) {
+            if (t.firstPurchaseAt() == null) continue;
+            LocalDate first = calendar.businessDay(t.firstPurchaseAt());
+            cohorts.add(new ClientPurchaseRow(t.clientId(), ReportingCalendar.dateKey(first),
+                    YearMonth.from(first).toString(), t.purchases(),
+                    t.amount() != null ? t.amount() : BigDecimal.ZERO));
+        }
+        repository.upsertClientCohorts(cohorts);
+        repository.insertClientMonths(new ArrayList<>(months));
+    }
+
+    private static double percent(long part, long whole) {
+        if (whole == 0) return 0.0;
+        return Math.round(part * 10_000.0 / whole) / 100.0;
+    }
+
+    private record Checkpoint(long lastId, Instant readAt) {}
+
+    @FunctionalInterface
+    private interface TailReader<T> {
+        List<T> read(long afterId, int limit);
+    }
+
+    private static final class Flags {
+        static final int LOGIN = 1;
+        static final int HOLD = 2;
+        static final int CHECKOUT = 4;
+        static final int PAID = 8;
+    }
+}
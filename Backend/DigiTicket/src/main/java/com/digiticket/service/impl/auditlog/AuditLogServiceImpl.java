@@ -3,21 +3,53 @@ package com.digiticket.service.impl.auditlog;
 import com.digiticket.domain.auditlog.AuditLog;
 import com.digiticket.repository.auditlog.AuditLogRepository;
 import com.digiticket.service.auditlog.AuditLogService;
+import com.digiticket.service.dashboard.event.LoginRecordedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
-import java.time.ZoneId;
-import java.time.ZonedDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 
 @Service
-public class AuditLogServiceImpl implements AuditLogService {
+public class AuditLogServiceImpl implements AuditLogService, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditLogServiceImpl.class);
 
     private final AuditLogRepository auditLogRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate tx;
 
-    public AuditLogServiceImpl(AuditLogRepository auditLogRepository) {
+    public AuditLogServiceImpl(AuditLogRepository auditLogRepository,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
         this.auditLogRepository = auditLogRepository;
+        this.eventPublisher = eventPublisher;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Corte de created_at a UTC (antes hora local de Lima). Corre al terminar de crear los beans, antes de
+     * que el servidor acepte peticiones, así que todavía no hay filas nuevas en UTC: el primer nodo que
+     * registra el corte convierte las anteriores en la misma transacción y los demás no hacen nada.
+     * Si falla, el arranque se detiene en vez de seguir mezclando filas locales y UTC.
+     * En un despliegue escalonado, los logins que escriban los nodos viejos tras el corte quedan en hora local.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        Integer shifted = tx.execute(status ->
+                auditLogRepository.claimUtcCutover(LocalDateTime.now(ZoneOffset.UTC)) == 0
+                        ? null
+                        : auditLogRepository.shiftLegacyRowsToUtc());
+        if (shifted != null) {
+            log.info("AuditLog: {} filas pasadas de hora local a UTC", shifted);
+        }
     }
 
     @Override
@@ -26,14 +58,20 @@ public class AuditLogServiceImpl implements AuditLogService {
         entry.setUserId(userId);
         entry.setAction(action);
         entry.setDetail(detail);
-        entry.setCreatedAt(ZonedDateTime.now(ZoneId.of("America/Lima")).toLocalDateTime());
+        // En UTC, igual que el resto de columnas DATETIME; los reportes cortan el día con date_dim
+        entry.setCreatedAt(LocalDateTime.now(ZoneOffset.UTC));
         auditLogRepository.save(entry);
+
+        // Las visitas del dashboard en vivo se cuentan a partir de los LOGIN
+        if ("LOGIN".equals(action)) {
+            eventPublisher.publishEvent(new LoginRecordedEvent(userId));
+        }
     }
 
     // ★ Limpieza automática de logs — cada día a las 3 AM
     @Scheduled(cron = "0 0 3 * * *")
     public void deleteOldLogs() {
-        LocalDateTime limit = LocalDateTime.now().minusMonths(6);
+        LocalDateTime limit = LocalDateTime.now(ZoneOffset.UTC).minusMonths(6);
         auditLogRepository.deleteByCreatedAtBefore(limit);
     }
 
@@ -0,0 +1,636 @@
+package com.digiticket.service.impl.bulk;
+
+import com.digiticket.domain.event.EventStatus;
+import com.digiticket.domain.event.EventZone;
+import com.digiticket.dto.bulk.BulkImportJobDTO;
+import com.digiticket.dto.bulk.BulkImportJobStatus;
+import com.digiticket.dto.bulk.BulkImportKind;
+import com.digiticket.dto.bulk.BulkImportResult;
+import com.digiticket.dto.bulk.BulkValidationReport;
+import com.digiticket.dto.event.ZoneProvisionResult;
+import com.digiticket.dto.event.ZoneProvisionRow;
+import com.digiticket.repository.bulk.BulkImportRepository;
+import com.digiticket.repository.bulk.BulkImportRepository.ExistingLocation;
+import com.digiticket.repository.bulk.BulkImportRepository.NewEvent;
+import com.digiticket.repository.bulk.BulkImportRepository.NewLocation;
+import com.digiticket.repository.bulk.BulkImportRepository.Ref;
+import com.digiticket.service.bulk.BulkImportService;
+import com.digiticket.service.event.EventImageService;
+import com.digiticket.service.event.EventZoneProvisioningService;
+import com.digiticket.service.search.event.EventChangedEvent;
+import com.digiticket.util.csv.CsvReader;
+import com.digiticket.util.csv.CsvReader.CsvRecord;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Importación masiva de locales, eventos y zonas desde CSV.
+ * El archivo se lee en streaming (un registro a la vez) y las filas válidas se escriben por chunks:
+ * un batch JDBC y una transacción por chunk. Si un chunk falla se reintenta fila por fila para
+ * reportar exactamente qué fila falló. Las imágenes de los eventos se descargan y procesan en un pool
+ * acotado mientras se sigue leyendo; un chunk de eventos se cierra también al juntar
+ * {@code images-per-chunk} imágenes, así la memoria no depende del tamaño del archivo.
+ */
+@Service
+public class BulkImportServiceImpl implements BulkImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkImportServiceImpl.class);
+    private static final ZoneId ZONE = ZoneId.of("America/Lima");
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+    private static final int MAX_JOB_ERRORS = 1_000;
+
+    private static final int MAX_IMAGE_BYTES = 10 * 1024 * 1024;
+    private static final int FETCH_CONNECT_TIMEOUT_MS = 5_000;
+    private static final int FETCH_READ_TIMEOUT_MS = 15_000;
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_DATE_TIME,
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm"),
+            DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm"));
+
+    private final BulkImportRepository repository;
+    private final EventZoneProvisioningService zoneProvisioningService;
+    private final EventImageService eventImageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate tx;
+    private final ThreadPoolTaskExecutor importExecutor;
+    private final ThreadPoolTaskExecutor imageExecutor;
+    private final int chunkSize;
+    private final int imagesPerChunk;
+
+    private final Map<String, BulkJob> jobs = new ConcurrentHashMap<>();
+
+    public BulkImportServiceImpl(BulkImportRepository repository,
+                                 EventZoneProvisioningService zoneProvisioningService,
+                                 EventImageService eventImageService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Qualifier("bulkImportExecutor") ThreadPoolTaskExecutor importExecutor,
+                                 @Qualifier("bulkImageExecutor") ThreadPoolTaskExecutor imageExecutor,
+                                 @Value("${bulk.import.chunk-size:500}") int chunkSize,
+                                 @Value("${bulk.import.images-per-chunk:16}") int imagesPerChunk) {
+        this.repository = repository;
+        this.zoneProvisioningService = zoneProvisioningService;
+        this.eventImageService = eventImageService;
+        this.eventPublisher = eventPublisher;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.importExecutor = importExecutor;
+        this.imageExecutor = imageExecutor;
+        this.chunkSize = chunkSize;
+        this.imagesPerChunk = imagesPerChunk;
+    }
+
+    @Override
+    public BulkImportResult importCsv(BulkImportKind kind, InputStream csv) throws IOException {
+        CollectingSink sink = new CollectingSink();
+        run(kind, csv, sink);
+        return new BulkImportResult(sink.createdIds.size(), sink.errors, sink.createdIds);
+    }
+
+    @Override
+    public BulkImportJobDTO submit(BulkImportKind kind, MultipartFile file) {
+        // El multipart se borra al terminar la request: el job trabaja sobre una copia propia
+        Path tmp;
+        try {
+            tmp = Files.createTempFile("bulk-" + kind.path() + "-", ".csv");
+            file.transferTo(tmp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar el archivo subido", e);
+        }
+
+        BulkJob job = new BulkJob(UUID.randomUUID().toString(), kind, file.getSize());
+        jobs.put(job.id, job);
+        try {
+            importExecutor.execute(() -> runJob(job, tmp));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.id);
+            deleteQuietly(tmp);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Hay demasiadas importaciones en cola, intente nuevamente en unos minutos");
+        }
+        return toDto(job);
+    }
+
+    @Override
+    public BulkImportJobDTO getJob(String jobId) {
+        BulkJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job de importación no encontrado: " + jobId);
+        }
+        return toDto(job);
+    }
+
+    // Limpia jobs terminados — cada 10 minutos
+    @Scheduled(fixedRate = 600_000)
+    public void purgeExpired() {
+        LocalDateTime limit = LocalDateTime.now(ZONE).minus(JOB_RETENTION);
+        jobs.values().removeIf(j -> j.finishedAt != null && j.finishedAt.isBefore(limit));
+    }
+
+    private void runJob(BulkJob job, Path file) {
+        job.status = BulkImportJobStatus.RUNNING;
+        long start = System.nanoTime();
+        try (InputStream in = new CountingInputStream(Files.newInputStream(file), job.bytesRead)) {
+            run(job.kind, in, job);
+            job.status = BulkImportJobStatus.DONE;
+        } catch (Exception e) {
+            log.error("BulkImport: falló el job {} ({})", job.id, job.kind, e);
+            job.error = rootMessage(e);
+            job.status = BulkImportJobStatus.FAILED;
+        } finally {
+            job.finishedAt = LocalDateTime.now(ZONE);
+            deleteQuietly(file);
+            log.info("BulkImport: job {} ({}) {} filas, {} creadas, {} errores en {} ms",
+                    job.id, job.kind, job.rows.get(), job.created.get(), job.failed.get(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    @Override
+    public BulkValidationReport validateCsv(BulkImportKind kind, InputStream in) throws IOException {
+        CollectingSink sink = new CollectingSink();
+        try (CsvReader csv = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            ImportReferences refs = ImportReferences.load(repository, kind);
+            switch (kind) {
+                case LOCALS -> {
+                    Set<String> seen = new HashSet<>();
+                    check(csv, sink, BulkImportServiceImpl::parseLocation, r -> checkLocation(r.location(), refs, seen));
+                }
+                case EVENTS -> check(csv, sink, r -> parseEvent(r, false), r -> checkEvent(r.event(), refs));
+                case EVENT_ZONES -> {
+                    // Las zonas se validan juntas para detectar repetidos en todo el archivo
+                    List<ZoneProvisionRow> rows = new ArrayList<>();
+                    check(csv, sink, BulkImportServiceImpl::parseZone, r -> {
+                        rows.add(r.zone());
+                        return null;
+                    });
+                    zoneProvisioningService.validate(rows).forEach(sink::error);
+                }
+            }
+        }
+        // Cada fila aporta a lo sumo un error
+        int errorCount = sink.errors.size();
+        return new BulkValidationReport(sink.rows, sink.rows - errorCount, errorCount, sink.errors);
+    }
+
+    private void run(BulkImportKind kind, InputStream in, Sink sink) throws IOException {
+        try (CsvReader csv = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            ImportReferences refs = ImportReferences.load(repository, kind);
+            switch (kind) {
+                case LOCALS -> stream(csv, sink, BulkImportServiceImpl::parseLocation, r -> 0,
+                        chunk -> write(chunk, sink, rows -> writeLocations(rows, refs)));
+                case EVENTS -> stream(csv, sink, r -> parseEvent(r, true), EventRow::weight, chunk -> {
+                    // Las descargas terminan antes de abrir la transacción
+                    chunk.forEach(r -> { if (r.image() != null) r.image().join(); });
+                    write(chunk, sink, rows -> writeEvents(rows, refs));
+                });
+                case EVENT_ZONES -> stream(csv, sink, BulkImportServiceImpl::parseZone, r -> 0,
+                        chunk -> provisionZones(chunk, sink));
+            }
+        }
+    }
+
+    /**
+     * Lee registro por registro y cierra el chunk al llegar a chunkSize filas
+     * o a imagesPerChunk de peso (solo los eventos con imagen pesan).
+     */
+    private <T extends Row> void stream(CsvReader csv, Sink sink, RowParser<T> parser,
+                                        ToIntFunction<T> weight, ChunkHandler<T> handler) throws IOException {
+        List<T> chunk = new ArrayList<>();
+        int chunkWeight = 0;
+        CsvRecord rec;
+        while ((rec = csv.next()) != null) {
+            sink.rowRead();
+            T row;
+            try {
+                row = parser.parse(rec);
+            } catch (Exception ex) {
+                sink.error(rowError(rec.row(), message(ex)));
+                continue;
+            }
+            chunk.add(row);
+            chunkWeight += weight.applyAsInt(row);
+            if (chunk.size() >= chunkSize || chunkWeight >= imagesPerChunk) {
+                handler.handle(chunk);
+                chunk = new ArrayList<>();
+                chunkWeight = 0;
+            }
+        }
+        if (!chunk.isEmpty()) handler.handle(chunk);
+    }
+
+    // Validación sin escritura: cada fila se parsea y se revisa contra los datos de referencia
+    private <T extends Row> void check(CsvReader csv, Sink sink, RowParser<T> parser,
+                                       Function<T, String> check) throws IOException {
+        CsvRecord rec;
+        while ((rec = csv.next()) != null) {
+            sink.rowRead();
+            try {
+                String error = check.apply(parser.parse(rec));
+                if (error != null) sink.error(rowError(rec.row(), error));
+            } catch (Exception ex) {
+                sink.error(rowError(rec.row(), message(ex)));
+            }
+        }
+    }
+
+    // Un chunk = un batch y una transacción; si falla se reintenta fila por fila
+    private <T extends Row> void write(List<T> chunk, Sink sink, ChunkWriter<T> writer) {
+        try {
+            sink.apply(tx.execute(s -> writer.write(chunk)));
+        } catch (Exception chunkError) {
+            if (chunk.size() == 1) {
+                sink.error(rowError(chunk.get(0).row(), rootMessage(chunkError)));
+                return;
+            }
+            log.warn("BulkImport: falló un chunk de {} filas desde la fila {}, se reintenta fila por fila",
+                    chunk.size(), chunk.get(0).row(), chunkError);
+            for (T row : chunk) {
+                try {
+                    sink.apply(tx.execute(s -> writer.write(List.of(row))));
+                } catch (Exception e) {
+                    sink.error(rowError(row.row(), rootMessage(e)));
+                }
+            }
+        }
+    }
+
+    // ---------- Locales ----------
+
+    private record LocationRow(int row, NewLocation location) implements Row {}
+
+    private static LocationRow parseLocation(CsvRecord r) {
+        return new LocationRow(r.row(), new NewLocation(
+                req(r, "name"),
+                req(r, "address"),
+                req(r, "city"),
+                req(r, "district"),
+                Integer.parseInt(req(r, "capacity")),
+                opt(r, "contactEmail")));
+    }
+
+    // Misma regla que LocationServiceImpl.createLocation: un local ACTIVE con el mismo nombre y
+    // dirección es un error; uno INACTIVE se reactiva. null si la fila es válida
+    private static String checkLocation(NewLocation l, ImportReferences refs, Set<String> seen) {
+        String key = BulkImportRepository.locationKey(l.name(), l.address());
+        ExistingLocation found = refs.location(key);
+        if (!seen.add(key) || (found != null && found.active())) {
+            return "Location already exists with name='" + l.name() + "' and address='" + l.address() + "'";
+        }
+        return null;
+    }
+
+    private Outcome writeLocations(List<LocationRow> chunk, ImportReferences refs) {
+        List<String> errors = new ArrayList<>();
+        Map<Integer, NewLocation> reactivate = new LinkedHashMap<>();
+        List<NewLocation> inserts = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        for (LocationRow r : chunk) {
+            NewLocation l = r.location();
+            String error = checkLocation(l, refs, seen);
+            ExistingLocation found = refs.location(BulkImportRepository.locationKey(l.name(), l.address()));
+            if (error != null) {
+                errors.add(rowError(r.row(), error));
+            } else if (found != null) {
+                reactivate.put(found.id(), l);
+            } else {
+                inserts.add(l);
+            }
+        }
+        repository.reactivateLocations(reactivate);
+        List<Integer> ids = new ArrayList<>(reactivate.keySet());
+        List<NewLocation> created = new ArrayList<>(reactivate.values());
+        if (!inserts.isEmpty()) {
+            ids.addAll(repository.insertLocations(inserts));
+            created.addAll(inserts);
+        }
+        // Solo al confirmar: si el chunk se revierte, el reintento fila por fila no debe verlos
+        return new Outcome(ids, errors, () -> {
+            for (int i = 0; i < ids.size(); i++) {
+                NewLocation l = created.get(i);
+                refs.activated(BulkImportRepository.locationKey(l.name(), l.address()), ids.get(i));
+            }
+        });
+    }
+
+    // ---------- Eventos ----------
+
+    private record PreparedImage(String hash, byte[] data) {}
+
+    private record EventRow(int row, NewEvent event, CompletableFuture<PreparedImage> image) implements Row {
+        int weight() {
+            return image != null ? 1 : 0;
+        }
+    }
+
+    // withImage = false en dryRun: el base64 se valida pero no se descarga ni procesa nada
+    private EventRow parseEvent(CsvRecord r, boolean withImage) {
+        LocalDateTime startsAt = parseDate(req(r, "startsAt"));
+        String sales = opt(r, "salesStartAt");
+        String status = opt(r, "status");
+        NewEvent event = new NewEvent(
+                req(r, "title"),
+                req(r, "description"),
+                startsAt,
+                sales != null ? parseDate(sales) : startsAt,
+                Integer.parseInt(req(r, "durationMin")),
+                Integer.parseInt(req(r, "locationId")),
+                Integer.parseInt(req(r, "eventCategoryId")),
+                Integer.parseInt(req(r, "administratorId")),
+                (status != null ? EventStatus.valueOf(status.toUpperCase(Locale.ROOT)) : EventStatus.DRAFT).name());
+
+        // Imagen: imageBase64 o imageUrl (descarga); se prepara en paralelo mientras se sigue leyendo
+        // Un base64 inválido es error de la fila, como antes; una descarga fallida deja el evento sin imagen
+        String imgB64 = opt(r, "imageBase64");
+        String imgUrl = opt(r, "imageUrl");
+        byte[] decoded = imgB64 != null ? Base64.getDecoder().decode(imgB64) : null;
+        CompletableFuture<PreparedImage> image = null;
+        if (withImage && (decoded != null || imgUrl != null)) {
+            image = CompletableFuture
+                    .supplyAsync(() -> prepareImage(decoded, imgUrl), imageExecutor)
+                    .exceptionally(ex -> null);
+        }
+        return new EventRow(r.row(), event, image);
+    }
+
+    private PreparedImage prepareImage(byte[] decoded, String url) {
+        byte[] data = decoded != null ? decoded : tryFetch(url);
+        if (data == null || data.length == 0) return null;
+        return new PreparedImage(eventImageService.prepare(data), data);
+    }
+
+    // null si la fila es válida; mismos mensajes que EventServiceImpl.validateForeignKeys
+    private static String checkEvent(NewEvent e, ImportReferences refs) {
+        if (!refs.exists(Ref.LOCATION, e.locationId())) return "Location not found with id " + e.locationId();
+        if (!refs.exists(Ref.EVENT_CATEGORY, e.eventCategoryId())) return "EventCategory not found with id " + e.eventCategoryId();
+        if (!refs.exists(Ref.ADMINISTRATOR, e.administratorId())) return "Administrator not found with id " + e.administratorId();
+        return null;
+    }
+
+    private Outcome writeEvents(List<EventRow> chunk, ImportReferences refs) {
+        List<String> errors = new ArrayList<>();
+        List<EventRow> valid = new ArrayList<>();
+        for (EventRow r : chunk) {
+            String error = checkEvent(r.event(), refs);
+            if (error != null) {
+                errors.add(rowError(r.row(), error));
+            } else {
+                valid.add(r);
+            }
+        }
+        if (valid.isEmpty()) return new Outcome(List.of(), errors);
+
+        List<Integer> ids = repository.insertEvents(valid.stream().map(EventRow::event).toList());
+        Map<Integer, String> hashes = new HashMap<>();
+        for (int i = 0; i < valid.size(); i++) {
+            CompletableFuture<PreparedImage> f = valid.get(i).image();
+            PreparedImage img = f != null ? f.join() : null;
+            if (img != null) {
+                // Los derivados ya están en el store: aquí solo se escribe el BLOB
+                hashes.put(ids.get(i), eventImageService.store(ids.get(i), img.hash(), img.data()));
+            }
+        }
+        repository.updateImageHashes(hashes);
+
+        // Índice, facetas, caché y ciclo de vida se actualizan al confirmar el chunk
+        ids.forEach(id -> eventPublisher.publishEvent(new EventChangedEvent(id, false)));
+        return new Outcome(ids, errors);
+    }
+
+    // Descarga acotada: solo http(s), con timeouts y tope de tamaño (el original se guarda en un MEDIUMBLOB)
+    private static byte[] tryFetch(String url) {
+        try {
+            URL u = new URL(url);
+            if (!"http".equalsIgnoreCase(u.getProtocol()) && !"https".equalsIgnoreCase(u.getProtocol())) return null;
+            URLConnection conn = u.openConnection();
+            conn.setConnectTimeout(FETCH_CONNECT_TIMEOUT_MS);
+            conn.setReadTimeout(FETCH_READ_TIMEOUT_MS);
+            try (InputStream in = conn.getInputStream()) {
+                byte[] data = in.readNBytes(MAX_IMAGE_BYTES + 1);
+                return data.length > MAX_IMAGE_BYTES ? null : data;
+            }
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // ---------- Zonas ----------
+
+    private record ZoneRow(ZoneProvisionRow zone) implements Row {
+        public int row() {
+            return zone.rowNumber();
+        }
+    }
+
+    private static ZoneRow parseZone(CsvRecord r) {
+        String status = opt(r, "status");
+        String sold = opt(r, "seatsSold");
+        return new ZoneRow(new ZoneProvisionRow(
+                r.row(),
+                Integer.parseInt(req(r, "eventId")),
+                opt(r, "displayName"),
+                new BigDecimal(req(r, "price")),
+                Integer.parseInt(req(r, "seatsQuota")),
+                sold != null ? Integer.parseInt(sold) : 0,
+                status != null ? EventZone.Status.valueOf(status.toUpperCase(Locale.ROOT)) : EventZone.Status.ACTIVE));
+    }
+
+    // El aprovisionamiento ya resuelve por conjunto e inserta en batch; aquí solo se le pasa un chunk a la vez
+    private void provisionZones(List<ZoneRow> chunk, Sink sink) {
+        ZoneProvisionResult result = zoneProvisioningService.provision(chunk.stream().map(ZoneRow::zone).toList());
+        sink.apply(new Outcome(result.createdIds(), result.errors()));
+    }
+
+    // ---------- Soporte ----------
+
+    private interface Row {
+        int row();
+    }
+
+    @FunctionalInterface
+    private interface RowParser<T> {
+        T parse(CsvRecord record);
+    }
+
+    @FunctionalInterface
+    private interface ChunkHandler<T> {
+        void handle(List<T> chunk);
+    }
+
+    @FunctionalInterface
+    private interface ChunkWriter<T> {
+        Outcome write(List<T> chunk);
+    }
+
+    // Resultado de un chunk; los errores ya vienen como "Row N: ..." y committed corre tras confirmar
+    private record Outcome(List<Integer> createdIds, List<String> errors, Runnable committed) {
+        Outcome(List<Integer> createdIds, List<String> errors) {
+            this(createdIds, errors, () -> { });
+        }
+    }
+
+    private interface Sink {
+        void rowRead();
+        void created(List<Integer> ids);
+        void error(String message);
+
+        default void apply(Outcome outcome) {
+            if (outcome == null) return;
+            outcome.committed().run();
+            created(outcome.createdIds());
+            outcome.errors().forEach(this::error);
+        }
+    }
+
+    // Importación síncrona y dryRun: se devuelven todos los ids y errores, como antes
+    private static final class CollectingSink implements Sink {
+        final List<Integer> createdIds = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+        int rows;
+
+        @Override public void rowRead() { rows++; }
+        @Override public void created(List<Integer> ids) { createdIds.addAll(ids); }
+        @Override public void error(String message) { errors.add(message); }
+    }
+
+    // Job en segundo plano: solo contadores y los primeros errores, memoria constante
+    private static final class BulkJob implements Sink {
+        final String id;
+        final BulkImportKind kind;
+        final long totalBytes;
+        final LocalDateTime createdAt = LocalDateTime.now(ZONE);
+        final AtomicLong rows = new AtomicLong();
+        final AtomicLong created = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong bytesRead = new AtomicLong();
+        final List<String> errors = new ArrayList<>();
+        volatile BulkImportJobStatus status = BulkImportJobStatus.PENDING;
+        volatile String error;
+        volatile LocalDateTime finishedAt;
+
+        BulkJob(String id, BulkImportKind kind, long totalBytes) {
+            this.id = id;
+            this.kind = kind;
+            this.totalBytes = totalBytes;
+        }
+
+        @Override public void rowRead() { rows.incrementAndGet(); }
+        @Override public void created(List<Integer> ids) { created.addAndGet(ids.size()); }
+
+        @Override
+        public void error(String message) {
+            failed.incrementAndGet();
+            synchronized (errors) {
+                if (errors.size() < MAX_JOB_ERRORS) errors.add(message);
+            }
+        }
+    }
+
+    private static BulkImportJobDTO toDto(BulkJob job) {
+        List<String> errors;
+        synchronized (job.errors) {
+            errors = List.copyOf(job.errors);
+        }
+        long read = Math.min(job.bytesRead.get(), job.totalBytes);
+        int percent = job.status == BulkImportJobStatus.DONE ? 100
+                : job.totalBytes > 0 ? (int) (read * 100 / job.totalBytes) : 0;
+        return new BulkImportJobDTO(job.id, job.kind, job.status, job.rows.get(), job.created.get(),
+                job.failed.get(), read, job.totalBytes, percent, errors, job.failed.get() > errors.size(),
+                job.error, job.createdAt, job.finishedAt);
+    }
+
+    // Cuenta los bytes leídos del archivo para reportar el progreso
+    private static final class CountingInputStream extends FilterInputStream {
+        private final AtomicLong counter;
+
+        CountingInputStream(InputStream in, AtomicLong counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) counter.incrementAndGet();
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) counter.addAndGet(n);
+            return n;
+        }
+    }
+
+    private static String req(CsvRecord r, String key) {
+        String v = r.get(key);
+        if (v == null || v.isBlank()) throw new IllegalArgumentException("Missing required column '" + key + "'");
+        return v.trim();
+    }
+
+    private static String opt(CsvRecord r, String key) {
+        String v = r.get(key);
+        return (v == null || v.isBlank()) ? null : v.trim();
+    }
+
+    private static LocalDateTime parseDate(String s) {
+        for (DateTimeFormatter f : DATE_FORMATS) {
+            try { return LocalDateTime.parse(s, f); } catch (Exception ignored) {}
+        }
+        // fallback: try parse as ISO without seconds
+        return LocalDateTime.parse(s);
+    }
+
+    private static String rowError(int row, String message) {
+        return "Row " + row + ": " + message;
+    }
+
+    private static String message(Throwable e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable t = e;
+        while (t.getCause() != null && t.getCause() != t) t = t.getCause();
+        return message(t);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("BulkImport: no se pudo borrar {}", file, e);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.digiticket.service.impl.bulk;
+
+import com.digiticket.dto.bulk.BulkImportKind;
+import com.digiticket.repository.bulk.BulkImportRepository;
+import com.digiticket.repository.bulk.BulkImportRepository.ExistingLocation;
+import com.digiticket.repository.bulk.BulkImportRepository.Ref;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Datos de referencia de una importación, leídos una vez por archivo en hash maps: ids de local,
+ * categoría y administrador para eventos y locales por (nombre, dirección) para locales.
+ * Cada fila se valida contra memoria en vez de hacer findById / findByNameAndAddress.
+ * Las zonas no lo usan: EventZoneProvisioningService ya resuelve por conjunto.
+ */
+final class ImportReferences {
+
+    private final Map<Ref, Set<Integer>> ids;
+    private final Map<String, ExistingLocation> locations;
+
+    private ImportReferences(Map<Ref, Set<Integer>> ids, Map<String, ExistingLocation> locations) {
+        this.ids = ids;
+        this.locations = locations;
+    }
+
+    static ImportReferences load(BulkImportRepository repository, BulkImportKind kind) {
+        Map<Ref, Set<Integer>> ids = new EnumMap<>(Ref.class);
+        Map<String, ExistingLocation> locations = new HashMap<>();
+        if (kind == BulkImportKind.LOCALS) {
+            locations.putAll(repository.findAllLocations());
+        } else if (kind == BulkImportKind.EVENTS) {
+            for (Ref ref : Ref.values()) {
+                ids.put(ref, repository.findAllIds(ref));
+            }
+        }
+        return new ImportReferences(ids, locations);
+    }
+
+    boolean exists(Ref ref, int id) {
+        Set<Integer> known = ids.get(ref);
+        return known != null && known.contains(id);
+    }
+
+    ExistingLocation location(String key) {
+        return locations.get(key);
+    }
+
+    // Lo que el propio archivo crea o reactiva cuenta para las filas siguientes
+    void activated(String key, int id) {
+        locations.put(key, new ExistingLocation(id, true));
+    }
+}
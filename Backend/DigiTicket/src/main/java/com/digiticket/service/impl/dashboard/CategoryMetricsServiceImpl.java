@@ -1,40 +1,43 @@
 package com.digiticket.service.impl.dashboard;
 
 import com.digiticket.dto.dashboard.TopCategoryDTO;
-import com.digiticket.repository.dashboard.CategoryMetricsRepository;
 import com.digiticket.service.dashboard.CategoryMetricsService;
+import com.digiticket.service.dashboard.SalesRankingService;
+import com.digiticket.util.report.ReportingCalendar;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class CategoryMetricsServiceImpl implements CategoryMetricsService {
 
-    private final CategoryMetricsRepository categoryMetricsRepository;
+    // Sin límite explícito se devuelven todas las categorías (son pocas)
+    private static final int ALL_CATEGORIES = 1_000;
+
+    private final SalesRankingService salesRankingService;
+    private final ReportingCalendar calendar;
 
     @Override
     public List<TopCategoryDTO> getTopCategories(Integer limit) {
 
-        // Primer día del mes actual (00:00:00)
-        LocalDateTime start = LocalDate.now()
-                .withDayOfMonth(1)
-                .atStartOfDay();
-
-        // Hoy (23:59:59.9999)
-        LocalDateTime end = LocalDate.now()
-                .atTime(23, 59, 59);
-
-        List<TopCategoryDTO> all =
-                categoryMetricsRepository.findTopCategoriesOfCurrentMonth(start, end);
+        // Desde el día 1 del mes hasta hoy inclusive
+        return salesRankingService.topCategories(calendar.monthToDate(), limitOrAll(limit));
+    }
 
-        if (limit != null && limit < all.size()) {
-            return all.subList(0, limit);
+    @Override
+    public List<TopCategoryDTO> getTopCategories(Integer limit, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rango de fechas inválido");
         }
+        return salesRankingService.topCategories(calendar.between(from, to.plusDays(1)), limitOrAll(limit));
+    }
 
-        return all;
+    private static int limitOrAll(Integer limit) {
+        return limit != null && limit >= 0 ? limit : ALL_CATEGORIES;
     }
 }
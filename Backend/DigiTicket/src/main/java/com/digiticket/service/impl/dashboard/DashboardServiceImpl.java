@@ -3,58 +3,31 @@ package com.digiticket.service.impl.dashboard;
 import com.digiticket.dto.dashboard.DailySalesDTO;
 import com.digiticket.dto.dashboard.DailyTicketsDTO;
 import com.digiticket.dto.dashboard.DailyVisitsDTO;
-import com.digiticket.repository.auditlog.AuditLogRepository;
-import com.digiticket.repository.order.PurchaseRepository;
+import com.digiticket.dto.dashboard.LiveSalesSnapshotDTO;
 import com.digiticket.service.dashboard.DashboardService;
+import com.digiticket.service.dashboard.LiveSalesService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.*;
 
+/**
+ * Las cifras de "hoy" salen de los contadores en memoria de LiveSalesService,
+ * así cada tile del dashboard es una lectura O(1) sin consultas agregadas.
+ */
 @Service
 @RequiredArgsConstructor
 public class DashboardServiceImpl implements DashboardService {
 
-    private final PurchaseRepository purchaseRepository;
-    private final AuditLogRepository auditLogRepository; // ✅ FALTABA ESTO
+    private final LiveSalesService liveSalesService;
 
     @Override
     public DailySalesDTO getTodaySales() {
+        LiveSalesSnapshotDTO live = liveSalesService.snapshot();
 
-        ZoneId zone = ZoneId.of("America/Lima");
-
-        // HOY
-        Instant startToday = LocalDate.now(zone)
-                .atStartOfDay(zone)
-                .toInstant();
-
-        Instant endToday = LocalDate.now(zone)
-                .plusDays(1)
-                .atStartOfDay(zone)
-                .toInstant();
-
-        // AYER
-        Instant startYesterday = LocalDate.now(zone)
-                .minusDays(1)
-                .atStartOfDay(zone)
-                .toInstant();
-
-        Instant endYesterday = LocalDate.now(zone)
-                .atStartOfDay(zone)
-                .toInstant();
-
-        BigDecimal totalToday = purchaseRepository.sumTotalAmountByDateRangeAndActiveStatus(
-                startToday, endToday
-        );
-
-        BigDecimal totalYesterday = purchaseRepository.sumTotalAmountByDateRangeAndActiveStatus(
-                startYesterday, endYesterday
-        );
-
-        if (totalToday == null) totalToday = BigDecimal.ZERO;
-        if (totalYesterday == null) totalYesterday = BigDecimal.ZERO;
+        BigDecimal totalToday = live.revenueToday();
+        BigDecimal totalYesterday = live.revenueYesterday();
 
         BigDecimal variation;
 
@@ -77,45 +50,20 @@ public class DashboardServiceImpl implements DashboardService {
 
     @Override
     public DailyTicketsDTO getTodayTickets() {
+        LiveSalesSnapshotDTO live = liveSalesService.snapshot();
 
-        ZoneId zone = ZoneId.of("America/Lima");
+        int today = (int) live.ticketsToday();
+        int yesterday = (int) live.ticketsYesterday();
 
-        Instant startToday = LocalDate.now(zone).atStartOfDay(zone).toInstant();
-        Instant endToday = LocalDate.now(zone).plusDays(1).atStartOfDay(zone).toInstant();
-        Instant startYesterday = LocalDate.now(zone).minusDays(1).atStartOfDay(zone).toInstant();
-        Instant endYesterday = LocalDate.now(zone).atStartOfDay(zone).toInstant();
-
-        Integer today = purchaseRepository.sumTotalQuantityByDateRangeAndActiveStatus(
-                startToday, endToday);
-
-        Integer yesterday = purchaseRepository.sumTotalQuantityByDateRangeAndActiveStatus(
-                startYesterday, endYesterday);
-
-        if (today == null) today = 0;
-        if (yesterday == null) yesterday = 0;
-
-        Integer difference = today - yesterday;
-
-        return new DailyTicketsDTO(today, difference);
+        return new DailyTicketsDTO(today, today - yesterday);
     }
 
     @Override
     public DailyVisitsDTO getTodayVisits() {
+        LiveSalesSnapshotDTO live = liveSalesService.snapshot();
 
-        ZoneId zone = ZoneId.of("America/Lima");
-
-        Instant startToday = LocalDate.now(zone).atStartOfDay(zone).toInstant();
-        Instant endToday = LocalDate.now(zone).plusDays(1).atStartOfDay(zone).toInstant();
-
-        Instant startYesterday = LocalDate.now(zone).minusDays(1).atStartOfDay(zone).toInstant();
-        Instant endYesterday = LocalDate.now(zone).atStartOfDay(zone).toInstant();
-
-        // ✅ CORREGIDO: se llama a la instancia del repo, no a la clase
-        Integer today = auditLogRepository.countLoginsByDateRange(startToday, endToday);
-        Integer yesterday = auditLogRepository.countLoginsByDateRange(startYesterday, endYesterday);
-
-        if (today == null) today = 0;
-        if (yesterday == null) yesterday = 0;
+        int today = (int) live.visitsToday();
+        int yesterday = (int) live.visitsYesterday();
 
         double variation;
 
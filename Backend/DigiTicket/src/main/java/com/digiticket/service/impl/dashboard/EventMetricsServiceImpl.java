@@ -1,36 +1,39 @@
 package com.digiticket.service.impl.dashboard;
 
 import com.digiticket.dto.dashboard.TopEventDTO;
-import com.digiticket.repository.dashboard.EventMetricsRepository;
 import com.digiticket.service.dashboard.EventMetricsService;
-import org.springframework.data.domain.PageRequest;
+import com.digiticket.service.dashboard.SalesRankingService;
+import com.digiticket.util.report.ReportingCalendar;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
 public class EventMetricsServiceImpl implements EventMetricsService {
 
-    private final EventMetricsRepository repository;
+    private final SalesRankingService salesRankingService;
+    private final ReportingCalendar calendar;
 
-    public EventMetricsServiceImpl(EventMetricsRepository repository) {
-        this.repository = repository;
+    public EventMetricsServiceImpl(SalesRankingService salesRankingService, ReportingCalendar calendar) {
+        this.salesRankingService = salesRankingService;
+        this.calendar = calendar;
     }
 
     @Override
     public List<TopEventDTO> getTopEvents(int top) {
 
-        // Primer día del mes a las 00:00:00
-        LocalDateTime start = LocalDate.now()
-                .withDayOfMonth(1)
-                .atStartOfDay();
-
-        // Día actual a las 23:59:59
-        LocalDateTime end = LocalDate.now()
-                .atTime(23, 59, 59);
+        // Desde el día 1 del mes hasta hoy inclusive
+        return salesRankingService.topEvents(calendar.monthToDate(), top);
+    }
 
-        return repository.findTopEventsBetween(start, end, PageRequest.of(0, top));
+    @Override
+    public List<TopEventDTO> getTopEvents(int top, LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Rango de fechas inválido");
+        }
+        return salesRankingService.topEvents(calendar.between(from, to.plusDays(1)), top);
     }
 }
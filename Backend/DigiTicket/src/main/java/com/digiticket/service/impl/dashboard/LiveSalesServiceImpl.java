@@ -0,0 +1,268 @@
+package com.digiticket.service.impl.dashboard;
+
+import com.digiticket.dto.dashboard.LiveSalesSnapshotDTO;
+import com.digiticket.repository.auditlog.AuditLogRepository;
+import com.digiticket.repository.order.PurchaseRepository;
+import com.digiticket.repository.order.projection.EventTicketsProjection;
+import com.digiticket.service.dashboard.LiveSalesService;
+import com.digiticket.service.dashboard.event.LoginRecordedEvent;
+import com.digiticket.service.dashboard.event.SaleRecordedEvent;
+import com.digiticket.util.report.ReportingCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores en memoria del día de negocio actual (ReportingCalendar), alimentados por los eventos
+ * de checkout y de LOGIN. Leer las cifras de hoy no toca la base de datos; al arrancar se siembran
+ * hoy y ayer con una consulta agregada.
+ * Los eventos solo llegan al nodo que atendió la venta o el login, así que con varias instancias
+ * cada una vería únicamente lo suyo: reconcile() vuelve a sembrar los totales de hoy desde la base
+ * cada dashboard.live.reconcile-ms. Entre dos reconciliaciones las cifras pueden ir atrasadas en las
+ * ventas de otros nodos, y la serie por minuto de la última hora cuenta solo las de este nodo.
+ */
+@Service
+public class LiveSalesServiceImpl implements LiveSalesService {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveSalesServiceImpl.class);
+    private static final int MINUTES_PER_DAY = 1440;
+    private static final long SSE_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final long SSE_KEEPALIVE_MS = 15_000L;
+
+    private final PurchaseRepository purchaseRepository;
+    private final AuditLogRepository auditLogRepository;
+    private final ReportingCalendar calendar;
+
+    private volatile DayCounters today;
+    private volatile DayCounters yesterday;
+
+    private final AtomicLong version = new AtomicLong();
+    private volatile long lastPushedVersion = -1;
+    private volatile long lastPushAt;
+    private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+    public LiveSalesServiceImpl(PurchaseRepository purchaseRepository,
+                                AuditLogRepository auditLogRepository,
+                                ReportingCalendar calendar) {
+        this.purchaseRepository = purchaseRepository;
+        this.auditLogRepository = auditLogRepository;
+        this.calendar = calendar;
+        this.today = new DayCounters(calendar.today());
+        this.yesterday = new DayCounters(today.day.minusDays(1));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedFromDatabase() {
+        try {
+            DayCounters t = current();
+            seed(t);
+            seed(yesterday);
+            version.incrementAndGet();
+            log.info("LiveSales: contadores sembrados para {} ({} entradas)", t.day, t.tickets.sum());
+        } catch (Exception e) {
+            log.error("LiveSales: no se pudieron sembrar los contadores, se inicia en cero", e);
+        }
+    }
+
+    /**
+     * Reemplaza los totales de hoy por los de la base (incluye las ventas de otros nodos).
+     * La serie por minuto se conserva: no sale de las consultas agregadas. Una venta que este nodo
+     * sume justo durante el cambio puede quedar fuera hasta la siguiente pasada.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.live.reconcile-ms:60000}", initialDelay = 60_000)
+    public void reconcile() {
+        try {
+            DayCounters t = current();
+            DayCounters fresh = new DayCounters(t.day, t.ticketsPerMinute);
+            seed(fresh);
+            synchronized (this) {
+                // Si el día rotó mientras se consultaba, se descarta: el día nuevo arranca en cero
+                if (today != t) return;
+                today = fresh;
+            }
+            version.incrementAndGet();
+        } catch (Exception e) {
+            log.error("LiveSales: no se pudieron reconciliar los contadores con la base", e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSale(SaleRecordedEvent event) {
+        DayCounters t = current();
+        int minute = calendar.nowLocal().toLocalTime().toSecondOfDay() / 60;
+
+        t.tickets.add(event.quantity());
+        t.revenueCents.add(toCents(event.amount()));
+        t.ticketsPerMinute[minute].add(event.quantity());
+        if (event.eventId() != null) {
+            t.ticketsPerEvent.computeIfAbsent(event.eventId(), k -> new LongAdder()).add(event.quantity());
+        }
+        if (event.categoryId() != null) {
+            t.ticketsPerCategory.computeIfAbsent(event.categoryId(), k -> new LongAdder()).add(event.quantity());
+        }
+        version.incrementAndGet();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLogin(LoginRecordedEvent event) {
+        current().visits.increment();
+        version.incrementAndGet();
+    }
+
+    @Override
+    public LiveSalesSnapshotDTO snapshot() {
+        DayCounters t = current();
+        DayCounters y = yesterday;
+
+        int nowMinute = calendar.nowLocal().toLocalTime().toSecondOfDay() / 60;
+        List<Long> lastHour = new ArrayList<>(60);
+        for (int m = nowMinute - 59; m <= nowMinute; m++) {
+            lastHour.add(m < 0 ? 0L : t.ticketsPerMinute[m].sum());
+        }
+
+        return new LiveSalesSnapshotDTO(
+                t.day,
+                t.tickets.sum(),
+                fromCents(t.revenueCents.sum()),
+                t.visits.sum(),
+                y.tickets.sum(),
+                fromCents(y.revenueCents.sum()),
+                y.visits.sum(),
+                lastHour,
+                sums(t.ticketsPerEvent),
+                sums(t.ticketsPerCategory)
+        );
+    }
+
+    @Override
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(SSE_TIMEOUT_MS);
+        emitters.add(emitter);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(ex -> emitters.remove(emitter));
+        try {
+            emitter.send(SseEmitter.event().name("sales").data(snapshot(), MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            emitters.remove(emitter);
+            emitter.completeWithError(e);
+        }
+        return emitter;
+    }
+
+    // Empuja un snapshot a los dashboards conectados si hubo cambios (o como keep-alive)
+    @Scheduled(fixedRate = 2_000)
+    public void broadcast() {
+        if (emitters.isEmpty()) return;
+
+        long v = version.get();
+        long now = System.currentTimeMillis();
+        if (v == lastPushedVersion && now - lastPushAt < SSE_KEEPALIVE_MS) return;
+
+        LiveSalesSnapshotDTO data = snapshot();
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name("sales").data(data, MediaType.APPLICATION_JSON));
+            } catch (Exception e) {
+                emitters.remove(emitter);
+            }
+        }
+        lastPushedVersion = v;
+        lastPushAt = now;
+    }
+
+    // Rota los contadores al cambiar de día en Lima
+    private DayCounters current() {
+        LocalDate now = calendar.today();
+        DayCounters t = today;
+        if (t.day.equals(now)) return t;
+
+        synchronized (this) {
+            t = today;
+            if (!t.day.equals(now)) {
+                yesterday = t.day.equals(now.minusDays(1)) ? t : new DayCounters(now.minusDays(1));
+                today = new DayCounters(now);
+                version.incrementAndGet();
+            }
+            return today;
+        }
+    }
+
+    private void seed(DayCounters counters) {
+        ReportingCalendar.Range day = calendar.day(counters.day);
+
+        Integer tickets = purchaseRepository.sumTotalQuantityByDateRangeAndActiveStatus(day.fromKey(), day.toKey());
+        BigDecimal revenue = purchaseRepository.sumTotalAmountByDateRangeAndActiveStatus(day.fromKey(), day.toKey());
+        Integer visits = auditLogRepository.countLoginsByDateRange(day.fromKey(), day.toKey());
+
+        counters.tickets.add(tickets != null ? tickets : 0);
+        counters.revenueCents.add(toCents(revenue));
+        counters.visits.add(visits != null ? visits : 0);
+
+        for (EventTicketsProjection p : purchaseRepository.sumQuantityByEventBetween(day.fromKey(), day.toKey())) {
+            long qty = p.getTickets() != null ? p.getTickets() : 0L;
+            counters.ticketsPerEvent.computeIfAbsent(p.getEventId(), k -> new LongAdder()).add(qty);
+            if (p.getCategoryId() != null) {
+                counters.ticketsPerCategory.computeIfAbsent(p.getCategoryId(), k -> new LongAdder()).add(qty);
+            }
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        if (amount == null) return 0L;
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+    }
+
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+
+    private static Map<Integer, Long> sums(Map<Integer, LongAdder> adders) {
+        Map<Integer, Long> out = new HashMap<>(adders.size() * 2);
+        adders.forEach((k, v) -> out.put(k, v.sum()));
+        return out;
+    }
+
+    private static final class DayCounters {
+        final LocalDate day;
+        final LongAdder tickets = new LongAdder();
+        final LongAdder revenueCents = new LongAdder();
+        final LongAdder visits = new LongAdder();
+        final LongAdder[] ticketsPerMinute;
+        final Map<Integer, LongAdder> ticketsPerEvent = new ConcurrentHashMap<>();
+        final Map<Integer, LongAdder> ticketsPerCategory = new ConcurrentHashMap<>();
+
+        DayCounters(LocalDate day) {
+            this(day, newMinuteSeries());
+        }
+
+        DayCounters(LocalDate day, LongAdder[] ticketsPerMinute) {
+            this.day = day;
+            this.ticketsPerMinute = ticketsPerMinute;
+        }
+
+        private static LongAdder[] newMinuteSeries() {
+            LongAdder[] series = new LongAdder[MINUTES_PER_DAY];
+            for (int i = 0; i < MINUTES_PER_DAY; i++) {
+                series[i] = new LongAdder();
+            }
+            return series;
+        }
+    }
+}
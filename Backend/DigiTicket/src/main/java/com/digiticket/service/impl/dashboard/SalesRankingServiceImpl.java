@@ -0,0 +1,215 @@
+package com.digiticket.service.impl.dashboard;
+
+import com.digiticket.dto.dashboard.TopCategoryDTO;
+import com.digiticket.dto.dashboard.TopEventDTO;
+import com.digiticket.repository.dashboard.SalesRankingRepository;
+import com.digiticket.repository.dashboard.SalesRankingRepository.Dimension;
+import com.digiticket.repository.dashboard.SalesRankingRepository.Increment;
+import com.digiticket.repository.dashboard.SalesRankingRepository.RankRow;
+import com.digiticket.repository.report.DateDimRepository;
+import com.digiticket.service.dashboard.SalesRankingService;
+import com.digiticket.service.dashboard.event.SaleRecordedEvent;
+import com.digiticket.util.report.ReportingCalendar;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Top-N de eventos y categorías sobre contadores mantenidos al momento de la compra
+ * (sales_rank_day / sales_rank_month). El top de un mes es una lectura de pocas filas;
+ * un rango arbitrario suma meses completos y los días de los bordes.
+ * Las ventas confirmadas se acumulan en memoria y se aplican en lote cada pocos segundos,
+ * fuera de la transacción del checkout; la reconciliación nocturna corrige lo que se pierda en una caída.
+ */
+@Service
+public class SalesRankingServiceImpl implements SalesRankingService {
+
+    private static final Logger log = LoggerFactory.getLogger(SalesRankingServiceImpl.class);
+
+    // Orden fijo de locks en el flush: dos nodos nunca se bloquean en sentido contrario
+    private static final Comparator<Increment> LOCK_ORDER = Comparator
+            .comparing(Increment::dim)
+            .thenComparingInt(Increment::dateKey)
+            .thenComparingInt(Increment::itemId);
+
+    private record Key(Dimension dim, int dateKey, int itemId) {}
+
+    private record Delta(long quantity, BigDecimal amount) {
+        Delta plus(Delta other) {
+            return new Delta(quantity + other.quantity, amount.add(other.amount));
+        }
+    }
+
+    private final SalesRankingRepository repository;
+    private final DateDimRepository dateDimRepository;
+    private final ReportingCalendar calendar;
+
+    // Ventas confirmadas aún no aplicadas a sales_rank_day / sales_rank_month
+    private final ConcurrentHashMap<Key, Delta> pending = new ConcurrentHashMap<>();
+
+    public SalesRankingServiceImpl(SalesRankingRepository repository,
+                                   DateDimRepository dateDimRepository,
+                                   ReportingCalendar calendar) {
+        this.repository = repository;
+        this.dateDimRepository = dateDimRepository;
+        this.calendar = calendar;
+    }
+
+    // Solo acumula en memoria: la compra ya confirmó y el checkout no espera por filas compartidas del ranking
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSale(SaleRecordedEvent event) {
+        if (event.eventId() == null) return;
+        int dateKey = ReportingCalendar.dateKey(calendar.today());
+        Delta delta = new Delta(event.quantity(), event.amount() != null ? event.amount() : BigDecimal.ZERO);
+        pending.merge(new Key(Dimension.EVENT, dateKey, event.eventId()), delta, Delta::plus);
+        if (event.categoryId() != null) {
+            pending.merge(new Key(Dimension.CATEGORY, dateKey, event.categoryId()), delta, Delta::plus);
+        }
+    }
+
+    /**
+     * Aplica lo acumulado en una sola transacción corta. Si falla, los deltas vuelven a la cola
+     * y se reintentan en la próxima pasada.
+     */
+    @Scheduled(fixedDelayString = "${dashboard.ranking.flush-ms:2000}", initialDelay = 2_000)
+    public synchronized void flushPending() {
+        if (pending.isEmpty()) return;
+        List<Increment> batch = new ArrayList<>(pending.size());
+        for (Key key : pending.keySet()) {
+            Delta delta = pending.remove(key);
+            if (delta != null) {
+                batch.add(new Increment(key.dim(), key.dateKey(), key.itemId(), delta.quantity(), delta.amount()));
+            }
+        }
+        batch.sort(LOCK_ORDER);
+        try {
+            repository.applyIncrements(batch);
+        } catch (Exception e) {
+            for (Increment i : batch) {
+                pending.merge(new Key(i.dim(), i.dateKey(), i.itemId()), new Delta(i.quantity(), i.amount()), Delta::plus);
+            }
+            log.warn("SalesRanking: no se pudieron aplicar {} contadores, se reintenta en la próxima pasada", batch.size(), e);
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flushPending();
+    }
+
+    @Override
+    public List<TopEventDTO> topEvents(ReportingCalendar.Range range, int k) {
+        return top(Dimension.EVENT, range, k).stream()
+                .map(r -> new TopEventDTO(r.itemId(), r.name(), r.quantity(), r.amount()))
+                .toList();
+    }
+
+    @Override
+    public List<TopCategoryDTO> topCategories(ReportingCalendar.Range range, int k) {
+        return top(Dimension.CATEGORY, range, k).stream()
+                .map(r -> new TopCategoryDTO(r.itemId(), r.name(), r.quantity(), r.amount()))
+                .toList();
+    }
+
+    /**
+     * Recalcula el rango desde purchase bajo el mismo lock que {@link #flushPending()}, así ningún flush
+     * cae entre el recálculo y los deltas locales. Lo pendiente de días dentro del rango ya está confirmado
+     * en purchase y el recálculo lo cuenta, así que se descarta; lo de fuera del rango se aplica antes.
+     * <p>
+     * Quedan dos derivas aceptadas, acotadas a unos segundos de ventas: una venta confirmada justo antes
+     * del recálculo cuyo evento llega después de descartar lo pendiente, y lo pendiente de otros nodos
+     * del rango, que se aplica encima al siguiente flush de cada uno. La próxima reconciliación las corrige.
+     */
+    @Override
+    public synchronized void rebuild(ReportingCalendar.Range range) {
+        Map<Key, Delta> covered = new HashMap<>();
+        for (Key key : pending.keySet()) {
+            if (key.dateKey() >= range.fromKey() && key.dateKey() < range.toKey()) {
+                Delta delta = pending.remove(key);
+                if (delta != null) covered.put(key, delta);
+            }
+        }
+        flushPending();
+        try {
+            repository.rebuild(range.fromKey(), range.toKey());
+        } catch (RuntimeException e) {
+            covered.forEach((key, delta) -> pending.merge(key, delta, Delta::plus));
+            throw e;
+        }
+    }
+
+    // Si las tablas están vacías (primer despliegue) se llenan con todo el histórico de date_dim
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        try {
+            if (!repository.isEmpty()) return;
+            Integer minKey = dateDimRepository.findMinDateKey();
+            if (minKey == null) return;
+            LocalDate from = LocalDate.of(minKey / 10_000, minKey / 100 % 100, minKey % 100);
+            rebuild(calendar.between(from, calendar.today().plusDays(1)));
+            log.info("SalesRanking: contadores reconstruidos desde {}", from);
+        } catch (Exception e) {
+            log.error("SalesRanking: no se pudo reconstruir el ranking al arrancar", e);
+        }
+    }
+
+    // Reconcilia ayer y hoy contra purchase — 03:30 Lima
+    @Scheduled(cron = "0 30 3 * * *", zone = "America/Lima")
+    public void reconcileRecentDays() {
+        try {
+            LocalDate today = calendar.today();
+            rebuild(calendar.between(today.minusDays(1), today.plusDays(1)));
+        } catch (Exception e) {
+            log.error("SalesRanking: error en la reconciliación nocturna", e);
+        }
+    }
+
+    private List<RankRow> top(Dimension dim, ReportingCalendar.Range range, int k) {
+        LocalDate from = range.from();
+        LocalDate to = range.toExclusive();
+        LocalDate today = calendar.today();
+
+        // Los días posteriores a hoy no tienen ventas: un rango que llega hasta hoy cubre el mes en curso
+        LocalDate currentMonthEnd = today.withDayOfMonth(1).plusMonths(1);
+        LocalDate effectiveTo = to.isAfter(today) && to.isBefore(currentMonthEnd) ? currentMonthEnd : to;
+
+        LocalDate firstFullMonth = from.getDayOfMonth() == 1 ? from : from.withDayOfMonth(1).plusMonths(1);
+        LocalDate endFullMonths = effectiveTo.withDayOfMonth(1);
+
+        if (!firstFullMonth.isBefore(endFullMonths)) {
+            // Sin meses completos: todo sale de filas diarias
+            return repository.topMerged(dim, range.fromKey(), range.toKey(), 0, 0, 0, 0, k);
+        }
+
+        int headTo = ReportingCalendar.dateKey(firstFullMonth);
+        int tailFrom = ReportingCalendar.dateKey(endFullMonths);
+        int fromMonth = headTo / 100;
+        int toMonth = tailFrom / 100;
+
+        boolean noHead = range.fromKey() >= headTo;
+        boolean noTail = tailFrom >= range.toKey();
+        if (noHead && noTail && firstFullMonth.plusMonths(1).equals(endFullMonths)) {
+            return repository.topOfMonth(dim, fromMonth, k);
+        }
+        return repository.topMerged(dim,
+                range.fromKey(), headTo,
+                fromMonth, toMonth,
+                tailFrom, range.toKey(),
+                k);
+    }
+}
@@ -0,0 +1,340 @@
+package com.digiticket.service.impl.email;
+
+import com.digiticket.dto.email.EmailTemplate;
+import com.digiticket.dto.email.OutboundEmail;
+import com.digiticket.repository.email.EmailOutboxRepository;
+import com.digiticket.repository.email.EmailOutboxRepository.NewRow;
+import com.digiticket.repository.email.EmailOutboxRepository.OutboxRow;
+import com.digiticket.repository.notification.NotificationBulkRepository;
+import com.digiticket.service.email.EmailOutboxService;
+import com.digiticket.util.EmailService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Outbox persistente para todo el correo saliente.
+ * Encolar es un INSERT en la transacción del llamador (si esa transacción hace rollback, el correo no sale).
+ * Un número fijo de workers (hilos virtuales) reclama lotes vencidos de email_outbox, los agrupa por dominio
+ * destino y envía cada grupo con un solo send(MimeMessage...), es decir, una conexión SMTP por grupo.
+ * Cada dominio tiene su propio límite de envíos por segundo. Un fallo reprograma la fila con espera
+ * exponencial hasta max-attempts y luego la deja FAILED. Las filas SENT/FAILED guardan destinatario y
+ * parámetros (p. ej. el token de reseteo), así que se borran al cumplir retention-hours.
+ * Métricas: email.outbox.sent / retried / failed (contadores), email.outbox.send (tiempo por grupo)
+ * y email.outbox.pending (filas por enviar).
+ */
+@Service
+public class EmailOutboxServiceImpl implements EmailOutboxService {
+
+    private static final Logger log = LoggerFactory.getLogger(EmailOutboxServiceImpl.class);
+    private static final TypeReference<Map<String, String>> PARAMS = new TypeReference<>() {};
+    private static final int PURGE_CHUNK = 1_000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final NotificationBulkRepository notificationBulkRepository;
+    private final EmailService emailService;
+    private final JavaMailSender mailSender;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate claimTx;
+
+    private final int workers;
+    private final int batchSize;
+    private final long pollIntervalMs;
+    private final int perDomainRate;
+    private final int maxAttempts;
+    private final long retryBaseDelayMs;
+    private final long leaseMs;
+    private final long retentionHours;
+
+    private final Map<String, RateLimiter> domainLimiters = new ConcurrentHashMap<>();
+    private final Semaphore wakeup = new Semaphore(0);
+    private final Counter sent;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer sendTimer;
+
+    private ExecutorService pool;
+    private volatile boolean running;
+
+    public EmailOutboxServiceImpl(EmailOutboxRepository outboxRepository,
+                                  NotificationBulkRepository notificationBulkRepository,
+                                  EmailService emailService,
+                                  JavaMailSender mailSender,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${email.outbox.workers:4}") int workers,
+                                  @Value("${email.outbox.batch-size:50}") int batchSize,
+                                  @Value("${email.outbox.poll-interval-ms:2000}") long pollIntervalMs,
+                                  @Value("${email.outbox.per-domain-rate-per-second:10}") int perDomainRate,
+                                  @Value("${email.outbox.max-attempts:5}") int maxAttempts,
+                                  @Value("${email.outbox.retry-base-delay-ms:30000}") long retryBaseDelayMs,
+                                  @Value("${email.outbox.lease-ms:300000}") long leaseMs,
+                                  @Value("${email.outbox.retention-hours:24}") long retentionHours) {
+        this.outboxRepository = outboxRepository;
+        this.notificationBulkRepository = notificationBulkRepository;
+        this.emailService = emailService;
+        this.mailSender = mailSender;
+        this.objectMapper = objectMapper;
+        this.claimTx = new TransactionTemplate(transactionManager);
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+        this.pollIntervalMs = Math.max(10, pollIntervalMs);
+        this.perDomainRate = perDomainRate;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBaseDelayMs = Math.max(0, retryBaseDelayMs);
+        this.leaseMs = Math.max(1000, leaseMs);
+        this.retentionHours = Math.max(1, retentionHours);
+
+        this.sent = Counter.builder("email.outbox.sent").register(meterRegistry);
+        this.retried = Counter.builder("email.outbox.retried").register(meterRegistry);
+        this.failed = Counter.builder("email.outbox.failed").register(meterRegistry);
+        this.sendTimer = Timer.builder("email.outbox.send").description("Envío de un grupo por conexión SMTP")
+                .register(meterRegistry);
+        Gauge.builder("email.outbox.pending", outboxRepository, EmailOutboxRepository::countPending)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void enqueue(OutboundEmail email) {
+        enqueueAll(List.of(email));
+    }
+
+    @Override
+    public void enqueueAll(List<OutboundEmail> emails) {
+        if (emails.isEmpty()) return;
+        List<NewRow> rows = new ArrayList<>(emails.size());
+        for (OutboundEmail e : emails) {
+            rows.add(new NewRow(e.to(), domainOf(e.to()), e.template(), toJson(e.params()), e.notificationId()));
+        }
+        outboxRepository.insertAll(rows);
+
+        // Despertar a los workers cuando las filas ya son visibles
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wakeup.release(workers);
+                }
+            });
+        } else {
+            wakeup.release(workers);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (running) return;
+        running = true;
+        pool = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("email-outbox-", 0).factory());
+        for (int i = 0; i < workers; i++) {
+            pool.submit(this::workLoop);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        running = false;
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    // Borra en tandas cortas los correos ya resueltos — cada hora
+    @Scheduled(fixedRate = 3_600_000)
+    public int purgeExpired() {
+        LocalDateTime limit = LocalDateTime.now().minusHours(retentionHours);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = outboxRepository.deleteFinishedBefore(limit, PURGE_CHUNK);
+            total += deleted;
+        } while (deleted == PURGE_CHUNK);
+        if (total > 0) {
+            log.info("EmailOutbox: {} correos enviados o descartados eliminados", total);
+        }
+        return total;
+    }
+
+    private void workLoop() {
+        while (running) {
+            try {
+                if (processBatch() == 0) {
+                    wakeup.tryAcquire(pollIntervalMs, TimeUnit.MILLISECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // Las filas reclamadas vuelven a estar disponibles cuando vence el lease
+                log.error("EmailOutbox: error procesando lote", e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    // Reclama y envía un lote; devuelve cuántas filas tomó
+    int processBatch() throws InterruptedException {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxRow> rows = claimTx.execute(status ->
+                outboxRepository.claim(batchSize, now, now.plusNanos(leaseMs * 1_000_000)));
+        if (rows == null || rows.isEmpty()) return 0;
+
+        Map<String, List<OutboxRow>> byDomain = rows.stream()
+                .collect(Collectors.groupingBy(OutboxRow::domain, LinkedHashMap::new, Collectors.toList()));
+        for (Map.Entry<String, List<OutboxRow>> group : byDomain.entrySet()) {
+            limiter(group.getKey()).acquire(group.getValue().size());
+            sendGroup(group.getValue());
+        }
+        return rows.size();
+    }
+
+    private void sendGroup(List<OutboxRow> group) {
+        Map<MimeMessage, OutboxRow> byMessage = new LinkedHashMap<>();
+        for (OutboxRow row : group) {
+            try {
+                byMessage.put(render(row), row);
+            } catch (Exception e) {
+                retryOrFail(row, e);
+            }
+        }
+        if (byMessage.isEmpty()) return;
+
+        Map<Object, Exception> failures = new HashMap<>();
+        Timer.Sample sample = Timer.start();
+        try {
+            mailSender.send(byMessage.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            // Sin detalle por mensaje (p. ej. no hubo conexión) se asume que falló todo el grupo
+            if (e.getFailedMessages().isEmpty()) {
+                byMessage.keySet().forEach(m -> failures.put(m, e));
+            } else {
+                failures.putAll(e.getFailedMessages());
+            }
+        } catch (MailException e) {
+            byMessage.keySet().forEach(m -> failures.put(m, e));
+        } finally {
+            sample.stop(sendTimer);
+        }
+
+        List<Long> sentIds = new ArrayList<>();
+        List<Integer> notificationIds = new ArrayList<>();
+        for (Map.Entry<MimeMessage, OutboxRow> entry : byMessage.entrySet()) {
+            OutboxRow row = entry.getValue();
+            Exception error = failures.get(entry.getKey());
+            if (error != null) {
+                retryOrFail(row, error);
+            } else {
+                sentIds.add(row.id());
+                if (row.notificationId() != null) notificationIds.add(row.notificationId());
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        outboxRepository.markSent(sentIds, now);
+        notificationBulkRepository.markSent(notificationIds, now);
+        sent.increment(sentIds.size());
+    }
+
+    private MimeMessage render(OutboxRow row) throws JsonProcessingException {
+        Map<String, String> params = objectMapper.readValue(row.params(), PARAMS);
+        return switch (row.template()) {
+            case RESET_PASSWORD -> emailService.createResetPasswordEmail(row.recipient(), params.get("token"));
+            case NOTIFICATION -> emailService.createNotificationEmail(row.recipient(), params.get("subject"), params.get("body"));
+        };
+    }
+
+    // Espera retry-base-delay, 2×, 4×... entre intentos
+    private void retryOrFail(OutboxRow row, Exception cause) {
+        int attempts = row.attempts() + 1;
+        String error = cause != null ? cause.getMessage() : null;
+        if (attempts >= maxAttempts) {
+            outboxRepository.markFailed(row.id(), attempts, error);
+            failed.increment();
+            log.error("EmailOutbox: correo {} a {} descartado tras {} intentos: {}",
+                    row.id(), row.domain(), attempts, error);
+            return;
+        }
+        long delayMs = retryBaseDelayMs << Math.min(attempts - 1, 16);
+        outboxRepository.reschedule(row.id(), attempts, LocalDateTime.now().plusNanos(delayMs * 1_000_000), error);
+        retried.increment();
+    }
+
+    private RateLimiter limiter(String domain) {
+        return domainLimiters.computeIfAbsent(domain, d -> new RateLimiter(perDomainRate));
+    }
+
+    private String toJson(Map<String, String> params) {
+        try {
+            return objectMapper.writeValueAsString(params);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Parámetros de correo no serializables", e);
+        }
+    }
+
+    static String domainOf(String email) {
+        int at = email.lastIndexOf('@');
+        return (at >= 0 ? email.substring(at + 1) : email).trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void sleepQuietly() {
+        try {
+            Thread.sleep(pollIntervalMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Turnos equiespaciados: como máximo permitsPerSecond por segundo en promedio; 0 = sin límite
+    static final class RateLimiter {
+        private final long intervalNanos;
+        private long nextSlot = System.nanoTime();
+
+        RateLimiter(int permitsPerSecond) {
+            this.intervalNanos = permitsPerSecond > 0 ? TimeUnit.SECONDS.toNanos(1) / permitsPerSecond : 0;
+        }
+
+        // Reserva 'permits' turnos seguidos y espera hasta el primero; el siguiente en llegar paga el resto
+        void acquire(int permits) throws InterruptedException {
+            if (intervalNanos == 0) return;
+            long wait;
+            synchronized (this) {
+                long now = System.nanoTime();
+                long slot = Math.max(nextSlot, now);
+                nextSlot = slot + intervalNanos * permits;
+                wait = slot - now;
+            }
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.digiticket.service.impl.event;
+
+import com.digiticket.domain.event.EventStatus;
+import com.digiticket.dto.event.EventCatalogItemDTO;
+import com.digiticket.mapper.EventMapper;
+import com.digiticket.repository.event.EventRepository;
+import com.digiticket.repository.event.projection.EventCatalogProjection;
+import com.digiticket.service.event.EventCatalogService;
+import com.digiticket.service.search.EventSearchService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.JpaSort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Listado de eventos para las pantallas de lista/búsqueda. Lee una proyección
+ * (sin description ni imagen ni entidades EAGER) con precio mínimo y disponibilidad
+ * agregados en la misma consulta; el detalle completo queda en GET /api/event/{id}.
+ */
+@Service
+public class EventCatalogServiceImpl implements EventCatalogService {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final EventRepository eventRepository;
+    private final EventSearchService eventSearchService;
+
+    public EventCatalogServiceImpl(EventRepository eventRepository, EventSearchService eventSearchService) {
+        this.eventRepository = eventRepository;
+        this.eventSearchService = eventSearchService;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<EventCatalogItemDTO> list(EventStatus status, int page, int size, String sort) {
+        if (page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page debe ser >= 0");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        return eventRepository.findCatalog(status, PageRequest.of(page, size, toSort(sort)))
+                .map(EventMapper::toCatalogItem);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<EventCatalogItemDTO> search(String query, EventStatus status, int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        List<Integer> ids = eventSearchService.search(query, status, limit);
+        if (ids.isEmpty()) return List.of();
+
+        // El índice define el orden; la consulta IN lo pierde, así que se reordena aquí
+        Map<Integer, EventCatalogProjection> rows = eventRepository.findCatalogByIds(ids).stream()
+                .collect(Collectors.toMap(EventCatalogProjection::getId, Function.identity()));
+        return ids.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(EventMapper::toCatalogItem)
+                .toList();
+    }
+
+    // Solo campos permitidos: el orden se traduce a alias/expresiones de la consulta, nunca se concatena la entrada
+    static Sort toSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by(Sort.Order.asc("startsAt"), Sort.Order.asc("id"));
+        }
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        Sort.Direction dir = parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc")
+                ? Sort.Direction.DESC : Sort.Direction.ASC;
+
+        Sort primary = switch (field) {
+            case "title", "startsAt", "id" -> Sort.by(dir, field);
+            case "minPrice" -> JpaSort.unsafe(dir, "MIN(z.price)");
+            case "available" -> JpaSort.unsafe(dir, "COALESCE(SUM(z.seatsAvailable), 0)");
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Orden no soportado: " + field);
+        };
+        // Desempate estable para que la paginación no repita ni salte filas
+        return field.equals("id") ? primary : primary.and(Sort.by(Sort.Direction.ASC, "id"));
+    }
+}
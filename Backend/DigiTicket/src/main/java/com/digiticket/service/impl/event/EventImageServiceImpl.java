@@ -0,0 +1,112 @@
+package com.digiticket.service.impl.event;
+
+import com.digiticket.domain.event.EventImage;
+import com.digiticket.repository.event.EventImageRepository;
+import com.digiticket.repository.event.projection.EventImageMetaProjection;
+import com.digiticket.service.event.EventImageService;
+import com.digiticket.util.image.ImageStore;
+import com.digiticket.util.image.ImageVariant;
+import com.digiticket.util.image.StoredImage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+
+@Service
+public class EventImageServiceImpl implements EventImageService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventImageServiceImpl.class);
+
+    private final EventImageRepository eventImageRepository;
+    private final ImageStore imageStore;
+
+    public EventImageServiceImpl(EventImageRepository eventImageRepository, ImageStore imageStore) {
+        this.eventImageRepository = eventImageRepository;
+        this.imageStore = imageStore;
+    }
+
+    // Genera los derivados (decodificar y escalar) antes y fuera de la transacción de store()
+    @Override
+    public String prepare(byte[] data) {
+        if (data == null || data.length == 0) {
+            throw new IllegalArgumentException("La imagen está vacía");
+        }
+        String hash = sha256(data);
+        // Si falla el disco los derivados se regeneran al servir
+        try {
+            imageStore.ingest(hash, data);
+        } catch (Exception e) {
+            log.warn("EventImage: no se pudieron generar los derivados de {}", hash, e);
+        }
+        return hash;
+    }
+
+    // Solo escribe en la BD: el trabajo de imagen ya lo hizo prepare()
+    @Override
+    @Transactional
+    public String store(Integer eventId, String hash, byte[] data) {
+        if (data == null || data.length == 0) {
+            throw new IllegalArgumentException("La imagen está vacía");
+        }
+        if (hash == null) {
+            throw new IllegalArgumentException("Falta el hash de prepare()");
+        }
+        EventImage image = eventImageRepository.findById(eventId)
+                .orElseGet(() -> EventImage.builder().eventId(eventId).build());
+        if (hash.equals(image.getSha256())) {
+            return hash;   // misma imagen, no se reescribe el BLOB
+        }
+        image.setSha256(hash);
+        image.setContentType(detectContentType(data));
+        image.setSizeBytes(data.length);
+        image.setData(data);
+        eventImageRepository.save(image);
+        return hash;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<String> findHash(Integer eventId) {
+        return eventImageRepository.findMetaByEventId(eventId).map(EventImageMetaProjection::getSha256);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<StoredImage> open(Integer eventId, ImageVariant variant) {
+        return eventImageRepository.findMetaByEventId(eventId)
+                .map(meta -> imageStore.resolve(meta.getSha256(), variant, meta.getContentType(),
+                        () -> eventImageRepository.findDataByEventId(eventId).orElse(null)));
+    }
+
+    @Override
+    @Transactional
+    public void delete(Integer eventId) {
+        // Los archivos del store se conservan: otro evento puede compartir el mismo póster
+        if (eventImageRepository.existsById(eventId)) {
+            eventImageRepository.deleteById(eventId);
+        }
+    }
+
+    static String sha256(byte[] data) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    // Tipo por firma de archivo; antes todas las imágenes se servían como JPEG
+    static String detectContentType(byte[] d) {
+        if (d.length >= 8 && (d[0] & 0xFF) == 0x89 && d[1] == 'P' && d[2] == 'N' && d[3] == 'G') return "image/png";
+        if (d.length >= 3 && (d[0] & 0xFF) == 0xFF && (d[1] & 0xFF) == 0xD8 && (d[2] & 0xFF) == 0xFF) return "image/jpeg";
+        if (d.length >= 6 && d[0] == 'G' && d[1] == 'I' && d[2] == 'F' && d[3] == '8') return "image/gif";
+        if (d.length >= 12 && d[0] == 'R' && d[1] == 'I' && d[2] == 'F' && d[3] == 'F'
+                && d[8] == 'W' && d[9] == 'E' && d[10] == 'B' && d[11] == 'P') return "image/webp";
+        return "image/jpeg";
+    }
+}
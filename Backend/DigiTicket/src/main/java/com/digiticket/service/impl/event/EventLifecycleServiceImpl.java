@@ -0,0 +1,288 @@
+package com.digiticket.service.impl.event;
+
+import com.digiticket.repository.event.EventRepository;
+import com.digiticket.repository.event.projection.EventScheduleProjection;
+import com.digiticket.repository.ticket.TicketRepository;
+import com.digiticket.service.event.AvailabilityService;
+import com.digiticket.service.event.EventLifecycleService;
+import com.digiticket.service.event.EventService;
+import com.digiticket.service.event.PublishedEventCache;
+import com.digiticket.service.search.event.EventChangedEvent;
+import com.digiticket.util.report.ReportingCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ScheduledFuture;
+
+/**
+ * Ciclo de vida automático de eventos publicados.
+ * Las transiciones próximas (dentro de un horizonte) viven en una cola de prioridad por instante;
+ * un único timer del TaskScheduler se arma para la cabeza de la cola, así cada transición se dispara
+ * en su momento y no en la siguiente pasada de un polling.
+ * <ul>
+ *   <li>PREWARM (salesStartAt − N min): precarga disponibilidad y caché del evento.</li>
+ *   <li>SALES_START (salesStartAt): invalida catálogo/facetas para que el evento aparezca a la venta.</li>
+ *   <li>FINISH (startsAt + durationMin): marca el evento FINISHED y sus tickets ACTIVE como USED.</li>
+ * </ul>
+ * Las fechas del evento son hora local del negocio (reporting.zone).
+ */
+@Service
+public class EventLifecycleServiceImpl implements EventLifecycleService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLifecycleServiceImpl.class);
+
+    enum Type { PREWARM, SALES_START, FINISH }
+
+    record Transition(Instant at, Integer eventId, Type type) {}
+
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final EventService eventService;
+    private final AvailabilityService availabilityService;
+    private final PublishedEventCache publishedEventCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+    private final TransactionTemplate tx;
+    private final ReportingCalendar calendar;
+    private final Clock clock;
+    private final Duration horizon;
+    private final Duration prewarmLead;
+
+    private final PriorityQueue<Transition> queue = new PriorityQueue<>(
+            Comparator.comparing(Transition::at).thenComparing(Transition::eventId).thenComparing(Transition::type));
+    private ScheduledFuture<?> timer;
+    private Instant timerAt;
+
+    @Autowired
+    public EventLifecycleServiceImpl(EventRepository eventRepository,
+                                     TicketRepository ticketRepository,
+                                     EventService eventService,
+                                     AvailabilityService availabilityService,
+                                     PublishedEventCache publishedEventCache,
+                                     ApplicationEventPublisher eventPublisher,
+                                     TaskScheduler taskScheduler,
+                                     PlatformTransactionManager transactionManager,
+                                     ReportingCalendar calendar,
+                                     @Value("${events.lifecycle.horizon-hours:48}") long horizonHours,
+                                     @Value("${events.lifecycle.prewarm-minutes:10}") long prewarmMinutes) {
+        this(eventRepository, ticketRepository, eventService, availabilityService, publishedEventCache,
+                eventPublisher, taskScheduler, new TransactionTemplate(transactionManager), calendar,
+                Clock.systemUTC(), Duration.ofHours(horizonHours), Duration.ofMinutes(prewarmMinutes));
+    }
+
+    public EventLifecycleServiceImpl(EventRepository eventRepository,
+                                     TicketRepository ticketRepository,
+                                     EventService eventService,
+                                     AvailabilityService availabilityService,
+                                     PublishedEventCache publishedEventCache,
+                                     ApplicationEventPublisher eventPublisher,
+                                     TaskScheduler taskScheduler,
+                                     TransactionTemplate tx,
+                                     ReportingCalendar calendar,
+                                     Clock clock,
+                                     Duration horizon,
+                                     Duration prewarmLead) {
+        this.eventRepository = eventRepository;
+        this.ticketRepository = ticketRepository;
+        this.eventService = eventService;
+        this.availabilityService = availabilityService;
+        this.publishedEventCache = publishedEventCache;
+        this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
+        this.tx = tx;
+        this.calendar = calendar;
+        this.clock = clock;
+        this.horizon = horizon;
+        this.prewarmLead = prewarmLead;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("EventLifecycle: no se pudo cargar la cola al arrancar", e);
+        }
+    }
+
+    // Cada 30 min se extiende el horizonte; entre pasadas la cola ya tiene lo que se dispara
+    @Scheduled(fixedDelayString = "${events.lifecycle.reload-ms:1800000}", initialDelay = 1_800_000)
+    public void periodicReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("EventLifecycle: error al recargar la cola", e);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        try {
+            if (event.deleted()) {
+                synchronized (queue) {
+                    queue.removeIf(t -> t.eventId().equals(event.eventId()));
+                    rearm();
+                }
+            } else {
+                reschedule(event.eventId());
+            }
+        } catch (Exception e) {
+            log.warn("EventLifecycle: no se pudo reprogramar el evento {}", event.eventId(), e);
+        }
+    }
+
+    @Override
+    public void reload() {
+        Instant now = clock.instant();
+        Instant limit = now.plus(horizon);
+        List<Transition> fresh = new ArrayList<>();
+        for (EventScheduleProjection e : eventRepository.findScheduleBefore(toLocal(limit))) {
+            fresh.addAll(transitionsOf(e, now, limit));
+        }
+        synchronized (queue) {
+            queue.clear();
+            queue.addAll(fresh);
+            rearm();
+        }
+        log.info("EventLifecycle: {} transiciones programadas en las próximas {} h", fresh.size(), horizon.toHours());
+    }
+
+    @Override
+    public void reschedule(Integer eventId) {
+        Instant now = clock.instant();
+        Instant limit = now.plus(horizon);
+        List<Transition> fresh = eventRepository.findPublishedSchedule(eventId)
+                .map(e -> transitionsOf(e, now, limit))
+                .orElse(List.of());
+        synchronized (queue) {
+            queue.removeIf(t -> t.eventId().equals(eventId));
+            queue.addAll(fresh);
+            rearm();
+        }
+    }
+
+    @Override
+    public int pending() {
+        synchronized (queue) {
+            return queue.size();
+        }
+    }
+
+    // Transiciones aún pendientes del evento que caen dentro del horizonte (las vencidas se disparan ya)
+    List<Transition> transitionsOf(EventScheduleProjection e, Instant now, Instant limit) {
+        List<Transition> out = new ArrayList<>();
+        if (e.getSalesStartAt() != null) {
+            Instant salesStart = toInstant(e.getSalesStartAt());
+            if (salesStart.isAfter(now) && salesStart.isBefore(limit)) {
+                Instant prewarm = salesStart.minus(prewarmLead);
+                out.add(new Transition(prewarm.isBefore(now) ? now : prewarm, e.getId(), Type.PREWARM));
+                out.add(new Transition(salesStart, e.getId(), Type.SALES_START));
+            }
+        }
+        if (e.getStartsAt() != null) {
+            Instant end = endOf(e);
+            if (end.isBefore(limit)) {
+                out.add(new Transition(end.isBefore(now) ? now : end, e.getId(), Type.FINISH));
+            }
+        }
+        return out;
+    }
+
+    // Un solo timer para la cabeza de la cola; se rearma cuando cambia la cabeza
+    private void rearm() {
+        Transition head = queue.peek();
+        if (head == null) {
+            cancelTimer();
+            return;
+        }
+        if (timer != null && !timer.isDone() && head.at().equals(timerAt)) return;
+        cancelTimer();
+        timerAt = head.at();
+        timer = taskScheduler.schedule(this::fireDue, head.at());
+    }
+
+    private void cancelTimer() {
+        if (timer != null) timer.cancel(false);
+        timer = null;
+        timerAt = null;
+    }
+
+    public void fireDue() {
+        List<Transition> due = new ArrayList<>();
+        synchronized (queue) {
+            Instant now = clock.instant();
+            while (!queue.isEmpty() && !queue.peek().at().isAfter(now)) {
+                due.add(queue.poll());
+            }
+            timer = null;
+            timerAt = null;
+        }
+        for (Transition t : due) {
+            try {
+                apply(t);
+            } catch (Exception e) {
+                log.error("EventLifecycle: falló {} del evento {}", t.type(), t.eventId(), e);
+            }
+        }
+        synchronized (queue) {
+            rearm();
+        }
+    }
+
+    private void apply(Transition t) {
+        switch (t.type()) {
+            case PREWARM -> {
+                availabilityService.getAvailabilityByEvent(t.eventId());
+                publishedEventCache.get(t.eventId());
+                log.info("EventLifecycle: precarga del evento {} antes del inicio de venta", t.eventId());
+            }
+            case SALES_START -> {
+                // El evento no cambia en BD; se refrescan catálogo, facetas y caché para mostrarlo a la venta
+                eventPublisher.publishEvent(new EventChangedEvent(t.eventId(), false));
+                log.info("EventLifecycle: inicio de venta del evento {}", t.eventId());
+            }
+            case FINISH -> {
+                Integer used = tx.execute(status -> {
+                    // Se verifica contra la BD: pudo haberse cancelado o reprogramado después de encolar
+                    Optional<EventScheduleProjection> current = eventRepository.findPublishedSchedule(t.eventId());
+                    if (current.isEmpty() || endOf(current.get()).isAfter(clock.instant())) return null;
+                    eventService.finishEvent(t.eventId());
+                    return ticketRepository.markUsedByEvent(t.eventId());
+                });
+                if (used != null) {
+                    log.info("EventLifecycle: evento {} finalizado, {} tickets marcados USED", t.eventId(), used);
+                }
+            }
+        }
+    }
+
+    private Instant endOf(EventScheduleProjection e) {
+        int duration = e.getDurationMin() != null ? e.getDurationMin() : 0;
+        return toInstant(e.getStartsAt().plusMinutes(duration));
+    }
+
+    private Instant toInstant(LocalDateTime local) {
+        return local.atZone(calendar.zone()).toInstant();
+    }
+
+    private LocalDateTime toLocal(Instant instant) {
+        return LocalDateTime.ofInstant(instant, calendar.zone());
+    }
+}
@@ -12,9 +12,14 @@ import com.digiticket.repository.location.LocationRepository;
 import com.digiticket.repository.order.OrderItemRepository;
 import com.digiticket.repository.order.OrderRepository;
 import com.digiticket.repository.user.AdministratorRepository;
+import com.digiticket.service.event.EventImageService;
 import com.digiticket.service.event.EventService;
+import com.digiticket.service.search.event.EventChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -34,13 +39,19 @@ public class EventServiceImpl implements EventService {
     // 🔥 AGREGADO PARA HISTORIAL
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
+    private final EventImageService eventImageService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate tx;
 
     public EventServiceImpl(EventRepository eventRepository,
                             LocationRepository locationRepository,
                             EventCategoryRepository eventCategoryRepository,
                             AdministratorRepository administratorRepository,
                             OrderRepository orderRepository,
-                            OrderItemRepository orderItemRepository) {
+                            OrderItemRepository orderItemRepository,
+                            EventImageService eventImageService,
+                            ApplicationEventPublisher eventPublisher,
+                            PlatformTransactionManager transactionManager) {
 
         this.eventRepository = eventRepository;
         this.locationRepository = locationRepository;
@@ -48,6 +59,9 @@ public class EventServiceImpl implements EventService {
         this.administratorRepository = administratorRepository;
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
+        this.eventImageService = eventImageService;
+        this.eventPublisher = eventPublisher;
+        this.tx = new TransactionTemplate(transactionManager);
     }
 
     @Override
@@ -61,7 +75,18 @@ public class EventServiceImpl implements EventService {
             event.setSalesStartAt(event.getStartsAt() != null ? event.getStartsAt() : LocalDateTime.now());
         }
 
-        return eventRepository.save(event);
+        byte[] image = event.getImageData();
+        String imageHash = image != null && image.length > 0 ? eventImageService.prepare(image) : null;
+        // Los derivados ya se generaron fuera; evento, BLOB y hash se confirman juntos o no se confirma nada
+        return tx.execute(status -> {
+            Event saved = eventRepository.save(event);
+            if (imageHash != null) {
+                saved.setImageHash(eventImageService.store(saved.getId(), imageHash, image));
+                saved = eventRepository.save(saved);
+            }
+            changed(saved.getId());
+            return saved;
+        });
     }
 
     @Override
@@ -98,11 +123,16 @@ public class EventServiceImpl implements EventService {
             existing.setStatus(updated.getStatus());
         }
 
-        if (updated.getImageData() != null && updated.getImageData().length > 0) {
-            existing.setImageData(updated.getImageData());
-        }
-
-        return eventRepository.save(existing);
+        byte[] image = updated.getImageData();
+        String imageHash = image != null && image.length > 0 ? eventImageService.prepare(image) : null;
+        return tx.execute(status -> {
+            if (imageHash != null) {
+                existing.setImageHash(eventImageService.store(id, imageHash, image));
+            }
+            Event saved = eventRepository.save(existing);
+            changed(id);
+            return saved;
+        });
     }
 
     @Override
@@ -110,7 +140,9 @@ public class EventServiceImpl implements EventService {
         if (!eventRepository.existsById(id)) {
             throw new RuntimeException("Event not found with id " + id);
         }
+        eventImageService.delete(id);
         eventRepository.deleteById(id);
+        eventPublisher.publishEvent(new EventChangedEvent(id, true));
     }
 
     @Override
@@ -121,28 +153,39 @@ public class EventServiceImpl implements EventService {
 
     @Override
     public List<Event> getAllEvents() {
-        return eventRepository.findAll();
+        return eventRepository.findAllWithRefs();
     }
 
     @Override
     public Event publishEvent(Integer id) {
         Event e = getEventById(id);
         e.setStatus(EventStatus.PUBLISHED);
-        return eventRepository.save(e);
+        Event saved = eventRepository.save(e);
+        changed(id);
+        return saved;
     }
 
     @Override
     public Event cancelEvent(Integer id) {
         Event e = getEventById(id);
         e.setStatus(EventStatus.CANCELED);
-        return eventRepository.save(e);
+        Event saved = eventRepository.save(e);
+        changed(id);
+        return saved;
     }
 
     @Override
     public Event finishEvent(Integer id) {
         Event e = getEventById(id);
         e.setStatus(EventStatus.FINISHED);
-        return eventRepository.save(e);
+        Event saved = eventRepository.save(e);
+        changed(id);
+        return saved;
+    }
+
+    // Mantiene el índice de búsqueda al día (se aplica después del commit)
+    private void changed(Integer id) {
+        eventPublisher.publishEvent(new EventChangedEvent(id, false));
     }
 
     private void validateForeignKeys(Event e) {
@@ -183,6 +226,8 @@ public class EventServiceImpl implements EventService {
         Specification<Event> spec = (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
 
+            // En la base y no en el índice en memoria: el listado de administración debe ver al instante
+            // los cambios hechos desde cualquier nodo
             if (title != null && !title.isEmpty()) {
                 predicates.add(cb.like(cb.lower(root.get("title")), "%" + title.toLowerCase() + "%"));
             }
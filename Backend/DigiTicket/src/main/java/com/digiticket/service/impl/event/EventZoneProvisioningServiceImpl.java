@@ -0,0 +1,240 @@
+package com.digiticket.service.impl.event;
+
+import com.digiticket.domain.event.EventZone;
+import com.digiticket.dto.event.ZoneProvisionResult;
+import com.digiticket.dto.event.ZoneProvisionRow;
+import com.digiticket.repository.event.EventZoneBulkRepository;
+import com.digiticket.repository.event.EventZoneBulkRepository.NewEventZone;
+import com.digiticket.repository.event.EventZoneBulkRepository.NewLocationZone;
+import com.digiticket.service.event.EventZoneProvisioningService;
+import com.digiticket.service.search.event.EventChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Aprovisionamiento masivo de zonas de evento.
+ * Resuelve los eventos y las zonas de local con una consulta por tabla, reutiliza la zona del local
+ * con el mismo nombre (sin distinguir mayúsculas) y crea solo las que faltan; las event_zone se insertan
+ * en batches JDBC, un chunk por transacción. Si un chunk (o el batch de zonas de local) falla
+ * se reintenta fila por fila para reportar exactamente qué fila falló.
+ */
+@Service
+public class EventZoneProvisioningServiceImpl implements EventZoneProvisioningService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventZoneProvisioningServiceImpl.class);
+    private static final String DEFAULT_ZONE_NAME = "Zona";
+    // location_zone.name; el nombre de la zona del local es el displayName de la fila
+    private static final int MAX_ZONE_NAME_LENGTH = 80;
+
+    private final EventZoneBulkRepository bulkRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate tx;
+    private final int chunkSize;
+
+    public EventZoneProvisioningServiceImpl(EventZoneBulkRepository bulkRepository,
+                                            ApplicationEventPublisher eventPublisher,
+                                            PlatformTransactionManager transactionManager,
+                                            @Value("${bulk.zones.chunk-size:500}") int chunkSize) {
+        this.bulkRepository = bulkRepository;
+        this.eventPublisher = eventPublisher;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    private record Pending(ZoneProvisionRow row, int locationId, String zoneName) {}
+
+    private record RowError(int rowNumber, String message) {}
+
+    @Override
+    public ZoneProvisionResult provision(List<ZoneProvisionRow> rows) {
+        List<RowError> errors = new ArrayList<>();
+
+        // 1) y 2) Eventos en una sola consulta y validación por fila
+        Set<Integer> eventIds = eventIds(rows);
+        Map<Integer, Integer> eventLocation = bulkRepository.findEventLocations(eventIds);
+        List<Pending> valid = validRows(rows, eventLocation, errors);
+
+        // 3) Zonas de local: se reutilizan las existentes y se crean las que faltan en un batch
+        Set<Integer> locationIds = new HashSet<>(eventLocation.values());
+        Map<String, Integer> locationZones = bulkRepository.findLocationZones(locationIds);
+        Map<String, NewLocationZone> missing = new LinkedHashMap<>();
+        Set<String> reused = new HashSet<>();
+        for (Pending p : valid) {
+            String key = EventZoneBulkRepository.zoneKey(p.locationId(), p.zoneName());
+            if (locationZones.containsKey(key)) {
+                reused.add(key);
+            } else {
+                int capacity = p.row().seatsQuota();
+                missing.merge(key, new NewLocationZone(p.locationId(), p.zoneName(), capacity),
+                        (a, b) -> new NewLocationZone(a.locationId(), a.name(), Math.max(a.capacity(), b.capacity())));
+            }
+        }
+        Map<String, String> zoneErrors = new HashMap<>();
+        int zonesCreated = 0;
+        if (!missing.isEmpty()) {
+            zonesCreated = insertLocationZones(missing, zoneErrors);
+            // Se relee: una zona creada en paralelo por otra importación también sirve
+            locationZones = bulkRepository.findLocationZones(locationIds);
+        }
+
+        // 4) event_zone: sin repetir (evento, zona de local) ni contra la BD ni dentro del archivo
+        Set<Long> pairs = bulkRepository.findEventZonePairs(eventIds);
+        List<ZoneProvisionRow> toInsertRows = new ArrayList<>();
+        List<NewEventZone> toInsert = new ArrayList<>();
+        for (Pending p : valid) {
+            Integer lzId = locationZones.get(EventZoneBulkRepository.zoneKey(p.locationId(), p.zoneName()));
+            if (lzId == null) {
+                String key = EventZoneBulkRepository.zoneKey(p.locationId(), p.zoneName());
+                String cause = zoneErrors.get(key);
+                errors.add(rowError(p.row(), "No se pudo crear la zona del local '" + p.zoneName() + "'"
+                        + (cause != null ? ": " + cause : "")));
+                continue;
+            }
+            if (!pairs.add(EventZoneBulkRepository.pair(p.row().eventId(), lzId))) {
+                errors.add(rowError(p.row(), "El evento " + p.row().eventId() + " ya tiene la zona '" + p.zoneName() + "'"));
+                continue;
+            }
+            ZoneProvisionRow r = p.row();
+            toInsertRows.add(r);
+            toInsert.add(new NewEventZone(r.eventId(), lzId, r.displayName(), r.price(), r.seatsQuota(),
+                    r.seatsSold() != null ? r.seatsSold() : 0,
+                    (r.status() != null ? r.status() : EventZone.Status.ACTIVE).name()));
+        }
+
+        // 5) Inserción por chunks: cada chunk es un batch y una transacción
+        List<Integer> createdIds = new ArrayList<>();
+        Set<Integer> touchedEvents = new TreeSet<>();
+        for (int from = 0; from < toInsert.size(); from += chunkSize) {
+            int to = Math.min(from + chunkSize, toInsert.size());
+            List<NewEventZone> chunk = toInsert.subList(from, to);
+            try {
+                createdIds.addAll(tx.execute(s -> bulkRepository.insertEventZones(chunk)));
+                chunk.forEach(z -> touchedEvents.add(z.eventId()));
+            } catch (Exception chunkError) {
+                log.warn("EventZoneProvisioning: falló el chunk [{}, {}), se reintenta fila por fila", from, to, chunkError);
+                for (int i = from; i < to; i++) {
+                    NewEventZone z = toInsert.get(i);
+                    try {
+                        createdIds.addAll(tx.execute(s -> bulkRepository.insertEventZones(List.of(z))));
+                        touchedEvents.add(z.eventId());
+                    } catch (Exception rowErr) {
+                        errors.add(rowError(toInsertRows.get(i), rootMessage(rowErr)));
+                    }
+                }
+            }
+        }
+
+        // Catálogo, facetas, búsqueda y caché se refrescan una vez por evento
+        touchedEvents.forEach(id -> eventPublisher.publishEvent(new EventChangedEvent(id, false)));
+
+        return new ZoneProvisionResult(createdIds, format(errors), zonesCreated, reused.size());
+    }
+
+    // Un batch en una transacción; si falla, una transacción por zona y el error queda asociado a su clave
+    private int insertLocationZones(Map<String, NewLocationZone> missing, Map<String, String> zoneErrors) {
+        try {
+            tx.executeWithoutResult(s -> bulkRepository.insertLocationZones(new ArrayList<>(missing.values())));
+            return missing.size();
+        } catch (Exception batchError) {
+            log.warn("EventZoneProvisioning: falló el batch de {} zonas de local, se reintenta una por una",
+                    missing.size(), batchError);
+            int created = 0;
+            for (Map.Entry<String, NewLocationZone> e : missing.entrySet()) {
+                try {
+                    tx.executeWithoutResult(s -> bulkRepository.insertLocationZones(List.of(e.getValue())));
+                    created++;
+                } catch (Exception rowErr) {
+                    zoneErrors.put(e.getKey(), rootMessage(rowErr));
+                }
+            }
+            return created;
+        }
+    }
+
+    @Override
+    public List<String> validate(List<ZoneProvisionRow> rows) {
+        List<RowError> errors = new ArrayList<>();
+        Set<Integer> eventIds = eventIds(rows);
+        Map<Integer, Integer> eventLocation = bulkRepository.findEventLocations(eventIds);
+        List<Pending> valid = validRows(rows, eventLocation, errors);
+
+        // Una zona de local que aún no existe se crearía: solo puede repetirse dentro del archivo
+        Map<String, Integer> locationZones = bulkRepository.findLocationZones(new HashSet<>(eventLocation.values()));
+        Set<Long> pairs = bulkRepository.findEventZonePairs(eventIds);
+        Set<String> planned = new HashSet<>();
+        for (Pending p : valid) {
+            String key = EventZoneBulkRepository.zoneKey(p.locationId(), p.zoneName());
+            Integer lzId = locationZones.get(key);
+            boolean duplicate = lzId != null
+                    ? !pairs.add(EventZoneBulkRepository.pair(p.row().eventId(), lzId))
+                    : !planned.add(p.row().eventId() + "|" + key);
+            if (duplicate) {
+                errors.add(rowError(p.row(), "El evento " + p.row().eventId() + " ya tiene la zona '" + p.zoneName() + "'"));
+            }
+        }
+        return format(errors);
+    }
+
+    private static Set<Integer> eventIds(List<ZoneProvisionRow> rows) {
+        Set<Integer> eventIds = new HashSet<>();
+        for (ZoneProvisionRow r : rows) {
+            if (r.eventId() != null) eventIds.add(r.eventId());
+        }
+        return eventIds;
+    }
+
+    private static List<Pending> validRows(List<ZoneProvisionRow> rows, Map<Integer, Integer> eventLocation,
+                                           List<RowError> errors) {
+        List<Pending> valid = new ArrayList<>();
+        for (ZoneProvisionRow r : rows) {
+            String error = validate(r, eventLocation);
+            if (error != null) {
+                errors.add(rowError(r, error));
+                continue;
+            }
+            String name = r.displayName() != null && !r.displayName().isBlank() ? r.displayName().trim() : DEFAULT_ZONE_NAME;
+            valid.add(new Pending(r, eventLocation.get(r.eventId()), name));
+        }
+        return valid;
+    }
+
+    private static List<String> format(List<RowError> errors) {
+        return errors.stream()
+                .sorted(Comparator.comparingInt(RowError::rowNumber))
+                .map(e -> "Row " + e.rowNumber() + ": " + e.message())
+                .toList();
+    }
+
+    private static String validate(ZoneProvisionRow r, Map<Integer, Integer> eventLocation) {
+        if (r.eventId() == null) return "Missing required column 'eventId'";
+        if (!eventLocation.containsKey(r.eventId())) return "Event not found with id " + r.eventId();
+        if (r.displayName() != null && r.displayName().trim().length() > MAX_ZONE_NAME_LENGTH) {
+            return "displayName no puede superar " + MAX_ZONE_NAME_LENGTH + " caracteres";
+        }
+        if (r.price() == null) return "Missing required column 'price'";
+        if (r.price().compareTo(BigDecimal.ZERO) < 0) return "price no puede ser negativo";
+        if (r.seatsQuota() == null) return "Missing required column 'seatsQuota'";
+        if (r.seatsQuota() < 0) return "seatsQuota no puede ser negativo";
+        int sold = r.seatsSold() != null ? r.seatsSold() : 0;
+        if (sold < 0 || sold > r.seatsQuota()) return "seatsSold cannot be greater than seatsQuota";
+        return null;
+    }
+
+    private static RowError rowError(ZoneProvisionRow r, String message) {
+        return new RowError(r.rowNumber(), message);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable t = e;
+        while (t.getCause() != null && t.getCause() != t) t = t.getCause();
+        return t.getMessage() != null ? t.getMessage() : t.getClass().getSimpleName();
+    }
+}
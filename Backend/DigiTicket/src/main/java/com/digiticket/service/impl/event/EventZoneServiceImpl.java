@@ -7,6 +7,8 @@ import com.digiticket.repository.event.EventRepository;
 import com.digiticket.repository.event.EventZoneRepository;
 import com.digiticket.repository.location.LocationZoneRepository;
 import com.digiticket.service.event.EventZoneService;
+import com.digiticket.service.search.event.EventChangedEvent;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import com.digiticket.repository.location.LocationRepository;
 
@@ -19,15 +21,18 @@ public class EventZoneServiceImpl implements EventZoneService {
     private final EventRepository eventRepository;
     private final LocationZoneRepository locationZoneRepository;
     private final LocationRepository locationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     public EventZoneServiceImpl(EventZoneRepository eventZoneRepository,
                                 EventRepository eventRepository,
                                 LocationZoneRepository locationZoneRepository,
-                                LocationRepository locationRepository) {
+                                LocationRepository locationRepository,
+                                ApplicationEventPublisher eventPublisher) {
         this.eventZoneRepository = eventZoneRepository;
         this.eventRepository = eventRepository;
         this.locationZoneRepository = locationZoneRepository;
         this.locationRepository = locationRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -39,13 +44,18 @@ public class EventZoneServiceImpl implements EventZoneService {
         Event event = eventRepository.findById(zone.getEvent().getId())
                 .orElseThrow(() -> new RuntimeException("Event not found with id " + zone.getEvent().getId()));
 
-        // Crear nueva location_zone automáticamente si no hay id
-        LocationZone locationZone = new LocationZone();
-        locationZone.setName(zone.getDisplayName() != null ? zone.getDisplayName() : "Zona");
-        locationZone.setCapacity(zone.getSeatsQuota() != null ? zone.getSeatsQuota() : 0);
-        locationZone.setLocation(event.getLocation()); // usa el local del evento
-
-        locationZone = locationZoneRepository.save(locationZone);
+        // Reutiliza la zona del local con el mismo nombre; si no existe, la crea
+        String zoneName = zone.getDisplayName() != null ? zone.getDisplayName() : "Zona";
+        LocationZone locationZone = event.getLocation() != null
+                ? locationZoneRepository.findByLocationIdAndNameIgnoreCase(event.getLocation().getId(), zoneName).orElse(null)
+                : null;
+        if (locationZone == null) {
+            locationZone = new LocationZone();
+            locationZone.setName(zoneName);
+            locationZone.setCapacity(zone.getSeatsQuota() != null ? zone.getSeatsQuota() : 0);
+            locationZone.setLocation(event.getLocation()); // usa el local del evento
+            locationZone = locationZoneRepository.save(locationZone);
+        }
 
         // Asignar relaciones
         zone.setEvent(event);
@@ -55,6 +65,7 @@ public class EventZoneServiceImpl implements EventZoneService {
         if (zone.getStatus() == null) zone.setStatus(EventZone.Status.ACTIVE);
 
         EventZone saved = eventZoneRepository.save(zone);
+        changed(event.getId());
         return saved.getId();
     }
 
@@ -67,6 +78,7 @@ public class EventZoneServiceImpl implements EventZoneService {
             throw new RuntimeException("EventZone not found with id " + id);
         }
         EventZone existing = opt.get();
+        Integer previousEventId = existing.getEvent() != null ? existing.getEvent().getId() : null;
 
         existing.setDisplayName(updated.getDisplayName());
         if (updated.getPrice() != null) existing.setPrice(updated.getPrice());
@@ -92,15 +104,21 @@ public class EventZoneServiceImpl implements EventZoneService {
             existing.setLocationZone(locationZone);
         }
 
-        return eventZoneRepository.save(existing);
+        EventZone saved = eventZoneRepository.save(existing);
+        changed(previousEventId);
+        if (existing.getEvent() != null && !existing.getEvent().getId().equals(previousEventId)) {
+            changed(existing.getEvent().getId());
+        }
+        return saved;
     }
 
     @Override
     public void deleteZone(Integer id) {
-        if (!eventZoneRepository.existsById(id)) {
-            throw new RuntimeException("EventZone not found with id " + id);
-        }
+        EventZone zone = eventZoneRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("EventZone not found with id " + id));
+        Integer eventId = zone.getEvent() != null ? zone.getEvent().getId() : null;
         eventZoneRepository.deleteById(id);
+        changed(eventId);
     }
 
     @Override
@@ -135,4 +153,11 @@ public class EventZoneServiceImpl implements EventZoneService {
     public List<EventZone> getAllZones() {
         return eventZoneRepository.findAll();
     }
-}
\ No newline at end of file
+
+    // Precio/cupos de una zona cambian el catálogo, las facetas y la caché del evento
+    private void changed(Integer eventId) {
+        if (eventId != null) {
+            eventPublisher.publishEvent(new EventChangedEvent(eventId, false));
+        }
+    }
+}
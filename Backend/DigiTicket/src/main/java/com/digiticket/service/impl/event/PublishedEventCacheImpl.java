@@ -0,0 +1,168 @@
+package com.digiticket.service.impl.event;
+
+import com.digiticket.domain.event.Event;
+import com.digiticket.domain.event.EventStatus;
+import com.digiticket.dto.event.EventDTO;
+import com.digiticket.mapper.EventMapper;
+import com.digiticket.repository.event.EventRepository;
+import com.digiticket.service.event.PublishedEventCache;
+import com.digiticket.service.search.event.EventChangedEvent;
+import com.digiticket.util.cache.WeightedLruCache;
+import com.digiticket.util.image.ImageVariant;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Caché read-through de eventos PUBLISHED para el sitio público (detalle y listado).
+ * Guarda snapshots inmutables; cada lectura arma un EventDTO nuevo, así nadie modifica la copia compartida.
+ * Se invalida tras el commit de cualquier EventChangedEvent (eventos y sus zonas) y se precarga al arrancar.
+ * Métricas: catalog.cache.{hits,misses,evictions,size,weight} con tag cache=published-events.
+ */
+@Service
+public class PublishedEventCacheImpl implements PublishedEventCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PublishedEventCacheImpl.class);
+    private static final String TAG = "published-events";
+
+    private final EventRepository eventRepository;
+    private final WeightedLruCache<Integer, Snapshot> cache;
+
+    // Listado completo de publicados; null = hay que recargarlo
+    private volatile List<Snapshot> published;
+    // Invalidar y guardar un listado recién leído son atómicos entre sí
+    private final Object lock = new Object();
+
+    public PublishedEventCacheImpl(EventRepository eventRepository,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${catalog.cache.max-entries:2000}") int maxEntries,
+                                   @Value("${catalog.cache.max-weight-bytes:33554432}") long maxWeightBytes) {
+        this.eventRepository = eventRepository;
+        this.cache = new WeightedLruCache<>(maxEntries, maxWeightBytes, Snapshot::weight);
+
+        FunctionCounter.builder("catalog.cache.hits", cache, WeightedLruCache::hits).tag("cache", TAG).register(meterRegistry);
+        FunctionCounter.builder("catalog.cache.misses", cache, WeightedLruCache::misses).tag("cache", TAG).register(meterRegistry);
+        FunctionCounter.builder("catalog.cache.evictions", cache, WeightedLruCache::evictions).tag("cache", TAG).register(meterRegistry);
+        Gauge.builder("catalog.cache.size", cache, WeightedLruCache::size).tag("cache", TAG).register(meterRegistry);
+        Gauge.builder("catalog.cache.weight", cache, WeightedLruCache::weight).tag("cache", TAG)
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    @Override
+    public Optional<EventDTO> get(Integer eventId) {
+        if (eventId == null) return Optional.empty();
+        return cache.get(eventId, this::load).map(Snapshot::toDTO);
+    }
+
+    @Override
+    public List<EventDTO> getPublished() {
+        List<Snapshot> list = published;
+        if (list == null) {
+            long startedAt = cache.generation();
+            list = eventRepository.findByStatus(EventStatus.PUBLISHED).stream().map(Snapshot::of).toList();
+            // Si hubo una invalidación mientras se leía, se responde con lo leído pero no se guarda
+            synchronized (lock) {
+                if (cache.generation() == startedAt) {
+                    list.forEach(s -> cache.put(s.id(), s));
+                    published = list;
+                }
+            }
+        }
+        return list.stream().map(Snapshot::toDTO).toList();
+    }
+
+    @Override
+    public void invalidate(Integer eventId) {
+        synchronized (lock) {
+            cache.invalidate(eventId);
+            published = null;
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        synchronized (lock) {
+            cache.invalidateAll();
+            published = null;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        if (event.eventId() == null) {
+            invalidateAll();
+        } else {
+            invalidate(event.eventId());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            int n = getPublished().size();
+            log.info("PublishedEventCache: {} eventos publicados precargados", n);
+        } catch (Exception e) {
+            log.error("PublishedEventCache: no se pudo precargar la caché", e);
+        }
+    }
+
+    // Solo se cachean publicados; un borrador o inexistente pasa de largo (miss sin entrada)
+    private Snapshot load(Integer eventId) {
+        return eventRepository.findById(eventId)
+                .filter(e -> e.getStatus() == EventStatus.PUBLISHED)
+                .map(Snapshot::of)
+                .orElse(null);
+    }
+
+    record Snapshot(Integer id, String title, String description, LocalDateTime startsAt,
+                    LocalDateTime salesStartAt, Integer durationMin, Integer locationId,
+                    Integer eventCategoryId, Integer administratorId, String status, String imageHash,
+                    LocalDateTime createdAt, LocalDateTime updatedAt) {
+
+        static Snapshot of(Event e) {
+            EventDTO d = EventMapper.toDTO(e);
+            return new Snapshot(d.getId(), d.getTitle(), d.getDescription(), d.getStartsAt(),
+                    d.getSalesStartAt(), d.getDurationMin(), d.getLocationId(),
+                    d.getEventCategoryId(), d.getAdministratorId(), d.getStatus(), d.getImageHash(),
+                    d.getCreatedAt(), d.getUpdatedAt());
+        }
+
+        EventDTO toDTO() {
+            EventDTO d = new EventDTO();
+            d.setId(id);
+            d.setTitle(title);
+            d.setDescription(description);
+            d.setStartsAt(startsAt);
+            d.setSalesStartAt(salesStartAt);
+            d.setDurationMin(durationMin);
+            d.setLocationId(locationId);
+            d.setEventCategoryId(eventCategoryId);
+            d.setAdministratorId(administratorId);
+            d.setStatus(status);
+            d.setImageHash(imageHash);
+            d.setImageUrl(EventMapper.imageUrl(id, imageHash, ImageVariant.HERO));
+            d.setImageCardUrl(EventMapper.imageUrl(id, imageHash, ImageVariant.CARD));
+            d.setImageThumbUrl(EventMapper.imageUrl(id, imageHash, ImageVariant.THUMB));
+            d.setCreatedAt(createdAt);
+            d.setUpdatedAt(updatedAt);
+            return d;
+        }
+
+        // Peso aproximado en bytes (los textos dominan)
+        long weight() {
+            return 256L + 2L * ((title != null ? title.length() : 0) + (description != null ? description.length() : 0));
+        }
+    }
+}
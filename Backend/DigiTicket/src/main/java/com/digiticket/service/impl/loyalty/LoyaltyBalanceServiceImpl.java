@@ -0,0 +1,138 @@
+package com.digiticket.service.impl.loyalty;
+
+import com.digiticket.repository.loyalty.LoyaltyBalanceRepository;
+import com.digiticket.repository.loyalty.LoyaltyBalanceRepository.Balance;
+import com.digiticket.service.loyalty.LoyaltyBalanceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Saldo de puntos materializado en loyalty_balance.
+ * Cada movimiento de loyalty_points toma el lock de la fila del cliente y recalcula su saldo en la misma
+ * transacción, así consultar el saldo es una lectura por clave primaria en vez de recorrer todo el ledger.
+ * Los lotes vencidos los pasa a EXPIRED LoyaltyPointExpiryServiceImpl, que ajusta estos saldos; entre corridas,
+ * si el vencimiento más próximo guardado ya pasó, la lectura refresca la fila (o, dentro de una transacción
+ * del llamador, solo calcula el saldo sin escribir).
+ * La reconciliación nocturna corrige cualquier desvío (p. ej. ediciones manuales).
+ */
+@Service
+public class LoyaltyBalanceServiceImpl implements LoyaltyBalanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyBalanceServiceImpl.class);
+
+    private final LoyaltyBalanceRepository balanceRepository;
+    private final TransactionTemplate refreshTx;
+
+    public LoyaltyBalanceServiceImpl(LoyaltyBalanceRepository balanceRepository,
+                                     PlatformTransactionManager transactionManager) {
+        this.balanceRepository = balanceRepository;
+        this.refreshTx = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    @Transactional
+    public void lock(Integer clientId) {
+        balanceRepository.lock(clientId);
+    }
+
+    @Override
+    @Transactional
+    public Balance recompute(Integer clientId) {
+        Balance balance = LoyaltyBalanceRepository.fold(clientId,
+                balanceRepository.findActiveLotsForUpdate(clientId, LocalDateTime.now()));
+        balanceRepository.save(balance);
+        return balance;
+    }
+
+    @Override
+    @Transactional
+    public void lockAll(Collection<Integer> clientIds) {
+        balanceRepository.lockAll(clientIds);
+    }
+
+    @Override
+    @Transactional
+    public void recomputeAll(Collection<Integer> clientIds) {
+        if (clientIds.isEmpty()) return;
+        Map<Integer, List<LoyaltyBalanceRepository.Lot>> lots =
+                balanceRepository.findActiveLotsForUpdate(clientIds, LocalDateTime.now());
+        balanceRepository.saveAll(clientIds.stream().distinct()
+                .map(id -> LoyaltyBalanceRepository.fold(id, lots.getOrDefault(id, List.of())))
+                .toList());
+    }
+
+    @Override
+    public Balance get(Integer clientId) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<Balance> stored = balanceRepository.find(clientId).filter(b -> !b.isStale(now));
+        if (stored.isPresent()) return stored.get();
+        // Con una transacción en curso no se escribe: puede ser readOnly o tener ya el lock de la fila,
+        // y refrescar en otra transacción esperaría ese lock para siempre
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return LoyaltyBalanceRepository.fold(clientId, balanceRepository.findActiveLots(clientId, now));
+        }
+        return refresh(clientId);
+    }
+
+    @Override
+    public int reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, Balance> expected = balanceRepository.computeAll(now);
+        Map<Integer, Balance> stored = balanceRepository.findAll();
+
+        Set<Integer> clientIds = new HashSet<>(expected.keySet());
+        clientIds.addAll(stored.keySet());
+
+        int fixed = 0;
+        for (Integer clientId : clientIds) {
+            Balance want = expected.getOrDefault(clientId, Balance.empty(clientId));
+            if (Objects.equals(want, stored.get(clientId))) continue;
+            try {
+                // Se recalcula con lock: la foto de arriba pudo cruzarse con un movimiento en curso
+                refresh(clientId);
+                fixed++;
+            } catch (Exception e) {
+                log.error("LoyaltyBalance: no se pudo reconciliar el cliente {}", clientId, e);
+            }
+        }
+        if (fixed > 0) {
+            log.info("LoyaltyBalance: {} saldos reconciliados de {} clientes", fixed, clientIds.size());
+        }
+        return fixed;
+    }
+
+    // Primer arranque con la tabla vacía: se llena desde el ledger
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            if (balanceRepository.isEmpty()) {
+                log.info("LoyaltyBalance: {} saldos inicializados", reconcile());
+            }
+        } catch (Exception e) {
+            log.error("LoyaltyBalance: no se pudo inicializar loyalty_balance", e);
+        }
+    }
+
+    private Balance refresh(Integer clientId) {
+        return refreshTx.execute(status -> {
+            balanceRepository.lock(clientId);
+            return recompute(clientId);
+        });
+    }
+}
@@ -2,41 +2,55 @@ package com.digiticket.service.impl.loyalty;
 
 import com.digiticket.domain.loyalty.LoyaltyPoint;
 import com.digiticket.domain.loyalty.LoyaltyPointStatus;
-import com.digiticket.domain.notification.Notification;
 import com.digiticket.domain.user.Client;
+import com.digiticket.dto.email.OutboundEmail;
 import com.digiticket.repository.loyalty.LoyaltyPointRepository;
+import com.digiticket.repository.notification.NotificationBulkRepository;
+import com.digiticket.repository.notification.NotificationBulkRepository.NewNotification;
 import com.digiticket.repository.user.ClientRepository;
+import com.digiticket.service.email.EmailOutboxService;
 import com.digiticket.service.loyalty.LoyaltyExpiryNotificationService;
-import com.digiticket.service.notification.NotificationService;
-import com.digiticket.util.EmailService;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
+/**
+ * Avisos de puntos por vencer. Las notificaciones de toda la ola y sus correos en el outbox se insertan en batch
+ * dentro de una transacción corta; los workers del outbox envían y marcan sent_at, así ninguna transacción
+ * queda abierta durante el SMTP.
+ */
 @Service
 public class LoyaltyExpiryNotificationServiceImpl implements LoyaltyExpiryNotificationService {
+
+    // Tope de parámetros del IN al cargar clientes
+    private static final int CLIENT_CHUNK = 1000;
+
     private final LoyaltyPointRepository loyaltyPointRepository;
     private final ClientRepository clientRepository;
-    private final NotificationService notificationService;
-    private final EmailService emailService;
+    private final NotificationBulkRepository notificationBulkRepository;
+    private final EmailOutboxService emailOutboxService;
+    private final TransactionTemplate tx;
 
     public LoyaltyExpiryNotificationServiceImpl(LoyaltyPointRepository loyaltyPointRepository,
                                                 ClientRepository clientRepository,
-                                                NotificationService notificationService,
-                                                EmailService emailService) {
+                                                NotificationBulkRepository notificationBulkRepository,
+                                                EmailOutboxService emailOutboxService,
+                                                PlatformTransactionManager transactionManager) {
         this.loyaltyPointRepository = loyaltyPointRepository;
         this.clientRepository = clientRepository;
-        this.notificationService = notificationService;
-        this.emailService = emailService;
+        this.notificationBulkRepository = notificationBulkRepository;
+        this.emailOutboxService = emailOutboxService;
+        this.tx = new TransactionTemplate(transactionManager);
     }
 
     @Override
-    @Transactional
     public int notifyExpiringInDays(int daysAhead) {
         LocalDate today = LocalDate.now();
         LocalDate targetDate = today.plusDays(daysAhead);
@@ -55,68 +69,57 @@ public class LoyaltyExpiryNotificationServiceImpl implements LoyaltyExpiryNotifi
             return 0;
         }
 
-        Map<Integer, List<LoyaltyPoint>> pointsByClient = expiringPoints.stream()
-                .collect(Collectors.groupingBy(LoyaltyPoint::getClientId));
-
-        int createdNotifications = 0;
-
-        for (Map.Entry<Integer, List<LoyaltyPoint>> entry : pointsByClient.entrySet()) {
-            Integer clientId = entry.getKey();
-            List<LoyaltyPoint> pointsList = entry.getValue();
-
-            int totalPoints = pointsList.stream()
-                    .mapToInt(LoyaltyPoint::getPoints)
-                    .sum();
-
-            if (totalPoints <= 0) {
-                continue;
-            }
+        Map<Integer, Integer> pointsByClient = expiringPoints.stream()
+                .collect(Collectors.groupingBy(LoyaltyPoint::getClientId,
+                        Collectors.summingInt(LoyaltyPoint::getPoints)));
+        pointsByClient.values().removeIf(total -> total <= 0);
+
+        String title;
+        if (daysAhead == 7) {
+            title = "Tus puntos vencerán en 7 días";
+        } else if (daysAhead == 1) {
+            title = "Tus puntos vencen mañana";
+        } else {
+            title = "Tus puntos están por vencer";
+        }
 
-            Client client = clientRepository.findById(clientId).orElse(null);
-            if (client == null || client.getUser() == null) {
-                continue;
+        List<NewNotification> rows = new ArrayList<>();
+        List<String> recipients = new ArrayList<>();
+        List<Integer> clientIds = new ArrayList<>(pointsByClient.keySet());
+        for (int i = 0; i < clientIds.size(); i += CLIENT_CHUNK) {
+            List<Client> clients = clientRepository.findAllWithUserByIdIn(
+                    clientIds.subList(i, Math.min(i + CLIENT_CHUNK, clientIds.size())));
+            for (Client client : clients) {
+                if (client.getUser() == null) {
+                    continue;
+                }
+                String message = String.format(
+                        "Hola %s,\n\n" +
+                                "Tienes %d puntos que vencerán el %s.\n" +
+                                "Te recomendamos usarlos antes de esa fecha para no perderlos.\n\n" +
+                                "¡Gracias por usar DigiTicket!",
+                        client.getUser().getFirstName(),
+                        pointsByClient.get(client.getId()),
+                        targetDate
+                );
+                rows.add(new NewNotification(client.getId(), title, message));
+                recipients.add(client.getUser().getEmail());
             }
+        }
 
-            String title;
-            if (daysAhead == 7) {
-                title = "Tus puntos vencerán en 7 días";
-            } else if (daysAhead == 1) {
-                title = "Tus puntos vencen mañana";
-            } else {
-                title = "Tus puntos están por vencer";
-            }
+        if (rows.isEmpty()) {
+            return 0;
+        }
 
-            String message = String.format(
-                    "Hola %s,\n\n" +
-                            "Tienes %d puntos que vencerán el %s.\n" +
-                            "Te recomendamos usarlos antes de esa fecha para no perderlos.\n\n" +
-                            "¡Gracias por usar DigiTicket!",
-                    client.getUser().getFirstName(),
-                    totalPoints,
-                    targetDate
-            );
-
-            Notification notification = Notification.builder()
-                    .client(client)
-                    .title(title)
-                    .message(message)
-                    .build();
-
-            Notification saved = notificationService.createNotification(notification);
-
-            try {
-                String toEmail = client.getUser().getEmail();
-                emailService.sendNotificationEmail(toEmail, title, message);
-
-                notificationService.markAsSent(saved.getId());
-            } catch (Exception e) {
-                e.printStackTrace();
+        tx.executeWithoutResult(status -> {
+            List<Integer> ids = notificationBulkRepository.insertAll(rows);
+            List<OutboundEmail> emails = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                emails.add(OutboundEmail.notification(ids.get(i), recipients.get(i), title, rows.get(i).message()));
             }
+            emailOutboxService.enqueueAll(emails);
+        });
 
-
-            createdNotifications++;
-        }
-
-        return createdNotifications;
+        return rows.size();
     }
 }
@@ -0,0 +1,77 @@
+package com.digiticket.service.impl.loyalty;
+
+import com.digiticket.repository.loyalty.LoyaltyLedgerRepository;
+import com.digiticket.repository.loyalty.LoyaltyLedgerRepository.DueLot;
+import com.digiticket.service.loyalty.LoyaltyBalanceService;
+import com.digiticket.service.loyalty.LoyaltyPointExpiryService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Vencimiento masivo de puntos: recorre los lotes ACTIVE vencidos por el índice (status, expires_at)
+ * en batches acotados, cada uno en su propia transacción, y ajusta el saldo materializado de los clientes tocados.
+ * Con esto el rango ACTIVE de cada cliente solo contiene lotes vigentes y las lecturas no arrastran historial.
+ */
+@Service
+public class LoyaltyPointExpiryServiceImpl implements LoyaltyPointExpiryService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyPointExpiryServiceImpl.class);
+
+    private final LoyaltyLedgerRepository ledgerRepository;
+    private final LoyaltyBalanceService balanceService;
+    private final TransactionTemplate tx;
+    private final int batchSize;
+
+    public LoyaltyPointExpiryServiceImpl(LoyaltyLedgerRepository ledgerRepository,
+                                         LoyaltyBalanceService balanceService,
+                                         PlatformTransactionManager transactionManager,
+                                         @Value("${loyalty.expiry.batch-size:500}") int batchSize) {
+        this.ledgerRepository = ledgerRepository;
+        this.balanceService = balanceService;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public int expireDuePoints() {
+        LocalDateTime now = LocalDateTime.now();
+        int expired = 0;
+        List<DueLot> previous = List.of();
+        while (true) {
+            List<DueLot> due = ledgerRepository.findDueLots(now, batchSize);
+            // Un lote que otro ya consumió deja de ser ACTIVE y no vuelve; si vuelve el mismo, no hay avance
+            if (due.isEmpty() || due.equals(previous)) break;
+
+            Integer n = tx.execute(status -> expireBatch(due, now));
+            expired += n != null ? n : 0;
+            // Lote corto = no queda más. Un lote lleno sigue aunque n sea 0: lo leído ya lo consumió otro,
+            // pero detrás puede haber más vencidos
+            if (due.size() < batchSize) break;
+            previous = due;
+        }
+        if (expired > 0) {
+            log.info("LoyaltyPointExpiry: {} lotes vencidos", expired);
+        }
+        return expired;
+    }
+
+    private int expireBatch(List<DueLot> due, LocalDateTime now) {
+        Set<Integer> clientIds = new TreeSet<>();
+        due.forEach(l -> clientIds.add(l.clientId()));
+
+        // Mismo orden de locks que un canje: primero el saldo del cliente, después sus lotes
+        balanceService.lockAll(clientIds);
+        int n = ledgerRepository.expireLots(due.stream().map(DueLot::id).toList(), now);
+        balanceService.recomputeAll(clientIds);
+        return n;
+    }
+}
@@ -5,7 +5,10 @@ import com.digiticket.domain.loyalty.LoyaltyPointStatus;
 import com.digiticket.dto.loyalty.ExpiringPointsDTO;
 import com.digiticket.dto.loyalty.LoyaltyPointHistoryDTO;
 import com.digiticket.dto.loyalty.PointsBalanceDTO;
+import com.digiticket.repository.loyalty.LoyaltyBalanceRepository.Balance;
+import com.digiticket.repository.loyalty.LoyaltyLedgerRepository;
 import com.digiticket.repository.loyalty.LoyaltyPointRepository;
+import com.digiticket.service.loyalty.LoyaltyBalanceService;
 import com.digiticket.service.loyalty.LoyaltyService;
 import com.digiticket.service.settings.SettingsService;
 import lombok.RequiredArgsConstructor;
@@ -15,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -23,49 +27,30 @@ public class LoyaltyServiceImpl implements LoyaltyService {
 
     private final LoyaltyPointRepository loyaltyPointRepository;
     private final SettingsService settingsService;
+    private final LoyaltyBalanceService loyaltyBalanceService;
+    private final LoyaltyLedgerRepository ledgerRepository;
 
+    // Lectura por clave primaria del saldo materializado (ver LoyaltyBalanceServiceImpl)
     @Override
-    @Transactional(readOnly = true)
     public PointsBalanceDTO getBalance(Integer clientId) {
         LocalDateTime now = LocalDateTime.now();
-        List<LoyaltyPoint> pointsList = loyaltyPointRepository
-                .findByClientIdOrderByCreatedAtDesc(clientId);
-
-        // Puntos activos y no vencidos
-        int activeNotExpired = pointsList.stream()
-                .filter(p -> p.getStatus() == LoyaltyPointStatus.ACTIVE)
-                .filter(p -> p.getExpiresAt() == null || !p.getExpiresAt().isBefore(now))
-                .mapToInt(LoyaltyPoint::getPoints)
-                .sum();
-
-        // Puntos usados o expirados
-        int usedOrExpired = pointsList.stream()
-                .filter(p -> p.getStatus() == LoyaltyPointStatus.USED
-                        || p.getStatus() == LoyaltyPointStatus.EXPIRED)
-                .mapToInt(LoyaltyPoint::getPoints)
-                .sum();
-
-        int total = activeNotExpired - usedOrExpired;
-        if (total < 0) total = 0;
+        Balance balance = loyaltyBalanceService.get(clientId);
 
         PointsBalanceDTO dto = new PointsBalanceDTO();
         dto.setClientId(clientId);
-        dto.setTotalPoints(total);
-        dto.setRedeemablePoints(total); // por ahora iguales
+        dto.setTotalPoints(balance.activePoints());
+        dto.setRedeemablePoints(balance.redeemablePoints());
 
+        // Próximo vencimiento, si cae dentro de los 30 días
         LocalDateTime soonLimit = now.plusDays(30);
-        List<ExpiringPointsDTO> expiringSoon = pointsList.stream()
-                .filter(p -> p.getStatus() == LoyaltyPointStatus.ACTIVE)
-                .filter(p -> p.getExpiresAt() != null)
-                .filter(p -> p.getExpiresAt().isAfter(now)
-                        && !p.getExpiresAt().isAfter(soonLimit))
-                .map(p -> {
-                    ExpiringPointsDTO e = new ExpiringPointsDTO();
-                    e.setPoints(p.getPoints());
-                    e.setExpiresAt(p.getExpiresAt());
-                    return e;
-                })
-                .toList();
+        List<ExpiringPointsDTO> expiringSoon = new ArrayList<>();
+        if (balance.nextExpiryAt() != null && balance.nextExpiryPoints() > 0
+                && balance.nextExpiryAt().isAfter(now) && !balance.nextExpiryAt().isAfter(soonLimit)) {
+            ExpiringPointsDTO e = new ExpiringPointsDTO();
+            e.setPoints(balance.nextExpiryPoints());
+            e.setExpiresAt(balance.nextExpiryAt());
+            expiringSoon.add(e);
+        }
 
         dto.setExpiringSoon(expiringSoon);
         return dto;
@@ -126,55 +111,57 @@ public class LoyaltyServiceImpl implements LoyaltyService {
                 .expiresAt(LocalDateTime.now().plusDays(settingsService.getPointsExpirationDays()))
                 .build();
 
+        loyaltyBalanceService.lock(clientId);
         loyaltyPointRepository.save(lp);
+        loyaltyPointRepository.flush();
+        loyaltyBalanceService.recompute(clientId);
     }
 
-    //Para validar la cantidad de puntos ha consumir
+    // Canje FIFO por vencimiento: los lotes se leen bloqueados en orden del índice y se actualizan en un batch
     @Override
     @Transactional
     public void redeemPoints(Integer userId, Integer pointsToUse ) {
-        if(pointsToUse <=0){
+        if(pointsToUse == null || pointsToUse <=0){
             throw new IllegalArgumentException("pointToUse debe ser mayor que cero");
         }
-        //Obtener puntos activos y no vencidos, ordenados por fecha de expiración
-        LocalDateTime now = LocalDateTime.now();
-        List<LoyaltyPoint> activePoints=loyaltyPointRepository
-                .findByClientIdOrderByCreatedAtDesc(userId)
-                .stream()
-                .filter(p->p.getStatus()==LoyaltyPointStatus.ACTIVE)
-                .filter(p->p.getExpiresAt()==null||p.getExpiresAt().isAfter(now))
-                .sorted((a,b)->a.getExpiresAt().compareTo(b.getExpiresAt()))
-                .toList();
-
-        // Calcular saldo disponible
-        int totalAvailable = activePoints.stream()
-                .mapToInt(LoyaltyPoint::getPoints)
-                .sum();
-
-        if(totalAvailable < pointsToUse){
+        // Lock del saldo: dos canjes simultáneos del mismo cliente se ejecutan uno detrás de otro
+        loyaltyBalanceService.lock(userId);
+        // Lotes JPA pendientes de escribir en esta transacción tienen que verse en la lectura JDBC
+        loyaltyPointRepository.flush();
+
+        List<LoyaltyLedgerRepository.LotUpdate> updates = new ArrayList<>();
+        int remaining = consume(ledgerRepository.findExpiringLotsForUpdate(userId, LocalDateTime.now()),
+                pointsToUse, updates);
+        if (remaining > 0) {
+            remaining = consume(ledgerRepository.findNonExpiringLotsForUpdate(userId), remaining, updates);
+        }
+        if (remaining > 0) {
             throw new IllegalStateException("No tienes suficientes puntos para este canje.");
         }
-        //Consumir puntos FIFO
-        int remainingPoints = pointsToUse;
-        for(LoyaltyPoint lp:activePoints){
-            if(remainingPoints == 0)break;
-            int available =lp.getPoints();
-            if(available < remainingPoints){
-                //consumimos todo el bloque
-                lp.setStatus(LoyaltyPointStatus.USED);
-                lp.setPoints(0);
-                remainingPoints-=available;
-            }else{
-                //consumimos parcialmente --  dejar bloque con puntos restantes
-                lp.setPoints(available-remainingPoints);
-                //si lp.setPoints quedo>0, permanece activo
-                lp.setStatus(LoyaltyPointStatus.ACTIVE);
-
-                remainingPoints =0;
-            }
 
-            loyaltyPointRepository.save(lp);
+        ledgerRepository.updateLots(updates);
+        loyaltyBalanceService.recompute(userId);
+    }
+
+    // Consume lotes en orden hasta cubrir 'toUse'; devuelve lo que falta
+    private static int consume(List<LoyaltyLedgerRepository.ActiveLot> lots, int toUse,
+                               List<LoyaltyLedgerRepository.LotUpdate> updates) {
+        int remaining = toUse;
+        for (LoyaltyLedgerRepository.ActiveLot lot : lots) {
+            if (remaining == 0) break;
+            if (lot.points() <= 0) continue;
+            if (lot.points() <= remaining) {
+                // consumimos todo el bloque
+                updates.add(new LoyaltyLedgerRepository.LotUpdate(lot.id(), 0, LoyaltyPointStatus.USED.name()));
+                remaining -= lot.points();
+            } else {
+                // consumimos parcialmente: el bloque sigue ACTIVE con los puntos restantes
+                updates.add(new LoyaltyLedgerRepository.LotUpdate(lot.id(), lot.points() - remaining,
+                        LoyaltyPointStatus.ACTIVE.name()));
+                remaining = 0;
+            }
         }
+        return remaining;
     }
 
 
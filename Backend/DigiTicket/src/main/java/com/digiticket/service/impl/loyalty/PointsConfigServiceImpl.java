@@ -3,14 +3,38 @@ package com.digiticket.service.impl.loyalty;
 import com.digiticket.domain.loyalty.PointsConfig;
 import com.digiticket.repository.loyalty.PointsConfigRepository;
 import com.digiticket.service.loyalty.PointsConfigService;
+import com.digiticket.service.settings.SettingsService.SnapshotStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Puntos por unidad servidos desde memoria, con el mismo esquema que SettingsServiceImpl:
+ * se recarga al confirmar una actualización y cuando SettingsRefreshScheduler ve otra versión de la fila.
+ */
 @Service
-@Transactional
 public class PointsConfigServiceImpl implements PointsConfigService {
+    private static final Logger log = LoggerFactory.getLogger(PointsConfigServiceImpl.class);
     private static final int DEFAULT=10;
+    private static final int CONFIG_ID = 1;
+
+    // version null = no existe la fila y se usa DEFAULT
+    private record Snapshot(int pointsPerUnit, Long version, Instant loadedAt) {
+        long order() { return version != null ? version : -1; }
+    }
+
     private final PointsConfigRepository repo;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private volatile Instant checkedAt;
 
     public PointsConfigServiceImpl(PointsConfigRepository repo) {
         this.repo = repo;
@@ -18,15 +42,67 @@ public class PointsConfigServiceImpl implements PointsConfigService {
 
     @Override
     public int getPointsPerUnit() {
-        return repo.findById(1)
-                .map(PointsConfig::getPointsPerUnit)
-                .orElse(DEFAULT);
+        Snapshot snap = current.get();
+        return (snap != null ? snap : reload()).pointsPerUnit();
     }
 
     @Override
+    @Transactional
     public void updatePointsPerUnit(int points) {
-        PointsConfig cfg = repo.findById(1).orElseGet(()->PointsConfig.builder().id(1).pointsPerUnit(points).build());
+        PointsConfig cfg = repo.findById(CONFIG_ID).orElseGet(()->PointsConfig.builder().id(CONFIG_ID).pointsPerUnit(points).build());
         cfg.setPointsPerUnit(points);
-        repo.save(cfg);
+        PointsConfig saved = repo.saveAndFlush(cfg);
+        Snapshot fresh = new Snapshot(saved.getPointsPerUnit(), saved.getVersion(), Instant.now());
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(fresh);
+                }
+            });
+        } else {
+            publish(fresh);
+        }
+    }
+
+    @Override
+    public void refreshIfChanged() {
+        Snapshot snap = current.get();
+        Long version = repo.findVersionById(CONFIG_ID).orElse(null);
+        checkedAt = Instant.now();
+        if (snap == null || !Objects.equals(version, snap.version())) {
+            reload();
+        }
+    }
+
+    @Override
+    public SnapshotStatus snapshotStatus() {
+        Snapshot snap = current.get();
+        return snap != null
+                ? new SnapshotStatus(snap.version(), snap.loadedAt(), checkedAt)
+                : new SnapshotStatus(null, null, checkedAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("PointsConfig: no se pudo cargar points_config al arrancar", e);
+        }
+    }
+
+    private Snapshot reload() {
+        Snapshot fresh = repo.findById(CONFIG_ID)
+                .map(cfg -> new Snapshot(Objects.requireNonNullElse(cfg.getPointsPerUnit(), DEFAULT),
+                        cfg.getVersion(), Instant.now()))
+                .orElseGet(() -> new Snapshot(DEFAULT, null, Instant.now()));
+        return publish(fresh);
+    }
+
+    private Snapshot publish(Snapshot fresh) {
+        return current.accumulateAndGet(fresh,
+                (old, candidate) -> old == null || candidate.order() >= old.order() ? candidate : old);
     }
 }
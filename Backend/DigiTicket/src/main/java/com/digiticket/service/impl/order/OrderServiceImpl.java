@@ -23,10 +23,13 @@ import com.digiticket.repository.order.PurchaseRepository;
 import com.digiticket.repository.ticket.TicketRepository;
 import com.digiticket.repository.user.ClientRepository;
 import com.digiticket.service.cart.CartService;
+import com.digiticket.service.dashboard.event.SaleRecordedEvent;
 import com.digiticket.service.loyalty.LoyaltyService;
 import com.digiticket.service.order.OrderService;
+import com.digiticket.service.order.UserOrderStatsService;
 import com.digiticket.service.purchase.PurchaseLimitService;
 import com.digiticket.service.reservation.ReservationService;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -56,6 +59,8 @@ public class OrderServiceImpl implements OrderService {
     private final PaymentSimulator paymentSimulator;
     private final LoyaltyService loyaltyService;
     private final PurchaseLimitService purchaseLimitService;
+    private final UserOrderStatsService userOrderStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public OrderServiceImpl(OrderRepository orderRepo,
                             OrderItemRepository orderItemRepo,
@@ -70,7 +75,9 @@ public class OrderServiceImpl implements OrderService {
                             ReservationService reservationService,
                             PaymentSimulator paymentSimulator,
                             LoyaltyService loyaltyService,
-                            PurchaseLimitService purchaseLimitService) {
+                            PurchaseLimitService purchaseLimitService,
+                            UserOrderStatsService userOrderStatsService,
+                            ApplicationEventPublisher eventPublisher) {
         this.orderRepo = orderRepo;
         this.orderItemRepo = orderItemRepo;
         this.paymentRepo = paymentRepo;
@@ -85,6 +92,8 @@ public class OrderServiceImpl implements OrderService {
         this.paymentSimulator = paymentSimulator;
         this.loyaltyService = loyaltyService;
         this.purchaseLimitService = purchaseLimitService;
+        this.userOrderStatsService = userOrderStatsService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -240,6 +249,8 @@ public class OrderServiceImpl implements OrderService {
             }
             //Suma de puntos ganados
             loyaltyService.addEarnedPoints(userId,totalPaid);
+            //Resumen de compras del perfil
+            userOrderStatsService.recordPaidOrder(userId, totalPaid);
         } else {
             reservationService.releaseHold(userId, cart.id().intValue());
         }
@@ -320,6 +331,14 @@ public class OrderServiceImpl implements OrderService {
                             .build()
             );
 
+            // Contadores en vivo del dashboard (se aplican al confirmar la transacción)
+            eventPublisher.publishEvent(new SaleRecordedEvent(
+                    eventId,
+                    event.getEventCategory() != null ? event.getEventCategory().getId() : null,
+                    totalQty,
+                    totalAmount
+            ));
+
             for (CartItemDTO item : eventItems) {
                 EventZone zone = eventZoneRepository.findById(item.eventZoneId())
                         .orElseThrow(() -> new IllegalStateException("Zona no encontrada con id " + item.eventZoneId()));
@@ -0,0 +1,77 @@
+package com.digiticket.service.impl.order;
+
+import com.digiticket.repository.order.UserOrderStatsRepository;
+import com.digiticket.repository.order.UserOrderStatsRepository.Stats;
+import com.digiticket.service.order.UserOrderStatsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resumen de compras por usuario (cantidad de órdenes pagadas y gasto acumulado) para el perfil.
+ * El checkout lo actualiza con un upsert en su propia transacción, así el perfil no recorre las órdenes.
+ * La carga inicial va en la migración user_order_stats.sql; la reconciliación nocturna corrige cualquier
+ * desvío (órdenes de antes de la migración, ediciones manuales).
+ */
+@Service
+public class UserOrderStatsServiceImpl implements UserOrderStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserOrderStatsServiceImpl.class);
+
+    private final UserOrderStatsRepository statsRepository;
+
+    public UserOrderStatsServiceImpl(UserOrderStatsRepository statsRepository) {
+        this.statsRepository = statsRepository;
+    }
+
+    @Override
+    @Transactional
+    public void recordPaidOrder(Integer userId, BigDecimal totalPaid) {
+        statsRepository.addPaidOrder(userId, totalPaid);
+    }
+
+    @Override
+    public Stats get(Integer userId) {
+        return statsRepository.find(userId)
+                .orElseGet(() -> statsRepository.compute(userId));
+    }
+
+    @Override
+    public int reconcile() {
+        Map<Integer, Stats> expected = statsRepository.computeAll();
+        Map<Integer, Stats> stored = statsRepository.findAll();
+
+        Set<Integer> userIds = new HashSet<>(expected.keySet());
+        userIds.addAll(stored.keySet());
+
+        int fixed = 0;
+        for (Integer userId : userIds) {
+            if (sameStats(expected.getOrDefault(userId, Stats.empty(userId)), stored.get(userId))) continue;
+            try {
+                // Se recalcula en una sentencia: la foto de arriba pudo cruzarse con un checkout en curso
+                statsRepository.refresh(userId);
+                fixed++;
+            } catch (DataAccessException e) {
+                log.error("UserOrderStats: no se pudo reconciliar el usuario {}", userId, e);
+            }
+        }
+        if (fixed > 0) {
+            log.info("UserOrderStats: {} resúmenes reconciliados de {} usuarios", fixed, userIds.size());
+        }
+        return fixed;
+    }
+
+    // total_spent se compara por valor: DECIMAL(12,2) y SUM pueden traer escalas distintas
+    private static boolean sameStats(Stats want, Stats have) {
+        return have != null
+                && want.orderCount() == have.orderCount()
+                && want.totalSpent().compareTo(have.totalSpent()) == 0;
+    }
+}
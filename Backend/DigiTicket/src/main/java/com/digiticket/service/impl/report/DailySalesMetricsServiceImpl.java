@@ -7,18 +7,15 @@ import com.digiticket.dto.dashboard.TopEventDTO;
 import com.digiticket.dto.report.DashboardReportDTO;
 import com.digiticket.dto.report.DailySalesMetricsDTO;
 import com.digiticket.repository.auditlog.AuditLogRepository;
-import com.digiticket.repository.dashboard.CategoryMetricsRepository;
-import com.digiticket.repository.dashboard.EventMetricsRepository;
 import com.digiticket.repository.dashboard.MetricsRepository;
 import com.digiticket.repository.order.PurchaseRepository;
+import com.digiticket.service.dashboard.SalesRankingService;
 import com.digiticket.service.report.DailySalesMetricsService;
+import com.digiticket.util.report.ReportingCalendar;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -27,50 +24,39 @@ public class DailySalesMetricsServiceImpl implements DailySalesMetricsService {
 
     private final PurchaseRepository purchaseRepository;
     private final AuditLogRepository auditLogRepository;
-    private final CategoryMetricsRepository categoryMetricsRepository;
-    private final EventMetricsRepository eventMetricsRepository;
+    private final SalesRankingService salesRankingService;
     private final MetricsRepository metricsRepository;
+    private final ReportingCalendar calendar;
 
     @Override
     public DashboardReportDTO getDashboardReport(String period) {
 
-        LocalDate today = LocalDate.now();
-        LocalDate yesterday = today.minusDays(1);
-
-        LocalDateTime startToday = today.atStartOfDay();
-        LocalDateTime endToday = today.atTime(23, 59, 59);
-        LocalDateTime startYesterday = yesterday.atStartOfDay();
-        LocalDateTime endYesterday = yesterday.atTime(23, 59, 59);
+        ReportingCalendar.Range today = calendar.todayRange();
+        ReportingCalendar.Range yesterday = calendar.yesterday();
 
         // --- Daily Sales ---
         Long ticketsToday = purchaseRepository.sumTotalQuantityByDateRangeAndActiveStatus(
-                startToday.toInstant(java.time.ZoneOffset.UTC),
-                endToday.toInstant(java.time.ZoneOffset.UTC)
+                today.fromKey(), today.toKey()
         ).longValue();
 
         Long ticketsYesterday = purchaseRepository.sumTotalQuantityByDateRangeAndActiveStatus(
-                startYesterday.toInstant(java.time.ZoneOffset.UTC),
-                endYesterday.toInstant(java.time.ZoneOffset.UTC)
+                yesterday.fromKey(), yesterday.toKey()
         ).longValue();
 
         BigDecimal revenueToday = purchaseRepository.sumTotalAmountByDateRangeAndActiveStatus(
-                startToday.toInstant(java.time.ZoneOffset.UTC),
-                endToday.toInstant(java.time.ZoneOffset.UTC)
+                today.fromKey(), today.toKey()
         );
 
         BigDecimal revenueYesterday = purchaseRepository.sumTotalAmountByDateRangeAndActiveStatus(
-                startYesterday.toInstant(java.time.ZoneOffset.UTC),
-                endYesterday.toInstant(java.time.ZoneOffset.UTC)
+                yesterday.fromKey(), yesterday.toKey()
         );
 
         Integer visitsToday = auditLogRepository.countLoginsByDateRange(
-                startToday.toInstant(java.time.ZoneOffset.UTC),
-                endToday.toInstant(java.time.ZoneOffset.UTC)
+                today.fromKey(), today.toKey()
         );
 
         Integer visitsYesterday = auditLogRepository.countLoginsByDateRange(
-                startYesterday.toInstant(java.time.ZoneOffset.UTC),
-                endYesterday.toInstant(java.time.ZoneOffset.UTC)
+                yesterday.fromKey(), yesterday.toKey()
         );
 
         double ticketsVariation = ticketsYesterday != 0
@@ -97,16 +83,11 @@ public class DailySalesMetricsServiceImpl implements DailySalesMetricsService {
         );
 
         // --- Top Categories ---
-        LocalDateTime startMonth = today.withDayOfMonth(1).atStartOfDay();
-        LocalDateTime endMonth = today.withDayOfMonth(today.lengthOfMonth()).atTime(23, 59, 59);
-        List<TopCategoryDTO> topCategories = categoryMetricsRepository.findTopCategoriesOfCurrentMonth(
-                startMonth, endMonth
-        );
+        ReportingCalendar.Range month = calendar.monthToDate();
+        List<TopCategoryDTO> topCategories = salesRankingService.topCategories(month, 1_000);
 
         // --- Top Events ---
-        List<TopEventDTO> topEvents = eventMetricsRepository.findTopEventsBetween(
-                startMonth, endMonth, PageRequest.of(0, 5)
-        );
+        List<TopEventDTO> topEvents = salesRankingService.topEvents(month, 5);
 
         // --- Revenue Metrics ---
         List<RevenueTicketsProjection> projectionList;
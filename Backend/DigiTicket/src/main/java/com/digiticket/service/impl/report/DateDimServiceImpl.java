@@ -0,0 +1,127 @@
+package com.digiticket.service.impl.report;
+
+import com.digiticket.domain.report.DateDim;
+import com.digiticket.repository.report.DateDimRepository;
+import com.digiticket.service.report.DateDimService;
+import com.digiticket.util.report.ReportingCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class DateDimServiceImpl implements DateDimService {
+
+    private static final Logger log = LoggerFactory.getLogger(DateDimServiceImpl.class);
+    private static final DateTimeFormatter MONTH_LABEL = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final int BATCH_SIZE = 500;
+
+    private final DateDimRepository repository;
+    private final ReportingCalendar calendar;
+    private final LocalDate firstDay;
+    private final int daysAhead;
+
+    public DateDimServiceImpl(DateDimRepository repository,
+                              ReportingCalendar calendar,
+                              @Value("${reporting.date-dim.start-date:2024-01-01}") String firstDay,
+                              @Value("${reporting.date-dim.days-ahead:730}") int daysAhead) {
+        this.repository = repository;
+        this.calendar = calendar;
+        this.firstDay = LocalDate.parse(firstDay);
+        this.daysAhead = daysAhead;
+    }
+
+    // Corre antes que cualquier otro listener de arranque que consulte date_dim
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onStartup() {
+        try {
+            ensureCoverage();
+        } catch (Exception e) {
+            log.error("DateDim: no se pudo completar date_dim", e);
+        }
+    }
+
+    // Extiende la tabla el día 1 de cada mes a las 2 AM
+    @Scheduled(cron = "0 0 2 1 * *", zone = "America/Lima")
+    public void extendMonthly() {
+        ensureCoverage();
+    }
+
+    @Override
+    @Transactional
+    public int ensureCoverage() {
+        LocalDate lastDay = calendar.today().plusDays(daysAhead);
+        Integer minKey = repository.findMinDateKey();
+        Integer maxKey = repository.findMaxDateKey();
+
+        int inserted = 0;
+        if (minKey == null || maxKey == null) {
+            inserted += insertRange(firstDay, lastDay);
+        } else {
+            LocalDate min = fromKey(minKey);
+            LocalDate max = fromKey(maxKey);
+            if (firstDay.isBefore(min)) {
+                inserted += insertRange(firstDay, min.minusDays(1));
+            }
+            if (lastDay.isAfter(max)) {
+                inserted += insertRange(max.plusDays(1), lastDay);
+            }
+        }
+
+        if (inserted > 0) {
+            log.info("DateDim: {} días agregados (hasta {})", inserted, lastDay);
+        }
+        return inserted;
+    }
+
+    private int insertRange(LocalDate from, LocalDate toInclusive) {
+        List<DateDim> batch = new ArrayList<>(BATCH_SIZE);
+        int count = 0;
+        for (LocalDate d = from; !d.isAfter(toInclusive); d = d.plusDays(1)) {
+            batch.add(toRow(d));
+            if (batch.size() == BATCH_SIZE) {
+                repository.saveAll(batch);
+                count += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            repository.saveAll(batch);
+            count += batch.size();
+        }
+        return count;
+    }
+
+    private DateDim toRow(LocalDate day) {
+        ReportingCalendar.Range range = calendar.day(day);
+        return DateDim.builder()
+                .dateKey(ReportingCalendar.dateKey(day))
+                .calendarDate(day)
+                .startUtc(range.startUtc())
+                .endUtc(range.endUtc())
+                .calYear(day.getYear())
+                .calMonth(day.getMonthValue())
+                .dayOfWeek(day.getDayOfWeek().getValue())
+                .isoYearWeek(day.get(IsoFields.WEEK_BASED_YEAR) * 100 + day.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR))
+                .monthLabel(day.format(MONTH_LABEL))
+                .monthStart(day.withDayOfMonth(1))
+                .build();
+    }
+
+    private static LocalDate fromKey(int key) {
+        return LocalDate.of(key / 10_000, (key / 100) % 100, key % 100);
+    }
+}
@@ -0,0 +1,252 @@
+package com.digiticket.service.impl.report;
+
+import com.digiticket.dto.report.DashboardReportDTO;
+import com.digiticket.dto.report.ReportJobDTO;
+import com.digiticket.dto.report.ReportJobStatus;
+import com.digiticket.service.report.DailySalesMetricsService;
+import com.digiticket.service.report.ReportJobService;
+import com.digiticket.util.report.ReportPdfGenerator;
+import com.digiticket.util.report.ReportingCalendar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.time.*;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/**
+ * Genera los PDF del dashboard en un pool acotado y los guarda en disco.
+ * Dos pedidos con el mismo (period, asOf) comparten el mismo archivo y,
+ * si llegan a la vez, el mismo render en curso.
+ */
+@Service
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReportJobServiceImpl.class);
+    private static final ZoneId ZONE = ZoneId.of("America/Lima");
+    private static final Duration JOB_RETENTION = Duration.ofHours(1);
+    private static final Duration SYNC_TIMEOUT = Duration.ofSeconds(60);
+
+    private final DailySalesMetricsService metricsService;
+    private final ReportingCalendar calendar;
+    private final ThreadPoolTaskExecutor reportExecutor;
+    private final Path cacheDir;
+    private final Duration cacheTtl;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<Path>> inFlight = new ConcurrentHashMap<>();
+
+    public ReportJobServiceImpl(DailySalesMetricsService metricsService,
+                                ReportingCalendar calendar,
+                                @Qualifier("reportExecutor") ThreadPoolTaskExecutor reportExecutor,
+                                @Value("${report.pdf.cache-dir:${java.io.tmpdir}/digiticket-reports}") String cacheDir,
+                                @Value("${report.pdf.cache-ttl-minutes:10}") long cacheTtlMinutes) {
+        this.metricsService = metricsService;
+        this.calendar = calendar;
+        this.reportExecutor = reportExecutor;
+        this.cacheDir = Paths.get(cacheDir);
+        this.cacheTtl = Duration.ofMinutes(cacheTtlMinutes);
+    }
+
+    @Override
+    public ReportJobDTO submitDashboardPdf(String period) {
+        String normalized = normalize(period);
+        LocalDate asOf = calendar.today();
+
+        ReportJob job = new ReportJob(UUID.randomUUID().toString(), normalized, asOf);
+        jobs.put(job.id, job);
+
+        job.future = renderOrReuse(normalized, asOf, job);
+        job.future.whenComplete((path, ex) -> {
+            job.finishedAt = LocalDateTime.now(ZONE);
+            if (ex == null) {
+                job.result = path;
+                job.status = ReportJobStatus.DONE;
+            } else {
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                job.error = cause.getMessage();
+                job.status = ReportJobStatus.FAILED;
+            }
+        });
+        return toDto(job);
+    }
+
+    @Override
+    public ReportJobDTO getJob(String jobId) {
+        return toDto(findJob(jobId));
+    }
+
+    @Override
+    public byte[] getJobResult(String jobId) {
+        ReportJob job = findJob(jobId);
+        if (job.status == ReportJobStatus.FAILED) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "El reporte falló: " + job.error);
+        }
+        if (job.status != ReportJobStatus.DONE) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El reporte aún no está listo");
+        }
+        return readCached(job.result);
+    }
+
+    @Override
+    public byte[] renderDashboardPdf(String period) {
+        ReportJobDTO submitted = submitDashboardPdf(period);
+        ReportJob job = jobs.get(submitted.id());
+        try {
+            Path path = job.future.get(SYNC_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+            return readCached(path);
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "El reporte sigue en proceso, consulte el job " + job.id);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Render interrumpido", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Error generando PDF", e.getCause());
+        }
+    }
+
+    private CompletableFuture<Path> renderOrReuse(String period, LocalDate asOf, ReportJob job) {
+        Path target = cacheDir.resolve("dashboard-" + period + "-" + asOf + ".pdf");
+        if (isFresh(target)) {
+            return CompletableFuture.completedFuture(target);
+        }
+
+        // El future se registra antes de encolar: quien llega después lo reutiliza, y la limpieza
+        // se engancha fuera de la operación sobre el mapa aunque el render termine al instante
+        String key = target.getFileName().toString();
+        CompletableFuture<Path> mine = new CompletableFuture<>();
+        CompletableFuture<Path> running = inFlight.putIfAbsent(key, mine);
+        if (running != null) {
+            return running;
+        }
+        mine.whenComplete((p, ex) -> inFlight.remove(key, mine));
+        try {
+            reportExecutor.execute(() -> {
+                job.status = ReportJobStatus.RUNNING;
+                try {
+                    mine.complete(render(period, target));
+                } catch (Throwable t) {
+                    mine.completeExceptionally(t);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            mine.completeExceptionally(e);
+            jobs.remove(job.id);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Hay demasiados reportes en cola, intente nuevamente en unos minutos");
+        }
+        return mine;
+    }
+
+    private Path render(String period, Path target) {
+        long start = System.nanoTime();
+        DashboardReportDTO report = metricsService.getDashboardReport(period);
+        byte[] pdf = ReportPdfGenerator.generateDashboardPdf(report);
+        try {
+            Files.createDirectories(cacheDir);
+            Path tmp = Files.createTempFile(cacheDir, "dashboard-", ".tmp");
+            Files.write(tmp, pdf);
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar el PDF en " + target, e);
+        }
+        log.info("ReportJob: {} generado en {} ms ({} bytes)",
+                target.getFileName(), (System.nanoTime() - start) / 1_000_000, pdf.length);
+        return target;
+    }
+
+    private boolean isFresh(Path file) {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            return modified.toInstant().isAfter(Instant.now().minus(cacheTtl));
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private byte[] readCached(Path path) {
+        try {
+            return Files.readAllBytes(path);
+        } catch (NoSuchFileException e) {
+            throw new ResponseStatusException(HttpStatus.GONE, "El archivo del reporte ya no está disponible");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private ReportJob findJob(String jobId) {
+        ReportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Job de reporte no encontrado: " + jobId);
+        }
+        return job;
+    }
+
+    // Limpia jobs terminados y PDFs de días anteriores — cada 10 minutos
+    @Scheduled(fixedRate = 600_000)
+    public void purgeExpired() {
+        LocalDateTime jobLimit = LocalDateTime.now(ZONE).minus(JOB_RETENTION);
+        jobs.values().removeIf(j -> j.finishedAt != null && j.finishedAt.isBefore(jobLimit));
+
+        if (!Files.isDirectory(cacheDir)) return;
+        Instant fileLimit = Instant.now().minus(Duration.ofDays(1));
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            files.filter(f -> {
+                try {
+                    return Files.getLastModifiedTime(f).toInstant().isBefore(fileLimit);
+                } catch (IOException e) {
+                    return false;
+                }
+            }).forEach(f -> {
+                try {
+                    Files.deleteIfExists(f);
+                } catch (IOException e) {
+                    log.warn("ReportJob: no se pudo borrar {}", f, e);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("ReportJob: error limpiando {}", cacheDir, e);
+        }
+    }
+
+    private static String normalize(String period) {
+        return period == null || period.isBlank() ? "DAY" : period.trim().toUpperCase();
+    }
+
+    private static ReportJobDTO toDto(ReportJob job) {
+        return new ReportJobDTO(job.id, job.period, job.asOf, job.status, job.error, job.createdAt, job.finishedAt);
+    }
+
+    private static final class ReportJob {
+        final String id;
+        final String period;
+        final LocalDate asOf;
+        final LocalDateTime createdAt = LocalDateTime.now(ZONE);
+        volatile ReportJobStatus status = ReportJobStatus.PENDING;
+        volatile CompletableFuture<Path> future;
+        volatile Path result;
+        volatile String error;
+        volatile LocalDateTime finishedAt;
+
+        ReportJob(String id, String period, LocalDate asOf) {
+            this.id = id;
+            this.period = period;
+            this.asOf = asOf;
+        }
+    }
+}
@@ -1,10 +1,9 @@
 package com.digiticket.service.impl.reservation;
 
 import com.digiticket.domain.reservation.ReservationSettings;
-import com.digiticket.domain.settings.SystemSettings;
 import com.digiticket.repository.reservation.ReservationSettingsRepository;
-import com.digiticket.repository.settings.SystemSettingsRepository;
 import com.digiticket.service.reservation.ReservationSettingsService;
+import com.digiticket.service.settings.SettingsService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -16,22 +15,18 @@ public class ReservationSettingsServiceImpl implements ReservationSettingsServic
     private static final int MAX_TTL = 30;
 
     private final ReservationSettingsRepository repo;
-    private final SystemSettingsRepository systemSettingsRepo;
+    private final SettingsService settingsService;
 
     public ReservationSettingsServiceImpl(ReservationSettingsRepository repo,
-                                         SystemSettingsRepository systemSettingsRepo) {
+                                         SettingsService settingsService) {
         this.repo = repo;
-        this.systemSettingsRepo = systemSettingsRepo;
+        this.settingsService = settingsService;
     }
 
+    // El TTL vigente es el de system_settings, servido desde el snapshot de SettingsService
     @Override
-    @Transactional(readOnly = true)
     public int getDefaultTtlMinutes() {
-        return systemSettingsRepo.findById((short) 1)
-            .map(SystemSettings::getReservationHoldTtlMinutes)
-            .orElseGet(() -> repo.findById(1)
-                .map(ReservationSettings::getDefaultTtlMinutes)
-                .orElse(FALLBACK_TTL));
+        return settingsService.getReservationHoldTtlMinutes();
     }
 
     @Override
@@ -59,18 +54,8 @@ public class ReservationSettingsServiceImpl implements ReservationSettingsServic
         settings.setUpdatedByAdminId(adminId);
         ReservationSettings saved = repo.save(settings);
 
-        SystemSettings sys = systemSettingsRepo.findById((short) 1)
-            .orElseGet(() -> SystemSettings.builder()
-                .id((short) 1)
-                .maxTicketsPerPurchase(4)
-                .pointsToSolesRatio(java.math.BigDecimal.ONE)
-                .pointsExpirationDays(365)
-                .maxTicketTransfers(1)
-                .reservationHoldTtlMinutes(minutes)
-                .passwordResetTokenTtlMinutes(15)
-                .build());
-        sys.setReservationHoldTtlMinutes(minutes);
-        systemSettingsRepo.save(sys);
+        // Por SettingsService para que el snapshot que leen las reservas se publique al confirmar
+        settingsService.updateReservationHoldTtlMinutes(minutes);
 
         return saved;
     }
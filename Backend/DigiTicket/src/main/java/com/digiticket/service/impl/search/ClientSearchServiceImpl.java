@@ -0,0 +1,117 @@
+package com.digiticket.service.impl.search;
+
+import com.digiticket.domain.user.Client;
+import com.digiticket.domain.user.User;
+import com.digiticket.repository.user.ClientSearchRepository;
+import com.digiticket.repository.user.ClientSearchRepository.Hit;
+import com.digiticket.repository.user.ClientSearchRepository.Source;
+import com.digiticket.service.search.ClientSearchService;
+import com.digiticket.util.search.ClientSearchTokens;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Búsqueda de clientes para el panel (nombre, apellido, correo y documento) sobre client_search_token.
+ * Los términos se escriben en la misma transacción que el registro o la edición del perfil, así que
+ * el índice nunca queda atrás de la base; la paginación es por cursor (puntaje, id), sin OFFSET.
+ */
+@Service
+public class ClientSearchServiceImpl implements ClientSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientSearchServiceImpl.class);
+
+    static final int MAX_LIMIT = 50;
+    private static final int BACKFILL_CHUNK = 1000;
+
+    private final ClientSearchRepository searchRepository;
+    private final TransactionTemplate tx;
+
+    public ClientSearchServiceImpl(ClientSearchRepository searchRepository,
+                                   PlatformTransactionManager transactionManager) {
+        this.searchRepository = searchRepository;
+        this.tx = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public SearchResult search(String query, String after, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit debe estar entre 1 y " + MAX_LIMIT);
+        }
+        List<String> words = ClientSearchTokens.query(query);
+        if (words.isEmpty()) return new SearchResult(List.of(), null);
+
+        Integer afterScore = null;
+        Integer afterClientId = null;
+        if (after != null && !after.isBlank()) {
+            int[] cursor = parseCursor(after);
+            afterScore = cursor[0];
+            afterClientId = cursor[1];
+        }
+
+        // Se pide una fila de más para saber si hay página siguiente
+        List<Hit> hits = searchRepository.search(words, afterScore, afterClientId, limit + 1);
+        String next = null;
+        if (hits.size() > limit) {
+            hits = hits.subList(0, limit);
+            Hit last = hits.get(limit - 1);
+            next = last.score() + ":" + last.clientId();
+        }
+        return new SearchResult(hits.stream().map(Hit::clientId).toList(), next);
+    }
+
+    @Override
+    @Transactional
+    public void index(Client client) {
+        User user = client.getUser();
+        searchRepository.replaceTokens(client.getId(), ClientSearchTokens.index(
+                user.getFirstName(), user.getLastName(), user.getEmail(), user.getDocumentNumber()));
+    }
+
+    // Primer arranque con la tabla vacía: se indexan todos los clientes por tramos de id
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            if (!searchRepository.isEmpty()) return;
+            int afterId = 0;
+            int total = 0;
+            while (true) {
+                List<Source> sources = searchRepository.findSources(afterId, BACKFILL_CHUNK);
+                if (sources.isEmpty()) break;
+                List<Object[]> rows = new ArrayList<>();
+                for (Source s : sources) {
+                    ClientSearchTokens.index(s.firstName(), s.lastName(), s.email(), s.documentNumber())
+                            .forEach(t -> rows.add(new Object[]{t.token(), s.clientId(), t.word()}));
+                }
+                tx.executeWithoutResult(status -> searchRepository.insertAll(rows));
+                afterId = sources.get(sources.size() - 1).clientId();
+                total += sources.size();
+            }
+            if (total > 0) {
+                log.info("ClientSearch: {} clientes indexados", total);
+            }
+        } catch (Exception e) {
+            log.error("ClientSearch: no se pudo inicializar client_search_token", e);
+        }
+    }
+
+    private static int[] parseCursor(String after) {
+        String[] parts = after.split(":");
+        try {
+            if (parts.length != 2) throw new NumberFormatException();
+            return new int[]{Integer.parseInt(parts[0]), Integer.parseInt(parts[1])};
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor inválido: " + after);
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.digiticket.service.impl.search;
+
+import com.digiticket.domain.event.EventStatus;
+import com.digiticket.dto.event.EventBrowseDTO;
+import com.digiticket.dto.event.EventCatalogItemDTO;
+import com.digiticket.dto.event.FacetCountDTO;
+import com.digiticket.mapper.EventMapper;
+import com.digiticket.repository.event.EventRepository;
+import com.digiticket.repository.event.projection.EventFacetProjection;
+import com.digiticket.service.dashboard.event.SaleRecordedEvent;
+import com.digiticket.service.search.EventFacetService;
+import com.digiticket.service.search.event.EventChangedEvent;
+import com.digiticket.util.search.FacetSnapshot;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Navegación por facetas de los eventos publicados sobre un {@link FacetSnapshot} en memoria.
+ * Cada consulta son operaciones sobre BitSets: no toca la base de datos.
+ * El snapshot se reconstruye al arrancar y, si hubo cambios de eventos o ventas,
+ * en la siguiente pasada de EventFacetRefreshScheduler.
+ */
+@Service
+public class EventFacetServiceImpl implements EventFacetService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventFacetServiceImpl.class);
+
+    static final int MAX_PAGE_SIZE = 100;
+    private static final DateTimeFormatter MONTH = DateTimeFormatter.ofPattern("yyyy-MM");
+
+    // Bandas de precio mínimo (S/): [desde, hasta)
+    private static final String[] PRICE_BANDS = {"0-50", "50-100", "100-200", "200+"};
+    private static final BigDecimal[] PRICE_LIMITS = {new BigDecimal("50"), new BigDecimal("100"), new BigDecimal("200")};
+
+    private static final Map<String, Function<EventFacetProjection, String>> FACETS = new LinkedHashMap<>();
+    static {
+        FACETS.put("category", EventFacetProjection::getCategoryName);
+        FACETS.put("district", EventFacetProjection::getDistrict);
+        FACETS.put("city", EventFacetProjection::getCity);
+        FACETS.put("month", r -> r.getStartsAt() != null ? r.getStartsAt().format(MONTH) : null);
+        FACETS.put("price", r -> priceBand(r.getMinPrice()));
+        FACETS.put("availability", r -> r.getAvailable() != null && r.getAvailable() > 0 ? "available" : "sold-out");
+    }
+
+    private final EventRepository eventRepository;
+
+    private volatile FacetSnapshot<EventFacetProjection> snapshot = FacetSnapshot.build(List.of(), FACETS);
+    private volatile LocalDateTime[] startsAt = new LocalDateTime[0];
+    private final AtomicBoolean stale = new AtomicBoolean(true);
+
+    public EventFacetServiceImpl(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @Override
+    public EventBrowseDTO browse(Map<String, Set<String>> selected, LocalDate from, LocalDate to, int page, int size) {
+        if (page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page debe ser >= 0");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        for (String facet : selected.keySet()) {
+            if (!FACETS.containsKey(facet)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Faceta no soportada: " + facet);
+            }
+        }
+
+        // Lecturas de una misma versión del snapshot
+        FacetSnapshot<EventFacetProjection> snap = snapshot;
+        LocalDateTime[] dates = startsAt;
+
+        FacetSnapshot.Result result = snap.query(selected, dateRange(dates, from, to));
+
+        List<EventCatalogItemDTO> items = new ArrayList<>();
+        for (int row : result.page(page, size)) {
+            items.add(EventMapper.toCatalogItem(snap.row(row)));
+        }
+
+        Map<String, List<FacetCountDTO>> facets = new LinkedHashMap<>();
+        result.counts().forEach((facet, counts) -> facets.put(facet, counts.entrySet().stream()
+                .map(e -> new FacetCountDTO(e.getKey(), e.getValue()))
+                .toList()));
+        return new EventBrowseDTO(result.total(), page, size, items, facets);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void refresh() {
+        // Se baja la marca antes de leer: un cambio concurrente vuelve a marcarla y no se pierde
+        stale.set(false);
+        try {
+            List<EventFacetProjection> rows = eventRepository.findFacetRows(EventStatus.PUBLISHED);
+            LocalDateTime[] dates = rows.stream().map(EventFacetProjection::getStartsAt).toArray(LocalDateTime[]::new);
+            FacetSnapshot<EventFacetProjection> fresh = FacetSnapshot.build(rows, FACETS);
+            startsAt = dates;
+            snapshot = fresh;
+            log.debug("EventFacets: snapshot con {} eventos publicados", fresh.size());
+        } catch (RuntimeException e) {
+            stale.set(true);
+            throw e;
+        }
+    }
+
+    @Override
+    public void refreshIfStale() {
+        if (stale.get()) refresh();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            refresh();
+        } catch (Exception e) {
+            log.error("EventFacets: no se pudo construir el snapshot al arrancar", e);
+        }
+    }
+
+    // Cambió un evento o su disponibilidad: se reconstruye en la próxima pasada del scheduler
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        stale.set(true);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onSale(SaleRecordedEvent event) {
+        stale.set(true);
+    }
+
+    // Las filas están ordenadas por fecha: el rango es un intervalo contiguo que se ubica por búsqueda binaria
+    private static BitSet dateRange(LocalDateTime[] dates, LocalDate from, LocalDate to) {
+        if (from == null && to == null) return null;
+        int start = from != null ? lowerBound(dates, from.atStartOfDay()) : 0;
+        int end = to != null ? lowerBound(dates, to.plusDays(1).atStartOfDay()) : dates.length;
+        BitSet bits = new BitSet(dates.length);
+        if (start < end) bits.set(start, end);
+        return bits;
+    }
+
+    private static int lowerBound(LocalDateTime[] dates, LocalDateTime key) {
+        int lo = 0;
+        int hi = dates.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (dates[mid].isBefore(key)) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    static String priceBand(BigDecimal minPrice) {
+        if (minPrice == null) return null;
+        for (int i = 0; i < PRICE_LIMITS.length; i++) {
+            if (minPrice.compareTo(PRICE_LIMITS[i]) < 0) return PRICE_BANDS[i];
+        }
+        return PRICE_BANDS[PRICE_BANDS.length - 1];
+    }
+}
@@ -0,0 +1,152 @@
+package com.digiticket.service.impl.search;
+
+import com.digiticket.domain.event.Event;
+import com.digiticket.domain.event.EventStatus;
+import com.digiticket.repository.event.EventRepository;
+import com.digiticket.service.search.EventSearchService;
+import com.digiticket.service.search.event.EventChangedEvent;
+import com.digiticket.util.search.InvertedIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Búsqueda full-text de eventos sobre un índice invertido en memoria
+ * (título, categoría, local, distrito/ciudad y descripción, en ese orden de peso).
+ * Se construye al arrancar y se actualiza tras el commit de cada cambio de evento;
+ * devuelve solo ids, la hidratación la hace la proyección del catálogo.
+ */
+@Service
+public class EventSearchServiceImpl implements EventSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(EventSearchServiceImpl.class);
+
+    private static final float W_TITLE = 3.0f;
+    private static final float W_CATEGORY = 2.0f;
+    private static final float W_VENUE = 1.5f;
+    private static final float W_PLACE = 1.0f;
+    private static final float W_DESCRIPTION = 0.5f;
+
+    // Índice y estados se reemplazan juntos en un rebuild
+    private record State(InvertedIndex index, Map<Integer, EventStatus> statuses) {
+        static State empty() {
+            return new State(new InvertedIndex(), new ConcurrentHashMap<>());
+        }
+    }
+
+    private final EventRepository eventRepository;
+
+    private volatile State state = State.empty();
+
+    // Cambios aplicados mientras corre un rebuild: se vuelven a aplicar sobre el índice nuevo
+    private final Object swapLock = new Object();
+    private boolean rebuilding;
+    private final Set<Integer> changedDuringRebuild = new HashSet<>();
+
+    public EventSearchServiceImpl(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @Override
+    public List<Integer> search(String query, EventStatus status, int limit) {
+        if (query == null || query.isBlank()) return List.of();
+        State s = state;
+        return s.index().search(query, limit, status == null ? null : id -> s.statuses().get(id) == status);
+    }
+
+    // Sin @Transactional: se llama desde el listener del mismo bean; la consulta ya trae las referencias
+    @Override
+    public void reindex(Integer eventId) {
+        Event event = eventRepository.findWithRefsById(eventId).orElse(null);
+        synchronized (swapLock) {
+            if (event != null) {
+                put(state, event);
+            } else {
+                remove(state, eventId);
+            }
+            if (rebuilding) changedDuringRebuild.add(eventId);
+        }
+    }
+
+    /**
+     * Se arma un índice nuevo y se reemplaza de una vez: las búsquedas nunca ven uno a medias.
+     * Los eventos que cambiaron mientras se leía la tabla se reindexan sobre el índice nuevo.
+     */
+    @Override
+    public synchronized void rebuild() {
+        synchronized (swapLock) {
+            rebuilding = true;
+            changedDuringRebuild.clear();
+        }
+        Set<Integer> replay;
+        try {
+            State fresh = State.empty();
+            List<Event> events = eventRepository.findAllWithRefs();
+            events.forEach(e -> put(fresh, e));
+            synchronized (swapLock) {
+                state = fresh;
+                replay = new HashSet<>(changedDuringRebuild);
+            }
+            log.info("EventSearch: índice construido con {} eventos", fresh.index().size());
+        } finally {
+            synchronized (swapLock) {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            }
+        }
+        replay.forEach(this::reindex);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("EventSearch: no se pudo construir el índice al arrancar", e);
+        }
+    }
+
+    // Después del commit: el índice solo refleja datos confirmados
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        try {
+            if (event.deleted()) {
+                synchronized (swapLock) {
+                    remove(state, event.eventId());
+                    if (rebuilding) changedDuringRebuild.add(event.eventId());
+                }
+            } else {
+                reindex(event.eventId());
+            }
+        } catch (Exception e) {
+            log.warn("EventSearch: no se pudo actualizar el índice para el evento {}", event.eventId(), e);
+        }
+    }
+
+    private static void put(State target, Event e) {
+        target.index().put(e.getId(), List.of(
+                new InvertedIndex.Field(e.getTitle(), W_TITLE),
+                new InvertedIndex.Field(e.getEventCategory() != null ? e.getEventCategory().getName() : null, W_CATEGORY),
+                new InvertedIndex.Field(e.getLocation() != null ? e.getLocation().getName() : null, W_VENUE),
+                new InvertedIndex.Field(e.getLocation() != null
+                        ? e.getLocation().getDistrict() + " " + e.getLocation().getCity() : null, W_PLACE),
+                new InvertedIndex.Field(e.getDescription(), W_DESCRIPTION)
+        ));
+        target.statuses().put(e.getId(), e.getStatus());
+    }
+
+    private static void remove(State target, Integer eventId) {
+        target.index().remove(eventId);
+        target.statuses().remove(eventId);
+    }
+}
@@ -4,34 +4,63 @@ import com.digiticket.domain.settings.SystemSettings;
 import com.digiticket.dto.settings.SystemSettingsDTO;
 import com.digiticket.repository.settings.SystemSettingsRepository;
 import com.digiticket.service.settings.SettingsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Configuración del sistema servida desde un snapshot inmutable en memoria: los getters que usan
+ * checkout, carrito, transferencias y reservas no hacen ninguna consulta.
+ * El snapshot se reemplaza al confirmar updateSettings en este nodo y, para cambios hechos en otros
+ * nodos, cuando SettingsRefreshScheduler ve que cambió la versión de la fila.
+ */
 @Service
 public class SettingsServiceImpl implements SettingsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SettingsServiceImpl.class);
+    private static final short SETTINGS_ID = 1;
+
+    private record Snapshot(SystemSettingsDTO values, long version, Instant loadedAt) {}
+
     private final SystemSettingsRepository repo;
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private volatile Instant checkedAt;
 
     public SettingsServiceImpl(SystemSettingsRepository repo) {
         this.repo = repo;
     }
 
     private SystemSettings settings() {
-        return repo.findById((short) 1)
+        return repo.findById(SETTINGS_ID)
                 .orElseThrow(() -> new IllegalStateException("system_settings row 1 missing"));
     }
 
-    public int getMaxTicketsPerPurchase() { return settings().getMaxTicketsPerPurchase(); }
-    public BigDecimal getPointsToSolesRatio() { return settings().getPointsToSolesRatio(); }
-    public int getPointsExpirationDays() { return settings().getPointsExpirationDays(); }
-    public int getMaxTicketTransfers() { return settings().getMaxTicketTransfers(); }
-    public int getReservationHoldTtlMinutes() { return settings().getReservationHoldTtlMinutes(); }
-    public int getPasswordResetTokenTtlMinutes() { return settings().getPasswordResetTokenTtlMinutes(); }
+    // Solo la primera lectura antes del arranque completo va a la base de datos
+    private SystemSettingsDTO values() {
+        Snapshot snap = current.get();
+        return (snap != null ? snap : reload()).values();
+    }
+
+    public int getMaxTicketsPerPurchase() { return values().maxTicketsPerPurchase(); }
+    public BigDecimal getPointsToSolesRatio() { return values().pointsToSolesRatio(); }
+    public int getPointsExpirationDays() { return values().pointsExpirationDays(); }
+    public int getMaxTicketTransfers() { return values().maxTicketTransfers(); }
+    public int getReservationHoldTtlMinutes() { return values().reservationHoldTtlMinutes(); }
+    public int getPasswordResetTokenTtlMinutes() { return values().passwordResetTokenTtlMinutes(); }
 
     @Override
     public SystemSettingsDTO getSettingsSnapshot() {
-        return toDto(settings());
+        return values();
     }
 
     @Override
@@ -45,8 +74,79 @@ public class SettingsServiceImpl implements SettingsService {
         entity.setMaxTicketTransfers(payload.maxTicketTransfers());
         entity.setReservationHoldTtlMinutes(payload.reservationHoldTtlMinutes());
         entity.setPasswordResetTokenTtlMinutes(payload.passwordResetTokenTtlMinutes());
-        repo.save(entity);
-        return toDto(entity);
+        return saveAndPublish(entity);
+    }
+
+    @Override
+    @Transactional
+    public SystemSettingsDTO updateReservationHoldTtlMinutes(int minutes) {
+        if (minutes <= 0) {
+            throw new IllegalArgumentException("reservationHoldTtlMinutes must be greater than zero");
+        }
+        SystemSettings entity = settings();
+        entity.setReservationHoldTtlMinutes(minutes);
+        return saveAndPublish(entity);
+    }
+
+    private SystemSettingsDTO saveAndPublish(SystemSettings entity) {
+        // El flush asigna la nueva versión, que es la que se publica
+        SystemSettings saved = repo.saveAndFlush(entity);
+        Snapshot fresh = new Snapshot(toDto(saved), saved.getVersion(), Instant.now());
+
+        // Se publica al confirmar: si la transacción se revierte, los lectores siguen con la configuración vigente
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(fresh);
+                }
+            });
+        } else {
+            publish(fresh);
+        }
+        return fresh.values();
+    }
+
+    @Override
+    public void refreshIfChanged() {
+        Snapshot snap = current.get();
+        Long version = repo.findVersionById(SETTINGS_ID).orElse(null);
+        checkedAt = Instant.now();
+        if (snap == null || !Objects.equals(version, snap.version())) {
+            reload();
+        }
+    }
+
+    @Override
+    public SnapshotStatus snapshotStatus() {
+        Snapshot snap = current.get();
+        return snap != null
+                ? new SnapshotStatus(snap.version(), snap.loadedAt(), checkedAt)
+                : new SnapshotStatus(null, null, checkedAt);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Settings: no se pudo cargar system_settings al arrancar", e);
+        }
+    }
+
+    private Snapshot reload() {
+        SystemSettings entity = settings();
+        return publish(new Snapshot(toDto(entity), entity.getVersion(), Instant.now()));
+    }
+
+    // La versión nunca retrocede: una recarga que leyó antes de un commit no pisa lo que ese commit publicó
+    private Snapshot publish(Snapshot fresh) {
+        Snapshot result = current.accumulateAndGet(fresh,
+                (old, candidate) -> old == null || candidate.version() >= old.version() ? candidate : old);
+        if (result == fresh) {
+            log.debug("Settings: snapshot de system_settings en versión {}", fresh.version());
+        }
+        return result;
     }
 
     private static void validate(SystemSettingsDTO dto) {
@@ -1,55 +1,77 @@
 package com.digiticket.service.impl.user;
 
 import com.digiticket.domain.loyalty.LoyaltyPointStatus;
-import com.digiticket.domain.order.Order;
 import com.digiticket.domain.user.Client;
 import com.digiticket.domain.user.DocumentType;
 import com.digiticket.domain.user.User;
 import com.digiticket.domain.user.UserStatus;
 import com.digiticket.dto.loyalty.PointsBalanceDTO;
 import com.digiticket.dto.user.AdminClientDTO;
+import com.digiticket.dto.user.AdminClientSearchDTO;
 import com.digiticket.dto.user.UpdateUserProfileRequest;
 import com.digiticket.dto.user.UserProfileDTO;
-import com.digiticket.repository.loyalty.LoyaltyPointRepository;
-import com.digiticket.repository.order.OrderRepository;
+import com.digiticket.repository.order.UserOrderStatsRepository.Stats;
+import com.digiticket.repository.user.AdminClientQueryRepository;
+import com.digiticket.repository.user.AdminClientQueryRepository.Filter;
+import com.digiticket.repository.user.AdminClientQueryRepository.Row;
+import com.digiticket.repository.user.AdminClientQueryRepository.SortField;
 import com.digiticket.repository.user.ClientRepository;
 import com.digiticket.repository.user.UserRepository;
 import com.digiticket.service.loyalty.LoyaltyService;
+import com.digiticket.service.order.UserOrderStatsService;
+import com.digiticket.service.search.ClientSearchService;
 import com.digiticket.service.user.ClientService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ClientServiceImpl implements ClientService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private final ClientRepository clientRepository;
     private final UserRepository userRepository;
-    private final OrderRepository orderRepository;
+    private final UserOrderStatsService userOrderStatsService;
     private final LoyaltyService loyaltyService;
-    private final LoyaltyPointRepository loyaltyPointRepository;
+    private final AdminClientQueryRepository adminClientQueryRepository;
+    private final ClientSearchService clientSearchService;
 
     @Autowired
     public ClientServiceImpl(ClientRepository clientRepository,
                              UserRepository userRepository,
-                             OrderRepository orderRepository,
+                             UserOrderStatsService userOrderStatsService,
                              LoyaltyService loyaltyService,
-                             LoyaltyPointRepository loyaltyPointRepository) {
+                             AdminClientQueryRepository adminClientQueryRepository,
+                             ClientSearchService clientSearchService) {
         this.clientRepository = clientRepository;
         this.userRepository = userRepository;
-        this.orderRepository = orderRepository;
+        this.userOrderStatsService = userOrderStatsService;
         this.loyaltyService = loyaltyService;
-        this.loyaltyPointRepository = loyaltyPointRepository;
+        this.adminClientQueryRepository = adminClientQueryRepository;
+        this.clientSearchService = clientSearchService;
     }
 
     @Override
+    @Transactional
     public Client save(Client client) {
-        return clientRepository.save(client);
+        Client saved = clientRepository.save(client);
+        clientSearchService.index(saved);
+        return saved;
     }
 
     @Override
@@ -61,16 +83,7 @@ public class ClientServiceImpl implements ClientService {
         Client client = clientRepository.findByUserId(userId)
                 .orElse(null);
 
-        List<Order> orders = orderRepository.findAll().stream()
-                .filter(o -> o.getUserId() != null && o.getUserId().equals(userId))
-                .toList();
-
-        int totalPurchases = orders.size();
-        double totalSpent = orders.stream()
-                .filter(o -> o.getTotalPaid() != null)
-                .map(Order::getTotalPaid)
-                .reduce(BigDecimal.ZERO, BigDecimal::add)
-                .doubleValue();
+        Stats stats = userOrderStatsService.get(userId);
 
         Integer loyaltyPoints = 0;
         if (client != null) {
@@ -89,13 +102,14 @@ public class ClientServiceImpl implements ClientService {
                 .birthDate(client != null ? client.getBirthDate() : null)
                 .gender(null)
                 .loyaltyPoints(loyaltyPoints)
-                .totalPurchases(totalPurchases)
-                .totalSpent(totalSpent)
+                .totalPurchases(stats.orderCount())
+                .totalSpent(stats.totalSpent().doubleValue())
                 .memberSince(user.getCreatedAt())
                 .build();
     }
 
     @Override
+    @Transactional
     public UserProfileDTO updateCurrentProfileByUserId(UpdateUserProfileRequest request, Integer userId) {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
@@ -129,18 +143,10 @@ public class ClientServiceImpl implements ClientService {
         client.setUser(user);
         userRepository.save(user);
         clientRepository.save(client);
+        clientSearchService.index(client);
         return getProfileByUserId(userId);
     }
 
-    @Override
-    public List<AdminClientDTO> listActiveClients() {
-        return clientRepository.findAll().stream()
-                .filter(client -> client.getUser() != null
-                        && client.getUser().getStatus() == UserStatus.ACTIVE)
-                .map(this::toAdminClientDTO)
-                .toList();
-    }
-
     @Override
     public void deactivateClient(Integer clientId) {
         Client client = clientRepository.findById(clientId)
@@ -155,104 +161,99 @@ public class ClientServiceImpl implements ClientService {
         userRepository.save(user);
     }
 
-    @Override
-    public List<AdminClientDTO> searchActiveClientsByName(String name) {
-        List<Client> clients = clientRepository.searchByNameAndStatus(
-                name,
-                UserStatus.ACTIVE
-        );
+    // ================== LISTADOS DEL PANEL (una consulta agregada por página) ==================
 
-        return clients.stream()
-                .map(this::toAdminClientDTO)
-                .toList();
+    @Override
+    @Transactional(readOnly = true)
+    public Page<AdminClientDTO> listActiveClients(String name, int page, int size, String sort) {
+        return list(new Filter(normalizeName(name), null, null, null), page, size, sort);
     }
 
-    // ================== NUEVOS MÉTODOS PARA FILTRAR POR STATUS DE PUNTOS ==================
-
     @Override
     @Transactional(readOnly = true)
-    public List<AdminClientDTO> listClientsByPointsStatus(LoyaltyPointStatus status) {
-        // ids de clientes que tienen al menos un registro de puntos con ese status
-        List<Integer> clientIds = loyaltyPointRepository.findDistinctClientIdsByStatus(status);
-        if (clientIds.isEmpty()) {
-            return List.of();
-        }
-
-        return clientRepository.findAll().stream()
-                .filter(client -> client.getUser() != null
-                        && client.getUser().getStatus() == UserStatus.ACTIVE)
-                .filter(client -> clientIds.contains(client.getId()))
-                .map(this::toAdminClientDTO)
-                .toList();
+    public Page<AdminClientDTO> listClientsByPointsStatus(LoyaltyPointStatus status, String name,
+                                                          int page, int size, String sort) {
+        return list(new Filter(normalizeName(name), status, null, null), page, size, sort);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<AdminClientDTO> searchClientsByPointsStatusAndName(LoyaltyPointStatus status, String name) {
-        List<Integer> clientIds = loyaltyPointRepository.findDistinctClientIdsByStatus(status);
-        if (clientIds.isEmpty()) {
-            return List.of();
+    public Page<AdminClientDTO> listClientsWithPointsExpiringInNextDays(int days, String name,
+                                                                        int page, int size, String sort) {
+        // Los lotes vencidos ya están en EXPIRED: basta el rango ACTIVE por fecha, sin recorrer el historial
+        LocalDateTime now = LocalDateTime.now();
+        return list(new Filter(normalizeName(name), null, now, now.plusDays(days)), page, size, sort);
+    }
+
+    private Page<AdminClientDTO> list(Filter filter, int page, int size, String sort) {
+        if (page < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "page debe ser >= 0");
+        }
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "size debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        SortField field = SortField.ID;
+        boolean desc = false;
+        if (sort != null && !sort.isBlank()) {
+            String[] parts = sort.split(",");
+            field = switch (parts[0].trim()) {
+                case "id" -> SortField.ID;
+                case "name" -> SortField.NAME;
+                case "email" -> SortField.EMAIL;
+                case "points" -> SortField.POINTS;
+                case "expiry" -> SortField.EXPIRY;
+                default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Orden no soportado: " + parts[0].trim());
+            };
+            desc = parts.length > 1 && parts[1].trim().equalsIgnoreCase("desc");
         }
 
-        // primero filtro por nombre + ACTIVE (query ya existente),
-        // luego me quedo solo con los que tienen puntos en ese status.
-        List<Client> clients = clientRepository.searchByNameAndStatus(name, UserStatus.ACTIVE).stream()
-                .filter(client -> clientIds.contains(client.getId()))
+        Pageable pageable = PageRequest.of(page, size);
+        LocalDateTime now = LocalDateTime.now();
+        List<AdminClientDTO> content = adminClientQueryRepository
+                .find(filter, field, desc, size, pageable.getOffset()).stream()
+                .map(row -> toAdminClientDTO(row, now))
                 .toList();
+        // El COUNT solo corre si la página vino llena o no es la primera
+        return PageableExecutionUtils.getPage(content, pageable, () -> adminClientQueryRepository.count(filter));
+    }
 
-        return clients.stream()
-                .map(this::toAdminClientDTO)
+    @Override
+    @Transactional(readOnly = true)
+    public AdminClientSearchDTO searchClients(String query, String after, int limit) {
+        ClientSearchService.SearchResult result = clientSearchService.search(query, after, limit);
+
+        // La búsqueda define el orden; la consulta IN lo pierde, así que se reordena aquí
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, Row> rows = adminClientQueryRepository.findByIds(result.clientIds()).stream()
+                .collect(Collectors.toMap(Row::clientId, Function.identity()));
+        List<AdminClientDTO> items = result.clientIds().stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .map(row -> toAdminClientDTO(row, now))
                 .toList();
+        return new AdminClientSearchDTO(items, result.nextCursor());
     }
 
-    // ================== HELPER COMÚN PARA ARMAR AdminClientDTO ==================
-
-    private AdminClientDTO toAdminClientDTO(Client client) {
-        User user = client.getUser();
-
-        // balance de puntos
-        PointsBalanceDTO balance = loyaltyService.getBalance(client.getId());
-        int totalPoints = balance.getTotalPoints();
-
+    // Mismo criterio que LoyaltyService.getBalance: la fecha se muestra si el próximo lote vence en 30 días
+    private static AdminClientDTO toAdminClientDTO(Row row, LocalDateTime now) {
         LocalDate pointsExpiryDate = null;
-        if (balance.getExpiringSoon() != null && !balance.getExpiringSoon().isEmpty()) {
-            pointsExpiryDate = balance.getExpiringSoon()
-                    .get(0)
-                    .getExpiresAt()
-                    .toLocalDate();
+        if (row.nextExpiryAt() != null && row.nextExpiryAt().isAfter(now)
+                && !row.nextExpiryAt().isAfter(now.plusDays(30))) {
+            pointsExpiryDate = row.nextExpiryAt().toLocalDate();
         }
 
         return AdminClientDTO.builder()
-                .id(client.getId())
-                .firstName(user.getFirstName())
-                .lastName(user.getLastName())
-                .email(user.getEmail())
-                .loyaltyPoints(totalPoints)
+                .id(row.clientId())
+                .firstName(row.firstName())
+                .lastName(row.lastName())
+                .email(row.email())
+                .loyaltyPoints(row.activePoints())
                 .pointsExpiryDate(pointsExpiryDate)
                 .build();
     }
 
-    @Override
-    @Transactional(readOnly = true)
-    public List<AdminClientDTO> listClientsWithPointsExpiringInNextDays(int days) {
-        java.time.LocalDateTime now = java.time.LocalDateTime.now();
-        java.time.LocalDateTime limit = now.plusDays(days);
-
-        return clientRepository.findAll().stream()
-                .filter(client -> client.getUser() != null
-                        && client.getUser().getStatus() == UserStatus.ACTIVE)
-                .filter(client -> {
-                    // usamos directly los puntos del cliente
-                    var points = loyaltyPointRepository.findByClientIdOrderByCreatedAtDesc(client.getId());
-                    return points.stream().anyMatch(p ->
-                            p.getStatus() == LoyaltyPointStatus.ACTIVE
-                                    && p.getExpiresAt() != null
-                                    && p.getExpiresAt().isAfter(now)
-                                    && !p.getExpiresAt().isAfter(limit)
-                    );
-                })
-                .map(this::toAdminClientDTO)
-                .toList();
+    private static String normalizeName(String name) {
+        return name == null || name.isBlank() ? null : name.trim();
     }
 
 }
@@ -0,0 +1,26 @@
+package com.digiticket.service.loyalty;
+
+import com.digiticket.repository.loyalty.LoyaltyBalanceRepository.Balance;
+
+import java.util.Collection;
+
+public interface LoyaltyBalanceService {
+
+    // Toma el lock de saldo del cliente; llamar antes de tocar sus lotes, dentro de la transacción
+    void lock(Integer clientId);
+
+    // Recalcula el saldo desde los lotes vigentes, en la transacción actual
+    Balance recompute(Integer clientId);
+
+    // Variantes por conjunto para el vencimiento masivo: locks en orden de id y un solo batch de escritura
+    void lockAll(Collection<Integer> clientIds);
+
+    void recomputeAll(Collection<Integer> clientIds);
+
+    // Lectura por clave primaria; si falta la fila o ya venció un lote, se refresca antes
+    // (dentro de una transacción en curso solo se calcula, sin escribir)
+    Balance get(Integer clientId);
+
+    // Compara todos los saldos con el ledger y corrige los desviados; devuelve cuántos corrigió
+    int reconcile();
+}
@@ -0,0 +1,6 @@
+package com.digiticket.service.loyalty;
+
+public interface LoyaltyPointExpiryService {
+    // Pasa a EXPIRED los lotes ACTIVE vencidos, por batches; devuelve cuántos lotes venció
+    int expireDuePoints();
+}
@@ -1,6 +1,11 @@
 package com.digiticket.service.loyalty;
 
+import com.digiticket.service.settings.SettingsService.SnapshotStatus;
+
 public interface PointsConfigService {
     int getPointsPerUnit();
     void updatePointsPerUnit(int points);
+
+    void refreshIfChanged();
+    SnapshotStatus snapshotStatus();
 }
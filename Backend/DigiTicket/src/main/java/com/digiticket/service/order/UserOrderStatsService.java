@@ -0,0 +1,17 @@
+package com.digiticket.service.order;
+
+import com.digiticket.repository.order.UserOrderStatsRepository.Stats;
+
+import java.math.BigDecimal;
+
+public interface UserOrderStatsService {
+
+    // Suma una orden pagada al resumen del usuario; llamar dentro de la transacción del checkout
+    void recordPaidOrder(Integer userId, BigDecimal totalPaid);
+
+    // Lectura por clave primaria; sin fila (usuario sin compras) se calcula desde las órdenes
+    Stats get(Integer userId);
+
+    // Corrige las filas que no coinciden con las órdenes PAID; devuelve cuántas se reescribieron
+    int reconcile();
+}
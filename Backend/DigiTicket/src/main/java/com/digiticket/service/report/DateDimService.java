@@ -0,0 +1,5 @@
+package com.digiticket.service.report;
+
+public interface DateDimService {
+    int ensureCoverage(); // devuelve cuántos días se insertaron
+}
@@ -0,0 +1,10 @@
+package com.digiticket.service.report;
+
+import com.digiticket.dto.report.ReportJobDTO;
+
+public interface ReportJobService {
+    ReportJobDTO submitDashboardPdf(String period);     // period = DAY, WEEK, MONTH, YEAR
+    ReportJobDTO getJob(String jobId);
+    byte[] getJobResult(String jobId);
+    byte[] renderDashboardPdf(String period);           // síncrono, pero pasa por el pool y la caché
+}
@@ -0,0 +1,17 @@
+package com.digiticket.service.search;
+
+import com.digiticket.domain.user.Client;
+
+import java.util.List;
+
+public interface ClientSearchService {
+
+    // Ids por relevancia y cursor de la página siguiente (null si no hay más)
+    record SearchResult(List<Integer> clientIds, String nextCursor) {}
+
+    // after = nextCursor de la página anterior, o null para la primera
+    SearchResult search(String query, String after, int limit);
+
+    // Reescribe los términos del cliente en la transacción actual; client.getUser() debe estar cargado
+    void index(Client client);
+}
@@ -0,0 +1,14 @@
+package com.digiticket.service.search;
+
+import com.digiticket.dto.event.EventBrowseDTO;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+public interface EventFacetService {
+    // selected: faceta → valores; from/to (inclusive) filtran por fecha del evento
+    EventBrowseDTO browse(Map<String, Set<String>> selected, LocalDate from, LocalDate to, int page, int size);
+    void refresh();
+    void refreshIfStale();
+}
@@ -0,0 +1,13 @@
+package com.digiticket.service.search;
+
+import com.digiticket.domain.event.EventStatus;
+
+import java.util.List;
+
+public interface EventSearchService {
+    // Ids ordenados por relevancia; status = null no filtra
+    List<Integer> search(String query, EventStatus status, int limit);
+
+    void reindex(Integer eventId);
+    void rebuild();
+}
@@ -0,0 +1,10 @@
+package com.digiticket.service.search.event;
+
+/**
+ * Se publica al crear, actualizar, cambiar de estado o eliminar un evento, y al modificar sus zonas.
+ * deleted = true cuando el evento ya no existe.
+ */
+public record EventChangedEvent(
+        Integer eventId,
+        boolean deleted
+) {}
@@ -3,8 +3,16 @@ package com.digiticket.service.settings;
 import com.digiticket.dto.settings.SystemSettingsDTO;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 public interface SettingsService {
+
+    /**
+     * Estado de una configuración servida desde memoria: versión de la fila cargada, cuándo se cargó
+     * y cuándo se verificó por última vez contra la base de datos (null si aún no ocurrió).
+     */
+    record SnapshotStatus(Long version, Instant loadedAt, Instant checkedAt) {}
+
     int getMaxTicketsPerPurchase();
     BigDecimal getPointsToSolesRatio();
     int getPointsExpirationDays();
@@ -14,4 +22,10 @@ public interface SettingsService {
 
     SystemSettingsDTO getSettingsSnapshot();
     SystemSettingsDTO updateSettings(SystemSettingsDTO payload);
+    // Cambia solo el TTL de reservas; el snapshot se publica al confirmar, igual que updateSettings
+    SystemSettingsDTO updateReservationHoldTtlMinutes(int minutes);
+
+    // Recarga la configuración solo si otro nodo (u otra ruta) cambió la versión de la fila
+    void refreshIfChanged();
+    SnapshotStatus snapshotStatus();
 }
@@ -2,21 +2,23 @@ package com.digiticket.service.user;
 
 import com.digiticket.domain.user.Client;
 import com.digiticket.dto.user.AdminClientDTO;
+import com.digiticket.dto.user.AdminClientSearchDTO;
 import com.digiticket.dto.user.UpdateUserProfileRequest;
 import com.digiticket.dto.user.UserProfileDTO;
 import com.digiticket.domain.loyalty.LoyaltyPointStatus;
-import com.digiticket.dto.user.AdminClientDTO;
-import java.util.List;
+import org.springframework.data.domain.Page;
 
 public interface ClientService {
     Client save(Client client);
     UserProfileDTO getProfileByUserId(Integer userId);
     UserProfileDTO updateCurrentProfileByUserId(UpdateUserProfileRequest request, Integer userId);
-    List<AdminClientDTO> listActiveClients();
     void deactivateClient(Integer clientId);
-    List<AdminClientDTO> searchActiveClientsByName(String name);
-    List<AdminClientDTO> listClientsByPointsStatus(LoyaltyPointStatus status);
 
-    List<AdminClientDTO> searchClientsByPointsStatusAndName(LoyaltyPointStatus status, String name);
-    List<AdminClientDTO> listClientsWithPointsExpiringInNextDays(int days);
+    // Listados del panel: name opcional; sort = campo[,asc|desc] con campo en id, name, email, points, expiry
+    Page<AdminClientDTO> listActiveClients(String name, int page, int size, String sort);
+    Page<AdminClientDTO> listClientsByPointsStatus(LoyaltyPointStatus status, String name, int page, int size, String sort);
+    Page<AdminClientDTO> listClientsWithPointsExpiringInNextDays(int days, String name, int page, int size, String sort);
+
+    // Typeahead del panel: por relevancia, paginado por cursor (after = nextCursor anterior)
+    AdminClientSearchDTO searchClients(String query, String after, int limit);
 }
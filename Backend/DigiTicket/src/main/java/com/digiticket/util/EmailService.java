@@ -1,6 +1,11 @@
 package com.digiticket.util;
 
+import jakarta.mail.internet.MimeMessage;
+
 public interface EmailService {
     void sendResetPasswordEmail(String to, String token);
     void sendNotificationEmail(String to, String subject, String body);
+    // Arman el mensaje sin enviarlo: el outbox los envía por lote sobre una misma conexión
+    MimeMessage createResetPasswordEmail(String to, String token);
+    MimeMessage createNotificationEmail(String to, String subject, String body);
 }
@@ -0,0 +1,117 @@
+package com.digiticket.util.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Caché LRU acotada por cantidad de entradas y por peso total (p. ej. bytes estimados).
+ * Read-through: {@link #get} carga con {@code loader} en un miss; un loader que devuelve null no se cachea.
+ * Cuenta hits, misses y evictions para exponerlos como métricas.
+ * Los valores deben ser inmutables: se entregan tal cual a todos los lectores.
+ */
+public class WeightedLruCache<K, V> {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+
+    private final LinkedHashMap<K, V> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long generation;   // sube en cada invalidación; descarta cargas que empezaron antes
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public WeightedLruCache(int maxEntries, long maxWeight, ToLongFunction<V> weigher) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public Optional<V> get(K key, Function<K, V> loader) {
+        long startedAt;
+        synchronized (this) {
+            V cached = entries.get(key);
+            if (cached != null) {
+                hits.increment();
+                return Optional.of(cached);
+            }
+            startedAt = generation;
+        }
+        misses.increment();
+        // La carga (consulta a BD) va fuera del lock para no serializar los misses
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            synchronized (this) {
+                if (generation == startedAt) putLocked(key, loaded);
+            }
+        }
+        return Optional.ofNullable(loaded);
+    }
+
+    public synchronized void put(K key, V value) {
+        putLocked(key, value);
+    }
+
+    private void putLocked(K key, V value) {
+        long w = weigher.applyAsLong(value);
+        if (w > maxWeight) return;   // nunca cabría
+        V previous = entries.put(key, value);
+        if (previous != null) weight -= weigher.applyAsLong(previous);
+        weight += w;
+        evictIfNeeded();
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        V removed = entries.remove(key);
+        if (removed != null) weight -= weigher.applyAsLong(removed);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        weight = 0;
+    }
+
+    // Para cargas hechas fuera de la caché: comparar antes y después de leer descarta lo leído si hubo invalidación
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    public long evictions() {
+        return evictions.sum();
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<K, V>> it = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && it.hasNext()) {
+            V eldest = it.next().getValue();
+            it.remove();
+            weight -= weigher.applyAsLong(eldest);
+            evictions.increment();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.digiticket.util.csv;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lector CSV en streaming según RFC 4180: campos entre comillas con separadores, saltos de línea
+ * y comillas escapadas ("") dentro. Lee un registro a la vez, así que la memoria no depende del tamaño
+ * del archivo. El separador (',' o ';') se detecta en la cabecera, como hacía el parser anterior.
+ */
+public class CsvReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int DEFAULT_MAX_FIELD_CHARS = 16 * 1024 * 1024;   // imageBase64 de hasta ~10 MB
+
+    private final Reader in;
+    private final int maxFieldChars;
+    private final char[] buf = new char[BUFFER_SIZE];
+    private int pos;
+    private int len;
+    private boolean eof;
+
+    private char separator = ',';
+    private Map<String, Integer> columns;
+    private List<String> headers;
+    private int recordNumber;   // la cabecera es el registro 1
+
+    public CsvReader(Reader in) {
+        this(in, DEFAULT_MAX_FIELD_CHARS);
+    }
+
+    public CsvReader(Reader in, int maxFieldChars) {
+        this.in = in;
+        this.maxFieldChars = maxFieldChars;
+    }
+
+    /** Registro de datos; {@code row} es su número contando la cabecera como fila 1. */
+    public record CsvRecord(int row, Map<String, Integer> columns, List<String> values) {
+
+        public String get(String column) {
+            Integer i = columns.get(column);
+            return i != null && i < values.size() ? values.get(i) : null;
+        }
+    }
+
+    public List<String> headers() throws IOException {
+        ensureHeader();
+        return headers;
+    }
+
+    /** Siguiente registro no vacío, o {@code null} al final del archivo. */
+    public CsvRecord next() throws IOException {
+        ensureHeader();
+        while (true) {
+            List<String> values = readRecord();
+            if (values == null) return null;
+            recordNumber++;
+            if (isBlank(values)) continue;
+            return new CsvRecord(recordNumber, columns, values);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void ensureHeader() throws IOException {
+        if (columns != null) return;
+        skipBom();
+        separator = detectSeparator();
+        List<String> raw = readRecord();
+        recordNumber = 1;
+        if (raw == null) {
+            headers = List.of();
+            columns = Map.of();
+            return;
+        }
+        Map<String, Integer> map = new HashMap<>();
+        List<String> names = new ArrayList<>(raw.size());
+        for (int i = 0; i < raw.size(); i++) {
+            String name = raw.get(i).trim();
+            names.add(name);
+            map.putIfAbsent(name, i);
+        }
+        headers = Collections.unmodifiableList(names);
+        columns = Collections.unmodifiableMap(map);
+    }
+
+    // ';' solo si la primera línea lo usa fuera de comillas y no tiene comas
+    private char detectSeparator() throws IOException {
+        boolean quoted = false;
+        boolean comma = false;
+        boolean semicolon = false;
+        for (int i = 0; ; i++) {
+            int c = peek(i);
+            if (c < 0) break;
+            if (c == '"') quoted = !quoted;
+            else if (!quoted && (c == '\n' || c == '\r')) break;
+            else if (!quoted && c == ',') comma = true;
+            else if (!quoted && c == ';') semicolon = true;
+        }
+        return semicolon && !comma ? ';' : ',';
+    }
+
+    private List<String> readRecord() throws IOException {
+        if (peek(0) < 0) return null;
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+
+        while (true) {
+            int c = read();
+            if (c < 0) {
+                values.add(finish(field, wasQuoted));
+                return values;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    if (peek(0) == '"') {
+                        read();
+                        append(field, '"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    append(field, (char) c);
+                }
+            } else if (c == '"' && !wasQuoted && field.toString().isBlank()) {
+                // Los espacios antes de la comilla de apertura se descartan
+                field.setLength(0);
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == separator) {
+                values.add(finish(field, wasQuoted));
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r' && peek(0) == '\n') read();
+                values.add(finish(field, wasQuoted));
+                return values;
+            } else {
+                append(field, (char) c);
+            }
+        }
+    }
+
+    private void append(StringBuilder field, char c) throws IOException {
+        if (field.length() >= maxFieldChars) {
+            throw new IOException("El campo de la fila " + (recordNumber + 1) + " excede " + maxFieldChars + " caracteres");
+        }
+        field.append(c);
+    }
+
+    // Los campos sin comillas se recortan, como hacía el parser anterior; los citados se respetan
+    private static String finish(StringBuilder field, boolean wasQuoted) {
+        return wasQuoted ? field.toString() : field.toString().trim();
+    }
+
+    private static boolean isBlank(List<String> values) {
+        for (String v : values) {
+            if (!v.isBlank()) return false;
+        }
+        return true;
+    }
+
+    private void skipBom() throws IOException {
+        if (peek(0) == '﻿') read();
+    }
+
+    private int read() throws IOException {
+        if (pos >= len && !fill()) return -1;
+        return buf[pos++];
+    }
+
+    // Mira hacia adelante sin consumir; la cabecera se inspecciona completa dentro del buffer
+    private int peek(int offset) throws IOException {
+        while (pos + offset >= len) {
+            if (!fill()) return -1;
+        }
+        return buf[pos + offset];
+    }
+
+    private boolean fill() throws IOException {
+        if (eof) return false;
+        if (pos > 0) {
+            System.arraycopy(buf, pos, buf, 0, len - pos);
+            len -= pos;
+            pos = 0;
+        }
+        if (len == buf.length) return false;   // cabecera más larga que el buffer: se detecta con lo leído
+        int n = in.read(buf, len, buf.length - len);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        len += n;
+        return true;
+    }
+}
@@ -0,0 +1,100 @@
+package com.digiticket.util.email;
+
+import java.util.*;
+
+/**
+ * Template de texto ya parseado: tramos literales intercalados con marcadores {{NOMBRE}}.
+ * Se compila una vez y cada render solo concatena tramos y valores en un StringBuilder del tamaño justo,
+ * en lugar de recorrer el HTML completo con un replace por marcador.
+ */
+public final class CompiledTemplate {
+
+    private final String[] literals;   // keys.length + 1 tramos
+    private final String[] keys;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] keys) {
+        this.literals = literals;
+        this.keys = keys;
+        int len = 0;
+        for (String l : literals) len += l.length();
+        this.literalLength = len;
+    }
+
+    public static CompiledTemplate compile(String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> keys = new ArrayList<>();
+        int pos = 0;
+        while (true) {
+            int open = source.indexOf("{{", pos);
+            int close = open < 0 ? -1 : source.indexOf("}}", open + 2);
+            if (close < 0) break;
+            String key = source.substring(open + 2, close).trim();
+            if (key.isEmpty() || !key.chars().allMatch(c -> Character.isLetterOrDigit(c) || c == '_')) {
+                // No es un marcador (p. ej. llaves en CSS): queda como texto
+                literals.add(source.substring(pos, open + 2));
+                keys.add(null);
+                pos = open + 2;
+                continue;
+            }
+            literals.add(source.substring(pos, open));
+            keys.add(key);
+            pos = close + 2;
+        }
+        literals.add(source.substring(pos));
+        return merge(literals, keys);
+    }
+
+    // Junta los tramos separados por "no marcadores" para que render no los recorra uno a uno
+    private static CompiledTemplate merge(List<String> literals, List<String> keys) {
+        List<String> outLiterals = new ArrayList<>();
+        List<String> outKeys = new ArrayList<>();
+        StringBuilder current = new StringBuilder(literals.get(0));
+        for (int i = 0; i < keys.size(); i++) {
+            if (keys.get(i) == null) {
+                current.append(literals.get(i + 1));
+            } else {
+                outLiterals.add(current.toString());
+                outKeys.add(keys.get(i));
+                current.setLength(0);
+                current.append(literals.get(i + 1));
+            }
+        }
+        outLiterals.add(current.toString());
+        return new CompiledTemplate(outLiterals.toArray(new String[0]), outKeys.toArray(new String[0]));
+    }
+
+    public Set<String> keys() {
+        return new LinkedHashSet<>(Arrays.asList(keys));
+    }
+
+    // Un marcador sin valor es un error de quien llama, no algo a mandar vacío al cliente
+    public void renderTo(StringBuilder out, Map<String, String> values) {
+        out.append(literals[0]);
+        for (int i = 0; i < keys.length; i++) {
+            String value = values.get(keys[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Falta el valor de {{" + keys[i] + "}}");
+            }
+            out.append(value).append(literals[i + 1]);
+        }
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(literalLength + 64 * keys.length);
+        renderTo(out, values);
+        return out.toString();
+    }
+
+    // Render por lote (campañas): reutiliza el mismo buffer para todas las filas
+    public List<String> renderAll(List<Map<String, String>> rows) {
+        List<String> out = new ArrayList<>(rows.size());
+        StringBuilder buffer = new StringBuilder(literalLength + 64 * keys.length);
+        for (Map<String, String> values : rows) {
+            buffer.setLength(0);
+            renderTo(buffer, values);
+            out.add(buffer.toString());
+        }
+        return out;
+    }
+}
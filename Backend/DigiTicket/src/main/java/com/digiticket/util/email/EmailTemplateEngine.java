@@ -0,0 +1,66 @@
+package com.digiticket.util.email;
+
+import com.digiticket.dto.email.EmailTemplate;
+import jakarta.activation.DataSource;
+import jakarta.mail.util.ByteArrayDataSource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Templates de correo compilados al arrancar (templates/email/*.html) y el logo inline en memoria.
+ * El DataSource del logo se comparte entre todos los mensajes: cada lectura abre su propio stream sobre los bytes.
+ */
+@Component
+public class EmailTemplateEngine {
+
+    public record InlineAsset(String contentId, byte[] bytes, String contentType, DataSource dataSource) {}
+
+    private static final Map<EmailTemplate, String> SOURCES = Map.of(
+            EmailTemplate.RESET_PASSWORD, "templates/email/reset-password.html",
+            EmailTemplate.NOTIFICATION, "templates/email/notification.html");
+
+    private final Map<EmailTemplate, CompiledTemplate> compiled = new EnumMap<>(EmailTemplate.class);
+    private final InlineAsset logo;
+
+    public EmailTemplateEngine() {
+        for (EmailTemplate template : EmailTemplate.values()) {
+            String path = SOURCES.get(template);
+            if (path == null) {
+                throw new IllegalStateException("Sin template de correo para " + template);
+            }
+            compiled.put(template, CompiledTemplate.compile(new String(read(path), StandardCharsets.UTF_8)));
+        }
+        byte[] logoBytes = read("static/email/logo_blanco.png");
+        ByteArrayDataSource logoSource = new ByteArrayDataSource(logoBytes, "image/png");
+        logoSource.setName("logo_blanco.png");
+        this.logo = new InlineAsset("logo", logoBytes, "image/png", logoSource);
+    }
+
+    public String render(EmailTemplate template, Map<String, String> values) {
+        return compiled.get(template).render(values);
+    }
+
+    public List<String> renderAll(EmailTemplate template, List<Map<String, String>> rows) {
+        return compiled.get(template).renderAll(rows);
+    }
+
+    public InlineAsset logo() {
+        return logo;
+    }
+
+    private static byte[] read(String path) {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer " + path, e);
+        }
+    }
+}
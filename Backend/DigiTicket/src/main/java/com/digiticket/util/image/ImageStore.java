@@ -0,0 +1,218 @@
+package com.digiticket.util.image;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.Iterator;
+import java.util.function.Supplier;
+
+/**
+ * Store local direccionado por contenido para pósters y sus derivados.
+ * Layout: {root}/{hash[0..2]}/{hash}.orig y {hash}-{variant}.jpg|png, donde hash es el SHA-256 del original.
+ * Dos eventos con el mismo póster comparten archivos; si ya existen no se vuelven a generar.
+ * La copia durable del original sigue en event_image, así que el store se puede regenerar.
+ */
+@Component
+public class ImageStore {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageStore.class);
+    private static final long MAX_PIXELS = 40_000_000L;   // evita decodificar imágenes gigantes en heap
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final Path root;
+
+    public ImageStore(@Value("${media.store-dir:${java.io.tmpdir}/digiticket-media}") String root) {
+        this.root = Paths.get(root);
+    }
+
+    /**
+     * Guarda el original y genera sus derivados decodificando una sola vez.
+     * Si el formato no se puede decodificar (p. ej. WebP sin plugin) solo queda el original
+     * y todas las variantes lo sirven.
+     */
+    public void ingest(String hash, byte[] original) {
+        try {
+            Path orig = originalPath(hash);
+            if (!Files.exists(orig)) {
+                writeAtomically(orig, out -> out.write(original));
+            }
+            if (allDerivativesExist(hash)) return;
+
+            BufferedImage decoded = decode(original);
+            if (decoded == null) {
+                log.warn("ImageStore: no se pudo decodificar {}, se servirá el original", hash);
+                writeAtomically(undecodableMarker(hash), out -> { });
+                return;
+            }
+            boolean alpha = decoded.getColorModel().hasAlpha();
+            for (ImageVariant v : ImageVariant.values()) {
+                if (v == ImageVariant.ORIGINAL || derivative(hash, v) != null) continue;
+                BufferedImage scaled = scale(decoded, v.maxWidth(), alpha);
+                Path target = derivativePath(hash, v, alpha ? "png" : "jpg");
+                writeAtomically(target, out -> encode(scaled, alpha, out));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo guardar la imagen " + hash, e);
+        }
+    }
+
+    /**
+     * Devuelve el archivo de la variante pedida; si falta (store vacío tras un redeploy)
+     * lo regenera desde el original que entrega {@code originalLoader}.
+     */
+    public StoredImage resolve(String hash, ImageVariant variant, String originalContentType,
+                               Supplier<byte[]> originalLoader) {
+        StoredImage found = find(hash, variant, originalContentType);
+        if (found != null) return found;
+
+        byte[] original = originalLoader.get();
+        if (original == null) return null;
+        ingest(hash, original);
+
+        found = find(hash, variant, originalContentType);
+        return found != null ? found : find(hash, ImageVariant.ORIGINAL, originalContentType);
+    }
+
+    private StoredImage find(String hash, ImageVariant variant, String originalContentType) {
+        if (variant == ImageVariant.ORIGINAL) {
+            return stored(originalPath(hash), originalContentType);
+        }
+        Path derived = derivative(hash, variant);
+        if (derived != null) {
+            return stored(derived, derived.toString().endsWith(".png") ? "image/png" : "image/jpeg");
+        }
+        // Original que no se pudo decodificar: todas las variantes sirven el original
+        return Files.exists(undecodableMarker(hash)) ? stored(originalPath(hash), originalContentType) : null;
+    }
+
+    private boolean allDerivativesExist(String hash) {
+        if (Files.exists(undecodableMarker(hash))) return true;
+        for (ImageVariant v : ImageVariant.values()) {
+            if (v != ImageVariant.ORIGINAL && derivative(hash, v) == null) return false;
+        }
+        return true;
+    }
+
+    private BufferedImage decode(byte[] data) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(data))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_PIXELS) return null;
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static BufferedImage scale(BufferedImage src, int maxWidth, boolean alpha) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        if (w > maxWidth) {
+            h = Math.max(1, Math.round(h * (maxWidth / (float) w)));
+            w = maxWidth;
+        }
+        BufferedImage dst = new BufferedImage(w, h, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = dst.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            if (!alpha) {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, w, h);
+            }
+            g.drawImage(src, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return dst;
+    }
+
+    private static void encode(BufferedImage img, boolean alpha, OutputStream out) throws IOException {
+        if (alpha) {
+            ImageIO.write(img, "png", out);
+            return;
+        }
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(img, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    private Path derivative(String hash, ImageVariant v) {
+        Path jpg = derivativePath(hash, v, "jpg");
+        if (Files.exists(jpg)) return jpg;
+        Path png = derivativePath(hash, v, "png");
+        return Files.exists(png) ? png : null;
+    }
+
+    private Path dir(String hash) {
+        return root.resolve(hash.substring(0, 2));
+    }
+
+    private Path originalPath(String hash) {
+        return dir(hash).resolve(hash + ".orig");
+    }
+
+    private Path undecodableMarker(String hash) {
+        return dir(hash).resolve(hash + ".nodecode");
+    }
+
+    private Path derivativePath(String hash, ImageVariant v, String ext) {
+        return dir(hash).resolve(hash + "-" + v.key() + "." + ext);
+    }
+
+    private static StoredImage stored(Path path, String contentType) {
+        try {
+            return new StoredImage(path, contentType, Files.size(path));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeAtomically(Path target, Writer writer) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), "img-", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                writer.write(out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+}
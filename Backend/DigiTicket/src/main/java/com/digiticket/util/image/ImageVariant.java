@@ -0,0 +1,37 @@
+package com.digiticket.util.image;
+
+import java.util.Locale;
+
+/**
+ * Tamaños servidos de cada póster. El ancho es el máximo; se conserva la proporción
+ * y nunca se amplía una imagen más chica.
+ */
+public enum ImageVariant {
+    THUMB(160),
+    CARD(480),
+    HERO(1280),
+    ORIGINAL(0);
+
+    private final int maxWidth;
+
+    ImageVariant(int maxWidth) {
+        this.maxWidth = maxWidth;
+    }
+
+    public int maxWidth() {
+        return maxWidth;
+    }
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static ImageVariant from(String value) {
+        if (value == null || value.isBlank()) return ORIGINAL;
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ORIGINAL;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.digiticket.util.image;
+
+import java.nio.file.Path;
+
+/** Archivo ya generado en el store, listo para enviarse tal cual. */
+public record StoredImage(Path path, String contentType, long size) {}
@@ -11,6 +11,36 @@ import java.util.List;
 
 public class HtmlDashboardTemplate {
 
+    // Cabecera y estilos fijos: se construyen una sola vez y se reutilizan en cada render
+    private static final String HEAD = """
+        <!DOCTYPE html>
+        <html lang="es">
+        <head>
+            <meta charset="UTF-8" />
+            <style>
+                body { font-family: Arial, sans-serif; margin: 28px; color: #222; }
+                h1 { text-align: center; color: #2b4a6f; }
+                .section { margin-top: 18px; }
+                .card {
+                    border: 1px solid #e0e0e0;
+                    border-radius: 8px;
+                    padding: 12px 14px;
+                    background: #fbfbfb;
+                    box-shadow: 0 1px 2px rgba(0,0,0,0.03);
+                }
+                table { width: 100%; border-collapse: collapse; margin-top: 8px; }
+                th, td { padding: 8px 10px; border: 1px solid #e9e9e9; text-align: left; font-size: 12px; }
+                th { background: #f2f6fb; font-weight: 600; }
+                .small { font-size: 11px; color: #666; }
+                .metric { font-size: 20px; font-weight: 700; color: #1f5a91; }
+                .row { display: flex; gap: 12px; }
+                .col { flex: 1; }
+            </style>
+        </head>
+        <body>
+        <h1>Reporte del Dashboard</h1>
+        """;
+
     public static String render(DashboardReportDTO report) {
         DecimalFormat df = new DecimalFormat("#0.00");
 
@@ -19,36 +49,9 @@ public class HtmlDashboardTemplate {
         List<TopEventDTO> topEvents = report.getTopEvents();
         List<RevenueTicketsMetricDTO> revenueMetrics = report.getRevenueMetrics();
 
-        StringBuilder sb = new StringBuilder();
-
-        sb.append("""
-                <!DOCTYPE html>
-                <html lang="es">
-                <head>
-                    <meta charset="UTF-8" />
-                    <style>
-                        body { font-family: Arial, sans-serif; margin: 28px; color: #222; }
-                        h1 { text-align: center; color: #2b4a6f; }
-                        .section { margin-top: 18px; }
-                        .card {
-                            border: 1px solid #e0e0e0;
-                            border-radius: 8px;
-                            padding: 12px 14px;
-                            background: #fbfbfb;
-                            box-shadow: 0 1px 2px rgba(0,0,0,0.03);
-                        }
-                        table { width: 100%; border-collapse: collapse; margin-top: 8px; }
-                        th, td { padding: 8px 10px; border: 1px solid #e9e9e9; text-align: left; font-size: 12px; }
-                        th { background: #f2f6fb; font-weight: 600; }
-                        .small { font-size: 11px; color: #666; }
-                        .metric { font-size: 20px; font-weight: 700; color: #1f5a91; }
-                        .row { display: flex; gap: 12px; }
-                        .col { flex: 1; }
-                    </style>
-                </head>
-                <body>
-                <h1>Reporte del Dashboard</h1>
-                """);
+        StringBuilder sb = new StringBuilder(HEAD.length() + 4096);
+
+        sb.append(HEAD);
 
         // Daily Sales
         sb.append("<div class=\"section card\">")
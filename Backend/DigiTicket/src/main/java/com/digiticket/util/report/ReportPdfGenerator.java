@@ -1,29 +1,30 @@
 package com.digiticket.util.report;
 
 import com.digiticket.dto.report.DashboardReportDTO;
-import com.digiticket.dto.report.DailySalesMetricsDTO;
-import com.digiticket.dto.dashboard.TopCategoryDTO;
-import com.digiticket.dto.dashboard.TopEventDTO;
-import com.digiticket.dto.dashboard.RevenueTicketsMetricDTO;
-
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
-import java.text.DecimalFormat;
-
-import com.openhtmltopdf.pdfboxout.PdfRendererBuilder;
+import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public class ReportPdfGenerator {
 
+    // Fuentes TTF de classpath:fonts/ leídas una sola vez; el nombre del archivo es la familia CSS
+    private static final Map<String, byte[]> FONTS = loadFonts();
+
     public static byte[] generateDashboardPdf(DashboardReportDTO report) {
         try (ByteArrayOutputStream out = new ByteArrayOutputStream()) {
 
             String html = HtmlDashboardTemplate.render(report); // ← renderizas HTML
 
             PdfRendererBuilder builder = new PdfRendererBuilder();
+            builder.useFastMode();
+            FONTS.forEach((family, bytes) ->
+                    builder.useFont(() -> new ByteArrayInputStream(bytes), family));
             builder.withHtmlContent(html, null);
             builder.toStream(out);
             builder.run();
@@ -33,4 +34,23 @@ public class ReportPdfGenerator {
             throw new RuntimeException("Error generando PDF", e);
         }
     }
+
+    private static Map<String, byte[]> loadFonts() {
+        Map<String, byte[]> fonts = new LinkedHashMap<>();
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver()
+                    .getResources("classpath*:fonts/*.ttf");
+            for (Resource r : resources) {
+                String name = r.getFilename();
+                if (name == null) continue;
+                try (InputStream in = r.getInputStream()) {
+                    fonts.put(name.substring(0, name.length() - 4), in.readAllBytes());
+                }
+            }
+        } catch (Exception e) {
+            // Sin fuentes propias se usan las base-14 de PDFBox (Helvetica para Arial/sans-serif)
+            fonts.clear();
+        }
+        return Map.copyOf(fonts);
+    }
 }
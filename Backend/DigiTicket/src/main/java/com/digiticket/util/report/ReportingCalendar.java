@@ -0,0 +1,105 @@
+package com.digiticket.util.report;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.*;
+
+/**
+ * Calendario único para reportes y dashboard.
+ * Los días se definen en la zona de negocio (America/Lima) y se traducen a rangos
+ * semiabiertos [start, end) en UTC, que es como se guardan los DATETIME en la BD.
+ * Los date keys (yyyymmdd) son la clave de la tabla date_dim.
+ */
+@Component
+public class ReportingCalendar {
+
+    public static final ZoneId DEFAULT_ZONE = ZoneId.of("America/Lima");
+
+    private final ZoneId zone;
+    private final Clock clock;
+
+    @Autowired
+    public ReportingCalendar(@Value("${reporting.zone:America/Lima}") String zone) {
+        this(ZoneId.of(zone), Clock.systemUTC());
+    }
+
+    public ReportingCalendar(ZoneId zone, Clock clock) {
+        this.zone = zone;
+        this.clock = clock;
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(clock.withZone(zone));
+    }
+
+    public LocalDateTime nowLocal() {
+        return LocalDateTime.now(clock.withZone(zone));
+    }
+
+    public Range day(LocalDate day) {
+        return between(day, day.plusDays(1));
+    }
+
+    public Range todayRange() {
+        return day(today());
+    }
+
+    public Range yesterday() {
+        return day(today().minusDays(1));
+    }
+
+    // Desde el día 1 del mes actual hasta hoy inclusive
+    public Range monthToDate() {
+        LocalDate today = today();
+        return between(today.withDayOfMonth(1), today.plusDays(1));
+    }
+
+    public Range between(LocalDate from, LocalDate toExclusive) {
+        return new Range(from, toExclusive, startOf(from), startOf(toExclusive));
+    }
+
+    public Instant startOf(LocalDate day) {
+        return day.atStartOfDay(zone).toInstant();
+    }
+
+    // Día de negocio al que pertenece un DATETIME guardado en UTC
+    public LocalDate businessDay(LocalDateTime utc) {
+        return utc.atOffset(ZoneOffset.UTC).atZoneSameInstant(zone).toLocalDate();
+    }
+
+    public static int dateKey(LocalDate day) {
+        return day.getYear() * 10_000 + day.getMonthValue() * 100 + day.getDayOfMonth();
+    }
+
+    public static LocalDateTime toUtc(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    /**
+     * Rango de días [from, toExclusive) con sus instantes UTC equivalentes.
+     */
+    public record Range(LocalDate from, LocalDate toExclusive, Instant start, Instant end) {
+
+        public int fromKey() {
+            return dateKey(from);
+        }
+
+        public int toKey() {
+            return dateKey(toExclusive);
+        }
+
+        public LocalDateTime startUtc() {
+            return toUtc(start);
+        }
+
+        public LocalDateTime endUtc() {
+            return toUtc(end);
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.digiticket.util.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Términos de búsqueda de clientes (tabla client_search_token).
+ * Se indexan las palabras de nombre y apellido, las del usuario del correo más el primer tramo del dominio,
+ * y el número de documento; nombre y apellido además aportan sus trigramas para coincidencias por infijo.
+ * Cada trigrama lleva el número de la palabra que lo generó, para que un infijo tenga que caer
+ * dentro de una sola palabra y no se arme con trigramas sueltos del nombre y del apellido.
+ * Sin stopwords ni plurales: en nombres propios "de", "la" o "Torres" se buscan tal cual.
+ */
+public final class ClientSearchTokens {
+
+    public static final int MAX_TOKEN_LENGTH = 64;
+    public static final int MIN_PREFIX_LENGTH = 2;
+    public static final int MIN_INFIX_LENGTH = 3;
+
+    // Los trigramas llevan un marcador fuera de [a-z0-9] para no mezclarse con las palabras en un LIKE 'ab%'
+    static final char TRIGRAM_MARK = '~';
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    // Las palabras completas van con word = 0; los trigramas con el número (desde 1) de su palabra
+    public static final int WHOLE_WORD = 0;
+
+    public record Term(String token, int word) {}
+
+    private ClientSearchTokens() {}
+
+    public static Set<Term> index(String firstName, String lastName, String email, String documentNumber) {
+        Set<Term> out = new LinkedHashSet<>();
+        int ordinal = 0;
+        for (String name : new String[]{firstName, lastName}) {
+            for (String word : words(name)) {
+                out.add(new Term(word, WHOLE_WORD));
+                int n = ++ordinal;
+                trigrams(word).forEach(g -> out.add(new Term(g, n)));
+            }
+        }
+        if (email != null) {
+            int at = email.indexOf('@');
+            addWords(out, at >= 0 ? email.substring(0, at) : email);
+            if (at >= 0) {
+                String domain = email.substring(at + 1);
+                int dot = domain.indexOf('.');
+                addWords(out, dot >= 0 ? domain.substring(0, dot) : domain);
+            }
+        }
+        addWords(out, documentNumber);
+        return out;
+    }
+
+    private static void addWords(Set<Term> out, String text) {
+        words(text).forEach(w -> out.add(new Term(w, WHOLE_WORD)));
+    }
+
+    // Palabras de la consulta, sin repetir y en orden
+    public static List<String> query(String text) {
+        return new ArrayList<>(new LinkedHashSet<>(words(text)));
+    }
+
+    public static List<String> trigrams(String word) {
+        List<String> out = new ArrayList<>();
+        for (int i = 0; i + 3 <= word.length(); i++) {
+            out.add(TRIGRAM_MARK + word.substring(i, i + 3));
+        }
+        return out;
+    }
+
+    static List<String> words(String text) {
+        List<String> out = new ArrayList<>();
+        if (text == null || text.isBlank()) return out;
+        for (String w : SEPARATORS.split(SpanishAnalyzer.fold(text))) {
+            if (w.isEmpty()) continue;
+            out.add(w.length() > MAX_TOKEN_LENGTH ? w.substring(0, MAX_TOKEN_LENGTH) : w);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,111 @@
+package com.digiticket.util.search;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Snapshot columnar e inmutable para navegación por facetas.
+ * Las filas están ordenadas (por fecha en el catálogo); cada valor de cada faceta
+ * guarda un BitSet con las filas que lo tienen. Filtrar es OR dentro de una faceta y
+ * AND entre facetas; el conteo de una faceta se calcula con todos los filtros salvo el suyo,
+ * así cada opción muestra cuántos resultados tendría si se eligiera.
+ */
+public final class FacetSnapshot<T> {
+
+    private final List<T> rows;
+    private final Map<String, Map<String, BitSet>> facets;
+    private final BitSet all;
+
+    private FacetSnapshot(List<T> rows, Map<String, Map<String, BitSet>> facets) {
+        this.rows = rows;
+        this.facets = facets;
+        this.all = new BitSet(rows.size());
+        this.all.set(0, rows.size());
+    }
+
+    /**
+     * @param rows       filas ya ordenadas
+     * @param extractors faceta → función que devuelve el valor de la fila (null = sin valor)
+     */
+    public static <T> FacetSnapshot<T> build(List<T> rows, Map<String, Function<T, String>> extractors) {
+        Map<String, Map<String, BitSet>> facets = new LinkedHashMap<>();
+        extractors.forEach((facet, fn) -> {
+            Map<String, BitSet> values = new TreeMap<>();
+            for (int i = 0; i < rows.size(); i++) {
+                String v = fn.apply(rows.get(i));
+                if (v != null) values.computeIfAbsent(v, k -> new BitSet(rows.size())).set(i);
+            }
+            facets.put(facet, values);
+        });
+        return new FacetSnapshot<>(List.copyOf(rows), facets);
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    public T row(int index) {
+        return rows.get(index);
+    }
+
+    /**
+     * @param selected faceta → valores elegidos (vacío o ausente = sin filtro)
+     * @param base     filas admitidas por filtros que no son facetas (rango de fechas); null = todas
+     */
+    public Result query(Map<String, Set<String>> selected, BitSet base) {
+        Map<String, BitSet> perFacet = new HashMap<>();
+        selected.forEach((facet, values) -> {
+            if (values == null || values.isEmpty() || !facets.containsKey(facet)) return;
+            BitSet union = new BitSet(rows.size());
+            for (String v : values) {
+                BitSet bits = facets.get(facet).get(v);
+                if (bits != null) union.or(bits);
+            }
+            perFacet.put(facet, union);
+        });
+
+        BitSet matches = intersectExcept(perFacet, base, null);
+
+        Map<String, Map<String, Integer>> counts = new LinkedHashMap<>();
+        facets.forEach((facet, values) -> {
+            BitSet others = perFacet.containsKey(facet) ? intersectExcept(perFacet, base, facet) : matches;
+            Map<String, Integer> c = new LinkedHashMap<>();
+            values.forEach((value, bits) -> {
+                BitSet tmp = (BitSet) bits.clone();
+                tmp.and(others);
+                int n = tmp.cardinality();
+                if (n > 0 || selected.getOrDefault(facet, Set.of()).contains(value)) c.put(value, n);
+            });
+            counts.put(facet, c);
+        });
+        return new Result(matches, counts);
+    }
+
+    private BitSet intersectExcept(Map<String, BitSet> perFacet, BitSet base, String skip) {
+        BitSet acc = (BitSet) (base != null ? base : all).clone();
+        perFacet.forEach((facet, bits) -> {
+            if (!facet.equals(skip)) acc.and(bits);
+        });
+        return acc;
+    }
+
+    public record Result(BitSet matches, Map<String, Map<String, Integer>> counts) {
+
+        public int total() {
+            return matches.cardinality();
+        }
+
+        // Índices de fila de la página pedida, en el orden del snapshot
+        public int[] page(int page, int size) {
+            int skip = page * size;
+            int[] out = new int[Math.max(0, Math.min(size, total() - skip))];
+            int i = matches.nextSetBit(0);
+            for (int s = 0; s < skip && i >= 0; s++) i = matches.nextSetBit(i + 1);
+            for (int k = 0; k < out.length && i >= 0; k++) {
+                out[k] = i;
+                i = matches.nextSetBit(i + 1);
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.digiticket.util.search;
+
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntPredicate;
+
+/**
+ * Índice invertido en memoria con ranking BM25.
+ * Cada documento se indexa por campos con peso (el peso multiplica la frecuencia del término);
+ * el diccionario es ordenado para resolver el último término de la consulta como prefijo (typeahead).
+ * Todas las palabras de la consulta deben aparecer en el documento.
+ */
+public class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final double PREFIX_PENALTY = 0.8;   // una coincidencia exacta rankea sobre una por prefijo
+
+    public record Field(String text, float weight) {}
+
+    private final NavigableMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+    private final Map<Integer, Set<String>> docTerms = new HashMap<>();
+    private final Map<Integer, Float> docLength = new HashMap<>();
+    private double totalLength;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void put(int docId, List<Field> fields) {
+        Map<String, Float> tf = new HashMap<>();
+        float length = 0;
+        for (Field f : fields) {
+            for (String t : SpanishAnalyzer.tokens(f.text())) {
+                tf.merge(t, f.weight(), Float::sum);
+                length += f.weight();
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+            tf.forEach((term, freq) -> postings.computeIfAbsent(term, k -> new HashMap<>()).put(docId, freq));
+            docTerms.put(docId, tf.keySet());
+            docLength.put(docId, length);
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int docId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(docId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docTerms.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids ordenados por relevancia. Si la consulta no termina en espacio, la última palabra
+     * también coincide por prefijo. {@code filter} descarta documentos antes de cortar en {@code limit}.
+     */
+    public List<Integer> search(String query, int limit, IntPredicate filter) {
+        List<String> terms = SpanishAnalyzer.tokens(query);
+        String prefix = null;
+        if (query != null && !query.isEmpty() && !Character.isWhitespace(query.charAt(query.length() - 1))) {
+            String[] words = query.trim().split("\\s+");
+            String lastWord = words[words.length - 1];
+            // Solo una palabra con un único término: una stopword ("festival de") no aporta término
+            // y una palabra compuesta ("rock-po") aporta varios; en ambos casos todo se busca exacto
+            if (SpanishAnalyzer.tokens(lastWord).size() == 1) {
+                prefix = SpanishAnalyzer.prefix(lastWord);
+                if (prefix != null && prefix.length() < MIN_PREFIX_LENGTH) prefix = null;
+            }
+            // La última palabra se evalúa como prefijo (incluye la forma exacta)
+            if (prefix != null) terms = terms.subList(0, terms.size() - 1);
+        }
+        if (terms.isEmpty() && prefix == null) return List.of();
+
+        lock.readLock().lock();
+        try {
+            int n = docTerms.size();
+            if (n == 0) return List.of();
+            double avgLength = totalLength / n;
+
+            Map<Integer, Double> scores = null;
+            for (String term : terms) {
+                Map<Integer, Double> termScores = new HashMap<>();
+                accumulate(postings.get(term), n, avgLength, 1.0, termScores);
+                scores = intersect(scores, termScores);
+                if (scores.isEmpty()) return List.of();
+            }
+            if (prefix != null) {
+                Map<Integer, Double> prefixScores = new HashMap<>();
+                int expanded = 0;
+                for (Map.Entry<String, Map<Integer, Float>> e
+                        : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).entrySet()) {
+                    double boost = e.getKey().equals(prefix) || e.getKey().equals(SpanishAnalyzer.stem(prefix))
+                            ? 1.0 : PREFIX_PENALTY;
+                    accumulate(e.getValue(), n, avgLength, boost, prefixScores);
+                    if (++expanded >= MAX_PREFIX_EXPANSIONS) break;
+                }
+                // El plural completo ("conciertos") se indexó como singular: se busca también su forma reducida
+                String stemmed = SpanishAnalyzer.stem(prefix);
+                if (!stemmed.startsWith(prefix)) {
+                    accumulate(postings.get(stemmed), n, avgLength, 1.0, prefixScores);
+                }
+                scores = intersect(scores, prefixScores);
+            }
+
+            return scores.entrySet().stream()
+                    .filter(e -> filter == null || filter.test(e.getKey()))
+                    .sorted(Map.Entry.<Integer, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Suma el BM25 del término; para prefijos se queda con el mejor término expandido de cada documento
+    private void accumulate(Map<Integer, Float> docs, int n, double avgLength, double boost, Map<Integer, Double> out) {
+        if (docs == null || docs.isEmpty()) return;
+        double idf = Math.log(1 + (n - docs.size() + 0.5) / (docs.size() + 0.5));
+        docs.forEach((doc, tf) -> {
+            double norm = K1 * (1 - B + B * docLength.getOrDefault(doc, 0f) / avgLength);
+            double s = boost * idf * tf * (K1 + 1) / (tf + norm);
+            out.merge(doc, s, Math::max);
+        });
+    }
+
+    private static Map<Integer, Double> intersect(Map<Integer, Double> acc, Map<Integer, Double> next) {
+        if (acc == null) return next;
+        Map<Integer, Double> out = new HashMap<>();
+        acc.forEach((doc, s) -> {
+            Double t = next.get(doc);
+            if (t != null) out.put(doc, s + t);
+        });
+        return out;
+    }
+
+    private void removeLocked(int docId) {
+        Set<String> terms = docTerms.remove(docId);
+        if (terms == null) return;
+        for (String t : terms) {
+            Map<Integer, Float> docs = postings.get(t);
+            if (docs == null) continue;
+            docs.remove(docId);
+            if (docs.isEmpty()) postings.remove(t);
+        }
+        Float len = docLength.remove(docId);
+        if (len != null) totalLength -= len;
+    }
+}
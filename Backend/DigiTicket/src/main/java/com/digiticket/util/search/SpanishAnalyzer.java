@@ -0,0 +1,56 @@
+package com.digiticket.util.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalización para búsqueda en español: minúsculas, sin tildes (á→a, ñ→n),
+ * separación por caracteres no alfanuméricos, sin stopwords y con un plural→singular simple.
+ * Se aplica igual al indexar y al consultar.
+ */
+public final class SpanishAnalyzer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "al", "con", "de", "del", "e", "el", "en", "la", "las", "lo", "los",
+            "o", "para", "por", "que", "se", "su", "sus", "u", "un", "una", "y"
+    );
+
+    private SpanishAnalyzer() {}
+
+    public static List<String> tokens(String text) {
+        List<String> out = new ArrayList<>();
+        if (text == null || text.isBlank()) return out;
+        for (String raw : SEPARATORS.split(fold(text))) {
+            if (raw.isEmpty() || STOPWORDS.contains(raw)) continue;
+            out.add(stem(raw));
+        }
+        return out;
+    }
+
+    // Término de consulta incompleto (typeahead): solo se pliega, no se recorta el plural
+    public static String prefix(String text) {
+        String folded = SEPARATORS.matcher(fold(text)).replaceAll("");
+        return folded.isEmpty() ? null : folded;
+    }
+
+    public static String fold(String text) {
+        String decomposed = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return DIACRITICS.matcher(decomposed).replaceAll("");
+    }
+
+    // luces→luz, festivales→festival, canciones→cancion, noches→noche
+    static String stem(String t) {
+        int n = t.length();
+        if (n <= 3 || t.charAt(n - 1) != 's' || Character.isDigit(t.charAt(0))) return t;
+        if (n > 4 && t.endsWith("ces")) return t.substring(0, n - 3) + "z";
+        if (n > 4 && t.charAt(n - 2) == 'e' && "lrndj".indexOf(t.charAt(n - 3)) >= 0) return t.substring(0, n - 2);
+        return t.substring(0, n - 1);
+    }
+}
@@ -0,0 +1,4 @@
+-- Listados del panel de clientes (AdminClientQueryRepository): filtro por estado del usuario y orden por
+-- apellido/nombre leídos del índice; el COUNT de la paginación recorre el mismo rango.
+
+CREATE INDEX idx_users_status_name ON users (status, last_name, first_name);
@@ -0,0 +1,39 @@
+-- Tablas resumen del pipeline de analítica (ver AnalyticsServiceImpl).
+-- Se llenan de forma incremental desde las tablas OLTP por watermark de id con upserts idempotentes;
+-- embudo y cohortes solo leen de aquí.
+
+-- Id hasta el que la tabla fuente está confirmada; lo posterior se relee en cada corrida
+-- durante analytics.ingest.rescan-lag-ms por si aparecen ids menores confirmados tarde
+CREATE TABLE IF NOT EXISTS analytics_watermark (
+    source      VARCHAR(32) NOT NULL PRIMARY KEY,
+    last_id     BIGINT      NOT NULL,
+    updated_at  DATETIME    NOT NULL
+);
+
+-- Una fila por usuario y día de negocio con las etapas del embudo alcanzadas
+CREATE TABLE IF NOT EXISTS analytics_user_day (
+    date_key     INT     NOT NULL,                -- yyyymmdd, ver date_dim
+    user_id      INT     NOT NULL,
+    logged_in    TINYINT NOT NULL DEFAULT 0,
+    held         TINYINT NOT NULL DEFAULT 0,
+    checked_out  TINYINT NOT NULL DEFAULT 0,
+    paid         TINYINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (date_key, user_id)
+);
+
+-- Cohorte de cada cliente = mes de su primera compra
+CREATE TABLE IF NOT EXISTS analytics_client_cohort (
+    client_id       INT            NOT NULL PRIMARY KEY,
+    first_date_key  INT            NOT NULL,
+    first_month     VARCHAR(7)     NOT NULL,      -- yyyy-MM
+    purchases       INT            NOT NULL DEFAULT 0,
+    total_amount    DECIMAL(12, 2) NOT NULL DEFAULT 0,
+    INDEX idx_analytics_client_cohort_month (first_month)
+);
+
+-- Meses en los que cada cliente compró al menos una vez
+CREATE TABLE IF NOT EXISTS analytics_client_month (
+    client_id    INT        NOT NULL,
+    month_label  VARCHAR(7) NOT NULL,
+    PRIMARY KEY (client_id, month_label)
+);
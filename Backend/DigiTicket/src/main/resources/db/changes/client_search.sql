@@ -0,0 +1,12 @@
+-- Índice de búsqueda de clientes (ClientSearchServiceImpl): palabras de nombre, apellido, correo y documento,
+-- más trigramas de nombre y apellido marcados con '~'. Prefijos e infijos se resuelven como rangos de la PK.
+-- word_no: 0 en palabras completas; en trigramas, el número de la palabra de la que salen
+-- (un infijo debe estar entero dentro de una palabra).
+
+CREATE TABLE IF NOT EXISTS client_search_token (
+    token       VARCHAR(64) NOT NULL,
+    client_id   INT         NOT NULL,
+    word_no     SMALLINT    NOT NULL DEFAULT 0,
+    PRIMARY KEY (token, client_id, word_no),
+    INDEX idx_client_search_token_client (client_id)   -- reescritura de los términos de un cliente
+);
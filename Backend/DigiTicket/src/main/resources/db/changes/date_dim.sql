@@ -0,0 +1,33 @@
+-- Dimensión de fechas para reportes (ver DateDim / ReportingCalendar).
+-- Las filas las genera DateDimServiceImpl al arrancar; aquí solo va el DDL,
+-- necesario porque spring.jpa.hibernate.ddl-auto = validate.
+
+CREATE TABLE IF NOT EXISTS date_dim (
+    date_key       INT         NOT NULL PRIMARY KEY,   -- yyyymmdd
+    calendar_date  DATE        NOT NULL,
+    start_utc      DATETIME    NOT NULL,               -- inicio del día America/Lima en UTC
+    end_utc        DATETIME    NOT NULL,               -- fin exclusivo
+    cal_year       INT         NOT NULL,
+    cal_month      INT         NOT NULL,
+    day_of_week    INT         NOT NULL,               -- ISO: 1 = lunes
+    iso_year_week  INT         NOT NULL,               -- yyyyww
+    month_label    VARCHAR(7)  NOT NULL,               -- yyyy-MM
+    month_start    DATE        NOT NULL,
+    CONSTRAINT uq_date_dim_calendar_date UNIQUE (calendar_date),
+    INDEX idx_date_dim_start_utc (start_utc)
+);
+
+-- Índices para que el JOIN por rango [start_utc, end_utc) sea un range scan
+CREATE INDEX idx_purchase_status_created_at ON purchase (status, created_at);
+CREATE INDEX idx_purchase_created_at ON purchase (created_at);
+CREATE INDEX idx_audit_log_action_created_at ON audit_log (action, created_at);
+
+-- Conversiones de datos que la aplicación aplica una sola vez al arrancar.
+-- audit_log_utc: audit_log.created_at pasa de hora local de Lima (UTC-5) a UTC. El primer arranque con
+-- el código nuevo registra aquí el último id escrito en hora local y corre esas filas en la misma
+-- transacción (ver AuditLogServiceImpl); si la fila ya existe no se vuelve a convertir.
+CREATE TABLE IF NOT EXISTS data_migration (
+    name        VARCHAR(64) NOT NULL PRIMARY KEY,
+    last_id     BIGINT      NOT NULL,               -- último id anterior al corte
+    applied_at  DATETIME    NOT NULL                -- UTC
+);
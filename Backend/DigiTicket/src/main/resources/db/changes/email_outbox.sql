@@ -0,0 +1,23 @@
+-- Outbox de correo saliente (ver EmailOutboxServiceImpl).
+-- Quien envía un correo inserta una fila en su propia transacción; los workers la reclaman con
+-- FOR UPDATE SKIP LOCKED, la envían y la marcan SENT, o la reprograman con espera exponencial.
+-- Una fila SENDING cuyo next_attempt_at ya pasó es de un worker caído y se vuelve a reclamar.
+-- Las filas SENT/FAILED se borran tras email.outbox.retention-hours (guardan destinatario y token).
+
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id               BIGINT        NOT NULL AUTO_INCREMENT,
+    recipient        VARCHAR(320)  NOT NULL,
+    recipient_domain VARCHAR(255)  NOT NULL,
+    template         VARCHAR(30)   NOT NULL,              -- RESET_PASSWORD | NOTIFICATION
+    params           TEXT          NOT NULL,              -- JSON con los valores del template
+    notification_id  INT           NULL,                  -- notification a marcar sent_at al enviar
+    status           VARCHAR(10)   NOT NULL,              -- PENDING | SENDING | SENT | FAILED
+    attempts         INT           NOT NULL DEFAULT 0,
+    next_attempt_at  DATETIME      NOT NULL,
+    last_error       VARCHAR(500)  NULL,
+    created_at       DATETIME      NOT NULL,
+    sent_at          DATETIME      NULL,
+    PRIMARY KEY (id),
+    INDEX idx_email_outbox_due (status, next_attempt_at),
+    INDEX idx_email_outbox_purge (status, created_at)     -- purga horaria de SENT/FAILED por antigüedad
+);
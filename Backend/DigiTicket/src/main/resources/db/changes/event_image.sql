@@ -0,0 +1,30 @@
+-- Pósters de eventos fuera de la tabla event (ver EventImage / EventImageController).
+-- event.image_data deja de estar mapeado: listar eventos ya no lee el BLOB.
+
+CREATE TABLE IF NOT EXISTS event_image (
+    event_id      INT          NOT NULL PRIMARY KEY,
+    content_type  VARCHAR(64)  NOT NULL,
+    sha256        VARCHAR(64)  NOT NULL,
+    size_bytes    INT          NOT NULL,
+    data          MEDIUMBLOB   NOT NULL,
+    updated_at    DATETIME     NOT NULL,
+    CONSTRAINT fk_event_image_event FOREIGN KEY (event_id) REFERENCES event (id) ON DELETE CASCADE
+);
+
+ALTER TABLE event ADD COLUMN image_hash VARCHAR(64) NULL;
+
+-- Migración de las imágenes existentes (el tipo se asume JPEG, como se servía antes)
+INSERT INTO event_image (event_id, content_type, sha256, size_bytes, data, updated_at)
+SELECT id,
+       CASE WHEN HEX(LEFT(image_data, 4)) = '89504E47' THEN 'image/png' ELSE 'image/jpeg' END,
+       SHA2(image_data, 256),
+       LENGTH(image_data),
+       image_data,
+       UTC_TIMESTAMP()
+FROM event
+WHERE image_data IS NOT NULL AND LENGTH(image_data) > 0;
+
+UPDATE event e JOIN event_image i ON i.event_id = e.id SET e.image_hash = i.sha256;
+
+-- Una vez verificado el despliegue:
+-- ALTER TABLE event DROP COLUMN image_data;
@@ -0,0 +1,13 @@
+-- Saldo de puntos materializado por cliente (ver LoyaltyBalanceServiceImpl).
+-- Se recalcula en la misma transacción que cada movimiento de loyalty_points y se reconcilia cada noche;
+-- consultar el saldo es una lectura por clave primaria.
+
+CREATE TABLE IF NOT EXISTS loyalty_balance (
+    client_id           INT       NOT NULL,
+    active_points       INT       NOT NULL DEFAULT 0,   -- lotes ACTIVE no vencidos
+    redeemable_points   INT       NOT NULL DEFAULT 0,
+    next_expiry_at      DATETIME  NULL,                 -- vencimiento más próximo entre esos lotes
+    next_expiry_points  INT       NOT NULL DEFAULT 0,   -- puntos que vencen en next_expiry_at
+    updated_at          DATETIME  NOT NULL,
+    PRIMARY KEY (client_id)
+);
@@ -0,0 +1,4 @@
+-- Vencimiento masivo de puntos (LoyaltyPointExpiryServiceImpl): los lotes ACTIVE vencidos se recorren
+-- por este índice en batches, y el listado de clientes con puntos por vencer usa el mismo rango.
+
+CREATE INDEX idx_loyalty_points_status_expires ON loyalty_points (status, expires_at);
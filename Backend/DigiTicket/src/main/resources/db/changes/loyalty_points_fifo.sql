@@ -0,0 +1,4 @@
+-- Canje FIFO de puntos (LoyaltyLedgerRepository): los lotes ACTIVE de un cliente se leen con FOR UPDATE
+-- en orden de vencimiento directamente del índice, sin filesort y bloqueando solo ese rango.
+
+CREATE INDEX idx_loyalty_points_client_status_expires ON loyalty_points (client_id, status, expires_at);
@@ -0,0 +1,22 @@
+-- Contadores de ventas para los rankings de eventos y categorías (ver SalesRankingServiceImpl).
+-- Se incrementan en lote tras cada checkout confirmado; si están vacías se llenan al arrancar.
+
+CREATE TABLE IF NOT EXISTS sales_rank_day (
+    dimension  VARCHAR(16)    NOT NULL,           -- EVENT | CATEGORY
+    date_key   INT            NOT NULL,           -- yyyymmdd, ver date_dim
+    item_id    INT            NOT NULL,           -- event.id o event_category.id
+    quantity   BIGINT         NOT NULL DEFAULT 0,
+    amount     DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (dimension, date_key, item_id),
+    INDEX idx_sales_rank_day_date (date_key)
+);
+
+CREATE TABLE IF NOT EXISTS sales_rank_month (
+    dimension  VARCHAR(16)    NOT NULL,
+    month_key  INT            NOT NULL,           -- yyyymm
+    item_id    INT            NOT NULL,
+    quantity   BIGINT         NOT NULL DEFAULT 0,
+    amount     DECIMAL(14, 2) NOT NULL DEFAULT 0,
+    PRIMARY KEY (dimension, month_key, item_id),
+    INDEX idx_sales_rank_month_top (dimension, month_key, quantity)
+);
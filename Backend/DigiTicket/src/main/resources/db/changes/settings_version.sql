@@ -0,0 +1,6 @@
+-- Versión de las filas de configuración (ver SettingsServiceImpl y PointsConfigServiceImpl).
+-- Cada nodo guarda la configuración en memoria y solo consulta esta columna para saber si debe recargarla;
+-- la incrementa Hibernate (@Version) en cada actualización.
+
+ALTER TABLE system_settings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE points_config ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
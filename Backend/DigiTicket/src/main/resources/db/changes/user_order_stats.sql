@@ -0,0 +1,23 @@
+-- Resumen de compras por usuario para el perfil (ver UserOrderStatsServiceImpl).
+-- El checkout suma cada orden pagada en la misma transacción; leer el perfil es una lectura por clave primaria.
+
+CREATE TABLE IF NOT EXISTS user_order_stats (
+    user_id       INT            NOT NULL,
+    order_count   INT            NOT NULL DEFAULT 0,   -- órdenes PAID
+    total_spent   DECIMAL(12, 2) NOT NULL DEFAULT 0,   -- suma de total_paid de esas órdenes
+    updated_at    DATETIME       NOT NULL,
+    PRIMARY KEY (user_id)
+);
+
+-- Respaldo para usuarios sin fila y para el backfill: COUNT/SUM resueltos solo con el índice
+CREATE INDEX idx_order_user_status ON `order` (user_id, status, total_paid);
+
+-- Carga inicial desde las órdenes existentes; luego la mantienen el checkout y la reconciliación nocturna
+INSERT INTO user_order_stats (user_id, order_count, total_spent, updated_at)
+SELECT user_id, COUNT(*), COALESCE(SUM(total_paid), 0), CURRENT_TIMESTAMP
+FROM `order`
+WHERE status = 'PAID' AND user_id IS NOT NULL
+GROUP BY user_id
+ON DUPLICATE KEY UPDATE order_count = VALUES(order_count),
+                        total_spent = VALUES(total_spent),
+                        updated_at = VALUES(updated_at);
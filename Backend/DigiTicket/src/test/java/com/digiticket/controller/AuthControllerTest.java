@@ -7,8 +7,9 @@ import com.digiticket.dto.auth.LoginRequest;
 import com.digiticket.dto.auth.LoginResponse;
 import com.digiticket.repository.user.UserRepository;
 import com.digiticket.service.auth.AuthService;
+import com.digiticket.dto.email.OutboundEmail;
 import com.digiticket.service.auth.PasswordResetService;
-import com.digiticket.util.EmailService;
+import com.digiticket.service.email.EmailOutboxService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -48,7 +49,7 @@ public class AuthControllerTest {
     @MockitoBean
     UserRepository userRepository;
     @MockitoBean
-    EmailService emailService;
+    EmailOutboxService emailOutboxService;
 
 
     @Test
@@ -150,7 +151,7 @@ public class AuthControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string(containsString("Se ha enviado el token")));
 
-        verify(emailService).sendResetPasswordEmail("user@acme.com", "ABC123");
+        verify(emailOutboxService).enqueue(OutboundEmail.resetPassword("user@acme.com", "ABC123"));
     }
 
     @Test
@@ -7,6 +7,7 @@ import com.digiticket.domain.location.Location;
 import com.digiticket.domain.user.Administrator;
 import com.digiticket.exception.GlobalExceptionHandler;
 import com.digiticket.service.event.EventService;
+import com.digiticket.service.event.PublishedEventCache;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -46,6 +47,9 @@ public class EventControllerTest {
     @MockitoBean
     EventService service;
 
+    @MockitoBean
+    PublishedEventCache publishedEventCache;
+
     private Event sampleEvent(Integer id) {
         var loc = Location.builder().id(1).build();
         var cat = EventCategory.builder().id(2).name("Música").build();
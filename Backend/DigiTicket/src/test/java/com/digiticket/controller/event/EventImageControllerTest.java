@@ -0,0 +1,133 @@
+package com.digiticket.controller.event;
+
+import com.digiticket.exception.GlobalExceptionHandler;
+import com.digiticket.service.event.EventImageService;
+import com.digiticket.util.image.ImageVariant;
+import com.digiticket.util.image.StoredImage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventImageControllerTest {
+
+    private static final String HASH = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+    private static final String CARD_ETAG = "\"" + HASH + "-card\"";
+
+    @Mock
+    EventImageService service;
+
+    @TempDir
+    Path dir;
+
+    MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        this.mvc = MockMvcBuilders
+                .standaloneSetup(new EventImageController(service))
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    private void givenStoredCard(byte[] bytes) throws Exception {
+        Path file = Files.write(dir.resolve("card.jpg"), bytes);
+        given(service.open(5, ImageVariant.CARD))
+                .willReturn(Optional.of(new StoredImage(file, "image/jpeg", bytes.length)));
+    }
+
+    @Test
+    @DisplayName("GET con ?v= igual al hash → 200, ETag por variante y cache inmutable")
+    void get_versioned_is_immutable() throws Exception {
+        given(service.findHash(5)).willReturn(Optional.of(HASH));
+        givenStoredCard(new byte[]{1, 2, 3});
+
+        mvc.perform(get("/api/event/5/image").param("size", "card").param("v", HASH))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", CARD_ETAG))
+                .andExpect(header().string("Cache-Control", containsString("immutable")))
+                .andExpect(header().string("Cache-Control", containsString("max-age=31536000")))
+                .andExpect(content().contentType("image/jpeg"))
+                .andExpect(content().bytes(new byte[]{1, 2, 3}));
+    }
+
+    @Test
+    @DisplayName("?v= vacío o prefijo del hash → revalida, no se fija como inmutable")
+    void get_partial_version_revalidates() throws Exception {
+        given(service.findHash(5)).willReturn(Optional.of(HASH));
+        givenStoredCard(new byte[]{1});
+
+        for (String v : new String[]{"", "0", HASH.substring(0, 12)}) {
+            mvc.perform(get("/api/event/5/image").param("size", "card").param("v", v))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string("Cache-Control", containsString("no-cache")))
+                    .andExpect(header().string("Cache-Control", not(containsString("immutable"))));
+        }
+    }
+
+    @Test
+    @DisplayName("Sin ?v= → no-cache para que el navegador revalide con If-None-Match")
+    void get_without_version_revalidates() throws Exception {
+        given(service.findHash(5)).willReturn(Optional.of(HASH));
+        givenStoredCard(new byte[]{1});
+
+        mvc.perform(get("/api/event/5/image").param("size", "card"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", containsString("no-cache")));
+    }
+
+    @Test
+    @DisplayName("If-None-Match con el ETag actual → 304 sin abrir la imagen")
+    void get_matching_etag_returns_304() throws Exception {
+        given(service.findHash(5)).willReturn(Optional.of(HASH));
+
+        mvc.perform(get("/api/event/5/image").param("size", "card")
+                        .header("If-None-Match", "W/\"otro\", " + CARD_ETAG))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", CARD_ETAG))
+                .andExpect(content().bytes(new byte[0]));
+
+        verify(service, never()).open(anyInt(), any());
+    }
+
+    @Test
+    @DisplayName("If-None-Match de otra variante → 200 con el cuerpo")
+    void get_other_variant_etag_returns_200() throws Exception {
+        given(service.findHash(5)).willReturn(Optional.of(HASH));
+        givenStoredCard(new byte[]{9});
+
+        mvc.perform(get("/api/event/5/image").param("size", "card")
+                        .header("If-None-Match", "\"" + HASH + "-thumb\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(new byte[]{9}));
+    }
+
+    @Test
+    @DisplayName("Evento sin imagen → 404")
+    void get_without_image_returns_404() throws Exception {
+        given(service.findHash(5)).willReturn(Optional.empty());
+
+        mvc.perform(get("/api/event/5/image"))
+                .andExpect(status().isNotFound());
+    }
+}
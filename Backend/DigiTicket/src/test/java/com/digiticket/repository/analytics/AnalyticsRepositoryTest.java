@@ -0,0 +1,157 @@
+package com.digiticket.repository.analytics;
+
+import com.digiticket.repository.analytics.AnalyticsRepository.ClientPurchaseRow;
+import com.digiticket.repository.analytics.AnalyticsRepository.ClientTotalsRow;
+import com.digiticket.repository.analytics.AnalyticsRepository.PurchaseRow;
+import com.digiticket.repository.analytics.AnalyticsRepository.UserDayRow;
+import com.digiticket.service.impl.analytics.AnalyticsServiceImpl;
+import com.digiticket.util.report.ReportingCalendar;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@Import(AnalyticsRepository.class)
+@Sql(scripts = "classpath:db/changes/analytics.sql", executionPhase = ExecutionPhase.BEFORE_TEST_CLASS)
+// El enum del esquema generado no incluye ACTIVE; purchase se llena sin cliente ni evento reales.
+// Ambas sentencias confirman la transacción en H2: se aplican fuera de la de cada test
+@Sql(statements = {
+        "ALTER TABLE purchase ALTER COLUMN status SET DATA TYPE VARCHAR(16)",
+        "SET REFERENTIAL_INTEGRITY FALSE"
+}, executionPhase = ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(statements = "SET REFERENTIAL_INTEGRITY TRUE", executionPhase = ExecutionPhase.AFTER_TEST_CLASS)
+class AnalyticsRepositoryTest {
+
+    @Autowired AnalyticsRepository repository;
+    @Autowired JdbcTemplate jdbc;
+    @Autowired PlatformTransactionManager txManager;
+
+    private void purchase(int id, int clientId, String amount, String status, LocalDateTime createdAt) {
+        jdbc.update("""
+                INSERT INTO purchase (id, client_id, event_id, total_quantity, total_amount, payment_method, status, created_at)
+                VALUES (?, ?, 1, 1, ?, 'CARD', ?, ?)
+                """, id, clientId, new BigDecimal(amount), status, Timestamp.valueOf(createdAt));
+    }
+
+    @Test
+    @DisplayName("El tail de purchase lee solo activas por encima del id, en orden y con límite")
+    void findPurchasesAfter_rangeByIdActiveOnly() {
+        LocalDateTime at = LocalDateTime.of(2025, 3, 1, 15, 0);
+        purchase(101, 1, "10.00", "ACTIVE", at);
+        purchase(102, 1, "20.00", "CANCELED", at);
+        purchase(103, 2, "30.00", "ACTIVE", at);
+        purchase(104, 2, "40.00", "ACTIVE", at);
+
+        List<PurchaseRow> rows = repository.findPurchasesAfter(101, 1);
+        assertThat(rows).extracting(PurchaseRow::id).containsExactly(103L);
+        assertThat(repository.findPurchasesAfter(103, 10)).extracting(PurchaseRow::id).containsExactly(104L);
+    }
+
+    @Test
+    @DisplayName("La cohorte recalculada no se duplica al reprocesar el mismo lote")
+    void clientCohorts_areIdempotent() {
+        purchase(201, 5, "30.00", "ACTIVE", LocalDateTime.of(2025, 1, 20, 15, 0));
+        purchase(202, 5, "20.00", "ACTIVE", LocalDateTime.of(2025, 3, 10, 15, 0));
+        purchase(203, 5, "99.00", "CANCELED", LocalDateTime.of(2024, 12, 1, 15, 0));
+
+        List<ClientTotalsRow> totals = repository.findClientTotals(Set.of(5, 6));
+        assertThat(totals).singleElement().satisfies(t -> {
+            assertThat(t.firstPurchaseAt()).isEqualTo(LocalDateTime.of(2025, 1, 20, 15, 0));
+            assertThat(t.purchases()).isEqualTo(2);
+            assertThat(t.amount()).isEqualByComparingTo("50.00");
+        });
+
+        List<ClientPurchaseRow> rows = List.of(new ClientPurchaseRow(5, 20250120, "2025-01", 2, new BigDecimal("50.00")));
+        repository.upsertClientCohorts(rows);
+        repository.upsertClientCohorts(rows);
+
+        assertThat(jdbc.queryForObject(
+                "SELECT purchases FROM analytics_client_cohort WHERE client_id = 5", Integer.class)).isEqualTo(2);
+        assertThat(jdbc.queryForObject(
+                "SELECT total_amount FROM analytics_client_cohort WHERE client_id = 5", BigDecimal.class))
+                .isEqualByComparingTo("50.00");
+    }
+
+    @Test
+    @DisplayName("Releer filas del embudo no apaga etapas ya marcadas")
+    void upsertUserDays_keepsReachedStages() {
+        repository.upsertUserDays(List.of(new UserDayRow(20250301, 7, true, false, true, true)));
+        repository.upsertUserDays(List.of(new UserDayRow(20250301, 7, false, true, true, false)));
+
+        assertThat(repository.funnel(20250301, 20250302))
+                .satisfies(f -> {
+                    assertThat(f.logins()).isEqualTo(1);
+                    assertThat(f.holds()).isEqualTo(1);
+                    assertThat(f.checkouts()).isEqualTo(1);
+                    assertThat(f.paid()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    @DisplayName("saveWatermark sobrescribe el id de la fuente")
+    void saveWatermark_upserts() {
+        assertThat(repository.getWatermark("purchase")).isZero();
+        repository.saveWatermark("purchase", 10);
+        repository.saveWatermark("purchase", 25);
+        assertThat(repository.getWatermark("purchase")).isEqualTo(25);
+    }
+
+    @Test
+    @DisplayName("Ingesta real: la compra confirmada tarde con id menor entra y el watermark espera la ventana")
+    void ingest_rescansLagWindowAgainstDatabase() {
+        Instant[] now = {Instant.parse("2025-03-15T17:00:00Z")};
+        Clock clock = new Clock() {
+            public ZoneId getZone() { return ZoneOffset.UTC; }
+            public Clock withZone(ZoneId zone) { return this; }
+            public Instant instant() { return now[0]; }
+        };
+        AnalyticsServiceImpl service = new AnalyticsServiceImpl(repository,
+                new ReportingCalendar(ReportingCalendar.DEFAULT_ZONE, clock), new TransactionTemplate(txManager),
+                100, 5, clock, Duration.ofMinutes(10));
+        LocalDateTime at = LocalDateTime.of(2025, 3, 10, 15, 0);
+
+        purchase(302, 5, "20.00", "ACTIVE", at);
+        assertThat(service.ingest()).isEqualTo(1);
+
+        // 301 se confirma después de haber leído 302
+        purchase(301, 6, "15.00", "ACTIVE", at);
+        now[0] = now[0].plus(Duration.ofMinutes(1));
+        service.ingest();
+        assertThat(jdbc.queryForObject(
+                "SELECT purchases FROM analytics_client_cohort WHERE client_id = 6", Integer.class)).isEqualTo(1);
+        assertThat(repository.getWatermark("purchase")).isZero();
+
+        // Pasada la ventana solo se fija lo leído en la primera corrida
+        purchase(303, 5, "5.00", "ACTIVE", at);
+        now[0] = now[0].plus(Duration.ofMinutes(10));
+        assertThat(service.ingest()).isEqualTo(1);
+        assertThat(repository.getWatermark("purchase")).isEqualTo(302);
+        assertThat(jdbc.queryForObject(
+                "SELECT purchases FROM analytics_client_cohort WHERE client_id = 5", Integer.class)).isEqualTo(2);
+    }
+}
@@ -0,0 +1,56 @@
+package com.digiticket.repository.auditlog;
+
+import com.digiticket.domain.auditlog.AuditLog;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+// El script trae CREATE INDEX sobre purchase y audit_log: se aplica una vez por clase
+@Sql(scripts = "classpath:db/changes/date_dim.sql", executionPhase = ExecutionPhase.BEFORE_TEST_CLASS)
+class AuditLogRepositoryTest {
+
+    @Autowired AuditLogRepository repository;
+    @Autowired TestEntityManager em;
+
+    private AuditLog entry(LocalDateTime createdAt) {
+        AuditLog log = new AuditLog();
+        log.setUserId(1);
+        log.setAction("LOGIN");
+        log.setCreatedAt(createdAt);
+        return em.persistAndFlush(log);
+    }
+
+    @Test
+    @DisplayName("El corte a UTC corre 5 horas solo las filas anteriores y no se repite")
+    void utcCutover_shiftsLegacyRowsOnce() {
+        AuditLog legacy = entry(LocalDateTime.of(2025, 3, 1, 22, 30));
+        LocalDateTime at = LocalDateTime.of(2025, 3, 2, 4, 0);
+
+        assertThat(repository.claimUtcCutover(at)).isEqualTo(1);
+        assertThat(repository.shiftLegacyRowsToUtc()).isEqualTo(1);
+
+        // Escrita ya en UTC por el código nuevo
+        AuditLog utc = entry(LocalDateTime.of(2025, 3, 2, 4, 5));
+        assertThat(repository.claimUtcCutover(at.plusHours(1))).isZero();
+        em.clear();
+
+        assertThat(repository.findById(legacy.getId())).get()
+                .extracting(AuditLog::getCreatedAt).isEqualTo(LocalDateTime.of(2025, 3, 2, 3, 30));
+        assertThat(repository.findById(utc.getId())).get()
+                .extracting(AuditLog::getCreatedAt).isEqualTo(LocalDateTime.of(2025, 3, 2, 4, 5));
+    }
+}
@@ -0,0 +1,114 @@
+package com.digiticket.repository.dashboard;
+
+import com.digiticket.repository.dashboard.SalesRankingRepository.Dimension;
+import com.digiticket.repository.dashboard.SalesRankingRepository.Increment;
+import com.digiticket.repository.dashboard.SalesRankingRepository.RankRow;
+import com.digiticket.util.report.ReportingCalendar;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@Import(SalesRankingRepository.class)
+@Sql(scripts = "classpath:db/changes/sales_rank.sql")
+// purchase se llena sin cliente ni evento reales y el enum del esquema generado no incluye ACTIVE;
+// ambas sentencias confirman la transacción en H2, así que van fuera de la de cada test
+@Sql(statements = {
+        "ALTER TABLE purchase ALTER COLUMN status SET DATA TYPE VARCHAR(16)",
+        "SET REFERENTIAL_INTEGRITY FALSE"
+}, executionPhase = ExecutionPhase.BEFORE_TEST_CLASS)
+@Sql(statements = "SET REFERENTIAL_INTEGRITY TRUE", executionPhase = ExecutionPhase.AFTER_TEST_CLASS)
+class SalesRankingRepositoryTest {
+
+    @Autowired SalesRankingRepository repository;
+    @Autowired JdbcTemplate jdbc;
+
+    // Día de negocio en Lima (UTC-5) con su rango UTC
+    private void day(LocalDate date) {
+        LocalDateTime start = date.atTime(5, 0);
+        jdbc.update("""
+                INSERT INTO date_dim (date_key, calendar_date, start_utc, end_utc, cal_year, cal_month,
+                                      day_of_week, iso_year_week, month_label, month_start)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, ReportingCalendar.dateKey(date), date, start, start.plusDays(1), date.getYear(),
+                date.getMonthValue(), date.getDayOfWeek().getValue(), 0,
+                date.toString().substring(0, 7), date.withDayOfMonth(1));
+    }
+
+    private void purchase(int id, int eventId, int quantity, String amount, String status, LocalDateTime createdAtUtc) {
+        jdbc.update("""
+                INSERT INTO purchase (id, client_id, event_id, total_quantity, total_amount, payment_method, status, created_at)
+                VALUES (?, 1, ?, ?, ?, 'CARD', ?, ?)
+                """, id, eventId, quantity, new BigDecimal(amount), status, createdAtUtc);
+    }
+
+    @Test
+    @DisplayName("applyIncrements suma sobre filas existentes del día y del mes")
+    void applyIncrements_upsertsDayAndMonth() {
+        assertThat(repository.isEmpty()).isTrue();
+
+        repository.applyIncrements(List.of(
+                new Increment(Dimension.EVENT, 20250301, 7, 2, new BigDecimal("40.00")),
+                new Increment(Dimension.EVENT, 20250302, 8, 5, new BigDecimal("90.00"))));
+        repository.applyIncrements(List.of(
+                new Increment(Dimension.EVENT, 20250302, 7, 4, new BigDecimal("80.00"))));
+
+        assertThat(repository.isEmpty()).isFalse();
+        List<RankRow> month = repository.topOfMonth(Dimension.EVENT, 202503, 10);
+        assertThat(month).extracting(RankRow::itemId).containsExactly(7, 8);
+        assertThat(month.get(0).quantity()).isEqualTo(6);
+        assertThat(month.get(0).amount()).isEqualByComparingTo("120.00");
+
+        // Solo el día 2 desde las filas diarias
+        List<RankRow> day = repository.topMerged(Dimension.EVENT, 20250302, 20250303, 0, 0, 0, 0, 10);
+        assertThat(day).extracting(RankRow::itemId).containsExactly(8, 7);
+        assertThat(day.get(1).quantity()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("rebuild rehace los días desde purchase y el mes sumando sus filas diarias")
+    void rebuild_recomputesDaysAndMonth() {
+        day(LocalDate.of(2025, 3, 1));
+        day(LocalDate.of(2025, 3, 2));
+        // Contadores viejos que el recálculo debe reemplazar, no sumar
+        repository.applyIncrements(List.of(
+                new Increment(Dimension.EVENT, 20250302, 7, 99, new BigDecimal("999.00"))));
+
+        purchase(1, 7, 2, "40.00", "ACTIVE", LocalDateTime.of(2025, 3, 1, 15, 0));
+        // 2025-03-02 03:00 UTC sigue siendo 1 de marzo en Lima
+        purchase(2, 7, 1, "20.00", "ACTIVE", LocalDateTime.of(2025, 3, 2, 3, 0));
+        purchase(3, 7, 3, "60.00", "ACTIVE", LocalDateTime.of(2025, 3, 2, 15, 0));
+        purchase(4, 7, 5, "100.00", "CANCELED", LocalDateTime.of(2025, 3, 2, 16, 0));
+
+        repository.rebuild(20250301, 20250303);
+
+        List<RankRow> first = repository.topMerged(Dimension.EVENT, 20250301, 20250302, 0, 0, 0, 0, 10);
+        assertThat(first).singleElement().satisfies(r -> {
+            assertThat(r.quantity()).isEqualTo(3);
+            assertThat(r.amount()).isEqualByComparingTo("60.00");
+        });
+        List<RankRow> month = repository.topOfMonth(Dimension.EVENT, 202503, 10);
+        assertThat(month).singleElement().satisfies(r -> {
+            assertThat(r.itemId()).isEqualTo(7);
+            assertThat(r.quantity()).isEqualTo(6);
+            assertThat(r.amount()).isEqualByComparingTo("120.00");
+        });
+    }
+}
@@ -0,0 +1,61 @@
+package com.digiticket.repository.email;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@Import(EmailOutboxRepository.class)
+@Sql(scripts = "classpath:db/changes/email_outbox.sql")
+class EmailOutboxRepositoryTest {
+
+    @Autowired EmailOutboxRepository repository;
+    @Autowired JdbcTemplate jdbc;
+
+    private void row(String recipient, String status, LocalDateTime createdAt) {
+        jdbc.update("""
+                INSERT INTO email_outbox (recipient, recipient_domain, template, params, status, next_attempt_at, created_at)
+                VALUES (?, 'mail.com', 'RESET_PASSWORD', '{"token":"X"}', ?, ?, ?)
+                """, recipient, status, Timestamp.valueOf(createdAt), Timestamp.valueOf(createdAt));
+    }
+
+    @Test
+    @DisplayName("La purga borra solo filas SENT/FAILED anteriores al límite, en tandas")
+    void deleteFinishedBefore_keepsPendingAndRecentRows() {
+        LocalDateTime old = LocalDateTime.now().minusDays(3);
+        row("a@mail.com", "SENT", old);
+        row("b@mail.com", "FAILED", old);
+        row("c@mail.com", "SENT", old);
+        row("d@mail.com", "PENDING", old);
+        row("e@mail.com", "SENDING", old);
+        row("f@mail.com", "SENT", LocalDateTime.now());
+
+        LocalDateTime limit = LocalDateTime.now().minusDays(1);
+        assertThat(repository.deleteFinishedBefore(limit, 2)).isEqualTo(2);
+        assertThat(recipients()).hasSize(4).contains("d@mail.com", "e@mail.com", "f@mail.com");
+
+        // Se verifican las filas y no el conteo: H2 informa 0 en un DELETE ... LIMIT resuelto por índice
+        repository.deleteFinishedBefore(limit, 2);
+        assertThat(recipients()).containsExactly("d@mail.com", "e@mail.com", "f@mail.com");
+        assertThat(repository.deleteFinishedBefore(limit, 2)).isZero();
+    }
+
+    private List<String> recipients() {
+        return jdbc.queryForList("SELECT recipient FROM email_outbox ORDER BY recipient", String.class);
+    }
+}
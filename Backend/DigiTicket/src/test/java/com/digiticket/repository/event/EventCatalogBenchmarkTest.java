@@ -0,0 +1,121 @@
+package com.digiticket.repository.event;
+
+import com.digiticket.domain.event.Event;
+import com.digiticket.domain.event.EventCategory;
+import com.digiticket.domain.event.EventStatus;
+import com.digiticket.domain.location.Location;
+import com.digiticket.domain.user.*;
+import com.digiticket.mapper.EventMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Comparación de payload y latencia sobre 10k eventos:
+ * listado completo (/all → EventDTO) vs. una página del catálogo (proyección).
+ * Los números se imprimen; las aserciones solo fijan la relación de tamaños.
+ * Fuera del build normal: se ejecuta con mvn test -Pbenchmark.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Tag("benchmark")
+class EventCatalogBenchmarkTest {
+
+    private static final int EVENTS = 10_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Autowired
+    EventRepository repo;
+
+    @Autowired
+    TestEntityManager em;
+
+    private final ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    void catalogPage_isSmallerAndFasterThanFullList() throws Exception {
+        seed();
+
+        long t0 = System.nanoTime();
+        byte[] full = json.writeValueAsBytes(repo.findAllWithRefs().stream().map(EventMapper::toDTO).toList());
+        long fullMs = (System.nanoTime() - t0) / 1_000_000;
+        em.clear();
+
+        t0 = System.nanoTime();
+        var page = repo.findCatalog(EventStatus.PUBLISHED, PageRequest.of(0, PAGE_SIZE, Sort.by("startsAt", "id")));
+        byte[] catalog = json.writeValueAsBytes(page.getContent());
+        long catalogMs = (System.nanoTime() - t0) / 1_000_000;
+
+        System.out.printf("[catalog-benchmark] /all: %d eventos, %d bytes, %d ms | catalog: %d filas, %d bytes, %d ms%n",
+                EVENTS, full.length, fullMs, page.getNumberOfElements(), catalog.length, catalogMs);
+
+        assertThat(page.getTotalElements()).isEqualTo(EVENTS);
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        // Por fila, la proyección pesa menos que el DTO completo (sin description ni datos de relaciones)
+        assertThat((double) catalog.length / PAGE_SIZE).isLessThan((double) full.length / EVENTS);
+    }
+
+    private void seed() {
+        var user = new User();
+        user.setFirstName("Ana");
+        user.setLastName("Admin");
+        user.setEmail("bench@acme.com");
+        user.setPassword("$2a$10$hashdummy");
+        user.setDocumentType(DocumentType.DNI);
+        user.setDocumentNumber("87654321");
+        user.setTermsAccepted(true);
+        user.setStatus(UserStatus.ACTIVE);
+        user.setRoleUser(RoleUser.ADMIN);
+        em.persist(user);
+
+        var adm = new Administrator();
+        adm.setUser(user);
+        adm.setRole(RoleAdmin.ADMIN);
+        em.persist(adm);
+
+        var loc = em.persist(Location.builder()
+                .name("Coliseo")
+                .contactEmail("coliseo@acme.com")
+                .address("Av. 123")
+                .city("Lima")
+                .district("Miraflores")
+                .capacity(5000)
+                .build());
+        var cat = em.persist(EventCategory.builder().name("Conciertos").build());
+
+        String description = "Descripción del evento. ".repeat(40);
+        LocalDateTime base = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < EVENTS; i++) {
+            em.persist(Event.builder()
+                    .title("Evento " + i)
+                    .description(description)
+                    .startsAt(base.plusMinutes(i))
+                    .salesStartAt(base.minusDays(5))
+                    .durationMin(90)
+                    .location(loc)
+                    .eventCategory(cat)
+                    .administrator(adm)
+                    .status(EventStatus.PUBLISHED)
+                    .build());
+            if (i % 500 == 499) {
+                em.flush();
+                em.clear();
+                loc = em.find(Location.class, loc.getId());
+                cat = em.find(EventCategory.class, cat.getId());
+                adm = em.find(Administrator.class, adm.getId());
+            }
+        }
+        em.flush();
+        em.clear();
+    }
+}
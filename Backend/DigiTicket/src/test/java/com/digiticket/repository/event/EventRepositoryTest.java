@@ -11,6 +11,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -175,4 +177,23 @@ class EventRepositoryTest {
                 .contains("InRange")
                 .doesNotContain("OutRange");
     }
+
+    @Test
+    void findCatalog_filtersByStatus_andPaginates() {
+        event("Cat A", EventStatus.PUBLISHED, LocalDateTime.now().plusDays(1));
+        event("Cat B", EventStatus.PUBLISHED, LocalDateTime.now().plusDays(2));
+        event("Cat C", EventStatus.DRAFT, LocalDateTime.now().plusDays(3));
+        em.flush();
+
+        var page = repo.findCatalog(EventStatus.PUBLISHED, PageRequest.of(0, 1, Sort.by("title")));
+
+        assertThat(page.getTotalElements()).isEqualTo(2);
+        assertThat(page.getContent()).hasSize(1);
+        var row = page.getContent().get(0);
+        assertThat(row.getTitle()).isEqualTo("Cat A");
+        assertThat(row.getVenueName()).isEqualTo("Coliseo");
+        assertThat(row.getCategoryName()).isEqualTo("Conciertos");
+        assertThat(row.getMinPrice()).isNull();      // sin zonas
+        assertThat(row.getAvailable()).isZero();
+    }
 }
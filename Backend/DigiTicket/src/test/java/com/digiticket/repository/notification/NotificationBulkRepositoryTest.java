@@ -0,0 +1,74 @@
+package com.digiticket.repository.notification;
+
+import com.digiticket.domain.user.Client;
+import com.digiticket.domain.user.DocumentType;
+import com.digiticket.domain.user.RoleUser;
+import com.digiticket.domain.user.User;
+import com.digiticket.domain.user.UserStatus;
+import com.digiticket.repository.notification.NotificationBulkRepository.NewNotification;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(NotificationBulkRepository.class)
+class NotificationBulkRepositoryTest {
+
+    @Autowired NotificationBulkRepository repository;
+    @Autowired TestEntityManager em;
+    @Autowired JdbcTemplate jdbc;
+
+    private int client(String firstName) {
+        User user = em.persist(User.builder()
+                .firstName(firstName)
+                .lastName("Prueba")
+                .email(firstName.toLowerCase() + "@mail.com")
+                .documentType(DocumentType.DNI)
+                .documentNumber(String.valueOf(System.nanoTime() % 100_000_000))
+                .password("x")
+                .roleUser(RoleUser.CLIENT)
+                .status(UserStatus.ACTIVE)
+                .termsAccepted(true)
+                .build());
+        return em.persist(Client.builder()
+                .user(user)
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .phoneNumber("999999999")
+                .build()).getId();
+    }
+
+    @Test
+    @DisplayName("Una ola se inserta en un batch con ids en orden y se marca enviada por lote")
+    void insertAllAndMarkSent() {
+        int ana = client("Ana");
+        int beto = client("Beto");
+
+        List<Integer> ids = repository.insertAll(List.of(
+                new NewNotification(ana, "Puntos por vencer", "Tienes 10 puntos"),
+                new NewNotification(beto, "Puntos por vencer", "Tienes 20 puntos")));
+
+        assertThat(ids).hasSize(2);
+        assertThat(jdbc.queryForObject("SELECT client_id FROM notification WHERE id = ?", Integer.class, ids.get(0)))
+                .isEqualTo(ana);
+        assertThat(jdbc.queryForObject("SELECT client_id FROM notification WHERE id = ?", Integer.class, ids.get(1)))
+                .isEqualTo(beto);
+
+        assertThat(repository.markSent(List.of(ids.get(1)), LocalDateTime.now())).isEqualTo(1);
+        assertThat(jdbc.queryForList("SELECT id FROM notification WHERE sent_at IS NOT NULL", Integer.class))
+                .containsExactly(ids.get(1));
+        assertThat(repository.insertAll(List.of())).isEmpty();
+        assertThat(repository.markSent(List.of(), LocalDateTime.now())).isZero();
+    }
+}
@@ -0,0 +1,88 @@
+package com.digiticket.repository.order;
+
+import com.digiticket.domain.order.Order;
+import com.digiticket.domain.order.OrderStatus;
+import com.digiticket.repository.order.UserOrderStatsRepository.Stats;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@Import(UserOrderStatsRepository.class)
+// El script trae un CREATE INDEX sobre `order`: se aplica una vez por clase
+@Sql(scripts = "classpath:db/changes/user_order_stats.sql", executionPhase = ExecutionPhase.BEFORE_TEST_CLASS)
+class UserOrderStatsRepositoryTest {
+
+    @Autowired UserOrderStatsRepository statsRepository;
+    @Autowired OrderRepository orderRepository;
+
+    private void order(int userId, String totalPaid, OrderStatus status) {
+        orderRepository.saveAndFlush(Order.builder()
+                .userId(userId)
+                .total(new BigDecimal(totalPaid))
+                .totalPaid(new BigDecimal(totalPaid))
+                .discountPointsUsed(0)
+                .status(status)
+                .createdAt(LocalDateTime.now())
+                .build());
+    }
+
+    @Test
+    @DisplayName("El upsert del checkout acumula cantidad y gasto")
+    void addPaidOrder_accumulates() {
+        statsRepository.addPaidOrder(5, new BigDecimal("100.00"));
+        statsRepository.addPaidOrder(5, new BigDecimal("25.50"));
+
+        Stats stats = statsRepository.find(5).orElseThrow();
+        assertThat(stats.orderCount()).isEqualTo(2);
+        assertThat(stats.totalSpent()).isEqualByComparingTo("125.50");
+        assertThat(statsRepository.find(6)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("compute, computeAll y refresh cuentan solo órdenes PAID del usuario")
+    void computeAndRefresh_countOnlyPaidOrders() {
+        order(7, "80.00", OrderStatus.PAID);
+        order(7, "20.00", OrderStatus.PAID);
+        order(7, "999.00", OrderStatus.FAILED);
+        order(8, "10.00", OrderStatus.PAID);
+
+        Stats computed = statsRepository.compute(7);
+        assertThat(computed.orderCount()).isEqualTo(2);
+        assertThat(computed.totalSpent()).isEqualByComparingTo("100.00");
+        assertThat(statsRepository.compute(9).orderCount()).isZero();
+        assertThat(statsRepository.compute(9).totalSpent()).isEqualByComparingTo("0");
+
+        assertThat(statsRepository.computeAll()).containsOnlyKeys(7, 8);
+        assertThat(statsRepository.findAll()).isEmpty();
+
+        // Una fila desviada (p. ej. checkout sumado dos veces) se reescribe desde las órdenes
+        statsRepository.addPaidOrder(7, new BigDecimal("80.00"));
+        statsRepository.addPaidOrder(7, new BigDecimal("80.00"));
+        statsRepository.addPaidOrder(7, new BigDecimal("80.00"));
+        statsRepository.refresh(7);
+        Stats stored = statsRepository.find(7).orElseThrow();
+        assertThat(stored.orderCount()).isEqualTo(2);
+        assertThat(stored.totalSpent()).isEqualByComparingTo("100.00");
+
+        // Sin órdenes PAID la fila queda en cero
+        statsRepository.addPaidOrder(9, new BigDecimal("5.00"));
+        statsRepository.refresh(9);
+        assertThat(statsRepository.find(9).orElseThrow().orderCount()).isZero();
+        assertThat(statsRepository.findAll()).containsOnlyKeys(7, 9);
+    }
+}
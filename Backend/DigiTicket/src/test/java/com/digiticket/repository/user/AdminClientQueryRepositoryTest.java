@@ -0,0 +1,140 @@
+package com.digiticket.repository.user;
+
+import com.digiticket.domain.loyalty.LoyaltyPoint;
+import com.digiticket.domain.loyalty.LoyaltyPointStatus;
+import com.digiticket.domain.user.Client;
+import com.digiticket.domain.user.DocumentType;
+import com.digiticket.domain.user.RoleUser;
+import com.digiticket.domain.user.User;
+import com.digiticket.domain.user.UserStatus;
+import com.digiticket.repository.user.AdminClientQueryRepository.Filter;
+import com.digiticket.repository.user.AdminClientQueryRepository.Row;
+import com.digiticket.repository.user.AdminClientQueryRepository.SortField;
+import com.digiticket.util.search.ClientSearchTokens;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@Import({AdminClientQueryRepository.class, ClientSearchRepository.class})
+@Sql(scripts = {"classpath:db/changes/loyalty_balance.sql", "classpath:db/changes/client_search.sql"})
+// El script trae un CREATE INDEX sobre users: se aplica una vez por clase
+@Sql(scripts = "classpath:db/changes/admin_client_listing.sql", executionPhase = ExecutionPhase.BEFORE_TEST_CLASS)
+class AdminClientQueryRepositoryTest {
+
+    @Autowired AdminClientQueryRepository repository;
+    @Autowired ClientSearchRepository searchRepository;
+    @Autowired TestEntityManager em;
+    @Autowired JdbcTemplate jdbc;
+
+    private int client(String firstName, String lastName, UserStatus status) {
+        User user = em.persist(User.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(firstName.toLowerCase() + "." + lastName.toLowerCase() + "@mail.com")
+                .documentType(DocumentType.DNI)
+                .documentNumber(String.valueOf(System.nanoTime() % 100_000_000))
+                .password("x")
+                .roleUser(RoleUser.CLIENT)
+                .status(status)
+                .termsAccepted(true)
+                .build());
+        Client client = em.persist(Client.builder()
+                .user(user)
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .phoneNumber("999999999")
+                .build());
+        searchRepository.replaceTokens(client.getId(), ClientSearchTokens.index(
+                firstName, lastName, user.getEmail(), user.getDocumentNumber()));
+        return client.getId();
+    }
+
+    private void lot(int clientId, int points, LoyaltyPointStatus status, LocalDateTime expiresAt) {
+        em.persist(LoyaltyPoint.builder()
+                .clientId(clientId)
+                .points(points)
+                .status(status)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    private void balance(int clientId, int points, LocalDateTime nextExpiryAt) {
+        jdbc.update("""
+                INSERT INTO loyalty_balance (client_id, active_points, redeemable_points, next_expiry_at, updated_at)
+                VALUES (?, ?, ?, ?, ?)
+                """, clientId, points, points, Timestamp.valueOf(nextExpiryAt), Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    @Test
+    @DisplayName("Une cliente, usuario y saldo materializado; excluye usuarios no activos")
+    void find_joinsBalanceAndSkipsInactiveUsers() {
+        LocalDateTime now = LocalDateTime.now();
+        int ana = client("Ana", "Torres", UserStatus.ACTIVE);
+        int luis = client("Luis", "Ramos", UserStatus.ACTIVE);
+        client("Eva", "Soto", UserStatus.DELETED);
+        balance(ana, 120, now.plusDays(3));
+        em.flush();
+
+        List<Row> rows = repository.find(new Filter(null, null, null, null), SortField.ID, false, 10, 0);
+
+        assertThat(rows).extracting(Row::clientId).containsExactly(ana, luis);
+        assertThat(rows.get(0).activePoints()).isEqualTo(120);
+        assertThat(rows.get(0).nextExpiryAt()).isNotNull();
+        // Sin fila de saldo el cliente igual aparece, con 0 puntos
+        assertThat(rows.get(1).activePoints()).isZero();
+        assertThat(repository.count(new Filter(null, null, null, null))).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Filtra por nombre, estado de lote y vencimiento próximo; pagina con orden estable")
+    void find_filtersAndPaginates() {
+        LocalDateTime now = LocalDateTime.now();
+        int ana = client("Ana", "Torres", UserStatus.ACTIVE);
+        int luis = client("Luis", "Ramos", UserStatus.ACTIVE);
+        int mara = client("Mara", "Ramos", UserStatus.ACTIVE);
+        lot(ana, 50, LoyaltyPointStatus.ACTIVE, now.plusDays(2));
+        lot(luis, 30, LoyaltyPointStatus.EXPIRED, now.minusDays(1));
+        lot(mara, 20, LoyaltyPointStatus.ACTIVE, now.plusDays(40));
+        em.flush();
+
+        assertThat(repository.find(new Filter("ramos", null, null, null), SortField.NAME, false, 10, 0))
+                .extracting(Row::clientId).containsExactly(luis, mara);
+        // Prefijo de palabra e infijo por trigramas
+        assertThat(repository.find(new Filter("mar ram", null, null, null), SortField.ID, false, 10, 0))
+                .extracting(Row::clientId).containsExactly(mara);
+        assertThat(repository.find(new Filter("orre", null, null, null), SortField.ID, false, 10, 0))
+                .extracting(Row::clientId).containsExactly(ana);
+
+        assertThat(repository.find(new Filter(null, LoyaltyPointStatus.EXPIRED, null, null), SortField.ID, false, 10, 0))
+                .extracting(Row::clientId).containsExactly(luis);
+
+        Filter expiring = new Filter(null, null, now, now.plusDays(5));
+        assertThat(repository.find(expiring, SortField.ID, false, 10, 0))
+                .extracting(Row::clientId).containsExactly(ana);
+        assertThat(repository.count(expiring)).isEqualTo(1);
+
+        Filter all = new Filter(null, null, null, null);
+        assertThat(repository.find(all, SortField.NAME, true, 2, 0))
+                .extracting(Row::clientId).containsExactly(ana, mara);
+        assertThat(repository.find(all, SortField.NAME, true, 2, 2))
+                .extracting(Row::clientId).containsExactly(luis);
+    }
+}
@@ -0,0 +1,139 @@
+package com.digiticket.repository.user;
+
+import com.digiticket.domain.user.Client;
+import com.digiticket.domain.user.DocumentType;
+import com.digiticket.domain.user.RoleUser;
+import com.digiticket.domain.user.User;
+import com.digiticket.domain.user.UserStatus;
+import com.digiticket.repository.user.ClientSearchRepository.Hit;
+import com.digiticket.util.search.ClientSearchTokens;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@Import(ClientSearchRepository.class)
+@Sql(scripts = "classpath:db/changes/client_search.sql")
+class ClientSearchRepositoryTest {
+
+    @Autowired ClientSearchRepository searchRepository;
+    @Autowired TestEntityManager em;
+
+    private int client(String firstName, String lastName, String document, UserStatus status) {
+        String email = firstName.toLowerCase() + "." + lastName.toLowerCase() + "@mail.com";
+        User user = em.persist(User.builder()
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .documentType(DocumentType.DNI)
+                .documentNumber(document)
+                .password("x")
+                .roleUser(RoleUser.CLIENT)
+                .status(status)
+                .termsAccepted(true)
+                .build());
+        Client client = em.persist(Client.builder()
+                .user(user)
+                .birthDate(LocalDate.of(1990, 1, 1))
+                .phoneNumber("999999999")
+                .build());
+        searchRepository.replaceTokens(client.getId(),
+                ClientSearchTokens.index(firstName, lastName, email, document));
+        return client.getId();
+    }
+
+    private List<Integer> ids(List<Hit> hits) {
+        return hits.stream().map(Hit::clientId).toList();
+    }
+
+    @Test
+    @DisplayName("Exacto sobre prefijo sobre infijo; solo clientes activos")
+    void search_ranksExactThenPrefixThenInfix() {
+        int mar = client("Mar", "Soto", "10000001", UserStatus.ACTIVE);
+        int mario = client("Mario", "Vega", "10000002", UserStatus.ACTIVE);
+        int omar = client("Omar", "Diaz", "10000003", UserStatus.ACTIVE);
+        client("Marisol", "Paz", "10000004", UserStatus.DELETED);
+        em.flush();
+
+        assertThat(ids(searchRepository.search(ClientSearchTokens.query("mar"), null, null, 10)))
+                .containsExactly(mar, mario, omar);
+        assertThat(ids(searchRepository.search(ClientSearchTokens.query("1000000"), null, null, 10)))
+                .containsExactly(mar, mario, omar);
+        assertThat(ids(searchRepository.search(ClientSearchTokens.query("mario veg"), null, null, 10)))
+                .containsExactly(mario);
+    }
+
+    @Test
+    @DisplayName("El cursor (puntaje, id) continúa donde terminó la página anterior")
+    void search_keysetPagination() {
+        int a = client("Rosa", "Luna", "20000001", UserStatus.ACTIVE);
+        int b = client("Rosario", "Luna", "20000002", UserStatus.ACTIVE);
+        int c = client("Rosalia", "Luna", "20000003", UserStatus.ACTIVE);
+        em.flush();
+
+        List<Hit> first = searchRepository.search(ClientSearchTokens.query("luna"), null, null, 2);
+        assertThat(ids(first)).containsExactly(a, b);
+
+        Hit last = first.get(1);
+        assertThat(ids(searchRepository.search(ClientSearchTokens.query("luna"), last.score(), last.clientId(), 2)))
+                .containsExactly(c);
+    }
+
+    @Test
+    @DisplayName("Reescribir los términos reemplaza los anteriores")
+    void replaceTokens_replacesPreviousTerms() {
+        int id = client("Lucia", "Prado", "30000001", UserStatus.ACTIVE);
+        em.flush();
+
+        searchRepository.replaceTokens(id, ClientSearchTokens.index("Lucia", "Campos", "lucia@mail.com", "30000001"));
+
+        assertThat(searchRepository.search(ClientSearchTokens.query("prado"), null, null, 10)).isEmpty();
+        assertThat(ids(searchRepository.search(ClientSearchTokens.query("campos"), null, null, 10))).containsExactly(id);
+    }
+
+    @Test
+    @DisplayName("Un infijo debe caer dentro de una sola palabra, no entre nombre y apellido")
+    void search_infixDoesNotPoolTrigramsAcrossWords() {
+        // "Mari Rio" tiene ~ari (mari) y ~rio (rio), pero "ario" no está en ninguna de sus palabras
+        client("Mari", "Rio", "40000001", UserStatus.ACTIVE);
+        int rosario = client("Rosario", "Paz", "40000002", UserStatus.ACTIVE);
+        em.flush();
+
+        assertThat(ids(searchRepository.search(ClientSearchTokens.query("ario"), null, null, 10)))
+                .containsExactly(rosario);
+    }
+
+    @Test
+    @DisplayName("La rama de prefijo se corta en MAX_PREFIX_CANDIDATES y conserva los exactos")
+    void search_capsPrefixCandidates() {
+        int ab = client("Ab", "Quispe", "50000001", UserStatus.ACTIVE);
+        int abzu = client("Abzu", "Quispe", "50000002", UserStatus.ACTIVE);
+        em.flush();
+        // Tokens que ordenan entre "ab" y "abzu" y llenan el tope
+        List<Object[]> filler = new ArrayList<>();
+        for (int i = 0; i < ClientSearchRepository.MAX_PREFIX_CANDIDATES; i++) {
+            filler.add(new Object[]{"ab%04d".formatted(i), 900_000 + i, 0});
+        }
+        searchRepository.insertAll(filler);
+
+        assertThat(ids(searchRepository.search(ClientSearchTokens.query("ab"), null, null, 10)))
+                .containsExactly(ab);
+        assertThat(ids(searchRepository.search(ClientSearchTokens.query("abz"), null, null, 10)))
+                .containsExactly(abzu);
+    }
+}
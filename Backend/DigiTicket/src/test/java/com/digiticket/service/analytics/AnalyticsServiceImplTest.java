@@ -0,0 +1,133 @@
+package com.digiticket.service.analytics;
+
+import com.digiticket.repository.analytics.AnalyticsRepository;
+import com.digiticket.repository.analytics.AnalyticsRepository.ClientMonthRow;
+import com.digiticket.repository.analytics.AnalyticsRepository.ClientPurchaseRow;
+import com.digiticket.repository.analytics.AnalyticsRepository.ClientTotalsRow;
+import com.digiticket.repository.analytics.AnalyticsRepository.OrderRow;
+import com.digiticket.repository.analytics.AnalyticsRepository.PurchaseRow;
+import com.digiticket.repository.analytics.AnalyticsRepository.UserDayRow;
+import com.digiticket.service.impl.analytics.AnalyticsServiceImpl;
+import com.digiticket.util.report.ReportingCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AnalyticsService - tail con ventana de relectura")
+class AnalyticsServiceImplTest {
+
+    @Mock AnalyticsRepository repository;
+    @Mock PlatformTransactionManager txManager;
+    @Mock Clock clock;
+
+    private final ReportingCalendar calendar = new ReportingCalendar(
+            ReportingCalendar.DEFAULT_ZONE, Clock.fixed(Instant.parse("2025-03-15T17:00:00Z"), ZoneOffset.UTC));
+    private Instant now = Instant.parse("2025-03-15T17:00:00Z");
+
+    private AnalyticsServiceImpl service(Duration lag) {
+        when(clock.instant()).thenAnswer(i -> now);
+        return new AnalyticsServiceImpl(repository, calendar, new TransactionTemplate(txManager),
+                100, 5, clock, lag);
+    }
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.parse("2025-03-15T17:00:00Z");
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UserDayRow> lastUserDays() {
+        ArgumentCaptor<List<UserDayRow>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, atLeastOnce()).upsertUserDays(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Un id menor confirmado tarde se procesa en la siguiente corrida")
+    void ingest_picksUpLateCommittedLowerId() {
+        AnalyticsServiceImpl service = service(Duration.ofMinutes(10));
+        LocalDateTime at = LocalDateTime.of(2025, 3, 15, 16, 0);
+        OrderRow late = new OrderRow(1, 7, true, at);
+        OrderRow first = new OrderRow(2, 8, false, at);
+        when(repository.findOrdersAfter(0L, 100))
+                .thenReturn(List.of(first))
+                .thenReturn(List.of(late, first));
+
+        assertThat(service.ingest()).isEqualTo(1);
+        now = now.plus(Duration.ofMinutes(1));
+        service.ingest();
+
+        assertThat(lastUserDays()).extracting(UserDayRow::userId).contains(7);
+        assertThat(lastUserDays()).filteredOn(r -> r.userId() == 7).singleElement()
+                .satisfies(r -> assertThat(r.paid()).isTrue());
+        // Ambas corridas caen dentro de la ventana: el watermark no se mueve
+        verify(repository, never()).saveWatermark(anyString(), anyLong());
+    }
+
+    @Test
+    @DisplayName("El watermark solo avanza hasta lo leído hace más que la ventana")
+    void ingest_advancesWatermarkAfterLag() {
+        AnalyticsServiceImpl service = service(Duration.ofMinutes(10));
+        LocalDateTime at = LocalDateTime.of(2025, 3, 15, 16, 0);
+        when(repository.findOrdersAfter(0L, 100))
+                .thenReturn(List.of(new OrderRow(2, 8, false, at)))
+                .thenReturn(List.of(new OrderRow(2, 8, false, at), new OrderRow(3, 9, false, at)));
+
+        service.ingest();
+        now = now.plus(Duration.ofMinutes(11));
+        int fresh = service.ingest();
+
+        // Solo el checkpoint de la primera corrida está fuera de la ventana
+        assertThat(fresh).isEqualTo(1);
+        verify(repository).saveWatermark("order", 2L);
+        verify(repository, never()).saveWatermark("order", 3L);
+    }
+
+    @Test
+    @DisplayName("Las cohortes se recalculan desde purchase en vez de sumarse")
+    void ingest_recomputesClientCohorts() {
+        AnalyticsServiceImpl service = service(Duration.ZERO);
+        // 2025-03-01 02:00 UTC = 2025-02-28 en Lima
+        when(repository.findPurchasesAfter(0L, 100)).thenReturn(List.of(
+                new PurchaseRow(10, 5, new BigDecimal("30.00"), LocalDateTime.of(2025, 3, 1, 2, 0)),
+                new PurchaseRow(11, 5, new BigDecimal("20.00"), LocalDateTime.of(2025, 3, 10, 15, 0))));
+        when(repository.findClientTotals(anyCollection())).thenReturn(List.of(
+                new ClientTotalsRow(5, LocalDateTime.of(2025, 1, 20, 15, 0), 3, new BigDecimal("90.00"))));
+
+        service.ingest();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClientPurchaseRow>> cohorts = ArgumentCaptor.forClass(List.class);
+        verify(repository).upsertClientCohorts(cohorts.capture());
+        assertThat(cohorts.getValue()).containsExactly(
+                new ClientPurchaseRow(5, 20250120, "2025-01", 3, new BigDecimal("90.00")));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<ClientMonthRow>> months = ArgumentCaptor.forClass(List.class);
+        verify(repository).insertClientMonths(months.capture());
+        assertThat(months.getValue()).containsExactlyInAnyOrder(
+                new ClientMonthRow(5, "2025-02"), new ClientMonthRow(5, "2025-03"));
+        verify(repository).saveWatermark("purchase", 11L);
+    }
+}
@@ -0,0 +1,51 @@
+package com.digiticket.service.auditlog;
+
+import com.digiticket.repository.auditlog.AuditLogRepository;
+import com.digiticket.service.impl.auditlog.AuditLogServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuditLogService - corte de created_at a UTC")
+class AuditLogServiceImplTest {
+
+    @Mock AuditLogRepository repository;
+    @Mock ApplicationEventPublisher eventPublisher;
+    @Mock PlatformTransactionManager txManager;
+
+    AuditLogServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new AuditLogServiceImpl(repository, eventPublisher, txManager);
+    }
+
+    @Test
+    @DisplayName("El nodo que registra el corte convierte las filas anteriores")
+    void startup_claimsAndShifts() {
+        when(repository.claimUtcCutover(any())).thenReturn(1);
+
+        service.afterSingletonsInstantiated();
+
+        verify(repository).shiftLegacyRowsToUtc();
+    }
+
+    @Test
+    @DisplayName("Si el corte ya estaba registrado no se vuelve a convertir")
+    void startup_alreadyClaimed_skipsShift() {
+        when(repository.claimUtcCutover(any())).thenReturn(0);
+
+        service.afterSingletonsInstantiated();
+
+        verify(repository, never()).shiftLegacyRowsToUtc();
+    }
+}
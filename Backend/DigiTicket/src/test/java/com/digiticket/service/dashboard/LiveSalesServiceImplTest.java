@@ -0,0 +1,132 @@
+package com.digiticket.service.dashboard;
+
+import com.digiticket.dto.dashboard.LiveSalesSnapshotDTO;
+import com.digiticket.repository.auditlog.AuditLogRepository;
+import com.digiticket.repository.order.PurchaseRepository;
+import com.digiticket.repository.order.projection.EventTicketsProjection;
+import com.digiticket.service.dashboard.event.LoginRecordedEvent;
+import com.digiticket.service.dashboard.event.SaleRecordedEvent;
+import com.digiticket.service.impl.dashboard.LiveSalesServiceImpl;
+import com.digiticket.util.report.ReportingCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LiveSalesService - contadores del día")
+class LiveSalesServiceImplTest {
+
+    // 2025-03-15 12:00 en Lima
+    private static final int TODAY = 20250315;
+    private static final int TOMORROW = 20250316;
+    private static final int YESTERDAY = 20250314;
+
+    @Mock PurchaseRepository purchaseRepository;
+    @Mock AuditLogRepository auditLogRepository;
+
+    private final ReportingCalendar calendar = new ReportingCalendar(
+            ReportingCalendar.DEFAULT_ZONE, Clock.fixed(Instant.parse("2025-03-15T17:00:00Z"), ZoneId.of("UTC")));
+
+    LiveSalesServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LiveSalesServiceImpl(purchaseRepository, auditLogRepository, calendar);
+    }
+
+    private static EventTicketsProjection row(Integer eventId, Integer categoryId, long tickets) {
+        return new EventTicketsProjection() {
+            public Integer getEventId() { return eventId; }
+            public Integer getCategoryId() { return categoryId; }
+            public Long getTickets() { return tickets; }
+        };
+    }
+
+    private void givenDay(int from, int to, int tickets, String revenue, int visits, List<EventTicketsProjection> byEvent) {
+        when(purchaseRepository.sumTotalQuantityByDateRangeAndActiveStatus(from, to)).thenReturn(tickets);
+        when(purchaseRepository.sumTotalAmountByDateRangeAndActiveStatus(from, to)).thenReturn(new BigDecimal(revenue));
+        when(auditLogRepository.countLoginsByDateRange(from, to)).thenReturn(visits);
+        when(purchaseRepository.sumQuantityByEventBetween(from, to)).thenReturn(byEvent);
+    }
+
+    @Test
+    @DisplayName("Al arrancar siembra hoy y ayer; las ventas y logins suman sin consultar la base")
+    void seedThenEvents_accumulateInMemory() {
+        givenDay(TODAY, TOMORROW, 10, "250.00", 4, List.of(row(7, 2, 10)));
+        givenDay(YESTERDAY, TODAY, 30, "900.50", 12, List.of());
+        service.seedFromDatabase();
+
+        service.onSale(new SaleRecordedEvent(7, 2, 3, new BigDecimal("75.00")));
+        service.onSale(new SaleRecordedEvent(8, null, 1, new BigDecimal("20.00")));
+        service.onLogin(new LoginRecordedEvent(5));
+
+        LiveSalesSnapshotDTO snap = service.snapshot();
+        assertThat(snap.day()).isEqualTo(LocalDate.of(2025, 3, 15));
+        assertThat(snap.ticketsToday()).isEqualTo(14);
+        assertThat(snap.revenueToday()).isEqualByComparingTo("345.00");
+        assertThat(snap.visitsToday()).isEqualTo(5);
+        assertThat(snap.ticketsYesterday()).isEqualTo(30);
+        assertThat(snap.revenueYesterday()).isEqualByComparingTo("900.50");
+        assertThat(snap.ticketsByEvent()).isEqualTo(Map.of(7, 13L, 8, 1L));
+        assertThat(snap.ticketsByCategory()).isEqualTo(Map.of(2, 13L));
+        assertThat(snap.ticketsLastHourByMinute()).hasSize(60).last().isEqualTo(4L);
+
+        verify(purchaseRepository, times(2)).sumTotalQuantityByDateRangeAndActiveStatus(anyInt(), anyInt());
+    }
+
+    @Test
+    @DisplayName("reconcile toma los totales de la base (ventas de otros nodos) y conserva la serie por minuto")
+    void reconcile_replacesTotalsFromDatabase() {
+        givenDay(TODAY, TOMORROW, 0, "0", 0, List.of());
+        givenDay(YESTERDAY, TODAY, 0, "0", 0, List.of());
+        service.seedFromDatabase();
+        service.onSale(new SaleRecordedEvent(7, 2, 2, new BigDecimal("50.00")));
+
+        // Otro nodo vendió 5 entradas más del evento 7 y 1 del 9
+        givenDay(TODAY, TOMORROW, 8, "200.00", 3, List.of(row(7, 2, 7), row(9, null, 1)));
+        service.reconcile();
+
+        LiveSalesSnapshotDTO snap = service.snapshot();
+        assertThat(snap.ticketsToday()).isEqualTo(8);
+        assertThat(snap.revenueToday()).isEqualByComparingTo("200.00");
+        assertThat(snap.visitsToday()).isEqualTo(3);
+        assertThat(snap.ticketsByEvent()).isEqualTo(Map.of(7, 7L, 9, 1L));
+        assertThat(snap.ticketsByCategory()).isEqualTo(Map.of(2, 7L));
+        assertThat(snap.ticketsLastHourByMinute().get(59)).isEqualTo(2L);
+
+        // Las ventas posteriores siguen sumando sobre los totales reconciliados
+        service.onSale(new SaleRecordedEvent(9, null, 1, new BigDecimal("10.00")));
+        assertThat(service.snapshot().ticketsToday()).isEqualTo(9);
+        assertThat(service.snapshot().ticketsLastHourByMinute().get(59)).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("Si la base falla, reconcile deja los contadores como estaban")
+    void reconcile_failureKeepsCounters() {
+        givenDay(TODAY, TOMORROW, 5, "100.00", 1, List.of());
+        givenDay(YESTERDAY, TODAY, 0, "0", 0, List.of());
+        service.seedFromDatabase();
+
+        when(purchaseRepository.sumTotalQuantityByDateRangeAndActiveStatus(TODAY, TOMORROW))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        service.reconcile();
+
+        assertThat(service.snapshot().ticketsToday()).isEqualTo(5);
+        assertThat(service.snapshot().revenueToday()).isEqualByComparingTo("100.00");
+    }
+}
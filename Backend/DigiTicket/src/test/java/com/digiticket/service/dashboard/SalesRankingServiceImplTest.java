@@ -0,0 +1,144 @@
+package com.digiticket.service.dashboard;
+
+import com.digiticket.repository.dashboard.SalesRankingRepository;
+import com.digiticket.repository.dashboard.SalesRankingRepository.Dimension;
+import com.digiticket.repository.dashboard.SalesRankingRepository.Increment;
+import com.digiticket.repository.report.DateDimRepository;
+import com.digiticket.service.dashboard.event.SaleRecordedEvent;
+import com.digiticket.service.impl.dashboard.SalesRankingServiceImpl;
+import com.digiticket.util.report.ReportingCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SalesRankingService - contadores y top-K")
+class SalesRankingServiceImplTest {
+
+    @Mock SalesRankingRepository repository;
+    @Mock DateDimRepository dateDimRepository;
+
+    SalesRankingServiceImpl service;
+
+    // 2025-03-15 12:00 en Lima
+    private final ReportingCalendar calendar = new ReportingCalendar(
+            ReportingCalendar.DEFAULT_ZONE, Clock.fixed(Instant.parse("2025-03-15T17:00:00Z"), ZoneId.of("UTC")));
+
+    @BeforeEach
+    void setUp() {
+        service = new SalesRankingServiceImpl(repository, dateDimRepository, calendar);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Increment> flushed() {
+        ArgumentCaptor<List<Increment>> captor = ArgumentCaptor.forClass(List.class);
+        verify(repository, atLeastOnce()).applyIncrements(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("La venta no escribe en el checkout; el flush agrupa por clave y ordena los locks")
+    void onSale_accumulatesAndFlushCoalesces() {
+        service.onSale(new SaleRecordedEvent(9, 2, 2, new BigDecimal("100.00")));
+        service.onSale(new SaleRecordedEvent(4, 2, 1, new BigDecimal("30.00")));
+        service.onSale(new SaleRecordedEvent(9, 2, 3, new BigDecimal("150.00")));
+        verifyNoInteractions(repository);
+
+        service.flushPending();
+
+        assertThat(flushed()).containsExactly(
+                new Increment(Dimension.EVENT, 20250315, 4, 1, new BigDecimal("30.00")),
+                new Increment(Dimension.EVENT, 20250315, 9, 5, new BigDecimal("250.00")),
+                new Increment(Dimension.CATEGORY, 20250315, 2, 6, new BigDecimal("280.00")));
+
+        // Sin ventas nuevas no hay otro batch
+        service.flushPending();
+        verify(repository, times(1)).applyIncrements(anyList());
+    }
+
+    @Test
+    @DisplayName("Si el batch falla (lock wait timeout), los deltas se reintentan en la siguiente pasada")
+    void flushPending_requeuesOnFailure() {
+        doThrow(new CannotAcquireLockException("Lock wait timeout exceeded"))
+                .doNothing()
+                .when(repository).applyIncrements(anyList());
+
+        service.onSale(new SaleRecordedEvent(9, null, 2, new BigDecimal("100.00")));
+        service.flushPending();
+        service.onSale(new SaleRecordedEvent(9, null, 1, new BigDecimal("50.00")));
+        service.flushPending();
+
+        assertThat(flushed()).containsExactly(
+                new Increment(Dimension.EVENT, 20250315, 9, 3, new BigDecimal("150.00")));
+    }
+
+    @Test
+    @DisplayName("rebuild descarta lo pendiente del rango (ya está en purchase) y aplica antes lo de fuera")
+    void rebuild_dropsCoveredPendingAndFlushesTheRest() {
+        service.onSale(new SaleRecordedEvent(9, null, 1, BigDecimal.TEN));
+
+        // Ayer no cubre la venta de hoy: se aplica antes del recálculo
+        service.rebuild(calendar.between(LocalDate.of(2025, 3, 14), LocalDate.of(2025, 3, 15)));
+        InOrder order = inOrder(repository);
+        order.verify(repository).applyIncrements(List.of(new Increment(Dimension.EVENT, 20250315, 9, 1, BigDecimal.TEN)));
+        order.verify(repository).rebuild(20250314, 20250315);
+
+        service.onSale(new SaleRecordedEvent(9, null, 2, BigDecimal.TEN));
+        service.rebuild(calendar.todayRange());
+        verify(repository).rebuild(20250315, 20250316);
+
+        // Lo de hoy lo contó el recálculo: no se vuelve a sumar
+        service.flushPending();
+        verify(repository, times(1)).applyIncrements(anyList());
+    }
+
+    @Test
+    @DisplayName("Si el rebuild falla, lo pendiente del rango vuelve a la cola")
+    void rebuild_failureRequeuesCoveredPending() {
+        doThrow(new CannotAcquireLockException("lock")).when(repository).rebuild(anyInt(), anyInt());
+        service.onSale(new SaleRecordedEvent(9, null, 2, new BigDecimal("20.00")));
+
+        assertThatThrownBy(() -> service.rebuild(calendar.todayRange()))
+                .isInstanceOf(CannotAcquireLockException.class);
+        service.flushPending();
+
+        assertThat(flushed()).containsExactly(
+                new Increment(Dimension.EVENT, 20250315, 9, 2, new BigDecimal("20.00")));
+    }
+
+    @Test
+    @DisplayName("Un mes completo se lee de sales_rank_month; un rango parcial mezcla días y meses")
+    void top_choosesMonthlyOrMergedRows() {
+        service.topEvents(calendar.between(LocalDate.of(2025, 2, 1), LocalDate.of(2025, 3, 1)), 5);
+        verify(repository).topOfMonth(Dimension.EVENT, 202502, 5);
+
+        // El mes en curso hasta hoy cuenta como mes completo
+        service.topEvents(calendar.monthToDate(), 5);
+        verify(repository).topOfMonth(Dimension.EVENT, 202503, 5);
+
+        service.topCategories(calendar.between(LocalDate.of(2025, 1, 20), LocalDate.of(2025, 3, 1)), 3);
+        verify(repository).topMerged(Dimension.CATEGORY, 20250120, 20250201, 202502, 202503, 20250301, 20250301, 3);
+
+        verify(repository, never()).topOfMonth(eq(Dimension.CATEGORY), anyInt(), anyInt());
+    }
+}
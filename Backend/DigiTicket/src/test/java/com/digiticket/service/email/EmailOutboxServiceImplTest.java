@@ -0,0 +1,131 @@
+package com.digiticket.service.email;
+
+import com.digiticket.dto.email.EmailTemplate;
+import com.digiticket.repository.email.EmailOutboxRepository;
+import com.digiticket.repository.email.EmailOutboxRepository.OutboxRow;
+import com.digiticket.repository.notification.NotificationBulkRepository;
+import com.digiticket.service.impl.email.EmailOutboxServiceImpl;
+import com.digiticket.util.email.EmailTemplateEngine;
+import com.digiticket.util.impl.EmailServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Workers del outbox contra un SMTP local (GreenMail): una conexión por dominio, marcado por lote y reintentos.
+ */
+class EmailOutboxServiceImplTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final EmailOutboxRepository outboxRepo = mock(EmailOutboxRepository.class);
+    private final NotificationBulkRepository notificationRepo = mock(NotificationBulkRepository.class);
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    private EmailOutboxServiceImpl outbox;
+
+    @AfterEach
+    void tearDown() {
+        if (outbox != null) outbox.stop();
+    }
+
+    private EmailOutboxServiceImpl outbox(JavaMailSenderImpl sender) {
+        sender.setHost("localhost");
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        EmailServiceImpl emailService = new EmailServiceImpl(sender, new EmailTemplateEngine());
+        ReflectionTestUtils.setField(emailService, "from", "no-reply@digiticket.test");
+        // Un worker, sin límite por dominio, 5 intentos
+        return new EmailOutboxServiceImpl(outboxRepo, notificationRepo, emailService, sender, new ObjectMapper(),
+                mock(PlatformTransactionManager.class), meters, 1, 50, 50, 0, 5, 1000, 60_000, 24);
+    }
+
+    private static OutboxRow notification(long id, String to, Integer notificationId, int attempts) {
+        return new OutboxRow(id, to, to.substring(to.indexOf('@') + 1), EmailTemplate.NOTIFICATION,
+                "{\"subject\":\"Tus puntos vencen mañana\",\"body\":\"Hola,\\nTienes 10 puntos.\"}",
+                notificationId, attempts);
+    }
+
+    @Test
+    void claimedBatch_isSentOneConnectionPerDomain_andMarkedSent() throws Exception {
+        List<OutboxRow> rows = List.of(
+                notification(1, "ana@a.test", 77, 0),
+                notification(2, "beto@a.test", null, 0),
+                notification(3, "carla@b.test", null, 0),
+                new OutboxRow(4, "dani@a.test", "a.test", EmailTemplate.RESET_PASSWORD, "{\"token\":\"ABC123\"}", null, 0));
+        when(outboxRepo.claim(anyInt(), any(), any())).thenReturn(rows, List.of());
+
+        AtomicInteger connections = new AtomicInteger();
+        outbox = outbox(new JavaMailSenderImpl() {
+            @Override
+            public void send(MimeMessage... mimeMessages) {
+                connections.incrementAndGet();
+                super.send(mimeMessages);
+            }
+        });
+        outbox.start();
+
+        assertThat(greenMail.waitForIncomingEmail(10_000, 4)).isTrue();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Long>> sent = ArgumentCaptor.forClass(List.class);
+        verify(outboxRepo, timeout(5_000).times(2)).markSent(sent.capture(), any());
+        verify(notificationRepo, timeout(5_000)).markSent(eq(List.of(77)), any());
+
+        List<Long> all = new ArrayList<>();
+        sent.getAllValues().forEach(all::addAll);
+        assertThat(all).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(connections.get()).isEqualTo(2);
+        assertThat(meters.counter("email.outbox.sent").count()).isEqualTo(4.0);
+    }
+
+    @Test
+    void failedSend_isRescheduledWithBackoff_untilMaxAttempts() {
+        when(outboxRepo.claim(anyInt(), any(), any()))
+                .thenReturn(List.of(notification(1, "ana@a.test", 77, 0), notification(2, "beto@a.test", null, 4)),
+                        List.of());
+        outbox = outbox(new JavaMailSenderImpl() {
+            @Override
+            public void send(MimeMessage... mimeMessages) {
+                throw new MailSendException("SMTP no disponible");
+            }
+        });
+        outbox.start();
+
+        verify(outboxRepo, timeout(5_000)).reschedule(eq(1L), eq(1), any(), eq("SMTP no disponible"));
+        verify(outboxRepo, timeout(5_000)).markFailed(eq(2L), eq(5), eq("SMTP no disponible"));
+        verify(notificationRepo, never()).markSent(eq(List.of(77)), any());
+        assertThat(meters.counter("email.outbox.retried").count()).isEqualTo(1.0);
+        assertThat(meters.counter("email.outbox.failed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void purgeExpired_deletesFinishedRowsInChunksOlderThanRetention() {
+        when(outboxRepo.deleteFinishedBefore(any(), anyInt())).thenReturn(1_000, 1_000, 7);
+        outbox = outbox(new JavaMailSenderImpl());
+
+        LocalDateTime before = LocalDateTime.now().minusHours(24);
+        assertThat(outbox.purgeExpired()).isEqualTo(2_007);
+
+        ArgumentCaptor<LocalDateTime> limit = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepo, times(3)).deleteFinishedBefore(limit.capture(), eq(1_000));
+        assertThat(limit.getValue()).isBetween(before, LocalDateTime.now().minusHours(24));
+    }
+}
@@ -0,0 +1,85 @@
+package com.digiticket.service.event;
+
+import com.digiticket.domain.event.EventImage;
+import com.digiticket.repository.event.EventImageRepository;
+import com.digiticket.service.impl.event.EventImageServiceImpl;
+import com.digiticket.util.image.ImageStore;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.*;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventImageServiceImplTest {
+
+    // SHA-256 de {1, 2, 3}
+    private static final String HASH = "039058c6f2c0cb492c533b0a4d14ef77cc0f78abccced5287d84a1a2011cfb81";
+
+    @Mock
+    EventImageRepository imageRepo;
+    @Mock
+    ImageStore imageStore;
+    @InjectMocks EventImageServiceImpl service;
+
+    @Test
+    @DisplayName("prepare() genera los derivados y devuelve el hash sin tocar la BD")
+    void prepare_ingests_without_db() {
+        byte[] data = {1, 2, 3};
+
+        assertThat(service.prepare(data)).isEqualTo(HASH);
+
+        verify(imageStore).ingest(HASH, data);
+        verifyNoInteractions(imageRepo);
+    }
+
+    @Test
+    @DisplayName("prepare() no falla si el store no puede escribir los derivados")
+    void prepare_tolerates_store_failure() {
+        byte[] data = {1, 2, 3};
+        doThrow(new IllegalStateException("disco lleno")).when(imageStore).ingest(HASH, data);
+
+        assertThat(service.prepare(data)).isEqualTo(HASH);
+    }
+
+    @Test
+    @DisplayName("store() solo escribe el BLOB: no decodifica ni escala dentro de la transacción")
+    void store_only_writes_blob() {
+        byte[] data = {1, 2, 3};
+        when(imageRepo.findById(5)).thenReturn(Optional.empty());
+
+        assertThat(service.store(5, HASH, data)).isEqualTo(HASH);
+
+        var captor = ArgumentCaptor.forClass(EventImage.class);
+        verify(imageRepo).save(captor.capture());
+        assertThat(captor.getValue().getEventId()).isEqualTo(5);
+        assertThat(captor.getValue().getSha256()).isEqualTo(HASH);
+        assertThat(captor.getValue().getSizeBytes()).isEqualTo(3);
+        verifyNoInteractions(imageStore);
+    }
+
+    @Test
+    @DisplayName("store() no reescribe el BLOB si el hash no cambió")
+    void store_same_hash_skips_write() {
+        var existing = EventImage.builder().eventId(5).sha256(HASH).build();
+        when(imageRepo.findById(5)).thenReturn(Optional.of(existing));
+
+        assertThat(service.store(5, HASH, new byte[]{1, 2, 3})).isEqualTo(HASH);
+
+        verify(imageRepo, never()).save(any());
+        verifyNoInteractions(imageStore);
+    }
+
+    @Test
+    @DisplayName("store() exige el hash de prepare()")
+    void store_without_hash_throws() {
+        assertThatThrownBy(() -> service.store(5, null, new byte[]{1}))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(imageRepo, imageStore);
+    }
+}
@@ -0,0 +1,93 @@
+package com.digiticket.service.event;
+
+import com.digiticket.repository.event.EventRepository;
+import com.digiticket.repository.event.projection.EventScheduleProjection;
+import com.digiticket.repository.ticket.TicketRepository;
+import com.digiticket.service.impl.event.EventLifecycleServiceImpl;
+import com.digiticket.util.report.ReportingCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.*;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventLifecycleServiceImplTest {
+
+    private static final ZoneId LIMA = ZoneId.of("America/Lima");
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 1, 12, 0);
+
+    @Mock EventRepository eventRepo;
+    @Mock TicketRepository ticketRepo;
+    @Mock EventService eventService;
+    @Mock AvailabilityService availabilityService;
+    @Mock PublishedEventCache cache;
+    @Mock ApplicationEventPublisher publisher;
+    @Mock TaskScheduler taskScheduler;
+    @Mock PlatformTransactionManager txManager;
+
+    EventLifecycleServiceImpl service;
+
+    record Schedule(Integer getId, LocalDateTime getSalesStartAt, LocalDateTime getStartsAt,
+                    Integer getDurationMin) implements EventScheduleProjection {}
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = Clock.fixed(NOW.atZone(LIMA).toInstant(), ZoneOffset.UTC);
+        service = new EventLifecycleServiceImpl(eventRepo, ticketRepo, eventService, availabilityService, cache,
+                publisher, taskScheduler, new TransactionTemplate(txManager), new ReportingCalendar(LIMA, clock),
+                clock, Duration.ofHours(48), Duration.ofMinutes(10));
+    }
+
+    @Test
+    void reload_queuesTransitions_andArmsTimerAtEarliest() {
+        var upcoming = new Schedule(1, NOW.plusHours(1), NOW.plusHours(5), 120);
+        when(eventRepo.findScheduleBefore(any())).thenReturn(List.of(upcoming));
+
+        service.reload();
+
+        assertThat(service.pending()).isEqualTo(3);   // prewarm, inicio de venta, fin
+        verify(taskScheduler).schedule(any(Runnable.class), eq(NOW.plusMinutes(50).atZone(LIMA).toInstant()));
+    }
+
+    @Test
+    void overdueEvent_isFinished_andTicketsMarkedUsed() {
+        var ended = new Schedule(2, NOW.minusDays(3), NOW.minusHours(4), 90);
+        when(eventRepo.findScheduleBefore(any())).thenReturn(List.of(ended));
+        when(eventRepo.findPublishedSchedule(2)).thenReturn(Optional.of(ended));
+        when(ticketRepo.markUsedByEvent(2)).thenReturn(7);
+
+        service.reload();
+        service.fireDue();
+
+        verify(eventService).finishEvent(2);
+        verify(ticketRepo).markUsedByEvent(2);
+        assertThat(service.pending()).isZero();
+    }
+
+    @Test
+    void finish_isSkipped_whenEventNoLongerPublished() {
+        var ended = new Schedule(3, NOW.minusDays(3), NOW.minusHours(4), 90);
+        when(eventRepo.findScheduleBefore(any())).thenReturn(List.of(ended));
+        when(eventRepo.findPublishedSchedule(3)).thenReturn(Optional.empty());
+
+        service.reload();
+        service.fireDue();
+
+        verify(eventService, never()).finishEvent(any());
+        verify(ticketRepo, never()).markUsedByEvent(any());
+    }
+}
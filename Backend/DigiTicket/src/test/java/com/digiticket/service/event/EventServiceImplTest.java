@@ -14,7 +14,9 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDateTime;
 import java.util.Optional;
@@ -29,6 +31,9 @@ public class EventServiceImplTest {
     @Mock LocationRepository locationRepo;
     @Mock EventCategoryRepository categoryRepo;
     @Mock AdministratorRepository adminRepo;
+    @Mock EventImageService imageService;
+    @Mock ApplicationEventPublisher eventPublisher;
+    @Mock PlatformTransactionManager txManager;
 
     @InjectMocks EventServiceImpl service;
 
@@ -65,6 +70,45 @@ public class EventServiceImplTest {
         verify(eventRepo).save(any(Event.class));
     }
 
+    @Test
+    void createEvent_with_image_prepares_before_saving_and_stores_prepared_hash() {
+        var loc = new Location(); loc.setId(1);
+        var cat = new EventCategory(); cat.setId(2);
+        var adm = new Administrator(); adm.setId(3);
+        when(locationRepo.findById(1)).thenReturn(Optional.of(loc));
+        when(categoryRepo.findById(2)).thenReturn(Optional.of(cat));
+        when(adminRepo.findById(3)).thenReturn(Optional.of(adm));
+        when(eventRepo.save(any(Event.class))).thenAnswer(inv -> {
+            Event ev = inv.getArgument(0);
+            ev.setId(9);
+            return ev;
+        });
+        byte[] image = {1, 2, 3};
+        when(imageService.prepare(image)).thenReturn("abc");
+        when(imageService.store(9, "abc", image)).thenReturn("abc");
+
+        var e = Event.builder()
+                .title("Show")
+                .startsAt(LocalDateTime.now().plusDays(1))
+                .location(loc)
+                .eventCategory(cat)
+                .administrator(adm)
+                .imageData(image)
+                .build();
+
+        var saved = service.createEvent(e);
+
+        // Los derivados se generan antes de abrir la transacción; las escrituras van en una sola
+        InOrder order = inOrder(imageService, txManager, eventRepo);
+        order.verify(imageService).prepare(image);
+        order.verify(txManager).getTransaction(any());
+        order.verify(eventRepo).save(any(Event.class));
+        order.verify(imageService).store(9, "abc", image);
+        order.verify(eventRepo).save(any(Event.class));
+        order.verify(txManager).commit(any());
+        assertThat(saved.getImageHash()).isEqualTo("abc");
+    }
+
     @Test
     void createEvent_missing_fk_throws() {
         var e = Event.builder().title("x").build();
@@ -0,0 +1,173 @@
+package com.digiticket.service.event;
+
+import com.digiticket.domain.event.EventZone;
+import com.digiticket.dto.event.ZoneProvisionRow;
+import com.digiticket.repository.event.EventZoneBulkRepository;
+import com.digiticket.repository.event.EventZoneBulkRepository.NewEventZone;
+import com.digiticket.repository.event.EventZoneBulkRepository.NewLocationZone;
+import com.digiticket.service.impl.event.EventZoneProvisioningServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EventZoneProvisioningServiceImplTest {
+
+    @Mock EventZoneBulkRepository bulkRepo;
+    @Mock ApplicationEventPublisher publisher;
+    @Mock PlatformTransactionManager txManager;
+
+    EventZoneProvisioningServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new EventZoneProvisioningServiceImpl(bulkRepo, publisher, txManager, 2);
+    }
+
+    private static ZoneProvisionRow row(int n, Integer eventId, String name, int quota) {
+        return new ZoneProvisionRow(n, eventId, name, BigDecimal.TEN, quota, 0, EventZone.Status.ACTIVE);
+    }
+
+    @Test
+    void reusesExistingLocationZones_createsMissingOnce_andBatchesInserts() {
+        // Dos eventos en el mismo local (10); "VIP" ya existe, "General" no
+        when(bulkRepo.findEventLocations(any())).thenReturn(Map.of(1, 10, 2, 10));
+        when(bulkRepo.findLocationZones(any()))
+                .thenReturn(Map.of("10|vip", 100))
+                .thenReturn(Map.of("10|vip", 100, "10|general", 101));
+        when(bulkRepo.findEventZonePairs(any())).thenReturn(new HashSet<>());
+        when(bulkRepo.insertEventZones(anyList())).thenAnswer(inv -> {
+            List<?> chunk = inv.getArgument(0);
+            List<Integer> ids = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) ids.add(1000 + i);
+            return ids;
+        });
+
+        var result = service.provision(List.of(
+                row(2, 1, "VIP", 50),
+                row(3, 1, "general", 200),
+                row(4, 2, "vip", 50),
+                row(5, 2, "General", 300)));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NewLocationZone>> created = ArgumentCaptor.forClass(List.class);
+        verify(bulkRepo).insertLocationZones(created.capture());
+        assertThat(created.getValue()).singleElement()
+                .satisfies(z -> assertThat(z.capacity()).isEqualTo(300));
+
+        verify(bulkRepo, times(2)).insertEventZones(anyList());   // 4 filas en chunks de 2
+        assertThat(result.createdIds()).hasSize(4);
+        assertThat(result.errors()).isEmpty();
+        assertThat(result.locationZonesCreated()).isEqualTo(1);
+        assertThat(result.locationZonesReused()).isEqualTo(1);
+        verify(publisher, times(2)).publishEvent(any(Object.class));
+    }
+
+    @Test
+    void reportsPerRowErrors_withoutStoppingValidRows() {
+        when(bulkRepo.findEventLocations(any())).thenReturn(Map.of(1, 10));
+        when(bulkRepo.findLocationZones(any())).thenReturn(Map.of("10|vip", 100));
+        when(bulkRepo.findEventZonePairs(any())).thenReturn(new HashSet<>(Set.of(EventZoneBulkRepository.pair(1, 100))));
+
+        var result = service.provision(List.of(
+                row(2, 99, "VIP", 10),     // evento inexistente
+                row(3, 1, "VIP", 10),      // ya existe para el evento
+                new ZoneProvisionRow(4, 1, "Platea", BigDecimal.ONE, 5, 9, null)));   // vendidos > cupo
+
+        assertThat(result.createdIds()).isEmpty();
+        assertThat(result.errors()).containsExactly(
+                "Row 2: Event not found with id 99",
+                "Row 3: El evento 1 ya tiene la zona 'VIP'",
+                "Row 4: seatsSold cannot be greater than seatsQuota");
+        verify(bulkRepo, never()).insertEventZones(anyList());
+    }
+
+    @Test
+    void failedChunk_isRetriedRowByRow() {
+        when(bulkRepo.findEventLocations(any())).thenReturn(Map.of(1, 10));
+        when(bulkRepo.findLocationZones(any())).thenReturn(Map.of("10|a", 1, "10|b", 2));
+        when(bulkRepo.findEventZonePairs(any())).thenReturn(new HashSet<>());
+        when(bulkRepo.insertEventZones(anyList())).thenAnswer(inv -> {
+            List<NewEventZone> chunk = inv.getArgument(0);
+            if (chunk.size() > 1) throw new IllegalStateException("batch");
+            if (chunk.get(0).locationZoneId() == 2) throw new IllegalStateException("Duplicate entry");
+            return List.of(500);
+        });
+
+        var result = service.provision(List.of(row(2, 1, "A", 10), row(3, 1, "B", 10)));
+
+        assertThat(result.createdIds()).containsExactly(500);
+        assertThat(result.errors()).containsExactly("Row 3: Duplicate entry");
+    }
+
+    @Test
+    void tooLongZoneName_isRejectedBeforeWriting() {
+        when(bulkRepo.findEventLocations(any())).thenReturn(Map.of(1, 10));
+        when(bulkRepo.findLocationZones(any())).thenReturn(Map.of());
+        when(bulkRepo.findEventZonePairs(any())).thenReturn(new HashSet<>());
+
+        var result = service.provision(List.of(row(2, 1, "x".repeat(81), 10)));
+
+        assertThat(result.errors()).containsExactly("Row 2: displayName no puede superar 80 caracteres");
+        verify(bulkRepo, never()).insertLocationZones(anyList());
+        verify(bulkRepo, never()).insertEventZones(anyList());
+    }
+
+    @Test
+    void failedLocationZoneBatch_isRetriedPerZone_andReportsAffectedRows() {
+        when(bulkRepo.findEventLocations(any())).thenReturn(Map.of(1, 10));
+        when(bulkRepo.findLocationZones(any()))
+                .thenReturn(Map.of())
+                .thenReturn(Map.of("10|a", 1));
+        when(bulkRepo.findEventZonePairs(any())).thenReturn(new HashSet<>());
+        doAnswer(inv -> {
+            List<NewLocationZone> zones = inv.getArgument(0);
+            if (zones.size() > 1 || zones.get(0).name().equals("B")) {
+                throw new IllegalStateException("Duplicate entry '10-B' for key 'uq_location_zone_name'");
+            }
+            return null;
+        }).when(bulkRepo).insertLocationZones(anyList());
+        when(bulkRepo.insertEventZones(anyList())).thenReturn(List.of(700));
+
+        var result = service.provision(List.of(row(2, 1, "A", 10), row(3, 1, "B", 10)));
+
+        verify(bulkRepo, times(3)).insertLocationZones(anyList());   // batch + una por zona
+        assertThat(result.createdIds()).containsExactly(700);
+        assertThat(result.locationZonesCreated()).isEqualTo(1);
+        assertThat(result.errors()).containsExactly(
+                "Row 3: No se pudo crear la zona del local 'B': Duplicate entry '10-B' for key 'uq_location_zone_name'");
+    }
+
+    @Test
+    void validate_reportsDuplicatesInFile_withoutWriting() {
+        when(bulkRepo.findEventLocations(any())).thenReturn(Map.of(1, 10));
+        when(bulkRepo.findLocationZones(any())).thenReturn(Map.of("10|vip", 100));
+        when(bulkRepo.findEventZonePairs(any())).thenReturn(new HashSet<>());
+
+        var errors = service.validate(List.of(
+                row(2, 1, "VIP", 10),
+                row(3, 1, "vip", 10),        // misma zona existente dos veces
+                row(4, 1, "Campo", 10),
+                row(5, 1, "campo ", 10)));   // zona nueva repetida en el archivo
+
+        assertThat(errors).containsExactly(
+                "Row 3: El evento 1 ya tiene la zona 'vip'",
+                "Row 5: El evento 1 ya tiene la zona 'campo'");
+        verify(bulkRepo, never()).insertLocationZones(anyList());
+        verify(bulkRepo, never()).insertEventZones(anyList());
+        verifyNoInteractions(publisher);
+    }
+}
@@ -13,6 +13,7 @@ import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.*;
 
@@ -30,6 +31,8 @@ class EventZoneServiceImplTest {
     LocationZoneRepository lzRepo;
     @Mock
     LocationRepository locRepo; // (no se usa directo en create, pero está en ctor)
+    @Mock
+    ApplicationEventPublisher eventPublisher;
     @InjectMocks EventZoneServiceImpl service;
 
     @Test
@@ -135,11 +138,13 @@ class EventZoneServiceImplTest {
 
     @Test
     void deleteZone_ok_and_not_found() {
-        when(zoneRepo.existsById(5)).thenReturn(true);
+        var z = new EventZone(); z.setId(5);
+        when(zoneRepo.findById(5)).thenReturn(Optional.of(z));
         service.deleteZone(5);
         verify(zoneRepo).deleteById(5);
+        verify(zoneRepo, never()).existsById(any());
 
-        when(zoneRepo.existsById(6)).thenReturn(false);
+        when(zoneRepo.findById(6)).thenReturn(Optional.empty());
         assertThatThrownBy(() -> service.deleteZone(6))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessageContaining("not found");
@@ -0,0 +1,69 @@
+package com.digiticket.service.event;
+
+import com.digiticket.domain.event.Event;
+import com.digiticket.domain.event.EventStatus;
+import com.digiticket.dto.event.EventDTO;
+import com.digiticket.repository.event.EventRepository;
+import com.digiticket.service.impl.event.PublishedEventCacheImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PublishedEventCache - listado de publicados")
+class PublishedEventCacheImplTest {
+
+    @Mock EventRepository eventRepository;
+
+    PublishedEventCacheImpl cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new PublishedEventCacheImpl(eventRepository, new SimpleMeterRegistry(), 100, 1_000_000);
+    }
+
+    private static Event published(int id, String title) {
+        Event e = new Event();
+        e.setId(id);
+        e.setTitle(title);
+        e.setStatus(EventStatus.PUBLISHED);
+        return e;
+    }
+
+    @Test
+    @DisplayName("El listado se lee una vez y también llena las entradas por id")
+    void getPublished_cachesListAndEntries() {
+        when(eventRepository.findByStatus(EventStatus.PUBLISHED)).thenReturn(List.of(published(1, "Rock")));
+
+        assertThat(cache.getPublished()).extracting(d -> d.getTitle()).containsExactly("Rock");
+        assertThat(cache.getPublished()).hasSize(1);
+        assertThat(cache.get(1)).map(d -> d.getTitle()).contains("Rock");
+
+        verify(eventRepository, times(1)).findByStatus(EventStatus.PUBLISHED);
+        verify(eventRepository, never()).findById(any());
+    }
+
+    @Test
+    @DisplayName("Una invalidación durante la lectura descarta el listado leído")
+    void getPublished_invalidatedWhileLoadingIsNotStored() {
+        when(eventRepository.findByStatus(EventStatus.PUBLISHED))
+                .thenAnswer(inv -> {
+                    cache.invalidate(1);
+                    return List.of(published(1, "Viejo"));
+                })
+                .thenReturn(List.of(published(1, "Nuevo")));
+
+        assertThat(cache.getPublished()).extracting(d -> d.getTitle()).containsExactly("Viejo");
+        assertThat(cache.getPublished()).extracting(d -> d.getTitle()).containsExactly("Nuevo");
+        verify(eventRepository, times(2)).findByStatus(EventStatus.PUBLISHED);
+    }
+}
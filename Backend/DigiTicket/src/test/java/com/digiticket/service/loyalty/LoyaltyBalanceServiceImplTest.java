@@ -0,0 +1,148 @@
+package com.digiticket.service.loyalty;
+
+import com.digiticket.domain.loyalty.LoyaltyPoint;
+import com.digiticket.domain.loyalty.LoyaltyPointStatus;
+import com.digiticket.repository.loyalty.LoyaltyBalanceRepository;
+import com.digiticket.repository.loyalty.LoyaltyBalanceRepository.Balance;
+import com.digiticket.repository.loyalty.LoyaltyPointRepository;
+import com.digiticket.service.impl.loyalty.LoyaltyBalanceServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Saldo materializado contra H2: recálculo, refresco de filas vencidas, reconciliación y carga inicial.
+ * Sin la transacción de @DataJpaTest, para que get() vea el caso "sin transacción" como en el perfil.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@Import({LoyaltyBalanceServiceImpl.class, LoyaltyBalanceRepository.class})
+@Sql(scripts = "classpath:db/changes/loyalty_balance.sql")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LoyaltyBalanceServiceImplTest {
+
+    @Autowired LoyaltyBalanceService balanceService;
+    @Autowired LoyaltyBalanceRepository balanceRepository;
+    @Autowired LoyaltyPointRepository pointRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("DELETE FROM loyalty_points");
+        jdbc.update("DELETE FROM loyalty_balance");
+    }
+
+    private void lot(int clientId, int points, LocalDateTime expiresAt) {
+        pointRepository.saveAndFlush(LoyaltyPoint.builder()
+                .clientId(clientId)
+                .points(points)
+                .status(LoyaltyPointStatus.ACTIVE)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    private void storedBalance(int clientId, int points, LocalDateTime nextExpiryAt) {
+        jdbc.update("""
+                INSERT INTO loyalty_balance (client_id, active_points, redeemable_points, next_expiry_at,
+                                             next_expiry_points, updated_at)
+                VALUES (?, ?, ?, ?, ?, ?)
+                """, clientId, points, points, nextExpiryAt != null ? Timestamp.valueOf(nextExpiryAt) : null,
+                nextExpiryAt != null ? points : 0, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private TransactionTemplate tx() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void recompute_foldsActiveLotsIntoTheLockedRow() {
+        LocalDateTime soon = LocalDateTime.now().plusDays(5).truncatedTo(ChronoUnit.SECONDS);
+        lot(1, 40, soon);
+        lot(1, 10, soon);
+        lot(1, 25, null);
+        lot(1, 99, LocalDateTime.now().minusDays(1));
+
+        Balance b = tx().execute(status -> {
+            balanceService.lock(1);
+            return balanceService.recompute(1);
+        });
+
+        assertThat(b).isEqualTo(new Balance(1, 75, 75, soon, 50));
+        assertThat(balanceRepository.find(1)).contains(b);
+    }
+
+    @Test
+    void get_refreshesStaleRowOutsideTransaction() {
+        lot(2, 99, LocalDateTime.now().minusHours(1));
+        lot(2, 30, null);
+        storedBalance(2, 129, LocalDateTime.now().minusHours(1));
+
+        assertThat(balanceService.get(2).activePoints()).isEqualTo(30);
+        assertThat(balanceRepository.find(2).orElseThrow().activePoints()).isEqualTo(30);
+    }
+
+    @Test
+    void get_insideCallerTransactionComputesWithoutWriting() {
+        lot(3, 99, LocalDateTime.now().minusHours(1));
+        lot(3, 30, null);
+        storedBalance(3, 129, LocalDateTime.now().minusHours(1));
+
+        // El llamador ya tiene el lock de la fila: un refresco en otra transacción quedaría esperándolo
+        Balance inside = tx().execute(status -> {
+            balanceService.lock(3);
+            return balanceService.get(3);
+        });
+
+        assertThat(inside.activePoints()).isEqualTo(30);
+        assertThat(jdbc.queryForObject(
+                "SELECT active_points FROM loyalty_balance WHERE client_id = 3", Integer.class)).isEqualTo(129);
+    }
+
+    @Test
+    void reconcile_fixesDriftedMissingAndOrphanRows() {
+        lot(4, 50, null);
+        storedBalance(4, 80, null);          // editado a mano
+        lot(5, 20, null);                    // sin fila
+        storedBalance(6, 15, null);          // sin lotes vigentes
+        lot(7, 10, null);
+        storedBalance(7, 10, null);          // correcto
+
+        assertThat(balanceService.reconcile()).isEqualTo(3);
+
+        assertThat(balanceRepository.find(4).orElseThrow().activePoints()).isEqualTo(50);
+        assertThat(balanceRepository.find(5).orElseThrow().activePoints()).isEqualTo(20);
+        assertThat(balanceRepository.find(6).orElseThrow().activePoints()).isZero();
+        assertThat(balanceService.reconcile()).isZero();
+    }
+
+    @Test
+    void backfill_fillsEmptyTableFromLedger() {
+        lot(8, 12, null);
+        lot(9, 7, LocalDateTime.now().plusDays(3));
+        assertThat(balanceRepository.isEmpty()).isTrue();
+
+        ((LoyaltyBalanceServiceImpl) balanceService).backfill();
+
+        assertThat(balanceRepository.findAll()).containsOnlyKeys(8, 9);
+        assertThat(balanceRepository.find(9).orElseThrow().nextExpiryPoints()).isEqualTo(7);
+    }
+}
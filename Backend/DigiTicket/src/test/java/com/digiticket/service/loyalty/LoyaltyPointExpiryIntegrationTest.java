@@ -0,0 +1,104 @@
+package com.digiticket.service.loyalty;
+
+import com.digiticket.domain.loyalty.LoyaltyPoint;
+import com.digiticket.domain.loyalty.LoyaltyPointStatus;
+import com.digiticket.repository.loyalty.LoyaltyBalanceRepository;
+import com.digiticket.repository.loyalty.LoyaltyLedgerRepository;
+import com.digiticket.repository.loyalty.LoyaltyPointRepository;
+import com.digiticket.service.impl.loyalty.LoyaltyBalanceServiceImpl;
+import com.digiticket.service.impl.loyalty.LoyaltyPointExpiryServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Vencimiento masivo contra H2 con batches de 2: varios batches, revalidación del UPDATE
+ * y saldos recalculados de los clientes tocados. Cada batch abre su propia transacción.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@Import({LoyaltyPointExpiryServiceImpl.class, LoyaltyBalanceServiceImpl.class,
+        LoyaltyBalanceRepository.class, LoyaltyLedgerRepository.class})
+@Sql(scripts = "classpath:db/changes/loyalty_balance.sql")
+@TestPropertySource(properties = "loyalty.expiry.batch-size=2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LoyaltyPointExpiryIntegrationTest {
+
+    @Autowired LoyaltyPointExpiryService expiryService;
+    @Autowired LoyaltyBalanceService balanceService;
+    @Autowired LoyaltyBalanceRepository balanceRepository;
+    @Autowired LoyaltyLedgerRepository ledgerRepository;
+    @Autowired LoyaltyPointRepository pointRepository;
+    @Autowired JdbcTemplate jdbc;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("DELETE FROM loyalty_points");
+        jdbc.update("DELETE FROM loyalty_balance");
+    }
+
+    private int lot(int clientId, int points, LoyaltyPointStatus status, LocalDateTime expiresAt) {
+        return pointRepository.saveAndFlush(LoyaltyPoint.builder()
+                .clientId(clientId)
+                .points(points)
+                .status(status)
+                .expiresAt(expiresAt)
+                .build()).getId();
+    }
+
+    private List<String> statuses(int clientId) {
+        return jdbc.queryForList("SELECT status FROM loyalty_points WHERE client_id = ? ORDER BY id",
+                String.class, clientId);
+    }
+
+    @Test
+    void expireDuePoints_expiresEveryDueLotAcrossBatches_andRecomputesBalances() {
+        LocalDateTime now = LocalDateTime.now();
+        lot(1, 10, LoyaltyPointStatus.ACTIVE, now.minusDays(3));
+        lot(1, 20, LoyaltyPointStatus.ACTIVE, now.plusDays(3));
+        lot(2, 30, LoyaltyPointStatus.ACTIVE, now.minusDays(2));
+        lot(2, 40, LoyaltyPointStatus.ACTIVE, now.minusDays(1));
+        lot(3, 50, LoyaltyPointStatus.ACTIVE, now.minusHours(1));
+        lot(3, 5, LoyaltyPointStatus.USED, now.minusDays(5));
+        balanceService.reconcile();
+
+        // 4 lotes vencidos con batches de 2: dos batches llenos y uno vacío
+        assertThat(expiryService.expireDuePoints()).isEqualTo(4);
+
+        assertThat(statuses(1)).containsExactly("EXPIRED", "ACTIVE");
+        assertThat(statuses(2)).containsExactly("EXPIRED", "EXPIRED");
+        assertThat(statuses(3)).containsExactly("EXPIRED", "USED");
+        assertThat(balanceRepository.find(1).orElseThrow().activePoints()).isEqualTo(20);
+        assertThat(balanceRepository.find(2).orElseThrow().activePoints()).isZero();
+        assertThat(balanceRepository.find(3).orElseThrow().activePoints()).isZero();
+        assertThat(expiryService.expireDuePoints()).isZero();
+    }
+
+    @Test
+    void expireLots_revalidatesStatusAndExpiry() {
+        LocalDateTime now = LocalDateTime.now();
+        int due = lot(4, 10, LoyaltyPointStatus.ACTIVE, now.minusDays(1));
+        int consumed = lot(4, 0, LoyaltyPointStatus.USED, now.minusDays(1));
+        int notYet = lot(4, 10, LoyaltyPointStatus.ACTIVE, now.plusDays(1));
+
+        // Leídos como vencidos, pero un canje consumió uno y otro aún no vence
+        assertThat(ledgerRepository.expireLots(List.of(due, consumed, notYet), now)).isEqualTo(1);
+        assertThat(statuses(4)).containsExactly("EXPIRED", "USED", "ACTIVE");
+    }
+}
@@ -0,0 +1,78 @@
+package com.digiticket.service.loyalty;
+
+import com.digiticket.repository.loyalty.LoyaltyLedgerRepository;
+import com.digiticket.repository.loyalty.LoyaltyLedgerRepository.DueLot;
+import com.digiticket.service.impl.loyalty.LoyaltyPointExpiryServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoyaltyPointExpiryService - vencimiento por batches")
+class LoyaltyPointExpiryServiceImplTest {
+
+    @Mock LoyaltyLedgerRepository ledgerRepository;
+    @Mock LoyaltyBalanceService balanceService;
+    @Mock PlatformTransactionManager txManager;
+
+    LoyaltyPointExpiryServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new LoyaltyPointExpiryServiceImpl(ledgerRepository, balanceService, txManager, 2);
+    }
+
+    @Test
+    @DisplayName("Un batch lleno sigue aunque otro haya consumido sus lotes; uno corto termina")
+    void expireDuePoints_continuesWhileBatchIsFull() {
+        when(ledgerRepository.findDueLots(any(), eq(2))).thenReturn(
+                List.of(new DueLot(1, 10), new DueLot(2, 11)),
+                List.of(new DueLot(3, 10), new DueLot(4, 12)),
+                List.of(new DueLot(5, 13)));
+        when(ledgerRepository.expireLots(anyList(), any())).thenReturn(0, 2, 1);
+
+        assertThat(service.expireDuePoints()).isEqualTo(3);
+        verify(ledgerRepository, times(3)).findDueLots(any(), anyInt());
+        verify(ledgerRepository, times(3)).expireLots(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Si vuelve exactamente el mismo batch no se insiste")
+    void expireDuePoints_stopsWhenNoProgress() {
+        List<DueLot> stuck = List.of(new DueLot(1, 10), new DueLot(2, 11));
+        when(ledgerRepository.findDueLots(any(), eq(2))).thenReturn(stuck);
+        when(ledgerRepository.expireLots(anyList(), any())).thenReturn(0);
+
+        assertThat(service.expireDuePoints()).isZero();
+        verify(ledgerRepository, times(1)).expireLots(anyList(), any());
+    }
+
+    @Test
+    @DisplayName("Locks de saldo en orden de id, después los lotes y al final el recálculo")
+    void expireBatch_locksBalancesBeforeLots() {
+        when(ledgerRepository.findDueLots(any(), eq(2))).thenReturn(
+                List.of(new DueLot(7, 30), new DueLot(8, 20)), List.of());
+        when(ledgerRepository.expireLots(anyList(), any())).thenReturn(2);
+
+        service.expireDuePoints();
+
+        InOrder order = inOrder(balanceService, ledgerRepository);
+        order.verify(balanceService).lockAll(argThat(ids -> List.copyOf(ids).equals(List.of(20, 30))));
+        order.verify(ledgerRepository).expireLots(eq(List.of(7, 8)), any());
+        order.verify(balanceService).recomputeAll(argThat(ids -> List.copyOf(ids).equals(List.of(20, 30))));
+    }
+}
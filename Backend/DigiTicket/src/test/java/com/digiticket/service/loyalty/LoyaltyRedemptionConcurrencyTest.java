@@ -0,0 +1,128 @@
+package com.digiticket.service.loyalty;
+
+import com.digiticket.domain.loyalty.LoyaltyPoint;
+import com.digiticket.domain.loyalty.LoyaltyPointStatus;
+import com.digiticket.repository.loyalty.LoyaltyBalanceRepository;
+import com.digiticket.repository.loyalty.LoyaltyLedgerRepository;
+import com.digiticket.repository.loyalty.LoyaltyPointRepository;
+import com.digiticket.service.impl.loyalty.LoyaltyBalanceServiceImpl;
+import com.digiticket.service.impl.loyalty.LoyaltyServiceImpl;
+import com.digiticket.service.settings.SettingsService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase.Replace;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Canjes en paralelo contra una base real (H2): cada hilo corre su propia transacción,
+ * así que el test no puede ir dentro de la transacción de @DataJpaTest.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = Replace.NONE)
+@ActiveProfiles("test")
+@Import({LoyaltyServiceImpl.class, LoyaltyBalanceServiceImpl.class,
+        LoyaltyBalanceRepository.class, LoyaltyLedgerRepository.class})
+@Sql(scripts = "classpath:db/changes/loyalty_balance.sql")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class LoyaltyRedemptionConcurrencyTest {
+
+    private static final int CLIENT_ID = 7;
+
+    @Autowired LoyaltyService loyaltyService;
+    @Autowired LoyaltyBalanceService balanceService;
+    @Autowired LoyaltyPointRepository pointRepository;
+    @Autowired JdbcTemplate jdbc;
+
+    @MockitoBean SettingsService settingsService;
+
+    @AfterEach
+    void cleanUp() {
+        jdbc.update("DELETE FROM loyalty_points");
+        jdbc.update("DELETE FROM loyalty_balance");
+    }
+
+    private void lot(int points, LocalDateTime expiresAt) {
+        pointRepository.saveAndFlush(LoyaltyPoint.builder()
+                .clientId(CLIENT_ID)
+                .points(points)
+                .status(LoyaltyPointStatus.ACTIVE)
+                .expiresAt(expiresAt)
+                .build());
+    }
+
+    private int activeLedgerPoints() {
+        return jdbc.queryForObject(
+                "SELECT COALESCE(SUM(points), 0) FROM loyalty_points WHERE client_id = ? AND status = 'ACTIVE'",
+                Integer.class, CLIENT_ID);
+    }
+
+    @Test
+    void parallelRedemptions_neverSpendTheSamePointsTwice() throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        lot(40, now.plusDays(10));
+        lot(30, now.plusDays(20));
+        lot(30, now.plusDays(30));
+        assertThat(balanceService.get(CLIENT_ID).activePoints()).isEqualTo(100);
+
+        int threads = 10;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger ok = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    loyaltyService.redeemPoints(CLIENT_ID, 15);
+                    ok.incrementAndGet();
+                } catch (IllegalStateException insufficient) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        // 100 puntos alcanzan para 6 canjes de 15; el resto se rechaza y nada se gasta dos veces
+        assertThat(ok.get()).isEqualTo(6);
+        assertThat(rejected.get()).isEqualTo(4);
+        assertThat(activeLedgerPoints()).isEqualTo(10);
+        assertThat(balanceService.get(CLIENT_ID).activePoints()).isEqualTo(10);
+    }
+
+    @Test
+    void redeem_consumesLotsInExpiryOrder_andLeavesUndatedLotsForLast() {
+        LocalDateTime now = LocalDateTime.now();
+        lot(25, null);
+        lot(30, now.plusDays(20));
+        lot(40, now.plusDays(10));
+
+        loyaltyService.redeemPoints(CLIENT_ID, 50);
+
+        List<String> lots = jdbc.query(
+                "SELECT points, status FROM loyalty_points WHERE client_id = ? ORDER BY id",
+                (rs, i) -> rs.getInt(1) + ":" + rs.getString(2), CLIENT_ID);
+        assertThat(lots).containsExactly("25:ACTIVE", "20:ACTIVE", "0:USED");
+        assertThat(balanceService.get(CLIENT_ID).activePoints()).isEqualTo(45);
+    }
+}
@@ -0,0 +1,142 @@
+package com.digiticket.service.loyalty;
+
+import com.digiticket.domain.loyalty.PointsConfig;
+import com.digiticket.repository.loyalty.PointsConfigRepository;
+import com.digiticket.service.impl.loyalty.PointsConfigServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PointsConfigService - snapshot en memoria")
+class PointsConfigServiceImplTest {
+
+    @Mock PointsConfigRepository repo;
+
+    PointsConfigServiceImpl service;
+
+    private static PointsConfig row(int points, long version) {
+        return PointsConfig.builder().id(1).pointsPerUnit(points).version(version).build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        service = new PointsConfigServiceImpl(repo);
+    }
+
+    @Test
+    @DisplayName("getPointsPerUnit lee la fila una sola vez")
+    void get_loadsOnce() {
+        when(repo.findById(1)).thenReturn(Optional.of(row(12, 0)));
+        service.loadOnStartup();
+
+        assertThat(service.getPointsPerUnit()).isEqualTo(12);
+        assertThat(service.getPointsPerUnit()).isEqualTo(12);
+
+        verify(repo, times(1)).findById(1);
+        assertThat(service.snapshotStatus().version()).isZero();
+    }
+
+    @Test
+    @DisplayName("Sin fila se usa el valor por defecto y se recarga cuando aparece")
+    void missingRow_usesDefaultUntilCreated() {
+        when(repo.findById(1)).thenReturn(Optional.empty(), Optional.of(row(7, 0)));
+        service.loadOnStartup();
+        assertThat(service.getPointsPerUnit()).isEqualTo(10);
+        assertThat(service.snapshotStatus().version()).isNull();
+
+        when(repo.findVersionById(1)).thenReturn(Optional.of(0L));
+        service.refreshIfChanged();
+
+        assertThat(service.getPointsPerUnit()).isEqualTo(7);
+        assertThat(service.snapshotStatus().checkedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("refreshIfChanged no recarga si la versión no cambió")
+    void refreshIfChanged_sameVersion_noReload() {
+        when(repo.findById(1)).thenReturn(Optional.of(row(12, 3)));
+        service.loadOnStartup();
+
+        when(repo.findVersionById(1)).thenReturn(Optional.of(3L));
+        service.refreshIfChanged();
+
+        verify(repo, times(1)).findById(1);
+    }
+
+    @Test
+    @DisplayName("updatePointsPerUnit publica al confirmar y no antes")
+    void update_publishesAfterCommit() {
+        when(repo.findById(1)).thenReturn(Optional.of(row(12, 0)));
+        when(repo.saveAndFlush(any())).thenAnswer(inv -> {
+            PointsConfig saved = inv.getArgument(0);
+            saved.setVersion(saved.getVersion() + 1);
+            return saved;
+        });
+        service.loadOnStartup();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.updatePointsPerUnit(20);
+            assertThat(service.getPointsPerUnit()).isEqualTo(12);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.getPointsPerUnit()).isEqualTo(20);
+        assertThat(service.snapshotStatus().version()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("Un rollback no publica el valor nuevo")
+    void update_rollback_keepsCurrent() {
+        when(repo.findById(1)).thenReturn(Optional.of(row(12, 0)));
+        when(repo.saveAndFlush(any())).thenAnswer(inv -> inv.getArgument(0));
+        service.loadOnStartup();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.updatePointsPerUnit(20);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.getPointsPerUnit()).isEqualTo(12);
+    }
+
+    @Test
+    @DisplayName("Una recarga con versión vieja no pisa la publicada")
+    void staleReload_doesNotOverwriteNewerVersion() {
+        when(repo.findById(1)).thenReturn(Optional.of(row(12, 0)));
+        when(repo.saveAndFlush(any())).thenAnswer(inv -> {
+            PointsConfig saved = inv.getArgument(0);
+            saved.setVersion(5L);
+            return saved;
+        });
+        service.loadOnStartup();
+        service.updatePointsPerUnit(20);   // sin transacción: publica de inmediato
+
+        // Otra lectura que vio la fila antes del commit
+        when(repo.findById(1)).thenReturn(Optional.of(row(12, 4)));
+        when(repo.findVersionById(1)).thenReturn(Optional.of(4L));
+        service.refreshIfChanged();
+
+        assertThat(service.getPointsPerUnit()).isEqualTo(20);
+        assertThat(service.snapshotStatus().version()).isEqualTo(5L);
+    }
+}
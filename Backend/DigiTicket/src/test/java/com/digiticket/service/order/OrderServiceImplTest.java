@@ -29,6 +29,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -37,6 +38,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -57,6 +59,8 @@ public class OrderServiceImplTest {
     @Mock private PaymentSimulator paymentSimulator;
     @Mock private LoyaltyService loyaltyService;
     @Mock private PurchaseLimitService purchaseLimitService;
+    @Mock private UserOrderStatsService userOrderStatsService;
+    @Mock private ApplicationEventPublisher eventPublisher;
 
     private OrderServiceImpl service;
 
@@ -64,7 +68,7 @@ public class OrderServiceImplTest {
     void setUp() {
         MockitoAnnotations.openMocks(this);
         
-        // Crear el servicio manualmente con todas las 14 dependencias
+        // Crear el servicio manualmente con todas las 16 dependencias
         service = new OrderServiceImpl(
                 orderRepo,
                 orderItemRepo,
@@ -79,7 +83,9 @@ public class OrderServiceImplTest {
                 reservationService,
                 paymentSimulator,
                 loyaltyService,
-                purchaseLimitService
+                purchaseLimitService,
+                userOrderStatsService,
+                eventPublisher
         );
         
         // Mock del cliente para el usuario de los tests
@@ -152,10 +158,40 @@ public class OrderServiceImplTest {
         verify(paymentRepo).save(any(Payment.class));
 
         verify(reservationService).confirmHold(userId, 999);
+        verify(userOrderStatsService).recordPaidOrder(userId, new BigDecimal("100.00"));
         verify(cartService).clear(999);
 
         verify(idemRepo).save(any(IdempotencyKey.class));
         verify(paymentSimulator).authorize(new BigDecimal("100.00"), "tok_test", 0, "CARD");
 
     }
+
+    @Test
+    void checkout_declinedPayment_shouldReleaseHoldWithoutTouchingStats(){
+        Integer userId = 10;
+        String idemKey ="DECLINED1";
+
+        when(idemRepo.findByKeyAndUserId(idemKey,userId))
+                .thenReturn(Optional.empty());
+
+        CartItemDTO item1 =new CartItemDTO(
+                1L,100,20,1,
+                new BigDecimal("50.00"),
+                new BigDecimal("50.00")
+        );
+        when(cartService.getActiveCart(userId)).thenReturn(new CartDTO(
+                999L, userId,
+                List.of(item1), new BigDecimal("50.00"),
+                null
+        ));
+        when(reservationService.hasActiveHold(userId,999)).thenReturn(true);
+        when(paymentSimulator.authorize(new BigDecimal("50.00"), "tok_bad", 0, "CARD"))
+                .thenReturn(new PaymentResult(PaymentStatus.DECLINED, null, "Fondos insuficientes"));
+
+        service.checkout(userId, new CheckoutRequest("tok_bad", 0, "CARD"), idemKey);
+
+        verify(reservationService).releaseHold(userId, 999);
+        verify(reservationService, never()).confirmHold(any(), any());
+        verify(userOrderStatsService, never()).recordPaidOrder(any(), any());
+    }
 }
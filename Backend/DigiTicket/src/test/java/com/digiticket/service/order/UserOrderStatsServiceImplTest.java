@@ -0,0 +1,80 @@
+package com.digiticket.service.order;
+
+import com.digiticket.repository.order.UserOrderStatsRepository;
+import com.digiticket.repository.order.UserOrderStatsRepository.Stats;
+import com.digiticket.service.impl.order.UserOrderStatsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserOrderStatsService - resumen de compras del perfil")
+class UserOrderStatsServiceImplTest {
+
+    @Mock UserOrderStatsRepository statsRepository;
+
+    UserOrderStatsServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new UserOrderStatsServiceImpl(statsRepository);
+    }
+
+    @Test
+    @DisplayName("El checkout suma la orden con un upsert")
+    void recordPaidOrder_upserts() {
+        service.recordPaidOrder(5, new BigDecimal("40.00"));
+        verify(statsRepository).addPaidOrder(5, new BigDecimal("40.00"));
+    }
+
+    @Test
+    @DisplayName("Con fila se lee por clave; sin fila se calcula desde las órdenes")
+    void get_readsRowOrFallsBackToCompute() {
+        Stats stored = new Stats(5, 3, new BigDecimal("90.00"));
+        when(statsRepository.find(5)).thenReturn(Optional.of(stored));
+        when(statsRepository.find(6)).thenReturn(Optional.empty());
+        when(statsRepository.compute(6)).thenReturn(new Stats(6, 1, new BigDecimal("10.00")));
+
+        assertThat(service.get(5)).isSameAs(stored);
+        assertThat(service.get(6).orderCount()).isEqualTo(1);
+        verify(statsRepository, never()).compute(5);
+    }
+
+    @Test
+    @DisplayName("La reconciliación reescribe solo las filas desviadas o faltantes, aunque alguna falle")
+    void reconcile_refreshesOnlyMismatches() {
+        when(statsRepository.computeAll()).thenReturn(Map.of(
+                1, new Stats(1, 2, new BigDecimal("50")),       // igual con otra escala
+                2, new Stats(2, 1, new BigDecimal("10.00")),    // sin fila: checkout previo a la migración
+                3, new Stats(3, 4, new BigDecimal("80.00")),    // desviada
+                4, new Stats(4, 1, new BigDecimal("5.00"))));   // desviada y el refresh falla
+        when(statsRepository.findAll()).thenReturn(Map.of(
+                1, new Stats(1, 2, new BigDecimal("50.00")),
+                3, new Stats(3, 1, new BigDecimal("20.00")),
+                4, new Stats(4, 2, new BigDecimal("5.00")),
+                5, new Stats(5, 1, new BigDecimal("7.00"))));   // sin órdenes PAID
+        // El resto de ids no falla; sin esto el stub estricto de refresh(4) rompe las otras llamadas
+        lenient().doNothing().when(statsRepository).refresh(anyInt());
+        doThrow(new CannotAcquireLockException("lock")).when(statsRepository).refresh(4);
+
+        assertThat(service.reconcile()).isEqualTo(3);
+
+        verify(statsRepository).refresh(2);
+        verify(statsRepository).refresh(3);
+        verify(statsRepository).refresh(5);
+        verify(statsRepository, never()).refresh(1);
+        verify(statsRepository, times(4)).refresh(anyInt());
+    }
+}
@@ -0,0 +1,102 @@
+package com.digiticket.service.report;
+
+import com.digiticket.dto.report.ReportJobDTO;
+import com.digiticket.dto.report.ReportJobStatus;
+import com.digiticket.service.impl.report.ReportJobServiceImpl;
+import com.digiticket.util.report.ReportingCalendar;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReportJobService - dedupe de renders en curso")
+class ReportJobServiceImplTest {
+
+    @Mock DailySalesMetricsService metricsService;
+    @Mock ThreadPoolTaskExecutor executor;
+    @TempDir Path cacheDir;
+
+    ReportJobServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ReportingCalendar calendar = new ReportingCalendar(
+                ReportingCalendar.DEFAULT_ZONE, Clock.fixed(Instant.parse("2025-03-15T17:00:00Z"), ZoneOffset.UTC));
+        service = new ReportJobServiceImpl(metricsService, calendar, executor, cacheDir.toString(), 10);
+    }
+
+    private Runnable queued() {
+        ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executor, atLeastOnce()).execute(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    @DisplayName("Dos pedidos iguales comparten un solo render")
+    void submit_sameKeyDeduplicates() {
+        when(metricsService.getDashboardReport(anyString())).thenThrow(new IllegalStateException("sin datos"));
+
+        ReportJobDTO first = service.submitDashboardPdf("day");
+        ReportJobDTO second = service.submitDashboardPdf("DAY");
+        verify(executor, times(1)).execute(any());
+
+        queued().run();
+
+        assertThat(service.getJob(first.id()).status()).isEqualTo(ReportJobStatus.FAILED);
+        assertThat(service.getJob(second.id()).status()).isEqualTo(ReportJobStatus.FAILED);
+        assertThat(service.getJob(second.id()).error()).isEqualTo("sin datos");
+    }
+
+    @Test
+    @DisplayName("Al terminar, el render en curso se libera y el siguiente pedido vuelve a encolar")
+    void submit_cleansUpAfterCompletion() {
+        when(metricsService.getDashboardReport(anyString())).thenThrow(new IllegalStateException("sin datos"));
+        // Ejecución en el mismo hilo: el future ya está completo cuando se registra la limpieza
+        doAnswer(inv -> {
+            inv.<Runnable>getArgument(0).run();
+            return null;
+        }).when(executor).execute(any());
+
+        ReportJobDTO first = service.submitDashboardPdf("DAY");
+        ReportJobDTO second = service.submitDashboardPdf("DAY");
+
+        verify(executor, times(2)).execute(any());
+        assertThat(service.getJob(first.id()).status()).isEqualTo(ReportJobStatus.FAILED);
+        assertThat(service.getJob(second.id()).status()).isEqualTo(ReportJobStatus.FAILED);
+    }
+
+    @Test
+    @DisplayName("Si el pool rechaza el render responde 503, descarta el job y no deja la clave tomada")
+    void submit_rejectedReturns503() {
+        doThrow(new TaskRejectedException("lleno")).doNothing().when(executor).execute(any());
+
+        assertThatThrownBy(() -> service.submitDashboardPdf("DAY"))
+                .isInstanceOf(ResponseStatusException.class)
+                .extracting(e -> ((ResponseStatusException) e).getStatusCode())
+                .isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+
+        ReportJobDTO retry = service.submitDashboardPdf("DAY");
+        verify(executor, times(2)).execute(any());
+        assertThat(service.getJob(retry.id()).status()).isEqualTo(ReportJobStatus.PENDING);
+    }
+}
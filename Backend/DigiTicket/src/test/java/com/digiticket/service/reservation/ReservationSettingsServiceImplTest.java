@@ -0,0 +1,57 @@
+package com.digiticket.service.reservation;
+
+import com.digiticket.domain.reservation.ReservationSettings;
+import com.digiticket.repository.reservation.ReservationSettingsRepository;
+import com.digiticket.service.impl.reservation.ReservationSettingsServiceImpl;
+import com.digiticket.service.settings.SettingsService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationSettingsServiceImplTest {
+
+    @Mock ReservationSettingsRepository repo;
+    @Mock SettingsService settingsService;
+    @InjectMocks ReservationSettingsServiceImpl service;
+
+    @Test
+    @DisplayName("El TTL vigente sale del snapshot de SettingsService")
+    void getDefaultTtl_readsSnapshot() {
+        when(settingsService.getReservationHoldTtlMinutes()).thenReturn(20);
+
+        assertThat(service.getDefaultTtlMinutes()).isEqualTo(20);
+        verifyNoInteractions(repo);
+    }
+
+    @Test
+    @DisplayName("Actualizar el TTL pasa por SettingsService para publicar el snapshot")
+    void update_routesThroughSettingsService() {
+        when(repo.findById(1)).thenReturn(Optional.empty());
+        when(repo.save(any())).thenAnswer(inv -> inv.getArgument(0));
+
+        ReservationSettings saved = service.updateDefaultTtlMinutes(25, 3);
+
+        assertThat(saved.getDefaultTtlMinutes()).isEqualTo(25);
+        assertThat(saved.getUpdatedByAdminId()).isEqualTo(3);
+        verify(settingsService).updateReservationHoldTtlMinutes(25);
+    }
+
+    @Test
+    @DisplayName("Un TTL fuera de rango no escribe nada")
+    void update_outOfRange_throws() {
+        assertThatThrownBy(() -> service.updateDefaultTtlMinutes(60, 3))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(repo, settingsService);
+    }
+}
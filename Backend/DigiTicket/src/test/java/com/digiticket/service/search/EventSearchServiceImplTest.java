@@ -0,0 +1,75 @@
+package com.digiticket.service.search;
+
+import com.digiticket.domain.event.Event;
+import com.digiticket.domain.event.EventStatus;
+import com.digiticket.repository.event.EventRepository;
+import com.digiticket.service.impl.search.EventSearchServiceImpl;
+import com.digiticket.service.search.event.EventChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventSearchService - índice en memoria")
+class EventSearchServiceImplTest {
+
+    @Mock EventRepository eventRepository;
+
+    EventSearchServiceImpl service;
+
+    private static Event event(int id, String title, EventStatus status) {
+        Event e = new Event();
+        e.setId(id);
+        e.setTitle(title);
+        e.setStatus(status);
+        return e;
+    }
+
+    @BeforeEach
+    void setUp() {
+        service = new EventSearchServiceImpl(eventRepository);
+    }
+
+    @Test
+    @DisplayName("Un cambio confirmado durante el rebuild se vuelve a aplicar sobre el índice nuevo")
+    void rebuild_replaysChangesMadeWhileReading() {
+        when(eventRepository.findAllWithRefs()).thenAnswer(inv -> {
+            // Mientras se lee la tabla otro hilo confirma el cambio de título del evento 1
+            service.onEventChanged(new EventChangedEvent(1, false));
+            return List.of(event(1, "Rock antiguo", EventStatus.PUBLISHED));
+        });
+        when(eventRepository.findWithRefsById(1))
+                .thenReturn(Optional.of(event(1, "Jazz nuevo", EventStatus.PUBLISHED)));
+
+        service.rebuild();
+
+        assertThat(service.search("jazz", null, 10)).containsExactly(1);
+        assertThat(service.search("rock", null, 10)).isEmpty();
+        verify(eventRepository, times(2)).findWithRefsById(1);
+    }
+
+    @Test
+    @DisplayName("reindex carga el evento con sus referencias y borra los que ya no existen")
+    void reindex_usesFetchJoinQuery_andRemovesMissing() {
+        when(eventRepository.findWithRefsById(5))
+                .thenReturn(Optional.of(event(5, "Noche de Salsa", EventStatus.PUBLISHED)))
+                .thenReturn(Optional.empty());
+
+        service.reindex(5);
+        assertThat(service.search("salsa", EventStatus.PUBLISHED, 10)).containsExactly(5);
+        assertThat(service.search("salsa", EventStatus.DRAFT, 10)).isEmpty();
+
+        service.reindex(5);
+        assertThat(service.search("salsa", null, 10)).isEmpty();
+        verify(eventRepository, never()).findById(any());
+    }
+}
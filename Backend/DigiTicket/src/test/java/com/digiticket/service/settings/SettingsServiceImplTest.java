@@ -0,0 +1,138 @@
+package com.digiticket.service.settings;
+
+import com.digiticket.domain.settings.SystemSettings;
+import com.digiticket.dto.settings.SystemSettingsDTO;
+import com.digiticket.repository.settings.SystemSettingsRepository;
+import com.digiticket.service.impl.settings.SettingsServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SettingsService - snapshot en memoria")
+class SettingsServiceImplTest {
+
+    @Mock SystemSettingsRepository repo;
+
+    SettingsServiceImpl service;
+
+    private static SystemSettings row(int maxTickets, long version) {
+        return SystemSettings.builder()
+                .id((short) 1)
+                .maxTicketsPerPurchase(maxTickets)
+                .pointsToSolesRatio(BigDecimal.ONE)
+                .pointsExpirationDays(365)
+                .maxTicketTransfers(1)
+                .reservationHoldTtlMinutes(15)
+                .passwordResetTokenTtlMinutes(15)
+                .version(version)
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        service = new SettingsServiceImpl(repo);
+    }
+
+    @Test
+    @DisplayName("Los getters leen la fila una sola vez")
+    void getters_loadOnce() {
+        when(repo.findById((short) 1)).thenReturn(Optional.of(row(4, 0)));
+        service.loadOnStartup();
+
+        assertThat(service.getMaxTicketsPerPurchase()).isEqualTo(4);
+        assertThat(service.getReservationHoldTtlMinutes()).isEqualTo(15);
+        assertThat(service.getSettingsSnapshot().maxTicketTransfers()).isEqualTo(1);
+
+        verify(repo, times(1)).findById((short) 1);
+        assertThat(service.snapshotStatus().version()).isZero();
+        assertThat(service.snapshotStatus().loadedAt()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("refreshIfChanged solo recarga si cambió la versión de la fila")
+    void refreshIfChanged_reloadsOnNewVersion() {
+        when(repo.findById((short) 1)).thenReturn(Optional.of(row(4, 0)), Optional.of(row(6, 1)));
+        service.loadOnStartup();
+
+        when(repo.findVersionById((short) 1)).thenReturn(Optional.of(0L));
+        service.refreshIfChanged();
+        assertThat(service.getMaxTicketsPerPurchase()).isEqualTo(4);
+        verify(repo, times(1)).findById((short) 1);
+        assertThat(service.snapshotStatus().checkedAt()).isNotNull();
+
+        when(repo.findVersionById((short) 1)).thenReturn(Optional.of(1L));
+        service.refreshIfChanged();
+        assertThat(service.getMaxTicketsPerPurchase()).isEqualTo(6);
+        assertThat(service.snapshotStatus().version()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("updateSettings publica la versión guardada sin volver a leer")
+    void updateSettings_publishesSavedVersion() {
+        when(repo.findById((short) 1)).thenReturn(Optional.of(row(4, 0)));
+        when(repo.saveAndFlush(any())).thenAnswer(inv -> {
+            SystemSettings saved = inv.getArgument(0);
+            saved.setVersion(saved.getVersion() + 1);
+            return saved;
+        });
+        service.loadOnStartup();
+
+        SystemSettingsDTO payload = new SystemSettingsDTO(8, BigDecimal.TEN, 180, 2, 20, 30);
+        assertThat(service.updateSettings(payload)).isEqualTo(payload);
+
+        assertThat(service.getMaxTicketsPerPurchase()).isEqualTo(8);
+        assertThat(service.getPointsToSolesRatio()).isEqualByComparingTo("10");
+        assertThat(service.snapshotStatus().version()).isEqualTo(1L);
+        verify(repo, times(2)).findById((short) 1);
+        verify(repo, never()).findVersionById(any());
+    }
+
+    @Test
+    @DisplayName("updateReservationHoldTtlMinutes publica el TTL solo al confirmar")
+    void updateReservationHoldTtl_publishesAfterCommit() {
+        when(repo.findById((short) 1)).thenReturn(Optional.of(row(4, 0)));
+        when(repo.saveAndFlush(any())).thenAnswer(inv -> {
+            SystemSettings saved = inv.getArgument(0);
+            saved.setVersion(saved.getVersion() + 1);
+            return saved;
+        });
+        service.loadOnStartup();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            assertThat(service.updateReservationHoldTtlMinutes(25).reservationHoldTtlMinutes()).isEqualTo(25);
+            // Antes del commit los lectores siguen viendo el valor vigente
+            assertThat(service.getReservationHoldTtlMinutes()).isEqualTo(15);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(service.getReservationHoldTtlMinutes()).isEqualTo(25);
+        assertThat(service.getMaxTicketsPerPurchase()).isEqualTo(4);
+        assertThat(service.snapshotStatus().version()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("updateReservationHoldTtlMinutes rechaza valores no positivos")
+    void updateReservationHoldTtl_rejectsNonPositive() {
+        assertThatThrownBy(() -> service.updateReservationHoldTtlMinutes(0))
+                .isInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(repo);
+    }
+}
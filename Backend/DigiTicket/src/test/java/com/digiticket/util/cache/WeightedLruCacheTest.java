@@ -0,0 +1,51 @@
+package com.digiticket.util.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeightedLruCacheTest {
+
+    @Test
+    void readThrough_countsHitsAndMisses_andSkipsNulls() {
+        var loads = new AtomicInteger();
+        var cache = new WeightedLruCache<Integer, String>(10, 1_000, String::length);
+
+        assertThat(cache.get(1, k -> { loads.incrementAndGet(); return "uno"; })).contains("uno");
+        assertThat(cache.get(1, k -> { loads.incrementAndGet(); return "otro"; })).contains("uno");
+        assertThat(cache.get(2, k -> null)).isEmpty();
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.hits()).isEqualTo(1);
+        assertThat(cache.misses()).isEqualTo(2);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed_byCountAndWeight() {
+        var cache = new WeightedLruCache<Integer, String>(2, 10, String::length);
+        cache.put(1, "aaa");
+        cache.put(2, "bbb");
+        cache.get(1, k -> null);          // 1 pasa a ser el más reciente
+        cache.put(3, "ccc");              // excede 2 entradas: sale 2
+
+        assertThat(cache.get(2, k -> null)).isEmpty();
+        assertThat(cache.get(1, k -> null)).contains("aaa");
+
+        cache.put(4, "dddddddd");         // excede cantidad y luego peso: salen 3 y 1
+        assertThat(cache.weight()).isLessThanOrEqualTo(10);
+        assertThat(cache.evictions()).isEqualTo(3);
+    }
+
+    @Test
+    void invalidate_removesEntryAndWeight() {
+        var cache = new WeightedLruCache<Integer, String>(10, 100, String::length);
+        cache.put(1, "abc");
+        cache.invalidate(1);
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.weight()).isZero();
+    }
+}
@@ -0,0 +1,68 @@
+package com.digiticket.util.csv;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    private static List<CsvReader.CsvRecord> readAll(String csv) throws IOException {
+        List<CsvReader.CsvRecord> out = new ArrayList<>();
+        try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+            CsvReader.CsvRecord r;
+            while ((r = reader.next()) != null) out.add(r);
+        }
+        return out;
+    }
+
+    @Test
+    void quotedFields_keepSeparatorsQuotesAndNewlines() throws IOException {
+        var rows = readAll("name,address,city\n\"Arena, Sur\",\"Av. \"\"Grau\"\" 123\nPiso 2\",Lima\n");
+
+        assertThat(rows).singleElement().satisfies(r -> {
+            assertThat(r.get("name")).isEqualTo("Arena, Sur");
+            assertThat(r.get("address")).isEqualTo("Av. \"Grau\" 123\nPiso 2");
+            assertThat(r.get("city")).isEqualTo("Lima");
+        });
+    }
+
+    @Test
+    void detectsSemicolon_crlf_bom_andSkipsBlankLines() throws IOException {
+        var rows = readAll("﻿name;capacity\r\n Estadio ; 100 \r\n\r\nTeatro;50\r\n");
+
+        assertThat(rows).extracting(r -> r.get("name")).containsExactly("Estadio", "Teatro");
+        assertThat(rows).extracting(CsvReader.CsvRecord::row).containsExactly(2, 4);
+        assertThat(rows.get(0).get("capacity")).isEqualTo("100");
+    }
+
+    @Test
+    void missingColumns_returnNull() throws IOException {
+        var rows = readAll("a,b,c\n1,2\n");
+
+        assertThat(rows.get(0).get("c")).isNull();
+        assertThat(rows.get(0).get("unknown")).isNull();
+    }
+
+    @Test
+    void emptyInput_hasNoHeadersNorRows() throws IOException {
+        try (CsvReader reader = new CsvReader(new StringReader(""))) {
+            assertThat(reader.headers()).isEmpty();
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void oversizedField_fails() {
+        assertThatThrownBy(() -> {
+            try (CsvReader reader = new CsvReader(new StringReader("a\n\"" + "x".repeat(100) + "\"\n"), 10)) {
+                reader.next();
+            }
+        }).isInstanceOf(IOException.class);
+    }
+}
@@ -0,0 +1,79 @@
+package com.digiticket.util.email;
+
+import com.digiticket.dto.email.EmailTemplate;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EmailTemplateEngineTest {
+
+    private final EmailTemplateEngine engine = new EmailTemplateEngine();
+
+    @Test
+    void compiledTemplate_rendersLikeReplaceChain_withoutReplacingInsideValues() {
+        CompiledTemplate t = CompiledTemplate.compile("<h1>{{TITLE}}</h1><p>{{BODY}}</p><style>a{{color:red}}</style>{{TITLE}}");
+
+        assertThat(t.keys()).containsExactly("TITLE", "BODY");
+        assertThat(t.render(Map.of("TITLE", "Hola", "BODY", "valor con {{TITLE}}")))
+                .isEqualTo("<h1>Hola</h1><p>valor con {{TITLE}}</p><style>a{{color:red}}</style>Hola");
+        assertThatThrownBy(() -> t.render(Map.of("TITLE", "x")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("BODY");
+    }
+
+    @Test
+    void emailTemplates_areCompiledOnce_andLogoIsCachedInMemory() throws Exception {
+        String html = engine.render(EmailTemplate.RESET_PASSWORD, Map.of("TOKEN", "ABC123", "YEAR", "2026"));
+
+        assertThat(html).contains("ABC123").contains("2026").doesNotContain("{{");
+        assertThat(engine.logo().bytes()).isNotEmpty();
+        assertThat(engine.logo().dataSource().getContentType()).isEqualTo("image/png");
+        // El mismo DataSource sirve para varios mensajes: cada lectura es un stream nuevo
+        assertThat(engine.logo().dataSource().getInputStream().readAllBytes()).isEqualTo(engine.logo().bytes());
+        assertThat(engine.logo()).isSameAs(engine.logo());
+    }
+
+    @Test
+    @Tag("benchmark")
+    void batchRender_emailsPerSecond() throws Exception {
+        String source = new String(new org.springframework.core.io.ClassPathResource("templates/email/notification.html")
+                .getInputStream().readAllBytes(), java.nio.charset.StandardCharsets.UTF_8);
+        int n = 20_000;
+        List<Map<String, String>> rows = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            rows.add(Map.of("TITLE", "Tus puntos vencen mañana",
+                    "BODY", "Hola Cliente " + i + ",<br><br>Tienes " + i + " puntos que vencerán pronto.",
+                    "YEAR", "2026"));
+        }
+
+        // Calentamiento de ambas variantes
+        engine.renderAll(EmailTemplate.NOTIFICATION, rows.subList(0, 2_000));
+        for (Map<String, String> r : rows.subList(0, 2_000)) naive(source, r);
+
+        long t0 = System.nanoTime();
+        List<String> compiled = engine.renderAll(EmailTemplate.NOTIFICATION, rows);
+        long compiledNs = System.nanoTime() - t0;
+
+        t0 = System.nanoTime();
+        List<String> replaced = new ArrayList<>(n);
+        for (Map<String, String> r : rows) replaced.add(naive(source, r));
+        long naiveNs = System.nanoTime() - t0;
+
+        System.out.printf("[email-template-benchmark] %d correos | compilado: %.0f/s | replace: %.0f/s%n",
+                n, n / (compiledNs / 1e9), n / (naiveNs / 1e9));
+        assertThat(compiled).isEqualTo(replaced);
+    }
+
+    // Lo que hacía EmailServiceImpl antes: un replace por marcador sobre el HTML completo
+    private static String naive(String html, Map<String, String> r) {
+        return html.replace("{{TITLE}}", r.get("TITLE"))
+                .replace("{{BODY}}", r.get("BODY"))
+                .replace("{{YEAR}}", r.get("YEAR"));
+    }
+}
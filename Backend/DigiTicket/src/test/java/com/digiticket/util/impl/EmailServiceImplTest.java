@@ -1,5 +1,6 @@
 package com.digiticket.util.impl;
 
+import com.digiticket.util.email.EmailTemplateEngine;
 import jakarta.mail.Session;
 import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
@@ -27,7 +28,7 @@ public class EmailServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        emailService = new EmailServiceImpl(mailSender);
+        emailService = new EmailServiceImpl(mailSender, new EmailTemplateEngine());
         setPrivate(emailService, "from", "no-reply@acme.com");
     }
 
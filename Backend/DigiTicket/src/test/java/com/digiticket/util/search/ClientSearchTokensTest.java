@@ -0,0 +1,38 @@
+package com.digiticket.util.search;
+
+import com.digiticket.util.search.ClientSearchTokens.Term;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientSearchTokensTest {
+
+    @Test
+    void index_foldsNamesEmailAndDocument() {
+        assertThat(ClientSearchTokens.index("José María", "Núñez", "jm.nunez@Gmail.com", "4567-8901"))
+                .extracting(t -> t.token())
+                .contains("jose", "maria", "nunez", "jm", "gmail", "4567", "8901", "~jos", "~nun", "~nez")
+                .doesNotContain("com", "gmail.com");
+    }
+
+    @Test
+    void index_keysTrigramsByWord() {
+        assertThat(ClientSearchTokens.index("José María", "Núñez", null, null))
+                .contains(new Term("jose", 0), new Term("~jos", 1), new Term("~ose", 1),
+                        new Term("maria", 0), new Term("~mar", 2), new Term("~ria", 2),
+                        new Term("nunez", 0), new Term("~nun", 3), new Term("~nez", 3));
+    }
+
+    @Test
+    void trigrams_areMarkedAndSkipShortWords() {
+        assertThat(ClientSearchTokens.trigrams("ramos")).containsExactly("~ram", "~amo", "~mos");
+        assertThat(ClientSearchTokens.trigrams("li")).isEmpty();
+    }
+
+    @Test
+    void query_dedupesAndIgnoresBlank() {
+        assertThat(ClientSearchTokens.query("  Ana  ana TORRES ")).containsExactly("ana", "torres");
+        assertThat(ClientSearchTokens.query("   ")).isEmpty();
+        assertThat(ClientSearchTokens.query(null)).isEmpty();
+    }
+}
@@ -0,0 +1,62 @@
+package com.digiticket.util.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetSnapshotTest {
+
+    record Row(String category, String city) {}
+
+    private static FacetSnapshot<Row> snapshot() {
+        Map<String, Function<Row, String>> facets = new LinkedHashMap<>();
+        facets.put("category", Row::category);
+        facets.put("city", Row::city);
+        return FacetSnapshot.build(List.of(
+                new Row("Conciertos", "Lima"),
+                new Row("Conciertos", "Cusco"),
+                new Row("Teatro", "Lima"),
+                new Row("Deportes", null)), facets);
+    }
+
+    @Test
+    void noFilters_countsEveryValue() {
+        var result = snapshot().query(Map.of(), null);
+
+        assertThat(result.total()).isEqualTo(4);
+        assertThat(result.counts().get("category"))
+                .containsEntry("Conciertos", 2).containsEntry("Teatro", 1).containsEntry("Deportes", 1);
+        assertThat(result.counts().get("city")).containsEntry("Lima", 2).containsEntry("Cusco", 1);
+    }
+
+    @Test
+    void ownFacet_isExcludedFromItsCounts() {
+        var result = snapshot().query(Map.of("category", Set.of("Conciertos")), null);
+
+        assertThat(result.total()).isEqualTo(2);
+        // Las demás categorías conservan su conteo para poder agregarse (OR dentro de la faceta)
+        assertThat(result.counts().get("category")).containsEntry("Teatro", 1).containsEntry("Deportes", 1);
+        assertThat(result.counts().get("city")).containsEntry("Lima", 1).containsEntry("Cusco", 1);
+    }
+
+    @Test
+    void facetsIntersect_andBaseRestricts() {
+        var snap = snapshot();
+        var result = snap.query(Map.of("category", Set.of("Conciertos", "Teatro"), "city", Set.of("Lima")), null);
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.page(0, 10)).containsExactly(0, 2);
+
+        BitSet base = new BitSet();
+        base.set(2, 4);
+        var restricted = snap.query(Map.of("city", Set.of("Lima")), base);
+        assertThat(restricted.page(0, 10)).containsExactly(2);
+        assertThat(restricted.page(1, 10)).isEmpty();
+    }
+}
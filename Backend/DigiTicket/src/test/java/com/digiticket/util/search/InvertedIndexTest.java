@@ -0,0 +1,72 @@
+package com.digiticket.util.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.put(1, List.of(
+                new InvertedIndex.Field("Festival de Música Electrónica", 3f),
+                new InvertedIndex.Field("Conciertos", 2f),
+                new InvertedIndex.Field("Parque de la Exposición", 1.5f)));
+        index.put(2, List.of(
+                new InvertedIndex.Field("Noche de Rock", 3f),
+                new InvertedIndex.Field("Conciertos", 2f),
+                new InvertedIndex.Field("Estadio Nacional", 1.5f),
+                new InvertedIndex.Field("Un festival de bandas locales", 0.5f)));
+        index.put(3, List.of(
+                new InvertedIndex.Field("Obra de teatro: Luces", 3f),
+                new InvertedIndex.Field("Teatro", 2f)));
+    }
+
+    @Test
+    void accentInsensitive_andPlural() {
+        assertThat(index.search("musica ", 10, null)).containsExactly(1);
+        assertThat(index.search("CONCIERTO ", 10, null)).containsExactlyInAnyOrder(1, 2);
+        assertThat(index.search("luz ", 10, null)).containsExactly(3);
+    }
+
+    @Test
+    void titleMatch_ranksAboveDescription() {
+        assertThat(index.search("festival ", 10, null)).containsExactly(1, 2);
+    }
+
+    @Test
+    void lastWord_matchesAsPrefix() {
+        assertThat(index.search("noche ro", 10, null)).containsExactly(2);
+        assertThat(index.search("electr", 10, null)).containsExactly(1);
+        assertThat(index.search("festivales", 10, null)).containsExactly(1, 2);
+    }
+
+    @Test
+    void trailingStopword_keepsPreviousWordAsTerm() {
+        assertThat(index.search("festival de", 10, null)).containsExactly(1, 2);
+        assertThat(index.search("obra de teatro", 10, null)).containsExactly(3);
+    }
+
+    @Test
+    void allWordsRequired_andFilterApplied() {
+        assertThat(index.search("rock teatro ", 10, null)).isEmpty();
+        assertThat(index.search("conciertos", 10, id -> id != 1)).containsExactly(2);
+    }
+
+    @Test
+    void put_replaces_and_remove_deletes() {
+        index.put(2, List.of(new InvertedIndex.Field("Jazz en vivo", 3f)));
+        assertThat(index.search("rock ", 10, null)).isEmpty();
+        assertThat(index.search("jazz", 10, null)).containsExactly(2);
+
+        index.remove(2);
+        assertThat(index.search("jazz", 10, null)).isEmpty();
+        assertThat(index.size()).isEqualTo(2);
+    }
+}
@@ -54,7 +54,7 @@ const CartItem = ({ item, onUpdateQuantity, onRemove, disabled, allItems = [] })
       <div className="flex-shrink-0">
         {item.eventImage ? (
           <img
-            src={`data:image/jpeg;base64,${item.eventImage}`}
+            src={/^(data:|https?:|\/)/.test(item.eventImage) ? item.eventImage : `data:image/jpeg;base64,${item.eventImage}`}
             alt={item.eventTitle}
             className="w-20 h-20 object-cover rounded-lg"
           />
@@ -1,4 +1,5 @@
 import React, { useMemo, useRef, useEffect, useCallback } from 'react'
+import { eventImageSrc } from '../../services/eventsService'
 
 /* ---- Helpers ---- */
 const inputCls = (hasError) =>
@@ -351,12 +352,12 @@ export default function EventForm({
             className={inputCls(false)}
           />
           {/* Preview si ya hay imagen en el form (nueva o traída del back) */}
-          {form?.imageBase64 && (
+          {eventImageSrc(form) && (
             <img
               alt="preview"
               className="mt-2 rounded-xl"
               style={{ maxWidth: 320, height: "auto" }}
-              src={`data:image/jpeg;base64,${form.imageBase64}`}
+              src={eventImageSrc(form)}
             />
           )}
         </div>
@@ -1,7 +1,7 @@
 import React, { useState, useEffect } from 'react'
 import { X, Plus, Minus, ShoppingCart, AlertCircle } from 'lucide-react'
 import { useCart } from '../../context/CartContext'
-import { eventsService } from '../../services/eventsService'
+import { eventsService, eventImageSrc } from '../../services/eventsService'
 import { useAuth } from '../../context/AuthProvider'
 import { logger } from '../../utils/logger'
 
@@ -168,7 +168,7 @@ const AddToCartModal = ({ isOpen, onClose, event, zones, onAddToCart }) => {
           const itemToAdd = {
             eventId: event.id,
             eventTitle: event.title,
-            eventImage: event.imageBase64,
+            eventImage: eventImageSrc(event, 'thumb'),
             eventDate: event.startsAt,
             eventLocation: event.locationName,
             zoneId: zone.id,
@@ -1,6 +1,6 @@
 import React, { createContext, useContext, useState, useEffect, useCallback, useRef } from 'react'
 import { cartService } from '../services/cartService'
-import { eventsService } from '../services/eventsService'
+import { eventsService, eventImageSrc } from '../services/eventsService'
 import { settingsService } from '../services/settingsService'
 import { useAuth } from './AuthProvider'
 import { logger } from '../utils/logger'
@@ -267,7 +267,7 @@ export function CartProvider({ children }) {
               id: item.id,
               eventId: item.eventId,
               eventTitle: eventData?.title || eventData?.name || 'Evento sin nombre',
-              eventImage: eventData?.imageBase64 || eventData?.image || '',
+              eventImage: eventImageSrc(eventData, 'thumb') || eventData?.image || '',
               eventDate: eventData?.dateTime || eventData?.date || '',
               eventLocation: eventData?.local?.name || eventData?.location || '',
               zoneId: item.eventZoneId || item.ticketTypeId,
@@ -6,7 +6,7 @@
  */
 
 import React, { createContext, useContext, useState, useCallback } from "react";
-import { eventsService } from "../services/eventsService";
+import { eventsService, eventImageSrc } from "../services/eventsService";
 import { localService } from "../services/localService";
 import logger from "../utils/logger";
 
@@ -51,12 +51,11 @@ export const EventsCacheProvider = ({ children }) => {
       const eventsData = response?.data ?? response ?? [];
       const eventsList = Array.isArray(eventsData) ? eventsData : [];
       
-      // Convertir imágenes base64 a data URLs
+      // Las imágenes se piden aparte por URL (GET /api/event/{id}/image)
       const eventsWithImages = eventsList.map((e) => ({
         ...e,
-        imageURL: e.imageBase64
-          ? `data:image/jpeg;base64,${e.imageBase64}`
-          : null,
+        imageURL: eventImageSrc(e),
+        imageCardURL: eventImageSrc(e, 'card'),
       }));
 
       setEventsCache(eventsWithImages);
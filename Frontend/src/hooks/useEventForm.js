@@ -177,7 +177,8 @@ export function useEventForm({
                         eventCategoryId: data.eventCategoryId ?? "",
                         locationId: data.locationId ?? "",
                         salesStartAt: data.salesStartAt ? String(data.salesStartAt).slice(0, 10) : "",
-                        imageBase64: data.imageBase64 ?? "",
+                        imageBase64: "",
+                        imageUrl: data.imageUrl ?? "",
                     };
                     setForm(next);
                     onLoaded?.(next);
@@ -62,7 +62,7 @@ const HomePageClient = () => {
       
       const withImages = cachedEvents.map((e, i) => ({
         ...e,
-        image: e.imageURL || defaultImages[i % defaultImages.length],
+        image: e.imageCardURL || e.imageURL || defaultImages[i % defaultImages.length],
       }));
 
       setAllEvents(withImages);
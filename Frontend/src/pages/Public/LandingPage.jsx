@@ -58,7 +58,7 @@ const LandingPage = () => {
       // Agregar fallback de imágenes
       const withImages = cachedEvents.map((e, i) => ({
         ...e,
-        image: e.imageURL || defaultImages[i % defaultImages.length],
+        image: e.imageCardURL || e.imageURL || defaultImages[i % defaultImages.length],
       }));
 
       setAllEvents(withImages);
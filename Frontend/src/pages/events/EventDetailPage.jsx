@@ -9,7 +9,7 @@ import {
   TableHead,
   TableRow,
 } from '@mui/material'
-import { eventsService } from '../../services/eventsService'
+import { eventsService, eventImageSrc } from '../../services/eventsService'
 import { useEventZones } from '../../hooks/useEventZones'
 import { useEventCategories } from '../../hooks/useEventCategories'
 import { useEventLocation } from '../../hooks/useEventLocation'
@@ -157,10 +157,10 @@ const EventDetailPage = () => {
           </div>
 
           {/* Imagen (hero) del evento */}
-          {event?.imageBase64 && (
+          {eventImageSrc(event) && (
             <div className="mb-6">
               <img
-                src={`data:image/jpeg;base64,${event.imageBase64}`}
+                src={eventImageSrc(event)}
                 alt={event.title}
                 className="w-full max-h-[360px] object-cover rounded-2xl"
               />
@@ -8,7 +8,7 @@ import {
   TableHead,
   TableRow,
 } from '@mui/material'
-import { eventsService } from '../../services/eventsService'
+import { eventsService, eventImageSrc } from '../../services/eventsService'
 import { useEventCategories } from '../../hooks/useEventCategories'
 import { useEventLocation } from '../../hooks/useEventLocation'
 import { usePageSlice } from '../../hooks/usePageSlice'
@@ -340,9 +340,10 @@ const EventsListPage = () => {
                         <TableRow key={event.id}>
                           <TableCell align="left" className="px-4">
                             <div className="flex items-center gap-3">
-                              {event?.imageBase64 && (
+                              {eventImageSrc(event, 'thumb') && (
                                 <img
-                                  src={`data:image/jpeg;base64,${event.imageBase64}`}
+                                  src={eventImageSrc(event, 'thumb')}
+                                  loading="lazy"
                                   alt={event.title}
                                   style={{
                                     width: 56,
@@ -1,5 +1,5 @@
 import { Mail, CircleAlert } from 'lucide-react'
-import React, { useState, useEffect, useCallback, useRef } from 'react'
+import React, { useState, useEffect, useCallback } from 'react'
 import { useNavigate } from 'react-router-dom'
 import {
   Table,
@@ -9,7 +9,6 @@ import {
   TableHead,
   TableRow,
 } from '@mui/material'
-import { usePageSlice } from '../../hooks/usePageSlice'
 import { userClientService, POINTS_STATUS_ENUM } from "../../services/userClientService";
 import { loyaltyNotificationService } from "../../services/loyaltyNotificationService";
 
@@ -23,25 +22,26 @@ import ContentPreLoader from '../../components/Layout/ContentPreloader'
 import Pagination from '../../components/Pagination/Pagination'
 import ModalCheck from "../../components/Modal/ModalCheck";
 
+// Filas por página; la paginación y el filtro por nombre se resuelven en el backend
+const PAGE_SIZE = 5;
+
 const UsersListPage = () => {
   const navigate = useNavigate()
   const [clients, setClients] = useState([]);
-  const [clientsRaw, setClientsRaw] = useState([]);
+  const [page, setPage] = useState(1);
+  const [totalPages, setTotalPages] = useState(1);
 
   const [loading, setLoading] = useState(true);
-  const [initialLoaded, setInitialLoaded] = useState(false);
 
   const [searchTerm, setSearchTerm] = useState("");
+  const [debouncedSearch, setDebouncedSearch] = useState("");
   const [selectedPointsStatus, setSelectedPointsStatus] = useState("");
-  const fetchedOnce = useRef(false);
 
   const [sendingEmail, setSendingEmail] = useState(false);
   const [showSuccessModal, setShowSuccessModal] = useState(false);
   const [successMessage, setSuccessMessage] = useState("");
   const [noClientsToNotify, setNoClientsToNotify] = useState(false);
 
-  const { page, setPage, totalPages, pageItems } = usePageSlice(clients, 5);
-
   // --- helper: formatear fecha ---
   const formatDate = (value) => {
     if (!value) return 'No registrado';
@@ -62,116 +62,67 @@ const UsersListPage = () => {
     return label;
   };
 
-  // --- helper: filtrar por búsqueda ---
-  const applySearchFilter = (list, search) => {
-    if (!search) return list ?? [];
-
-    const s = search.toLowerCase();
-    return (list ?? []).filter((c) =>
-      `${c.firstName ?? ""} ${c.lastName ?? ""}`.toLowerCase().includes(s) ||
-      (c.email ?? "").toLowerCase().includes(s)
-    );
-  };
-
-  // --- helper: obtener clientes según estado ---
-  const fetchClientsByState = useCallback(async (statusLabel, name) => {
+  // --- helper: obtener una página de clientes según estado ---
+  const fetchClientsPage = useCallback(async (statusLabel, name, pageNumber) => {
     const normalized = normalizeStatusLabel(statusLabel);
-    const trimmedName = name?.trim() || undefined;
-
-    try {
-      let response;
-
-      if (normalized === 'por vencer') {
-        response = await userClientService.getClientsWithPointsExpiringIn5Days();
-        let list = Array.isArray(response?.data) ? response.data : response ?? [];
-        list = Array.isArray(list) ? list : [];
-
-        if (trimmedName) {
-          const lower = trimmedName.toLowerCase();
-          list = list.filter((c) =>
-            `${c.firstName ?? ''} ${c.lastName ?? ''}`
-              .toLowerCase()
-              .includes(lower),
-          );
-        }
-
-        return list;
-      }
-
-      if (normalized === 'todos') {
-        response = await userClientService.getActiveClients(trimmedName);
-      } else {
-        const statusEnum = POINTS_STATUS_ENUM[normalized];
-        response = await userClientService.getClientsByPointsStatus(
-          statusEnum,
-          trimmedName,
-        );
-      }
-
-      const raw = Array.isArray(response?.data) ? response.data : response ?? [];
-      return Array.isArray(raw) ? raw : [];
-    } catch (error) {
-      console.error('Error cargando clientes por estado:', error);
-      return [];
+    const paging = { page: pageNumber - 1, size: PAGE_SIZE };
+
+    let response;
+    if (normalized === 'por vencer') {
+      response = await userClientService.getClientsWithPointsExpiringIn5Days(name, paging);
+    } else if (normalized === 'todos') {
+      response = await userClientService.getActiveClients(name, paging);
+    } else {
+      const statusEnum = POINTS_STATUS_ENUM[normalized];
+      response = await userClientService.getClientsByPointsStatus(statusEnum, name, paging);
     }
-  }, []);
 
-  // --- Cargar desde backend ---
-  const loadFromBackend = async () => {
-    try {
-      setLoading(true);
-      const resp = await userClientService.getActiveClients();
-      const list = Array.isArray(resp?.data) ? resp.data : resp || [];
-      setClientsRaw(Array.isArray(list) ? list : []);
-      return Array.isArray(list) ? list : [];
-    } catch (error) {
-      console.error("Error cargando los usuarios:", error);
-      setClientsRaw([]);
-      return [];
-    } finally {
-      setLoading(false);
-    }
-  };
+    const data = response?.data ?? {};
+    return {
+      items: Array.isArray(data.content) ? data.content : [],
+      totalPages: Math.max(1, Number(data.totalPages ?? 1)),
+    };
+  }, []);
 
-  // Carga inicial
+  // La búsqueda espera a que se deje de escribir y vuelve a la página 1
+  useEffect(() => {
+    const timer = setTimeout(() => {
+      setDebouncedSearch(searchTerm.trim());
+      setPage(1);
+    }, 300);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
+
+  // --- Cargar desde backend cada vez que cambia estado, búsqueda o página ---
   useEffect(() => {
-    if (fetchedOnce.current) return;
-    fetchedOnce.current = true;
+    let cancelled = false;
 
     (async () => {
-      const list = await loadFromBackend();
-      const filtered = applySearchFilter(list, searchTerm);
-      setClients(filtered);
-      setInitialLoaded(true);
+      setLoading(true);
+      try {
+        const result = await fetchClientsPage(selectedPointsStatus, debouncedSearch || undefined, page);
+        if (cancelled) return;
+        setClients(result.items);
+        setTotalPages(result.totalPages);
+      } catch (error) {
+        console.error('Error cargando clientes por estado:', error);
+        if (cancelled) return;
+        setClients([]);
+        setTotalPages(1);
+      } finally {
+        if (!cancelled) setLoading(false);
+      }
     })();
-  }, []);
 
-  // --- Cuando cambia el estado de puntos -> llamar al backend ---
-  const handleStatusChange = async (status) => {
+    return () => { cancelled = true; };
+  }, [selectedPointsStatus, debouncedSearch, page, fetchClientsPage]);
+
+  // --- Cuando cambia el estado de puntos -> volver a la primera página ---
+  const handleStatusChange = (status) => {
     setSelectedPointsStatus(status);
     setPage(1);
-
-    setLoading(true);
-    try {
-      const list = await fetchClientsByState(status);
-      setClientsRaw(list);
-      setClients(applySearchFilter(list, searchTerm));
-    } catch (error) {
-      console.error("Error al cambiar estado de puntos:", error);
-      setClientsRaw([]);
-      setClients([]);
-    } finally {
-      setLoading(false);
-    }
   };
 
-  // Cuando cambian filtros (nombre, estado)
-  useEffect(() => {
-    if (!initialLoaded) return;
-    setClients(applySearchFilter(clientsRaw, searchTerm));
-    setPage(1);
-  }, [searchTerm, clientsRaw]);
-
   const handleSendMassiveEmail = async () => {
     try {
       setSendingEmail(true);
@@ -271,12 +222,12 @@ const UsersListPage = () => {
                   </TableHead>
 
                   <TableBody>
-                    {pageItems.length === 0 ? (
+                    {clients.length === 0 ? (
                       <TableRow>
                         <TableCell colSpan={8} align="center"> No se encontraron usuarios registrados.</TableCell>
                       </TableRow>
                     ) : (
-                      pageItems.map((client) => (
+                      clients.map((client) => (
                         <TableRow key={client.id} sx={{ '& td:first-of-type': { pl: 5 } }}>
                           <TableCell align="left">{`${client.lastName ?? ""}, ${client.firstName ?? ""}`}</TableCell>
                           <TableCell align="left">{client.email}</TableCell>
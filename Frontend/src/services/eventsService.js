@@ -1,5 +1,5 @@
 // src/services/events.service.js
-import { api } from './http'
+import { api, apiUrl } from './http'
 import { EVENT_PREFIX, BULK_PREFIX } from '../constants/api'
 
 function normalizeEventPayload(evt) {
@@ -9,6 +9,16 @@ function normalizeEventPayload(evt) {
   return { ...rest, imageBase64 }
 }
 
+// src de la imagen del evento: URL del backend (con ETag/caché) o base64 recién cargado en un form.
+// size: 'hero' (detalle), 'card' (tarjetas) o 'thumb' (listas)
+export function eventImageSrc(evt, size = 'hero') {
+  if (!evt) return null
+  if (evt.imageBase64) return `data:image/jpeg;base64,${evt.imageBase64}`
+  const url = size === 'thumb' ? evt.imageThumbUrl : size === 'card' ? evt.imageCardUrl : evt.imageUrl
+  const resolved = url || evt.imageUrl
+  return resolved ? apiUrl(resolved) : null
+}
+
 export const eventsService = {
   create: async (evento) => {
     // Validar campos requeridos
@@ -124,6 +124,9 @@ async function request<T>(method: string, url: string, body?: unknown, init?: Re
   }
 }
 
+// URL absoluta para recursos servidos por el backend (p. ej. imágenes de eventos)
+export const apiUrl = (path: string) => BASE_URL + path;
+
 export const api = {
   get: <T>(url: string, init?: RequestOpts) => request<T>("GET", url, undefined, init),
   post: <T>(url: string, body?: unknown, init?: RequestOpts) => request<T>("POST", url, body, init),
@@ -7,25 +7,36 @@ export const POINTS_STATUS_ENUM = {
   vigentes: "ACTIVE",          
 };
 
+// Parámetros comunes de búsqueda + paginación. paging = { page (desde 0), size, sort: 'campo,asc|desc' }
+const listParams = (name, paging) => ({
+  ...(name && name.trim() ? { name: name.trim() } : {}),
+  ...(paging ?? {}),
+});
+
+// Todos los listados devuelven una página de Spring: { content, totalPages, totalElements, number, size }
 export const userClientService = {
-  getActiveClients: (name) =>
-    api.get(ADMIN_CLIENT_PREFIX, {
-      params: name && name.trim() ? { name: name.trim() } : undefined,
-    }),
+  getActiveClients: (name, paging) => {
+    const params = listParams(name, paging);
+    return api.get(ADMIN_CLIENT_PREFIX, {
+      params: Object.keys(params).length ? params : undefined,
+    });
+  },
 
   deactivateClient: (clientId) =>
     api.delete(`${ADMIN_CLIENT_PREFIX}/${clientId}`),
 
   // Listar clientes filtrados por estado de puntos
-  getClientsByPointsStatus: (statusEnum, name) =>
+  getClientsByPointsStatus: (statusEnum, name, paging) =>
     api.get(`${ADMIN_CLIENT_PREFIX}/by-points-status`, {
       params: {
         status: statusEnum,
-        ...(name && name.trim() ? { name: name.trim() } : {}),
+        ...listParams(name, paging),
       },
     }),
 
   // Clientes con puntos que vencen en los próximos 5 días
-  getClientsWithPointsExpiringIn5Days: () =>
-    api.get(`${ADMIN_CLIENT_PREFIX}/points-expiring-in-5-days`),
-};
\ No newline at end of file
+  getClientsWithPointsExpiringIn5Days: (name, paging) =>
+    api.get(`${ADMIN_CLIENT_PREFIX}/points-expiring-in-5-days`, {
+      params: listParams(name, paging),
+    }),
+};
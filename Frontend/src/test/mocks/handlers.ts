@@ -11,6 +11,11 @@ function ensureObject(raw: any): Record<string, any> {
   return typeof raw === 'object' && raw !== null ? raw as Record<string, any> : {};
 }
 
+// Los listados de /api/admin/clients devuelven una página de Spring
+function adminClientsPage(content: any[]) {
+  return { content, totalElements: content.length, totalPages: 1, number: 0, size: 20 };
+}
+
 export const handlers = [
   // ==================== AUTH ENDPOINTS ====================
   http.post(`${BASE_URL}/api/auth/login`, async ({ request }) => {
@@ -1085,7 +1090,7 @@ export const handlers = [
       { id: 3, name: 'Carlos', pointsStatus: 'EXPIRED' }
     ];
     const filtered = name ? clients.filter(c => c.name.toLowerCase().includes(name.toLowerCase())) : clients;
-    return HttpResponse.json(filtered);
+    return HttpResponse.json(adminClientsPage(filtered));
   }),
 
   http.delete(`${BASE_URL}/api/admin/clients/:clientId`, ({ params, request }) => {
@@ -1121,7 +1126,7 @@ export const handlers = [
     if (name) {
       filtered = filtered.filter(c => c.name.toLowerCase().includes(name.toLowerCase()));
     }
-    return HttpResponse.json(filtered);
+    return HttpResponse.json(adminClientsPage(filtered));
   }),
 
   http.get(`${BASE_URL}/api/admin/clients/points-expiring-in-5-days`, ({ request }) => {
@@ -1133,7 +1138,7 @@ export const handlers = [
       { id: 5, name: 'Lucia', expiringInDays: 3 },
       { id: 6, name: 'Pedro', expiringInDays: 2 }
     ];
-    return HttpResponse.json(soon);
+    return HttpResponse.json(adminClientsPage(soon));
   }),
 
   // ==================== ADMIN USER (CRUD) ENDPOINTS ====================